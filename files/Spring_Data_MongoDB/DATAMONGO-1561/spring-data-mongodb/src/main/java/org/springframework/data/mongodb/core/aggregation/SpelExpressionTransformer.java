@@ -20,6 +20,7 @@ import static org.springframework.data.mongodb.util.DBObjectUtils.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.mongodb.core.spel.ExpressionNode;
@@ -38,6 +39,7 @@ import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.NumberUtils;
 
 import com.mongodb.BasicDBList;
@@ -45,7 +47,8 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 
 /**
- * Renders the AST of a SpEL expression as a MongoDB Aggregation Framework projection expression.
+ * Renders the AST of a SpEL expression as a MongoDB Aggregation Framework projection expression. Parsed expressions are
+ * cached so that repeatedly rendered pipelines only evaluate the given parameters against the already parsed AST.
  * 
  * @author Thomas Darimont
  */
@@ -55,6 +58,7 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
  private static final SpelParserConfiguration CONFIG = new SpelParserConfiguration(false, false);
  private static final SpelExpressionParser PARSER = new SpelExpressionParser(CONFIG);
  private final List<ExpressionNodeConversion<? extends ExpressionNode>> conversions;
+ private final Map<String, SpelExpression> expressions = new ConcurrentReferenceHashMap<String, SpelExpression>();
 
  /**
   * Creates a new {@link SpelExpressionTransformer}.
@@ -90,7 +94,7 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
   Assert.notNull(context, "AggregationOperationContext must not be null!");
   Assert.notNull(params, "Parameters must not be null!");
 
-  SpelExpression spelExpression = (SpelExpression) PARSER.parseExpression(expression);
+  SpelExpression spelExpression = parse(expression);
   ExpressionState state = new ExpressionState(new StandardEvaluationContext(params), CONFIG);
   ExpressionNode node = ExpressionNode.from(spelExpression.getAST(), state);
 
@@ -105,6 +109,25 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
   return lookupConversionFor(context.getCurrentNode()).convert(context);
  }
 
+ /**
+  * Returns the parsed {@link SpelExpression} for the given expression {@link String}, parsing it only once. Parameters
+  * are not part of the parsed AST but bound via the {@link ExpressionState} on each transformation.
+  * 
+  * @param expression must not be {@literal null}.
+  * @return
+  */
+ private SpelExpression parse(String expression) {
+
+  SpelExpression spelExpression = expressions.get(expression);
+
+  if (spelExpression == null) {
+   spelExpression = (SpelExpression) PARSER.parseExpression(expression);
+   expressions.put(expression, spelExpression);
+  }
+
+  return spelExpression;
+ }
+
  /**
   * Returns an appropriate {@link ExpressionNodeConversion} for the given {@code node}. Throws an
   * {@link IllegalArgumentException} if no conversion could be found.
@@ -17,6 +17,11 @@ package org.springframework.data.mongodb.core.aggregation;
 
 import static org.springframework.data.mongodb.core.aggregation.Fields.*;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.context.PersistentPropertyPath;
@@ -31,7 +36,8 @@ import com.mongodb.DBObject;
 
 /**
  * {@link AggregationOperationContext} aware of a particular type and a {@link MappingContext} to potentially translate
- * property references into document field names.
+ * property references into document field names. Resolved field references are cached by the context as the same
+ * fields are usually referenced by multiple stages of an aggregation.
  * 
  * @author Oliver Gierke
  * @since 1.3
@@ -41,6 +47,8 @@ public class TypeBasedAggregationOperationContext implements AggregationOperatio
  private final Class<?> type;
  private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
  private final QueryMapper mapper;
+ private final Map<String, FieldReference> references = new ConcurrentHashMap<String, FieldReference>();
+ private final Set<String> validatedPaths = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
  /**
   * Creates a new {@link TypeBasedAggregationOperationContext} for the given type, {@link MappingContext} and
@@ -78,7 +86,12 @@ public class TypeBasedAggregationOperationContext implements AggregationOperatio
  @Override
  public FieldReference getReference(Field field) {
 
-  PropertyPath.from(field.getTarget(), type);
+  if (!validatedPaths.contains(field.getTarget())) {
+
+   PropertyPath.from(field.getTarget(), type);
+   validatedPaths.add(field.getTarget());
+  }
+
   return getReferenceFor(field);
  }
 
@@ -93,11 +106,21 @@ public class TypeBasedAggregationOperationContext implements AggregationOperatio
 
  private FieldReference getReferenceFor(Field field) {
 
-  PersistentPropertyPath<MongoPersistentProperty> propertyPath = mappingContext.getPersistentPropertyPath(
-    field.getTarget(), type);
-  Field mappedField = field(propertyPath.getLeafProperty().getName(),
-    propertyPath.toDotPath(MongoPersistentProperty.PropertyToFieldNameConverter.INSTANCE));
+  FieldReference reference = references.get(field.getTarget());
+
+  if (reference == null) {
 
-  return new FieldReference(new ExposedField(mappedField, true));
+   reference = new FieldReference(new ExposedField(getMappedField(field.getTarget()), true));
+   references.put(field.getTarget(), reference);
+  }
+
+  return reference;
+ }
+
+ private Field getMappedField(String target) {
+
+  PersistentPropertyPath<MongoPersistentProperty> propertyPath = mappingContext.getPersistentPropertyPath(target, type);
+  return field(propertyPath.getLeafProperty().getName(),
+    propertyPath.toDotPath(MongoPersistentProperty.PropertyToFieldNameConverter.INSTANCE));
  }
 }
\ No newline at end of file
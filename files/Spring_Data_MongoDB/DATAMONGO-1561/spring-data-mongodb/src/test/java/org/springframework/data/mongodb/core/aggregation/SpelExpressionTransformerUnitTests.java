@@ -206,6 +206,13 @@ public class SpelExpressionTransformerUnitTests {
   assertThat(transform("toUpper(toLower(a))"), is("{ \"$toUpper\" : [ { \"$toLower\" : [ \"$a\"]}]}"));
  }
 
+ @Test
+ public void shouldBindParametersOnEachTransformationOfSameExpression() {
+
+  assertThat(transform("[0] + a", 1), is("{ \"$add\" : [ 1 , \"$a\"]}"));
+  assertThat(transform("[0] + a", 2), is("{ \"$add\" : [ 2 , \"$a\"]}"));
+ }
+
  private String transform(String expression, Object... params) {
   Object result = transformer.transform(expression, Aggregation.DEFAULT_CONTEXT, params);
   return result == null ? null : result.toString();
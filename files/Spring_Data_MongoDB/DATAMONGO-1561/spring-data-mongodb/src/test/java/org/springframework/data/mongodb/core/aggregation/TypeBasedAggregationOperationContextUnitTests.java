@@ -389,6 +389,40 @@ public class TypeBasedAggregationOperationContextUnitTests {
   return (T) o.get(key);
  }
 
+ @Test
+ public void resolvesSameReferenceForRepeatedLookups() {
+
+  TypeBasedAggregationOperationContext context = getContext(Foo.class);
+  FieldReference reference = context.getReference(field("bar.name"));
+
+  assertThat(context.getReference(field("bar.name")), sameInstance(reference));
+  assertThat(context.getReference("bar.name"), sameInstance(reference));
+ }
+
+ @Test
+ public void resolvesReferencesPerMappingContext() {
+
+  MongoMappingContext otherContext = new MongoMappingContext();
+  AggregationOperationContext other = new TypeBasedAggregationOperationContext(Foo.class, otherContext,
+    new QueryMapper(new MappingMongoConverter(dbRefResolver, otherContext)));
+
+  assertThat(other.getReference("id"), is(getContext(Foo.class).getReference("id")));
+ }
+
+ @Test(expected = MappingException.class)
+ public void rejectsInvalidFieldReferenceRepeatedly() {
+
+  TypeBasedAggregationOperationContext context = getContext(Foo.class);
+
+  try {
+   context.getReference("foo");
+  } catch (MappingException e) {
+   // expected
+  }
+
+  context.getReference("foo");
+ }
+
  private TypeBasedAggregationOperationContext getContext(Class<?> type) {
   return new TypeBasedAggregationOperationContext(type, context, mapper);
  }
@@ -19,7 +19,9 @@ import static org.springframework.data.mongodb.core.MongoTemplate.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.bson.Document;
 import org.springframework.dao.DataAccessException;
@@ -33,6 +35,7 @@ import org.springframework.util.Assert;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 
 /**
@@ -95,26 +98,48 @@ public class DefaultIndexOperations implements IndexOperations {
 
   return execute(collection -> {
 
-   Document indexOptions = indexDefinition.getIndexOptions();
+   IndexModel indexModel = toIndexModel(indexDefinition);
+   return collection.createIndex(indexModel.getKeys(), indexModel.getOptions());
+  });
+ }
 
-   if (indexOptions != null) {
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.IndexOperations#ensureIndexes(java.util.List)
+  */
+ @Override
+ public List<String> ensureIndexes(List<? extends IndexDefinition> indexDefinitions) {
 
-    IndexOptions ops = IndexConverters.indexDefinitionToIndexOptionsConverter().convert(indexDefinition);
+  Assert.notNull(indexDefinitions, "IndexDefinitions must not be null!");
 
-    if (indexOptions.containsKey(PARTIAL_FILTER_EXPRESSION_KEY)) {
+  if (indexDefinitions.isEmpty()) {
+   return Collections.emptyList();
+  }
 
-     Assert.isInstanceOf(Document.class, indexOptions.get(PARTIAL_FILTER_EXPRESSION_KEY));
+  List<IndexModel> indexModels = indexDefinitions.stream().map(this::toIndexModel).collect(Collectors.toList());
 
-     ops.partialFilterExpression( mapper.getMappedObject(
-       (Document) indexOptions.get(PARTIAL_FILTER_EXPRESSION_KEY), lookupPersistentEntity(type, collectionName)));
-    }
+  return execute(collection -> collection.createIndexes(indexModels));
+ }
 
-    return collection.createIndex(indexDefinition.getIndexKeys(), ops);
-   }
-   return collection.createIndex(indexDefinition.getIndexKeys());
+ private IndexModel toIndexModel(IndexDefinition indexDefinition) {
+
+  Document indexOptions = indexDefinition.getIndexOptions();
+
+  if (indexOptions == null) {
+   return new IndexModel(indexDefinition.getIndexKeys());
+  }
+
+  IndexOptions ops = IndexConverters.indexDefinitionToIndexOptionsConverter().convert(indexDefinition);
+
+  if (indexOptions.containsKey(PARTIAL_FILTER_EXPRESSION_KEY)) {
+
+   Assert.isInstanceOf(Document.class, indexOptions.get(PARTIAL_FILTER_EXPRESSION_KEY));
+
+   ops.partialFilterExpression(mapper.getMappedObject((Document) indexOptions.get(PARTIAL_FILTER_EXPRESSION_KEY),
+     lookupPersistentEntity(type, collectionName)));
   }
 
-  );
+  return new IndexModel(indexDefinition.getIndexKeys(), ops);
  }
 
  private MongoPersistentEntity<?> lookupPersistentEntity(Class<?> entityType, String collection) {
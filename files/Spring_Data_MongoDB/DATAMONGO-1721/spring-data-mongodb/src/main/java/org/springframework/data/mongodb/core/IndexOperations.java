@@ -15,10 +15,12 @@
  */
 package org.springframework.data.mongodb.core;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.mongodb.core.index.IndexDefinition;
 import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.util.Assert;
 
 /**
  * Index operations on a collection.
@@ -37,6 +39,27 @@ public interface IndexOperations {
   */
  String ensureIndex(IndexDefinition indexDefinition);
 
+ /**
+  * Ensure that indexes for all provided {@link IndexDefinition}s exist for the collection. Implementations may create
+  * all indexes with a single command.
+  *
+  * @param indexDefinitions must not be {@literal null}.
+  * @return the names of the indexes in the order of the given {@link IndexDefinition}s.
+  * @since 2.0
+  */
+ default List<String> ensureIndexes(List<? extends IndexDefinition> indexDefinitions) {
+
+  Assert.notNull(indexDefinitions, "IndexDefinitions must not be null!");
+
+  List<String> names = new ArrayList<>(indexDefinitions.size());
+
+  for (IndexDefinition indexDefinition : indexDefinitions) {
+   names.add(ensureIndex(indexDefinition));
+  }
+
+  return names;
+ }
+
  /**
   * Drops an index from this collection.
   * 
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters collected by a {@link MongoPersistentEntityIndexCreator} creating indexes in the background.
+ *
+ * @since 2.0
+ */
+public class IndexCreationMetrics {
+
+ private final AtomicLong resolvedIndexes = new AtomicLong();
+ private final AtomicLong existingIndexes = new AtomicLong();
+ private final AtomicLong createdIndexes = new AtomicLong();
+ private final AtomicLong failedIndexes = new AtomicLong();
+ private final AtomicLong batches = new AtomicLong();
+ private final AtomicLong creationTimeNanos = new AtomicLong();
+
+ void indexesResolved(int count) {
+  resolvedIndexes.addAndGet(count);
+ }
+
+ void indexesExisting(int count) {
+  existingIndexes.addAndGet(count);
+ }
+
+ void indexesCreated(int count) {
+  createdIndexes.addAndGet(count);
+ }
+
+ void indexesFailed(int count) {
+  failedIndexes.addAndGet(count);
+ }
+
+ void batchProcessed(long durationNanos) {
+
+  batches.incrementAndGet();
+  creationTimeNanos.addAndGet(durationNanos);
+ }
+
+ /**
+  * @return the number of index definitions resolved from persistent entities.
+  */
+ public long getResolvedIndexes() {
+  return resolvedIndexes.get();
+ }
+
+ /**
+  * @return the number of resolved indexes that already existed and were skipped.
+  */
+ public long getExistingIndexes() {
+  return existingIndexes.get();
+ }
+
+ /**
+  * @return the number of indexes created.
+  */
+ public long getCreatedIndexes() {
+  return createdIndexes.get();
+ }
+
+ /**
+  * @return the number of indexes that could not be created, including indexes that exist under the same name but with
+  *         different keys or options.
+  */
+ public long getFailedIndexes() {
+  return failedIndexes.get();
+ }
+
+ /**
+  * @return the number of per collection batches processed.
+  */
+ public long getBatches() {
+  return batches.get();
+ }
+
+ /**
+  * @param unit must not be {@literal null}.
+  * @return the accumulated time spent on inspecting and creating indexes.
+  */
+ public long getCreationTime(TimeUnit unit) {
+  return unit.convert(creationTimeNanos.get(), TimeUnit.NANOSECONDS);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return String.format(
+    "IndexCreationMetrics { resolved: %s, existing: %s, created: %s, failed: %s, batches: %s, time: %sms }",
+    getResolvedIndexes(), getExistingIndexes(), getCreatedIndexes(), getFailedIndexes(), getBatches(),
+    getCreationTime(TimeUnit.MILLISECONDS));
+ }
+}
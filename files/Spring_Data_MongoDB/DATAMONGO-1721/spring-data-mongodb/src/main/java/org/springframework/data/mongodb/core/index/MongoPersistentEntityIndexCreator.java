@@ -15,14 +15,23 @@
  */
 package org.springframework.data.mongodb.core.index;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.context.MappingContextEvent;
@@ -35,14 +44,23 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.util.MongoDbErrorCodes;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 import com.mongodb.MongoException;
 
 /**
  * Component that inspects {@link MongoPersistentEntity} instances contained in the given {@link MongoMappingContext}
  * for indexing metadata and ensures the indexes to be available.
+ * <p>
+ * When created with an {@link Executor}, indexes are ensured in the background. Resolved index definitions are
+ * collected per collection and compared against the indexes present in the collection, which are fetched once per batch
+ * so that indexes dropped in the meantime get recreated. Only missing indexes are created with a single
+ * {@code createIndexes} command per batch. Indexes already present under the same name but with different keys or
+ * options are logged and counted as {@link IndexCreationMetrics#getFailedIndexes() failed}. Use
+ * {@link #whenIndexesCreated()} to await completion and {@link #getMetrics()} to inspect progress.
  *
  * @author Jon Brisbin
  * @author Oliver Gierke
@@ -60,6 +78,11 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
  private final IndexOperationsProvider indexOperationsProvider;
  private final MongoMappingContext mappingContext;
  private final IndexResolver indexResolver;
+ private final @Nullable Executor executor;
+
+ private final IndexCreationMetrics metrics = new IndexCreationMetrics();
+ private final Map<String, List<IndexDefinitionHolder>> pendingIndexes = new LinkedHashMap<>();
+ private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
 
  /**
   * Creates a new {@link MongoPersistentEntityIndexCreator} for the given {@link MongoMappingContext} and
@@ -81,6 +104,22 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
   */
  public MongoPersistentEntityIndexCreator(MongoMappingContext mappingContext, IndexOperationsProvider indexOperationsProvider,
             IndexResolver indexResolver) {
+  this(mappingContext, indexOperationsProvider, indexResolver, null);
+ }
+
+ /**
+  * Creates a new {@link MongoPersistentEntityIndexCreator} for the given {@link MongoMappingContext} and
+  * {@link IndexOperationsProvider} ensuring indexes in the background using the given {@link Executor}.
+  *
+  * @param mappingContext must not be {@literal null}.
+  * @param indexOperationsProvider must not be {@literal null}.
+  * @param indexResolver must not be {@literal null}.
+  * @param executor the {@link Executor} to create indexes with. Can be {@literal null} to create indexes synchronously
+  *          while the entity gets added to the {@link MongoMappingContext}.
+  * @since 2.0
+  */
+ public MongoPersistentEntityIndexCreator(MongoMappingContext mappingContext,
+   IndexOperationsProvider indexOperationsProvider, IndexResolver indexResolver, @Nullable Executor executor) {
 
   Assert.notNull(mappingContext, "MongoMappingContext must not be null!");
   Assert.notNull(indexOperationsProvider, "IndexOperationsProvider must not be null!");
@@ -89,6 +128,7 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
   this.indexOperationsProvider = indexOperationsProvider;
   this.mappingContext = mappingContext;
   this.indexResolver = indexResolver;
+  this.executor = executor;
 
   for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
    checkForIndexes(entity);
@@ -132,12 +172,285 @@ public class MongoPersistentEntityIndexCreator implements ApplicationListener<Ma
  private void checkForAndCreateIndexes(MongoPersistentEntity<?> entity) {
 
   if (entity.findAnnotation(Document.class).isPresent()) {
-   for (IndexDefinitionHolder indexToCreate : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+
+   Iterable<? extends IndexDefinitionHolder> indexes = indexResolver.resolveIndexFor(entity.getTypeInformation());
+
+   if (executor != null) {
+    scheduleIndexCreation(indexes);
+    return;
+   }
+
+   for (IndexDefinitionHolder indexToCreate : indexes) {
     createIndex(indexToCreate);
    }
   }
  }
 
+ /**
+  * Returns a {@link CompletableFuture} that completes once all index creations scheduled so far are finished. Indexes
+  * that cannot be created are logged and counted as {@link IndexCreationMetrics#getFailedIndexes() failed} but do not
+  * complete the returned future exceptionally. Returns a completed future if indexes are created synchronously.
+  *
+  * @return never {@literal null}.
+  * @since 2.0
+  */
+ public CompletableFuture<Void> whenIndexesCreated() {
+  return CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0]));
+ }
+
+ /**
+  * Returns the {@link IndexCreationMetrics} of indexes ensured in the background.
+  *
+  * @return never {@literal null}.
+  * @since 2.0
+  */
+ public IndexCreationMetrics getMetrics() {
+  return metrics;
+ }
+
+ private void scheduleIndexCreation(Iterable<? extends IndexDefinitionHolder> indexes) {
+
+  Set<String> collectionsToSchedule = new LinkedHashSet<>();
+
+  synchronized (pendingIndexes) {
+
+   for (IndexDefinitionHolder index : indexes) {
+
+    List<IndexDefinitionHolder> pending = pendingIndexes.get(index.getCollection());
+
+    if (pending == null) {
+
+     pending = new ArrayList<>();
+     pendingIndexes.put(index.getCollection(), pending);
+     collectionsToSchedule.add(index.getCollection());
+    }
+
+    pending.add(index);
+    metrics.indexesResolved(1);
+   }
+  }
+
+  for (String collection : collectionsToSchedule) {
+
+   CompletableFuture<Void> future = CompletableFuture.runAsync(() -> ensureIndexes(collection), executor);
+
+   inFlight.add(future);
+   future.whenComplete((result, error) -> inFlight.remove(future));
+  }
+ }
+
+ /**
+  * Creates the pending indexes of the given collection that do not exist yet. Indexes that exist under the same name
+  * but do not match the definition are reported as failed. Falls back to creating indexes one by one if the batch
+  * fails to isolate and report the failing definitions.
+  *
+  * @param collection the collection name.
+  */
+ private void ensureIndexes(String collection) {
+
+  List<IndexDefinitionHolder> indexes;
+
+  synchronized (pendingIndexes) {
+   indexes = pendingIndexes.remove(collection);
+  }
+
+  if (indexes == null || indexes.isEmpty()) {
+   return;
+  }
+
+  long start = System.nanoTime();
+
+  try {
+
+   IndexOperations indexOperations = indexOperationsProvider.indexOps(collection);
+   Map<String, IndexInfo> existing = fetchIndexInfo(indexOperations);
+
+   List<IndexDefinitionHolder> missing = new ArrayList<>(indexes.size());
+
+   for (IndexDefinitionHolder index : indexes) {
+
+    IndexInfo existingIndex = existing.get(getIndexName(index));
+
+    if (existingIndex == null) {
+     missing.add(index);
+    } else if (matches(index, existingIndex)) {
+     metrics.indexesExisting(1);
+    } else {
+
+     metrics.indexesFailed(1);
+     LOGGER.error(String.format("Cannot create index for '%s' in collection '%s' with keys '%s' and options '%s'."
+       + " Index already defined as '%s'.", index.getPath(), collection, index.getIndexKeys(),
+       index.getIndexOptions(), existingIndex));
+    }
+   }
+
+   if (missing.isEmpty()) {
+    return;
+   }
+
+   if (LOGGER.isDebugEnabled()) {
+    LOGGER.debug(String.format("Creating %s index(es) for collection '%s'.", missing.size(), collection));
+   }
+
+   try {
+
+    indexOperations.ensureIndexes(missing);
+    metrics.indexesCreated(missing.size());
+
+   } catch (RuntimeException e) {
+
+    for (IndexDefinitionHolder index : missing) {
+     try {
+
+      createIndex(index);
+      metrics.indexesCreated(1);
+
+     } catch (RuntimeException ex) {
+
+      metrics.indexesFailed(1);
+      LOGGER.error(String.format("Failed to create index for '%s' in collection '%s'.", index.getPath(), collection),
+        ex);
+     }
+    }
+   }
+  } catch (RuntimeException e) {
+
+   metrics.indexesFailed(indexes.size());
+   LOGGER.error(String.format("Failed to ensure indexes for collection '%s'.", collection), e);
+  } finally {
+   metrics.batchProcessed(System.nanoTime() - start);
+  }
+ }
+
+ private static Map<String, IndexInfo> fetchIndexInfo(IndexOperations indexOperations) {
+
+  Map<String, IndexInfo> indexes = new LinkedHashMap<>();
+
+  for (IndexInfo indexInfo : indexOperations.getIndexInfo()) {
+   indexes.put(indexInfo.getName(), indexInfo);
+  }
+
+  return indexes;
+ }
+
+ /**
+  * Checks whether the given existing index matches the keys, uniqueness, sparseness, partial filter and collation of
+  * the given definition. Partial filters are only compared for presence as the existing one is already mapped to the
+  * field names used in the collection. {@link IndexInfo} does not expose {@literal expireAfterSeconds}, so TTL
+  * settings are not compared.
+  *
+  * @param index must not be {@literal null}.
+  * @param existing must not be {@literal null}.
+  * @return {@literal true} if the existing index satisfies the definition.
+  */
+ static boolean matches(IndexDefinition index, IndexInfo existing) {
+
+  org.bson.Document options = index.getIndexOptions() != null ? index.getIndexOptions() : new org.bson.Document();
+
+  return keysMatch(index.getIndexKeys(), existing.getIndexFields()) //
+    && Boolean.TRUE.equals(options.get("unique")) == existing.isUnique() //
+    && Boolean.TRUE.equals(options.get("sparse")) == existing.isSparse() //
+    && options.containsKey("partialFilterExpression") == StringUtils.hasText(existing.getPartialFilterExpression()) //
+    && collationMatches(options.get("collation"), existing.getCollation().orElse(null));
+ }
+
+ private static boolean keysMatch(org.bson.Document keys, List<IndexField> fields) {
+
+  List<String> textKeys = new ArrayList<>();
+  List<String> textFields = new ArrayList<>();
+  List<IndexField> otherFields = new ArrayList<>();
+
+  for (IndexField field : fields) {
+   if (field.isText()) {
+    textFields.add(field.getKey());
+   } else {
+    otherFields.add(field);
+   }
+  }
+
+  Iterator<IndexField> iterator = otherFields.iterator();
+
+  for (Map.Entry<String, Object> key : keys.entrySet()) {
+
+   Object value = key.getValue();
+
+   if ("text".equals(value)) {
+    textKeys.add(key.getKey());
+    continue;
+   }
+
+   if (!iterator.hasNext()) {
+    return false;
+   }
+
+   IndexField field = iterator.next();
+
+   if (!field.getKey().equals(key.getKey())) {
+    return false;
+   }
+
+   if (value instanceof Number) {
+
+    Direction direction = ((Number) value).intValue() < 0 ? Direction.DESC : Direction.ASC;
+
+    if (field.isGeo() || !direction.equals(field.getDirection())) {
+     return false;
+    }
+   } else if (!field.isGeo()) {
+    return false;
+   }
+  }
+
+  return !iterator.hasNext() && new HashSet<>(textKeys).equals(new HashSet<>(textFields));
+ }
+
+ private static boolean collationMatches(@Nullable Object collation, @Nullable org.bson.Document existing) {
+
+  if (collation == null || existing == null) {
+   return collation == null && existing == null;
+  }
+
+  // the server adds defaults for all attributes not explicitly set
+  for (Map.Entry<String, Object> entry : ((org.bson.Document) collation).entrySet()) {
+   if (!ObjectUtils.nullSafeEquals(entry.getValue(), existing.get(entry.getKey()))) {
+    return false;
+   }
+  }
+
+  return true;
+ }
+
+ /**
+  * Returns the explicitly configured name of the given index or the name MongoDB derives from the index keys.
+  *
+  * @param index must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ static String getIndexName(IndexDefinition index) {
+
+  org.bson.Document options = index.getIndexOptions();
+
+  if (options != null && options.get("name") != null) {
+   return options.get("name").toString();
+  }
+
+  StringBuilder name = new StringBuilder();
+
+  for (Map.Entry<String, Object> key : index.getIndexKeys().entrySet()) {
+
+   if (name.length() != 0) {
+    name.append('_');
+   }
+
+   name.append(key.getKey()).append('_');
+
+   Object value = key.getValue();
+   name.append(value instanceof Number ? ((Number) value).intValue() : value.toString().replace(' ', '_'));
+  }
+
+  return name.toString();
+ }
+
  void createIndex(IndexDefinitionHolder indexDefinition) {
 
   try {
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mapping.context.MappingContextEvent;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.IndexOperations;
+import org.springframework.data.mongodb.core.IndexOperationsProvider;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Collation;
+
+/**
+ * Unit tests for {@link MongoPersistentEntityIndexCreator} ensuring indexes in the background.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MongoPersistentEntityIndexCreatorBackgroundUnitTests {
+
+ @Mock IndexOperationsProvider indexOperationsProvider;
+ @Mock IndexOperations indexOperations;
+
+ MongoMappingContext mappingContext;
+
+ @Before
+ public void setUp() {
+
+  mappingContext = new MongoMappingContext();
+  mappingContext.setInitialEntitySet(Collections.singleton(Person.class));
+  mappingContext.afterPropertiesSet();
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void createsOnlyMissingIndexesWithSingleCommand() throws Exception {
+
+  when(indexOperations.getIndexInfo()).thenReturn(
+    Arrays.asList(indexInfo("_id_", new Document("_id", 1)), indexInfo("fn", new Document("firstname", 1))));
+
+  MongoPersistentEntityIndexCreator creator = createIndexCreator();
+  creator.whenIndexesCreated().get();
+
+  ArgumentCaptor<List<IndexDefinition>> captor = ArgumentCaptor.forClass(List.class);
+  verify(indexOperations).ensureIndexes(captor.capture());
+  verify(indexOperations, never()).ensureIndex(any());
+
+  assertThat(captor.getValue()).hasSize(1);
+  assertThat(captor.getValue().get(0).getIndexOptions().get("name")).isEqualTo("ln");
+
+  assertThat(creator.getMetrics().getResolvedIndexes()).isEqualTo(2);
+  assertThat(creator.getMetrics().getExistingIndexes()).isEqualTo(1);
+  assertThat(creator.getMetrics().getCreatedIndexes()).isEqualTo(1);
+  assertThat(creator.getMetrics().getBatches()).isEqualTo(1);
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void fetchesExistingIndexesPerBatchToRecreateDroppedIndexes() throws Exception {
+
+  when(indexOperations.getIndexInfo()).thenReturn(Collections.emptyList());
+
+  MongoPersistentEntityIndexCreator creator = createIndexCreator();
+  creator.onApplicationEvent(
+    new MappingContextEvent<>(mappingContext, mappingContext.getRequiredPersistentEntity(OtherPerson.class)));
+  creator.whenIndexesCreated().get();
+
+  ArgumentCaptor<List<IndexDefinition>> captor = ArgumentCaptor.forClass(List.class);
+  verify(indexOperations, times(2)).getIndexInfo();
+  verify(indexOperations, times(2)).ensureIndexes(captor.capture());
+
+  assertThat(captor.getAllValues().get(1)).extracting(index -> index.getIndexOptions().get("name"))
+    .containsExactly("fn", "nickname");
+  assertThat(creator.getMetrics().getCreatedIndexes()).isEqualTo(4);
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void countsIndexWithSameNameButDifferentKeysAsFailed() throws Exception {
+
+  when(indexOperations.getIndexInfo())
+    .thenReturn(Collections.singletonList(indexInfo("fn", new Document("lastname", 1))));
+
+  MongoPersistentEntityIndexCreator creator = createIndexCreator();
+  creator.whenIndexesCreated().get();
+
+  ArgumentCaptor<List<IndexDefinition>> captor = ArgumentCaptor.forClass(List.class);
+  verify(indexOperations).ensureIndexes(captor.capture());
+
+  assertThat(captor.getValue()).extracting(index -> index.getIndexOptions().get("name")).containsExactly("ln");
+  assertThat(creator.getMetrics().getExistingIndexes()).isZero();
+  assertThat(creator.getMetrics().getCreatedIndexes()).isEqualTo(1);
+  assertThat(creator.getMetrics().getFailedIndexes()).isEqualTo(1);
+ }
+
+ @Test
+ public void comparesKeysAndOptionsOfExistingIndexes() {
+
+  Index index = new Index().named("idx").on("a", Direction.ASC).on("b", Direction.DESC);
+
+  assertThat(MongoPersistentEntityIndexCreator.matches(index,
+    indexInfo("idx", new Document("a", 1).append("b", -1)))).isTrue();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index,
+    indexInfo("idx", new Document("a", 1).append("b", 1)))).isFalse();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index,
+    indexInfo("idx", new Document("b", -1).append("a", 1)))).isFalse();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo("idx", new Document("a", 1)))).isFalse();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo(new Document("name", "idx")
+    .append("key", new Document("a", 1).append("b", -1)).append("unique", true)))).isFalse();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo(new Document("name", "idx")
+    .append("key", new Document("a", 1).append("b", -1))
+    .append("partialFilterExpression", new Document("a", new Document("$gt", 1)))))).isFalse();
+
+  assertThat(MongoPersistentEntityIndexCreator.matches(new GeospatialIndex("location"),
+    indexInfo("location_2d", new Document("location", "2d")))).isTrue();
+  assertThat(MongoPersistentEntityIndexCreator.matches(new GeospatialIndex("location"),
+    indexInfo("location_2d", new Document("location", 1)))).isFalse();
+ }
+
+ @Test
+ public void comparesCollationOfExistingIndexes() {
+
+  Index index = new Index().named("idx").on("a", Direction.ASC).collation(Collation.of("fr"));
+  Document key = new Document("a", 1);
+
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo(new Document("name", "idx").append("key", key)
+    .append("collation", new Document("locale", "fr").append("strength", 3))))).isTrue();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo(new Document("name", "idx").append("key", key)
+    .append("collation", new Document("locale", "de").append("strength", 3))))).isFalse();
+  assertThat(MongoPersistentEntityIndexCreator.matches(index, indexInfo("idx", key))).isFalse();
+ }
+
+ @Test
+ public void fallsBackToSingleIndexCreationIfBatchFails() throws Exception {
+
+  when(indexOperations.getIndexInfo()).thenReturn(Collections.emptyList());
+  when(indexOperations.ensureIndexes(anyList())).thenThrow(new UncategorizedMongoDbException("o_O", null));
+  when(indexOperations.ensureIndex(any())).thenReturn("fn")
+    .thenThrow(new UncategorizedMongoDbException("o_O", null));
+
+  MongoPersistentEntityIndexCreator creator = createIndexCreator();
+
+  assertThat(creator.whenIndexesCreated().get()).isNull();
+  verify(indexOperations, times(2)).ensureIndex(any());
+  assertThat(creator.getMetrics().getCreatedIndexes()).isEqualTo(1);
+  assertThat(creator.getMetrics().getFailedIndexes()).isEqualTo(1);
+ }
+
+ @Test
+ public void derivesIndexNameLikeMongoDB() {
+
+  assertThat(MongoPersistentEntityIndexCreator.getIndexName(new Index().named("foo").on("a", Direction.ASC)))
+    .isEqualTo("foo");
+  assertThat(MongoPersistentEntityIndexCreator
+    .getIndexName(new Index().on("a", Direction.ASC).on("b", Direction.DESC))).isEqualTo("a_1_b_-1");
+  assertThat(MongoPersistentEntityIndexCreator.getIndexName(new GeospatialIndex("location")))
+    .isEqualTo("location_2d");
+ }
+
+ private MongoPersistentEntityIndexCreator createIndexCreator() {
+
+  when(indexOperationsProvider.indexOps(anyString())).thenReturn(indexOperations);
+
+  return new MongoPersistentEntityIndexCreator(mappingContext, indexOperationsProvider,
+    new MongoPersistentEntityIndexResolver(mappingContext), Runnable::run);
+ }
+
+ private static IndexInfo indexInfo(String name, Document key) {
+  return indexInfo(new Document("name", name).append("key", key));
+ }
+
+ private static IndexInfo indexInfo(Document source) {
+  return IndexInfo.indexInfoOf(source);
+ }
+
+ @org.springframework.data.mongodb.core.mapping.Document(collection = "person")
+ static class Person {
+
+  @Indexed(name = "fn") String firstname;
+  @Indexed(name = "ln") String lastname;
+ }
+
+ @org.springframework.data.mongodb.core.mapping.Document(collection = "person")
+ static class OtherPerson {
+
+  @Indexed(name = "fn") String firstname;
+  @Indexed(name = "nickname") String nickname;
+ }
+}
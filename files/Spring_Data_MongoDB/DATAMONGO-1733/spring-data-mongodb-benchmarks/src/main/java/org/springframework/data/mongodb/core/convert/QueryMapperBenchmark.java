@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.microbenchmark.AbstractMicrobenchmark;
+
+/**
+ * Benchmarks for {@link QueryMapper} and {@link UpdateMapper} comparing mapping with a warm field cache against a
+ * mapper that has to resolve all property paths from scratch.
+ */
+public class QueryMapperBenchmark extends AbstractMicrobenchmark {
+
+ private MappingMongoConverter converter;
+ private MongoPersistentEntity<?> entity;
+
+ private QueryMapper queryMapper;
+ private UpdateMapper updateMapper;
+
+ private Document simpleQuery;
+ private Document nestedQuery;
+ private Document updateObject;
+
+ @Setup
+ public void setUp() {
+
+  MongoMappingContext mappingContext = new MongoMappingContext();
+  mappingContext.setInitialEntitySet(Collections.singleton(Customer.class));
+  mappingContext.afterPropertiesSet();
+
+  converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+  converter.afterPropertiesSet();
+
+  entity = mappingContext.getRequiredPersistentEntity(Customer.class);
+
+  queryMapper = new QueryMapper(converter);
+  updateMapper = new UpdateMapper(converter);
+
+  simpleQuery = Query.query(Criteria.where("firstname").is("luke").and("lastname").is("skywalker"))
+    .getQueryObject();
+  nestedQuery = Query.query(Criteria.where("address.city").is("tatooine").and("age").gt(18).lt(99)
+    .and("orders.product").in(Arrays.asList("lightsaber", "x-wing"))).getQueryObject();
+  updateObject = new Update().set("firstname", "anakin").inc("age", 1).push("orders", new Order())
+    .getUpdateObject();
+ }
+
+ @Benchmark
+ public Document mapSimpleQuery() {
+  return queryMapper.getMappedObject(simpleQuery, entity);
+ }
+
+ @Benchmark
+ public Document mapSimpleQueryUncached() {
+  return new QueryMapper(converter).getMappedObject(simpleQuery, entity);
+ }
+
+ @Benchmark
+ public Document mapNestedQueryWithKeywords() {
+  return queryMapper.getMappedObject(nestedQuery, entity);
+ }
+
+ @Benchmark
+ public Document mapNestedQueryWithKeywordsUncached() {
+  return new QueryMapper(converter).getMappedObject(nestedQuery, entity);
+ }
+
+ @Benchmark
+ public Document mapUpdate() {
+  return updateMapper.getMappedObject(updateObject, entity);
+ }
+
+ @Benchmark
+ public Document mapUpdateUncached() {
+  return new UpdateMapper(converter).getMappedObject(updateObject, entity);
+ }
+
+ static class Customer {
+
+  @Id String id;
+  @Field("fn") String firstname;
+  @Field("ln") String lastname;
+  int age;
+  Address address;
+  List<Order> orders;
+ }
+
+ static class Address {
+
+  String street;
+  @Field("c") String city;
+ }
+
+ static class Order {
+
+  @Field("p") String product;
+  int quantity;
+ }
+}
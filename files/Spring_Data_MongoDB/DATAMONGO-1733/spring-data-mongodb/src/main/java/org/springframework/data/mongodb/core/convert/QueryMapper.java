@@ -20,9 +20,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.BsonValue;
 import org.bson.Document;
@@ -49,6 +51,9 @@ import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
@@ -79,6 +84,7 @@ public class QueryMapper {
  private final MongoConverter converter;
  private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
  private final MongoExampleMapper exampleMapper;
+ private final Map<FieldCacheKey, Field> fieldCache = new ConcurrentReferenceHashMap<>();
 
  /**
   * Creates a new {@link QueryMapper} with the given {@link MongoConverter}.
@@ -135,7 +141,7 @@ public class QueryMapper {
 
    try {
 
-    Field field = createPropertyField(entity, key, mappingContext);
+    Field field = getPropertyField(entity, key);
     Entry<String, Object> entry = getMappedObjectForField(field, BsonUtils.get(query, key));
 
     result.put(entry.getKey(), entry.getValue());
@@ -237,6 +243,59 @@ public class QueryMapper {
   return createMapEntry(key, value);
  }
 
+ /**
+  * Returns the {@link Field} for the given key. {@link Field}s backed by mapping metadata are cached per
+  * {@link MongoPersistentEntity} and key so that the {@link PersistentPropertyPath} and the mapped key are only
+  * resolved once and subsequent queries of the same shape only need to convert their values. Only keys consisting of
+  * property names are cached, which bounds the cache by the mapping metadata. Keys containing map keys or positional
+  * segments, such as {@code scores.<userId>} or {@code items.0.name}, are resolved on each invocation.
+  *
+  * @param entity can be {@literal null}.
+  * @param key must not be {@literal null} or empty.
+  * @return the {@link Field} for the given key. Never {@literal null}.
+  * @since 2.0
+  */
+ protected final Field getPropertyField(MongoPersistentEntity<?> entity, String key) {
+
+  if (entity == null) {
+   return createPropertyField(null, key, mappingContext);
+  }
+
+  FieldCacheKey cacheKey = new FieldCacheKey(entity, key);
+  Field field = fieldCache.get(cacheKey);
+
+  if (field != null) {
+   return field;
+  }
+
+  field = createPropertyField(entity, key, mappingContext);
+
+  if (isCacheable(field, key)) {
+   fieldCache.putIfAbsent(cacheKey, field);
+  }
+
+  return field;
+ }
+
+ /**
+  * Returns whether the given {@link Field} resolved for the given key can be cached. This is the case if every
+  * segment of the key refers to a persistent property.
+  *
+  * @param field must not be {@literal null}.
+  * @param key must not be {@literal null}.
+  * @return {@literal true} if the {@link Field} can be cached.
+  */
+ private static boolean isCacheable(Field field, String key) {
+
+  if (!(field instanceof MetadataBackedField)) {
+   return false;
+  }
+
+  PersistentPropertyPath<MongoPersistentProperty> path = ((MetadataBackedField) field).getPath();
+
+  return path != null && path.getLength() == StringUtils.countOccurrencesOf(key, ".") + 1;
+ }
+
  /**
   * @param entity
   * @param key
@@ -778,6 +837,9 @@ public class QueryMapper {
   private final MongoPersistentProperty property;
   private final PersistentPropertyPath<MongoPersistentProperty> path;
   private final Association<MongoPersistentProperty> association;
+  private final Map<String, MetadataBackedField> derivedFields = new ConcurrentHashMap<>(4);
+
+  private volatile String mappedKey;
 
   /**
    * Creates a new {@link MetadataBackedField} with the given name, {@link MongoPersistentEntity} and
@@ -823,7 +885,21 @@ public class QueryMapper {
    */
   @Override
   public MetadataBackedField with(String name) {
-   return new MetadataBackedField(name, entity, mappingContext, property);
+
+   MetadataBackedField field = derivedFields.get(name);
+
+   if (field != null) {
+    return field;
+   }
+
+   field = new MetadataBackedField(name, entity, mappingContext, property);
+
+   // only cache keywords, a bounded set of operators, as arbitrary names would let the cache grow unbounded
+   if (name.startsWith("$")) {
+    derivedFields.putIfAbsent(name, field);
+   }
+
+   return field;
   }
 
   /*
@@ -906,7 +982,19 @@ public class QueryMapper {
    */
   @Override
   public String getMappedKey() {
-   return path == null ? name : path.toDotPath(isAssociation() ? getAssociationConverter() : getPropertyConverter());
+
+   if (path == null) {
+    return name;
+   }
+
+   String mappedKey = this.mappedKey;
+
+   if (mappedKey == null) {
+    mappedKey = path.toDotPath(isAssociation() ? getAssociationConverter() : getPropertyConverter());
+    this.mappedKey = mappedKey;
+   }
+
+   return mappedKey;
   }
 
   protected PersistentPropertyPath<MongoPersistentProperty> getPath() {
@@ -1112,4 +1200,49 @@ public class QueryMapper {
  public MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> getMappingContext() {
   return mappingContext;
  }
+
+ /**
+  * Cache key for {@link Field}s resolved against a {@link MongoPersistentEntity}.
+  *
+  * @since 2.0
+  */
+ private static class FieldCacheKey {
+
+  private final MongoPersistentEntity<?> entity;
+  private final String key;
+
+  FieldCacheKey(MongoPersistentEntity<?> entity, String key) {
+
+   this.entity = entity;
+   this.key = key;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object obj) {
+
+   if (this == obj) {
+    return true;
+   }
+
+   if (!(obj instanceof FieldCacheKey)) {
+    return false;
+   }
+
+   FieldCacheKey that = (FieldCacheKey) obj;
+   return ObjectUtils.nullSafeEquals(this.entity, that.entity) && ObjectUtils.nullSafeEquals(this.key, that.key);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+   return 31 * ObjectUtils.nullSafeHashCode(entity) + ObjectUtils.nullSafeHashCode(key);
+  }
+ }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Unit tests for the {@link QueryMapper.Field} cache of {@link QueryMapper} and {@link UpdateMapper}.
+ */
+public class QueryMapperFieldCacheUnitTests {
+
+ MongoMappingContext mappingContext;
+ MappingMongoConverter converter;
+
+ QueryMapper queryMapper;
+ UpdateMapper updateMapper;
+
+ @Before
+ public void setUp() {
+
+  mappingContext = new MongoMappingContext();
+  converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+  converter.afterPropertiesSet();
+
+  queryMapper = new QueryMapper(converter);
+  updateMapper = new UpdateMapper(converter);
+ }
+
+ @Test
+ public void returnsCachedFieldForSameEntityAndKey() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  assertThat(queryMapper.getPropertyField(entity, "address.city"),
+    is(sameInstance(queryMapper.getPropertyField(entity, "address.city"))));
+ }
+
+ @Test
+ public void doesNotCacheFieldsForMapKeys() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  assertThat(queryMapper.getPropertyField(entity, "scores.luke"),
+    is(not(sameInstance(queryMapper.getPropertyField(entity, "scores.luke")))));
+ }
+
+ @Test
+ public void doesNotCacheFieldsForPositionalKeys() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  assertThat(queryMapper.getPropertyField(entity, "nicknames.0"),
+    is(not(sameInstance(queryMapper.getPropertyField(entity, "nicknames.0")))));
+  assertThat(queryMapper.getMappedObject(new Document("nicknames.0", "ani"), entity),
+    is(equalTo(new Document("nn.0", "ani"))));
+ }
+
+ @Test
+ public void mapsValuesOfQueriesWithSameShape() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  Document first = queryMapper.getMappedObject(new Document("address.city", "tatooine"), entity);
+  Document second = queryMapper.getMappedObject(new Document("address.city", "naboo"), entity);
+
+  assertThat(first, is(equalTo(new Document("a.c", "tatooine"))));
+  assertThat(second, is(equalTo(new Document("a.c", "naboo"))));
+ }
+
+ @Test
+ public void mapsKeywordsOfQueriesWithSameShape() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  Document first = queryMapper.getMappedObject(new Document("age", new Document("$gt", 18)), entity);
+  Document second = queryMapper.getMappedObject(new Document("age", new Document("$gt", 21)), entity);
+
+  assertThat(first, is(equalTo(new Document("years", new Document("$gt", 18)))));
+  assertThat(second, is(equalTo(new Document("years", new Document("$gt", 21)))));
+ }
+
+ @Test
+ public void doesNotShareFieldsAcrossEntities() {
+
+  Document person = queryMapper.getMappedObject(new Document("name", "luke"),
+    mappingContext.getRequiredPersistentEntity(Person.class));
+  Document droid = queryMapper.getMappedObject(new Document("name", "r2d2"),
+    mappingContext.getRequiredPersistentEntity(Droid.class));
+
+  assertThat(person, is(equalTo(new Document("n", "luke"))));
+  assertThat(droid, is(equalTo(new Document("designation", "r2d2"))));
+ }
+
+ @Test
+ public void doesNotShareFieldsAcrossQueryAndUpdateMapper() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+
+  queryMapper.getMappedObject(new Document("nicknames.$", "ani"), entity);
+  Document update = updateMapper.getMappedObject(new Update().set("nicknames.$", "vader").getUpdateObject(), entity);
+
+  assertThat(update, is(equalTo(new Document("$set", new Document("nn.$", "vader")))));
+ }
+
+ static class Person {
+
+  String id;
+  @Field("n") String name;
+  @Field("years") int age;
+  @Field("a") Address address;
+  @Field("nn") List<String> nicknames;
+  Map<String, Integer> scores;
+ }
+
+ static class Address {
+  @Field("c") String city;
+ }
+
+ static class Droid {
+
+  String id;
+  @Field("designation") String name;
+ }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.util.List;
+
+/**
+ * Listener interface to receive delivery of multiple {@link Message Messages} at once.
+ *
+ * @param <S> source message type.
+ * @param <T> target message type.
+ * @since 2.1
+ * @see PartitioningMessageListener
+ */
+@FunctionalInterface
+public interface BatchMessageListener<S, T> {
+
+ /**
+  * Callback invoked with the received {@link Message Messages} in the order they have been received.
+  *
+  * @param messages never {@literal null} nor empty.
+  */
+ void onMessages(List<Message<S, T>> messages);
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonValue;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResumeTokenStore} holding tokens in a {@link ConcurrentHashMap}. Tokens do not survive a restart.
+ *
+ * @since 2.1
+ */
+class InMemoryResumeTokenStore implements ResumeTokenStore {
+
+ private final Map<String, BsonValue> tokens = new ConcurrentHashMap<>();
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.messaging.ResumeTokenStore#save(java.lang.String, org.bson.BsonValue)
+  */
+ @Override
+ public void save(String key, BsonValue resumeToken) {
+
+  Assert.notNull(key, "Key must not be null!");
+  Assert.notNull(resumeToken, "ResumeToken must not be null!");
+
+  tokens.put(key, resumeToken);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.messaging.ResumeTokenStore#load(java.lang.String)
+  */
+ @Override
+ public Optional<BsonValue> load(String key) {
+
+  Assert.notNull(key, "Key must not be null!");
+
+  return Optional.ofNullable(tokens.get(key));
+ }
+}
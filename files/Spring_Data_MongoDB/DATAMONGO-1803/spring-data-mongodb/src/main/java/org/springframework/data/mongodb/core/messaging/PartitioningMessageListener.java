@@ -0,0 +1,555 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+/**
+ * {@link MessageListener} fanning out {@link Message Messages} received by a single {@link Task} to multiple lanes
+ * processing them concurrently. Messages are assigned to a lane by their document {@literal _id} so that all messages
+ * for one document are delivered in the order they have been received. Each lane hands messages over to a
+ * {@link BatchMessageListener} in batches of up to {@link PartitioningMessageListenerBuilder#batchSize(int) batchSize}
+ * messages, containing the ones that have piled up while the previous batch was processed. <br />
+ * Lanes apply back pressure by blocking the thread reading the cursor once they are full. A lane that terminated
+ * unexpectedly makes {@link #onMessage(Message)} fail instead of blocking forever. <br />
+ * Optionally the resume token of change stream events is checkpointed to a {@link ResumeTokenStore} every N processed
+ * events. A token is only stored once all events received before it have been processed by their lanes. Processing
+ * errors are handed to the configured {@link ErrorHandler} and do not hold back the checkpoint.
+ *
+ * <pre>
+ * <code>
+ * PartitioningMessageListener&lt;ChangeStreamDocument&lt;Document&gt;, Person&gt; listener = PartitioningMessageListener
+ *     .builder(messages -&gt; ...)
+ *     .partitions(4)
+ *     .batchSize(100)
+ *     .checkpoint(tokenStore, "persons", 1000)
+ *     .build();
+ *
+ * container.register(new ChangeStreamRequest&lt;&gt;(listener, options), Person.class);
+ * </code>
+ * </pre>
+ *
+ * @param <S> source message type.
+ * @param <T> target message type.
+ * @since 2.1
+ */
+public class PartitioningMessageListener<S, T> implements MessageListener<S, T>, Cancelable {
+
+ private static final Logger LOGGER = LoggerFactory.getLogger(PartitioningMessageListener.class);
+ private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+ private final BatchMessageListener<S, T> delegate;
+ private final List<Lane> lanes;
+ private final int batchSize;
+ private final Executor executor;
+ private final ErrorHandler errorHandler;
+ private final Progress progress;
+ private final CountDownLatch terminated;
+ private final Object lifecycleMonitor = new Object();
+
+ private volatile State state = State.CREATED;
+
+ private PartitioningMessageListener(PartitioningMessageListenerBuilder<S, T> builder) {
+
+  this.delegate = builder.delegate;
+  this.batchSize = builder.batchSize;
+  this.executor = builder.executor != null ? builder.executor : new SimpleAsyncTaskExecutor();
+  this.errorHandler = builder.errorHandler != null ? builder.errorHandler
+    : error -> LOGGER.error("Failed to process messages.", error);
+  this.progress = new Progress(builder.tokenStore, builder.checkpointKey, builder.checkpointInterval);
+  this.terminated = new CountDownLatch(builder.partitions);
+
+  this.lanes = new ArrayList<>(builder.partitions);
+  for (int i = 0; i < builder.partitions; i++) {
+   lanes.add(new Lane(builder.laneCapacity));
+  }
+ }
+
+ /**
+  * Obtain a builder for a {@link PartitioningMessageListener} delegating to the given {@link BatchMessageListener}.
+  *
+  * @param delegate must not be {@literal null}.
+  * @return new instance of {@link PartitioningMessageListenerBuilder}.
+  */
+ public static <S, T> PartitioningMessageListenerBuilder<S, T> builder(BatchMessageListener<S, T> delegate) {
+
+  Assert.notNull(delegate, "BatchMessageListener must not be null!");
+
+  return new PartitioningMessageListenerBuilder<>(delegate);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.messaging.MessageListener#onMessage(org.springframework.data.mongodb.core.messaging.Message)
+  */
+ @Override
+ public void onMessage(Message<S, T> message) {
+
+  Lane lane = lanes.get(getLaneIndex(message.getRaw()));
+  Entry<S, T> entry = null;
+  boolean enqueued = false;
+
+  try {
+
+   while (true) {
+
+    // enqueue under the lifecycle monitor so that cancel() cannot let the lanes exit before they see the message
+    synchronized (lifecycleMonitor) {
+
+     startIfNecessary();
+
+     if (entry == null) {
+      entry = new Entry<>(progress.register(getResumeToken(message.getRaw())), message);
+     }
+
+     if (lane.queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+
+      enqueued = true;
+      return;
+     }
+    }
+
+    if (lane.exited) {
+     throw new IllegalStateException("Message lane terminated unexpectedly and does not accept messages.");
+    }
+   }
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new IllegalStateException("Interrupted while waiting for a free slot in the message lane.", e);
+  } finally {
+
+   // a rejected message is never processed and must not hold back the checkpoint
+   if (entry != null && !enqueued) {
+    progress.deregister(entry.sequence);
+   }
+  }
+ }
+
+ /**
+  * Stop accepting new {@link Message Messages}, wait for the lanes to process the ones already received and store the
+  * resume token of the last processed change stream event.
+  *
+  * @throws DataAccessResourceFailureException if interrupted while waiting for the lanes to terminate.
+  */
+ @Override
+ public void cancel() throws DataAccessResourceFailureException {
+
+  synchronized (lifecycleMonitor) {
+
+   if (State.CANCELED.equals(state)) {
+    return;
+   }
+
+   boolean started = State.RUNNING.equals(state);
+   state = State.CANCELED;
+
+   if (!started) {
+    return;
+   }
+  }
+
+  try {
+   terminated.await();
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new DataAccessResourceFailureException("Interrupted while waiting for message lanes to terminate.", e);
+  }
+
+  progress.flush();
+ }
+
+ /**
+  * @return {@literal true} if the listener accepts messages.
+  */
+ public boolean isActive() {
+  return !State.CANCELED.equals(state);
+ }
+
+ /**
+  * Start the lanes unless already running. Must be called while holding the {@link #lifecycleMonitor}.
+  *
+  * @throws IllegalStateException if the listener has been canceled.
+  */
+ private void startIfNecessary() {
+
+  if (State.CANCELED.equals(state)) {
+   throw new IllegalStateException("PartitioningMessageListener has been canceled and does not accept messages.");
+  }
+
+  if (State.CREATED.equals(state)) {
+
+   lanes.forEach(executor::execute);
+   state = State.RUNNING;
+  }
+ }
+
+ private int getLaneIndex(@Nullable S raw) {
+
+  if (lanes.size() == 1) {
+   return 0;
+  }
+
+  Object key = getPartitionKey(raw);
+  return key != null ? Math.floorMod(key.hashCode(), lanes.size()) : 0;
+ }
+
+ /**
+  * Extract the key identifying the document a message originates from. Messages without a key are all assigned to the
+  * first lane.
+  *
+  * @param raw can be {@literal null}.
+  * @return can be {@literal null}.
+  */
+ @Nullable
+ private static Object getPartitionKey(@Nullable Object raw) {
+
+  if (raw instanceof ChangeStreamDocument) {
+   return ((ChangeStreamDocument<?>) raw).getDocumentKey();
+  }
+
+  if (raw instanceof Document) {
+   return ((Document) raw).get("_id");
+  }
+
+  return null;
+ }
+
+ @Nullable
+ private static BsonValue getResumeToken(@Nullable Object raw) {
+  return raw instanceof ChangeStreamDocument ? ((ChangeStreamDocument<?>) raw).getResumeToken() : null;
+ }
+
+ private void deliver(List<Entry<S, T>> batch) {
+
+  List<Message<S, T>> messages = new ArrayList<>(batch.size());
+  for (Entry<S, T> entry : batch) {
+   messages.add(entry.message);
+  }
+
+  try {
+   delegate.onMessages(messages);
+  } catch (Throwable e) {
+   handleError(e);
+  }
+
+  try {
+   progress.complete(batch);
+  } catch (Throwable e) {
+   handleError(e);
+  }
+ }
+
+ /**
+  * Hand the error to the {@link ErrorHandler} without letting it escape so that the lane keeps running.
+  */
+ private void handleError(Throwable error) {
+
+  try {
+   errorHandler.handleError(error);
+  } catch (Throwable e) {
+   LOGGER.error("ErrorHandler failed to handle error.", e);
+  }
+ }
+
+ /**
+  * Single threaded worker processing the {@link Message Messages} of one partition.
+  */
+ private class Lane implements Runnable {
+
+  private final BlockingQueue<Entry<S, T>> queue;
+  private volatile boolean exited;
+
+  Lane(int capacity) {
+   this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Runnable#run()
+   */
+  @Override
+  public void run() {
+
+   try {
+
+    while (isActive() || !queue.isEmpty()) {
+
+     Entry<S, T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+     if (first == null) {
+      continue;
+     }
+
+     List<Entry<S, T>> batch = new ArrayList<>(batchSize);
+     batch.add(first);
+     queue.drainTo(batch, batchSize - 1);
+
+     deliver(batch);
+    }
+   } catch (InterruptedException e) {
+    Thread.currentThread().interrupt();
+   } finally {
+
+    exited = true;
+    terminated.countDown();
+   }
+  }
+ }
+
+ private static class Entry<S, T> {
+
+  private final long sequence;
+  private final Message<S, T> message;
+
+  Entry(long sequence, Message<S, T> message) {
+
+   this.sequence = sequence;
+   this.message = message;
+  }
+ }
+
+ /**
+  * Tracks the processing progress across all lanes to determine the resume token up to which all events have been
+  * processed.
+  */
+ private static class Progress {
+
+  private final @Nullable ResumeTokenStore tokenStore;
+  private final @Nullable String checkpointKey;
+  private final int checkpointInterval;
+
+  private final TreeMap<Long, BsonValue> pending = new TreeMap<>();
+  private final TreeMap<Long, BsonValue> completed = new TreeMap<>();
+
+  private long sequence;
+  private long sinceCheckpoint;
+  private @Nullable BsonValue lastToken;
+
+  Progress(@Nullable ResumeTokenStore tokenStore, @Nullable String checkpointKey, int checkpointInterval) {
+
+   this.tokenStore = tokenStore;
+   this.checkpointKey = checkpointKey;
+   this.checkpointInterval = checkpointInterval;
+  }
+
+  synchronized long register(@Nullable BsonValue resumeToken) {
+
+   if (tokenStore == null) {
+    return -1;
+   }
+
+   long current = sequence++;
+   pending.put(current, resumeToken);
+   return current;
+  }
+
+  synchronized void deregister(long sequence) {
+
+   if (tokenStore == null) {
+    return;
+   }
+
+   pending.remove(sequence);
+  }
+
+  synchronized void complete(List<? extends Entry<?, ?>> entries) {
+
+   if (tokenStore == null) {
+    return;
+   }
+
+   for (Entry<?, ?> entry : entries) {
+    completed.put(entry.sequence, pending.remove(entry.sequence));
+   }
+
+   long watermark = pending.isEmpty() ? sequence : pending.firstKey();
+   Map<Long, BsonValue> processed = completed.headMap(watermark);
+
+   for (BsonValue token : processed.values()) {
+    if (token != null) {
+     lastToken = token;
+    }
+   }
+
+   processed.clear();
+   sinceCheckpoint += entries.size();
+
+   if (sinceCheckpoint >= checkpointInterval) {
+    flush();
+   }
+  }
+
+  synchronized void flush() {
+
+   if (tokenStore == null || lastToken == null) {
+    return;
+   }
+
+   tokenStore.save(checkpointKey, lastToken);
+   lastToken = null;
+   sinceCheckpoint = 0;
+  }
+ }
+
+ private enum State {
+  CREATED, RUNNING, CANCELED
+ }
+
+ /**
+  * Builder for {@link PartitioningMessageListener}.
+  *
+  * @param <S> source message type.
+  * @param <T> target message type.
+  */
+ public static class PartitioningMessageListenerBuilder<S, T> {
+
+  private final BatchMessageListener<S, T> delegate;
+
+  private int partitions = 1;
+  private int batchSize = 100;
+  private int laneCapacity = 1000;
+  private @Nullable Executor executor;
+  private @Nullable ErrorHandler errorHandler;
+  private @Nullable ResumeTokenStore tokenStore;
+  private @Nullable String checkpointKey;
+  private int checkpointInterval;
+
+  private PartitioningMessageListenerBuilder(BatchMessageListener<S, T> delegate) {
+   this.delegate = delegate;
+  }
+
+  /**
+   * Set the number of lanes processing messages concurrently. Defaults to {@literal 1}.
+   *
+   * @param partitions must be greater than zero.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> partitions(int partitions) {
+
+   Assert.isTrue(partitions > 0, "Partitions must be greater than zero!");
+
+   this.partitions = partitions;
+   return this;
+  }
+
+  /**
+   * Set the maximum number of messages handed to the {@link BatchMessageListener} at once. Defaults to {@literal 100}.
+   *
+   * @param batchSize must be greater than zero.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> batchSize(int batchSize) {
+
+   Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+   this.batchSize = batchSize;
+   return this;
+  }
+
+  /**
+   * Set the maximum number of messages waiting in a single lane before the reading thread is blocked. Defaults to
+   * {@literal 1000}.
+   *
+   * @param laneCapacity must be greater than zero.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> laneCapacity(int laneCapacity) {
+
+   Assert.isTrue(laneCapacity > 0, "Lane capacity must be greater than zero!");
+
+   this.laneCapacity = laneCapacity;
+   return this;
+  }
+
+  /**
+   * Set the {@link Executor} running the lanes. Each lane occupies one thread until the listener is
+   * {@link PartitioningMessageListener#cancel() canceled}. Defaults to a {@link SimpleAsyncTaskExecutor}.
+   *
+   * @param executor must not be {@literal null}.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> executor(Executor executor) {
+
+   Assert.notNull(executor, "Executor must not be null!");
+
+   this.executor = executor;
+   return this;
+  }
+
+  /**
+   * Set the {@link ErrorHandler} invoked with errors raised by the {@link BatchMessageListener}. Defaults to logging
+   * the error.
+   *
+   * @param errorHandler must not be {@literal null}.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> errorHandler(ErrorHandler errorHandler) {
+
+   Assert.notNull(errorHandler, "ErrorHandler must not be null!");
+
+   this.errorHandler = errorHandler;
+   return this;
+  }
+
+  /**
+   * Store the resume token of the last processed change stream event every {@code interval} processed events.
+   *
+   * @param tokenStore must not be {@literal null}.
+   * @param key the key to store the token with. Must not be {@literal null}.
+   * @param interval the number of processed events between two checkpoints. Must be greater than zero.
+   * @return this.
+   */
+  public PartitioningMessageListenerBuilder<S, T> checkpoint(ResumeTokenStore tokenStore, String key, int interval) {
+
+   Assert.notNull(tokenStore, "ResumeTokenStore must not be null!");
+   Assert.notNull(key, "Key must not be null!");
+   Assert.isTrue(interval > 0, "Checkpoint interval must be greater than zero!");
+
+   this.tokenStore = tokenStore;
+   this.checkpointKey = key;
+   this.checkpointInterval = interval;
+   return this;
+  }
+
+  /**
+   * @return new instance of {@link PartitioningMessageListener}.
+   */
+  public PartitioningMessageListener<S, T> build() {
+   return new PartitioningMessageListener<>(this);
+  }
+ }
+}
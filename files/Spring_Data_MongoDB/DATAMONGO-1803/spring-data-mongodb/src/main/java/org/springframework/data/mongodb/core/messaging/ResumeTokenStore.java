@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.util.Optional;
+
+import org.bson.BsonValue;
+
+/**
+ * Store for change stream resume tokens allowing a subscription to continue where it left off after a restart. Tokens
+ * are stored under a key identifying the subscription and are typically passed on as
+ * {@link org.springframework.data.mongodb.core.ChangeStreamOptions resume token} when re-registering the
+ * {@link ChangeStreamRequest}.
+ *
+ * @since 2.1
+ * @see PartitioningMessageListener
+ */
+public interface ResumeTokenStore {
+
+ /**
+  * Store the given resume token replacing any previously stored one.
+  *
+  * @param key the subscription key. Must not be {@literal null}.
+  * @param resumeToken the token of the last processed event. Must not be {@literal null}.
+  */
+ void save(String key, BsonValue resumeToken);
+
+ /**
+  * Obtain the last stored resume token.
+  *
+  * @param key the subscription key. Must not be {@literal null}.
+  * @return {@link Optional#empty()} if no token has been stored for the given key.
+  */
+ Optional<BsonValue> load(String key);
+
+ /**
+  * Create a {@link ResumeTokenStore} keeping tokens in memory.
+  *
+  * @return new instance of {@link ResumeTokenStore}.
+  */
+ static ResumeTokenStore inMemory() {
+  return new InMemoryResumeTokenStore();
+ }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Unit tests for {@link PartitioningMessageListener}.
+ */
+public class PartitioningMessageListenerUnitTests {
+
+ @Test
+ public void shouldRetainOrderPerDocument() {
+
+  Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> messages.forEach(message -> {
+
+     int id = message.getRaw().getDocumentKey().getInt32("_id").getValue();
+     received.computeIfAbsent(id, key -> Collections.synchronizedList(new ArrayList<>()))
+       .add(message.getRaw().getResumeToken().getInt32("token").getValue());
+    })).partitions(4).batchSize(7).build();
+
+  for (int token = 0; token < 300; token++) {
+   listener.onMessage(message(token % 10, token));
+  }
+
+  listener.cancel();
+
+  assertThat(received).hasSize(10);
+  received.forEach((id, tokens) -> assertThat(tokens).hasSize(30).isSorted());
+ }
+
+ @Test
+ public void shouldDeliverMessagesPiledUpWhileProcessingAsBatch() throws InterruptedException {
+
+  CountDownLatch processing = new CountDownLatch(1);
+  CountDownLatch release = new CountDownLatch(1);
+  List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {
+
+     batchSizes.add(messages.size());
+     processing.countDown();
+     await(release);
+    }).batchSize(10).build();
+
+  listener.onMessage(message(1, 0));
+  processing.await(1, TimeUnit.SECONDS);
+
+  for (int token = 1; token <= 5; token++) {
+   listener.onMessage(message(token, token));
+  }
+
+  release.countDown();
+  listener.cancel();
+
+  assertThat(batchSizes).containsExactly(1, 5);
+ }
+
+ @Test
+ public void shouldCheckpointResumeTokenEveryNEvents() {
+
+  ResumeTokenStore store = ResumeTokenStore.inMemory();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {}).batchSize(1).checkpoint(store, "key", 2)
+    .build();
+
+  listener.onMessage(message(1, 0));
+  listener.onMessage(message(1, 1));
+  listener.onMessage(message(1, 2));
+  listener.cancel();
+
+  assertThat(store.load("key")).contains(token(2));
+ }
+
+ @Test
+ public void shouldNotCheckpointBeyondEventsStillInProcess() throws InterruptedException {
+
+  int blockedId = 0;
+  int otherId = 1;
+  while (lane(otherId, 2) == lane(blockedId, 2)) {
+   otherId++;
+  }
+
+  int other = otherId;
+  CountDownLatch otherProcessed = new CountDownLatch(1);
+  CountDownLatch release = new CountDownLatch(1);
+  ResumeTokenStore store = ResumeTokenStore.inMemory();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {
+
+     if (messages.get(0).getRaw().getDocumentKey().getInt32("_id").getValue() == other) {
+      otherProcessed.countDown();
+     } else {
+      await(release);
+     }
+    }).partitions(2).checkpoint(store, "key", 1).build();
+
+  listener.onMessage(message(blockedId, 0));
+  listener.onMessage(message(otherId, 1));
+
+  assertThat(otherProcessed.await(1, TimeUnit.SECONDS)).isTrue();
+  assertThat(store.load("key")).isEmpty();
+
+  release.countDown();
+  listener.cancel();
+
+  assertThat(store.load("key")).contains(token(1));
+ }
+
+ @Test(expected = IllegalStateException.class)
+ public void shouldRejectMessagesAfterCancel() {
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {}).build();
+
+  listener.cancel();
+  listener.onMessage(message(1, 0));
+ }
+
+ @Test
+ public void shouldKeepLaneRunningWhenListenerThrowsError() {
+
+  List<Throwable> errors = new CopyOnWriteArrayList<>();
+  List<Integer> received = new CopyOnWriteArrayList<>();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {
+
+     int token = messages.get(0).getRaw().getResumeToken().getInt32("token").getValue();
+     if (token == 0) {
+      throw new AssertionError("boom");
+     }
+     received.add(token);
+    }).batchSize(1).errorHandler(errors::add).build();
+
+  listener.onMessage(message(1, 0));
+  listener.onMessage(message(1, 1));
+  listener.cancel();
+
+  assertThat(errors).hasSize(1).allMatch(AssertionError.class::isInstance);
+  assertThat(received).containsExactly(1);
+ }
+
+ @Test(expected = IllegalStateException.class)
+ public void shouldFailInsteadOfBlockingIfLaneTerminated() {
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {}).laneCapacity(1).executor(command -> {
+
+     Thread thread = new Thread(command);
+     thread.start();
+     thread.interrupt();
+    }).build();
+
+  listener.onMessage(message(1, 0));
+  listener.onMessage(message(1, 1));
+ }
+
+ @Test
+ public void shouldNotTrackMessagesRejectedByTerminatedLane() {
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> {}).laneCapacity(1)
+    .checkpoint(ResumeTokenStore.inMemory(), "key", 1).executor(command -> {
+
+     Thread thread = new Thread(command);
+     thread.start();
+     thread.interrupt();
+    }).build();
+
+  listener.onMessage(message(1, 0));
+
+  assertThatThrownBy(() -> listener.onMessage(message(1, 1))).isInstanceOf(IllegalStateException.class);
+
+  Object progress = ReflectionTestUtils.getField(listener, "progress");
+  assertThat((Map<?, ?>) ReflectionTestUtils.getField(progress, "pending")).containsOnlyKeys(0L);
+ }
+
+ @Test
+ public void shouldDeliverAllMessagesAcceptedWhileCanceling() throws InterruptedException {
+
+  AtomicInteger accepted = new AtomicInteger();
+  AtomicInteger delivered = new AtomicInteger();
+
+  PartitioningMessageListener<ChangeStreamDocument<Document>, Document> listener = PartitioningMessageListener
+    .<ChangeStreamDocument<Document>, Document> builder(messages -> delivered.addAndGet(messages.size()))
+    .partitions(2).build();
+
+  Thread reader = new Thread(() -> {
+
+   try {
+    for (int token = 0;; token++) {
+
+     listener.onMessage(message(token % 10, token));
+     accepted.incrementAndGet();
+    }
+   } catch (IllegalStateException e) {
+    // canceled
+   }
+  });
+
+  reader.start();
+  Thread.sleep(50);
+  listener.cancel();
+  reader.join(TimeUnit.SECONDS.toMillis(1));
+
+  assertThat(reader.isAlive()).isFalse();
+  assertThat(delivered.get()).isEqualTo(accepted.get());
+ }
+
+ @SuppressWarnings("unchecked")
+ private static Message<ChangeStreamDocument<Document>, Document> message(int id, int token) {
+
+  ChangeStreamDocument<Document> raw = new ChangeStreamDocument<>(token(token), new MongoNamespace("db.collection"),
+    new Document("_id", id), new BsonDocument("_id", new BsonInt32(id)), OperationType.INSERT, null);
+
+  Message<ChangeStreamDocument<Document>, Document> message = mock(Message.class);
+  when(message.getRaw()).thenReturn(raw);
+
+  return message;
+ }
+
+ private static BsonDocument token(int token) {
+  return new BsonDocument("token", new BsonInt32(token));
+ }
+
+ private static int lane(int id, int partitions) {
+  return Math.floorMod(new BsonDocument("_id", new BsonInt32(id)).hashCode(), partitions);
+ }
+
+ private static void await(CountDownLatch latch) {
+
+  try {
+   latch.await(1, TimeUnit.SECONDS);
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+  }
+ }
+}
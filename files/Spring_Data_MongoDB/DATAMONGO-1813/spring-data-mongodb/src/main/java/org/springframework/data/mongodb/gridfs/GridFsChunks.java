@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+
+/**
+ * Utility methods to read and write GridFS {@literal files} and {@literal chunks} documents directly, following the
+ * layout of the <a href="https://github.com/mongodb/specifications/blob/master/source/gridfs/gridfs-spec.rst">GridFS
+ * specification</a>.
+ *
+ * @since 2.1
+ */
+abstract class GridFsChunks {
+
+ static final String DEFAULT_BUCKET = "fs";
+
+ static final String FILES_ID_FIELD = "files_id";
+ static final String CHUNK_INDEX_FIELD = "n";
+ static final String DATA_FIELD = "data";
+
+ static final Bson CHUNKS_INDEX = Indexes.ascending(FILES_ID_FIELD, CHUNK_INDEX_FIELD);
+ static final IndexOptions CHUNKS_INDEX_OPTIONS = new IndexOptions().unique(true);
+ static final Bson FILES_INDEX = Indexes.ascending("filename", "uploadDate");
+
+ private GridFsChunks() {}
+
+ static String getFilesCollectionName(@Nullable String bucket) {
+  return (bucket == null ? DEFAULT_BUCKET : bucket) + ".files";
+ }
+
+ static String getChunksCollectionName(@Nullable String bucket) {
+  return (bucket == null ? DEFAULT_BUCKET : bucket) + ".chunks";
+ }
+
+ /**
+  * Create the metadata {@link Document} containing the content type along with the given metadata.
+  *
+  * @param contentType can be {@literal null}.
+  * @param metadata can be {@literal null}.
+  * @return never {@literal null}.
+  */
+ static Document getMetadata(@Nullable String contentType, @Nullable Document metadata) {
+
+  Document mData = new Document();
+
+  if (StringUtils.hasText(contentType)) {
+   mData.put(GridFsResource.CONTENT_TYPE_FIELD, contentType);
+  }
+
+  if (metadata != null) {
+   mData.putAll(metadata);
+  }
+
+  return mData;
+ }
+
+ static Document createChunk(ObjectId filesId, int n, byte[] data) {
+  return new Document("_id", new ObjectId()).append(FILES_ID_FIELD, filesId).append(CHUNK_INDEX_FIELD, n)
+    .append(DATA_FIELD, new Binary(data));
+ }
+
+ static Document createFile(ObjectId id, @Nullable String filename, long length, int chunkSize, String md5,
+   Document metadata) {
+
+  return new Document("_id", id).append("filename", filename).append("length", length).append("chunkSize", chunkSize)
+    .append("uploadDate", new Date()).append("md5", md5).append("metadata", metadata);
+ }
+
+ static Bson queryChunk(BsonValue filesId, int n) {
+  return Filters.and(Filters.eq(FILES_ID_FIELD, filesId), Filters.eq(CHUNK_INDEX_FIELD, n));
+ }
+
+ static Bson queryChunks(Object filesId) {
+  return Filters.eq(FILES_ID_FIELD, filesId);
+ }
+
+ /**
+  * Extract the binary data of the given chunk.
+  *
+  * @param chunk can be {@literal null} if the chunk does not exist.
+  * @param filesId the id of the file the chunk belongs to.
+  * @param n the chunk index.
+  * @return never {@literal null}.
+  * @throws MongoGridFSException if the chunk does not exist.
+  */
+ static byte[] getData(@Nullable Document chunk, BsonValue filesId, int n) {
+
+  if (chunk == null) {
+   throw new MongoGridFSException(
+     String.format("Could not find file chunk for file_id: %s at chunk index %s.", filesId, n));
+  }
+
+  return chunk.get(DATA_FIELD, Binary.class).getData();
+ }
+
+ /**
+  * Create the {@link ExecutorService} transferring the chunks of a single file if no
+  * {@link GridFsTransferOptions#executor(java.util.concurrent.Executor) Executor} is configured. The pool is bounded to
+  * {@code parallelism} daemon threads that time out when idle.
+  *
+  * @param parallelism the maximum number of chunks in flight.
+  * @return never {@literal null}.
+  */
+ static ExecutorService createExecutor(int parallelism) {
+
+  CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("gridfs-transfer-");
+  threadFactory.setDaemon(true);
+
+  ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.SECONDS,
+    new LinkedBlockingQueue<>(), threadFactory);
+  executor.allowCoreThreadTimeOut(true);
+
+  return executor;
+ }
+
+ static MessageDigest createMd5() {
+
+  try {
+   return MessageDigest.getInstance("MD5");
+  } catch (NoSuchAlgorithmException e) {
+   throw new MongoGridFSException("No MD5 message digest available.", e);
+  }
+ }
+
+ static String toHex(byte[] digest) {
+
+  StringBuilder hex = new StringBuilder(digest.length * 2);
+
+  for (byte b : digest) {
+   hex.append(String.format("%02x", b & 0xff));
+  }
+
+  return hex.toString();
+ }
+
+ /**
+  * The chunks of a {@link GridFSFile} covering a requested range of bytes.
+  */
+ static class ChunkRange {
+
+  private final long offset;
+  private final long length;
+  private final int chunkSize;
+  private final int firstChunk;
+  private final int lastChunk;
+
+  private ChunkRange(long offset, long length, int chunkSize) {
+
+   this.offset = offset;
+   this.length = length;
+   this.chunkSize = chunkSize;
+   this.firstChunk = (int) (offset / chunkSize);
+   this.lastChunk = length == 0 ? firstChunk - 1 : (int) ((offset + length - 1) / chunkSize);
+  }
+
+  /**
+   * Create a {@link ChunkRange} for the given range. The range is truncated to the length of the file.
+   *
+   * @param file must not be {@literal null}.
+   * @param offset the position of the first byte. Must not be negative.
+   * @param length the maximum number of bytes. Must not be negative.
+   * @return new instance of {@link ChunkRange}.
+   */
+  static ChunkRange of(GridFSFile file, long offset, long length) {
+
+   Assert.notNull(file, "GridFSFile must not be null!");
+   Assert.isTrue(offset >= 0, "Offset must not be negative!");
+   Assert.isTrue(length >= 0, "Length must not be negative!");
+
+   long available = Math.max(file.getLength() - offset, 0);
+   return new ChunkRange(offset, Math.min(length, available), file.getChunkSize());
+  }
+
+  long getLength() {
+   return length;
+  }
+
+  int getFirstChunk() {
+   return firstChunk;
+  }
+
+  int getLastChunk() {
+   return lastChunk;
+  }
+
+  int getChunkCount() {
+   return lastChunk - firstChunk + 1;
+  }
+
+  /**
+   * @param n the chunk index.
+   * @return the position of the first requested byte within the chunk.
+   */
+  int getStart(int n) {
+   return (int) Math.max(offset - (long) n * chunkSize, 0);
+  }
+
+  /**
+   * @param n the chunk index.
+   * @param dataLength the number of bytes stored in the chunk.
+   * @return the position after the last requested byte within the chunk.
+   */
+  int getEnd(int n, int dataLength) {
+   return (int) Math.min(dataLength, offset + length - (long) n * chunkSize);
+  }
+ }
+}
@@ -16,6 +16,7 @@
 package org.springframework.data.mongodb.gridfs;
 
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -25,6 +26,7 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.lang.Nullable;
 
 import com.mongodb.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.model.GridFSFile;
 
 /**
  * Collection of operations to store and read files from MongoDB GridFS.
@@ -120,6 +122,48 @@ public interface GridFsOperations extends ResourcePatternResolver {
  ObjectId store(InputStream content, @Nullable String filename, @Nullable String contentType,
    @Nullable Document metadata);
 
+ /**
+  * Stores the content of the given {@link ReadableByteChannel} into a file with the given name, content type and
+  * metadata. The content is read sequentially and split into chunks of {@link GridFsTransferOptions#getChunkSize()}
+  * bytes, inserting up to {@link GridFsTransferOptions#getParallelism()} chunks concurrently. Chunks already written
+  * are removed if storing the file fails.
+  *
+  * @param content must not be {@literal null}.
+  * @param filename can be {@literal null}.
+  * @param contentType can be {@literal null}.
+  * @param metadata can be {@literal null}.
+  * @param options must not be {@literal null}.
+  * @return the {@link ObjectId} of the {@link GridFSFile} just created.
+  * @since 2.1
+  */
+ ObjectId store(ReadableByteChannel content, @Nullable String filename, @Nullable String contentType,
+   @Nullable Document metadata, GridFsTransferOptions options);
+
+ /**
+  * Open an {@link InputStream} reading the content of the given {@link GridFSFile} while prefetching up to
+  * {@link GridFsTransferOptions#getParallelism()} chunks concurrently.
+  *
+  * @param file must not be {@literal null}.
+  * @param options must not be {@literal null}.
+  * @return never {@literal null}.
+  * @since 2.1
+  */
+ InputStream getContent(GridFSFile file, GridFsTransferOptions options);
+
+ /**
+  * Open an {@link InputStream} reading up to {@code length} bytes of the given {@link GridFSFile} starting at
+  * {@code offset} while prefetching up to {@link GridFsTransferOptions#getParallelism()} chunks concurrently. Only the
+  * chunks covering the requested range are read.
+  *
+  * @param file must not be {@literal null}.
+  * @param offset the position of the first byte to read. Must not be negative.
+  * @param length the maximum number of bytes to read. Must not be negative.
+  * @param options must not be {@literal null}.
+  * @return never {@literal null}.
+  * @since 2.1
+  */
+ InputStream getContent(GridFSFile file, long offset, long length, GridFsTransferOptions options);
+
  /**
   * Returns all files matching the given query. Note, that currently {@link Sort} criterias defined at the
   * {@link Query} will not be regarded as MongoDB does not support ordering for GridFS file access.
@@ -18,7 +18,9 @@ package org.springframework.data.mongodb.gridfs;
 import static org.springframework.data.mongodb.core.query.Query.*;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -31,10 +33,13 @@ import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsChunks.ChunkRange;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
@@ -60,6 +65,8 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
  private final MongoConverter converter;
  private final QueryMapper queryMapper;
 
+ private volatile boolean indexesCreated;
+
  /**
   * Creates a new {@link GridFsTemplate} using the given {@link MongoDbFactory} and {@link MongoConverter}.
   *
@@ -164,20 +171,75 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
   Assert.notNull(content, "InputStream must not be null!");
 
   GridFSUploadOptions options = new GridFSUploadOptions();
+  options.metadata(GridFsChunks.getMetadata(contentType, metadata));
 
-  Document mData = new Document();
+  return getGridFs().uploadFromStream(filename, content, options);
+ }
 
-  if (StringUtils.hasText(contentType)) {
-   mData.put(GridFsResource.CONTENT_TYPE_FIELD, contentType);
-  }
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.nio.channels.ReadableByteChannel, java.lang.String, java.lang.String, org.bson.Document, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public ObjectId store(ReadableByteChannel content, @Nullable String filename, @Nullable String contentType,
+   @Nullable Document metadata, GridFsTransferOptions options) {
 
-  if (metadata != null) {
-   mData.putAll(metadata);
+  Assert.notNull(content, "ReadableByteChannel must not be null!");
+  Assert.notNull(options, "GridFsTransferOptions must not be null!");
+
+  MongoDatabase db = dbFactory.getDb();
+  MongoCollection<Document> files = db.getCollection(GridFsChunks.getFilesCollectionName(bucket));
+  MongoCollection<Document> chunks = db.getCollection(GridFsChunks.getChunksCollectionName(bucket));
+
+  ensureIndexes(files, chunks);
+
+  ObjectId id = new ObjectId();
+  ParallelChunkWriter writer = new ParallelChunkWriter(chunks, id, options);
+
+  try {
+   writer.write(content);
+  } catch (IOException e) {
+
+   chunks.deleteMany(GridFsChunks.queryChunks(id));
+   throw new MongoGridFSException("IOException when reading from the ReadableByteChannel", e);
+  } catch (RuntimeException e) {
+
+   chunks.deleteMany(GridFsChunks.queryChunks(id));
+   throw e;
   }
 
-  options.metadata(mData);
+  files.insertOne(GridFsChunks.createFile(id, filename, writer.getLength(), options.getChunkSize(), writer.getMd5(),
+    GridFsChunks.getMetadata(contentType, metadata)));
 
-  return getGridFs().uploadFromStream(filename, content, options);
+  return id;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.GridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public InputStream getContent(GridFSFile file, GridFsTransferOptions options) {
+
+  Assert.notNull(file, "GridFSFile must not be null!");
+
+  return getContent(file, 0, file.getLength(), options);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.GridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, long, long, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public InputStream getContent(GridFSFile file, long offset, long length, GridFsTransferOptions options) {
+
+  Assert.notNull(options, "GridFsTransferOptions must not be null!");
+
+  ChunkRange range = ChunkRange.of(file, offset, length);
+  MongoCollection<Document> chunks = dbFactory.getDb()
+    .getCollection(GridFsChunks.getChunksCollectionName(bucket));
+
+  return new ParallelChunkInputStream(chunks, file.getId(), range, options);
  }
 
  /*
@@ -262,6 +324,18 @@ public class GridFsTemplate implements GridFsOperations, ResourcePatternResolver
   return queryMapper.getMappedObject(query, Optional.empty());
  }
 
+ private void ensureIndexes(MongoCollection<Document> files, MongoCollection<Document> chunks) {
+
+  if (indexesCreated) {
+   return;
+  }
+
+  files.createIndex(GridFsChunks.FILES_INDEX);
+  chunks.createIndex(GridFsChunks.CHUNKS_INDEX, GridFsChunks.CHUNKS_INDEX_OPTIONS);
+
+  indexesCreated = true;
+ }
+
  private GridFSBucket getGridFs() {
 
   MongoDatabase db = dbFactory.getDb();
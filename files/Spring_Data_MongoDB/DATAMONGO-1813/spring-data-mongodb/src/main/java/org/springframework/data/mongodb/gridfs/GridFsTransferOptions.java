@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Options for pipelined GridFS transfers writing and reading multiple chunks concurrently instead of one chunk per
+ * round trip.
+ *
+ * @since 2.1
+ * @see GridFsOperations#store(java.nio.channels.ReadableByteChannel, String, String, org.bson.Document,
+ *      GridFsTransferOptions)
+ * @see GridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, long, long, GridFsTransferOptions)
+ */
+public class GridFsTransferOptions {
+
+ /**
+  * The default chunk size used by the MongoDB drivers: 255 KB.
+  */
+ public static final int DEFAULT_CHUNK_SIZE = 255 * 1024;
+
+ private final int parallelism;
+ private final int chunkSize;
+ private final @Nullable Executor executor;
+
+ private GridFsTransferOptions(int parallelism, int chunkSize, @Nullable Executor executor) {
+
+  this.parallelism = parallelism;
+  this.chunkSize = chunkSize;
+  this.executor = executor;
+ }
+
+ /**
+  * Create new {@link GridFsTransferOptions} transferring up to {@code parallelism} chunks concurrently.
+  *
+  * @param parallelism the maximum number of chunks in flight. Must be greater than zero.
+  * @return new instance of {@link GridFsTransferOptions}.
+  */
+ public static GridFsTransferOptions parallelism(int parallelism) {
+
+  Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+
+  return new GridFsTransferOptions(parallelism, DEFAULT_CHUNK_SIZE, null);
+ }
+
+ /**
+  * Set the size of the chunks written when storing files. Reads always use the chunk size stored with the file.
+  *
+  * @param chunkSize the chunk size in bytes. Must be greater than zero.
+  * @return new instance of {@link GridFsTransferOptions}.
+  */
+ public GridFsTransferOptions chunkSize(int chunkSize) {
+
+  Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+
+  return new GridFsTransferOptions(parallelism, chunkSize, executor);
+ }
+
+ /**
+  * Set the {@link Executor} to transfer chunks with. Each chunk is submitted as a single task so a pooled
+  * {@link Executor} is recommended. Defaults to a pool of {@link #getParallelism() parallelism} threads per transfer.
+  * Not used by {@link ReactiveGridFsOperations}.
+  *
+  * @param executor must not be {@literal null}.
+  * @return new instance of {@link GridFsTransferOptions}.
+  */
+ public GridFsTransferOptions executor(Executor executor) {
+
+  Assert.notNull(executor, "Executor must not be null!");
+
+  return new GridFsTransferOptions(parallelism, chunkSize, executor);
+ }
+
+ /**
+  * @return the maximum number of chunks in flight.
+  */
+ public int getParallelism() {
+  return parallelism;
+ }
+
+ /**
+  * @return the chunk size in bytes used when storing files.
+  */
+ public int getChunkSize() {
+  return chunkSize;
+ }
+
+ /**
+  * @return {@link Optional#empty()} if not set.
+  */
+ public Optional<Executor> getExecutor() {
+  return Optional.ofNullable(executor);
+ }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.gridfs.GridFsChunks.ChunkRange;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.client.MongoCollection;
+
+/**
+ * {@link InputStream} reading a range of a GridFS file while prefetching up to
+ * {@link GridFsTransferOptions#getParallelism()} chunks concurrently. Chunks are fetched in order and handed out as
+ * soon as all previous ones have been consumed.
+ *
+ * @since 2.1
+ */
+class ParallelChunkInputStream extends InputStream {
+
+ private static final byte[] EMPTY = new byte[0];
+
+ private final MongoCollection<Document> chunks;
+ private final BsonValue filesId;
+ private final ChunkRange range;
+ private final int parallelism;
+ private final Executor executor;
+ private final @Nullable ExecutorService defaultExecutor;
+ private final Deque<CompletableFuture<byte[]>> prefetched;
+
+ private int nextChunk;
+ private byte[] current = EMPTY;
+ private int position;
+ private int end;
+ private boolean closed;
+
+ ParallelChunkInputStream(MongoCollection<Document> chunks, BsonValue filesId, ChunkRange range,
+   GridFsTransferOptions options) {
+
+  this.chunks = chunks;
+  this.filesId = filesId;
+  this.range = range;
+  this.parallelism = options.getParallelism();
+  this.defaultExecutor = options.getExecutor().isPresent() ? null : GridFsChunks.createExecutor(parallelism);
+  this.executor = options.getExecutor().orElse(defaultExecutor);
+  this.prefetched = new ArrayDeque<>(parallelism);
+  this.nextChunk = range.getFirstChunk();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.io.InputStream#read()
+  */
+ @Override
+ public int read() throws IOException {
+
+  byte[] single = new byte[1];
+  return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.io.InputStream#read(byte[], int, int)
+  */
+ @Override
+ public int read(byte[] b, int off, int len) throws IOException {
+
+  if (closed) {
+   throw new IOException("Stream closed.");
+  }
+
+  if (len == 0) {
+   return 0;
+  }
+
+  while (position >= end) {
+   if (!advance()) {
+    return -1;
+   }
+  }
+
+  int count = Math.min(len, end - position);
+  System.arraycopy(current, position, b, off, count);
+  position += count;
+
+  return count;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.io.InputStream#available()
+  */
+ @Override
+ public int available() throws IOException {
+  return end - position;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.io.InputStream#close()
+  */
+ @Override
+ public void close() throws IOException {
+
+  closed = true;
+  current = EMPTY;
+  prefetched.forEach(it -> it.cancel(false));
+  prefetched.clear();
+
+  if (defaultExecutor != null) {
+   defaultExecutor.shutdown();
+  }
+ }
+
+ private boolean advance() throws IOException {
+
+  int n = nextChunk - prefetched.size();
+
+  while (prefetched.size() < parallelism && nextChunk <= range.getLastChunk()) {
+   prefetched.add(fetch(nextChunk++));
+  }
+
+  CompletableFuture<byte[]> chunk = prefetched.poll();
+
+  if (chunk == null) {
+   return false;
+  }
+
+  try {
+   current = chunk.get();
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new InterruptedIOException("Interrupted while waiting for chunk " + n + ".");
+  } catch (ExecutionException e) {
+
+   if (e.getCause() instanceof RuntimeException) {
+    throw (RuntimeException) e.getCause();
+   }
+
+   throw new IOException(e.getCause());
+  }
+
+  position = range.getStart(n);
+  end = range.getEnd(n, current.length);
+
+  return true;
+ }
+
+ private CompletableFuture<byte[]> fetch(int n) {
+  return CompletableFuture.supplyAsync(
+    () -> GridFsChunks.getData(chunks.find(GridFsChunks.queryChunk(filesId, n)).first(), filesId, n), executor);
+ }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Writes the chunks of a single file read sequentially from a {@link ReadableByteChannel} while inserting up to
+ * {@link GridFsTransferOptions#getParallelism()} chunks concurrently. At most {@code parallelism} chunks are held in
+ * memory.
+ *
+ * @since 2.1
+ */
+class ParallelChunkWriter {
+
+ private final MongoCollection<Document> chunks;
+ private final ObjectId filesId;
+ private final int chunkSize;
+ private final int parallelism;
+ private final Executor executor;
+ private final @Nullable ExecutorService defaultExecutor;
+
+ private final MessageDigest md5 = GridFsChunks.createMd5();
+ private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+ private long length;
+
+ ParallelChunkWriter(MongoCollection<Document> chunks, ObjectId filesId, GridFsTransferOptions options) {
+
+  this.chunks = chunks;
+  this.filesId = filesId;
+  this.chunkSize = options.getChunkSize();
+  this.parallelism = options.getParallelism();
+  this.defaultExecutor = options.getExecutor().isPresent() ? null : GridFsChunks.createExecutor(parallelism);
+  this.executor = options.getExecutor().orElse(defaultExecutor);
+ }
+
+ /**
+  * Read the given {@link ReadableByteChannel} to its end and insert its content as chunks. Returns once all chunks
+  * have been written or the first error occurred. Chunks already written are not removed.
+  *
+  * @param content must not be {@literal null}.
+  * @throws IOException if reading from the channel fails.
+  */
+ void write(ReadableByteChannel content) throws IOException {
+
+  Semaphore permits = new Semaphore(parallelism);
+
+  try {
+
+   int n = 0;
+   byte[] chunk;
+
+   while (failure.get() == null && (chunk = readChunk(content)) != null) {
+
+    md5.update(chunk);
+    length += chunk.length;
+
+    acquire(permits);
+    submit(GridFsChunks.createChunk(filesId, n++, chunk), permits);
+
+    if (chunk.length < chunkSize) {
+     break;
+    }
+   }
+  } finally {
+
+   permits.acquireUninterruptibly(parallelism);
+
+   if (defaultExecutor != null) {
+    defaultExecutor.shutdown();
+   }
+  }
+
+  RuntimeException error = failure.get();
+  if (error != null) {
+   throw error;
+  }
+ }
+
+ /**
+  * @return the number of bytes written.
+  */
+ long getLength() {
+  return length;
+ }
+
+ /**
+  * @return the hex encoded MD5 hash of the content written.
+  */
+ String getMd5() {
+  return GridFsChunks.toHex(md5.digest());
+ }
+
+ private void submit(Document chunk, Semaphore permits) {
+
+  try {
+   executor.execute(() -> {
+
+    try {
+     chunks.insertOne(chunk);
+    } catch (RuntimeException e) {
+     failure.compareAndSet(null, e);
+    } finally {
+     permits.release();
+    }
+   });
+  } catch (RejectedExecutionException e) {
+
+   permits.release();
+   throw e;
+  }
+ }
+
+ @Nullable
+ private byte[] readChunk(ReadableByteChannel content) throws IOException {
+
+  ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+
+  while (buffer.hasRemaining()) {
+   if (content.read(buffer) < 0) {
+    break;
+   }
+  }
+
+  if (buffer.position() == 0) {
+   return null;
+  }
+
+  return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+ }
+
+ private static void acquire(Semaphore permits) throws InterruptedIOException {
+
+  try {
+   permits.acquire();
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new InterruptedIOException("Interrupted while waiting for chunks to be written.");
+  }
+ }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Collection of reactive operations to store and read files from MongoDB GridFS transferring multiple chunks
+ * concurrently.
+ *
+ * @since 2.1
+ */
+public interface ReactiveGridFsOperations {
+
+ /**
+  * Stores the given content into a file with the given name, content type and metadata. The content is split into
+  * chunks of {@link GridFsTransferOptions#getChunkSize()} bytes, inserting up to
+  * {@link GridFsTransferOptions#getParallelism()} chunks concurrently. {@link DataBuffer}s are released once consumed
+  * and no more than {@code parallelism} chunks are held in memory. Chunks already written are removed if storing the
+  * file fails.
+  *
+  * @param content must not be {@literal null}.
+  * @param filename can be {@literal null}.
+  * @param contentType can be {@literal null}.
+  * @param metadata can be {@literal null}.
+  * @param options must not be {@literal null}.
+  * @return a {@link Mono} emitting the {@link ObjectId} of the {@link GridFSFile} just created.
+  */
+ Mono<ObjectId> store(Publisher<DataBuffer> content, @Nullable String filename, @Nullable String contentType,
+   @Nullable Document metadata, GridFsTransferOptions options);
+
+ /**
+  * Returns all files matching the given query.
+  *
+  * @param query must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ Flux<GridFSFile> find(Query query);
+
+ /**
+  * Returns a single {@link GridFSFile} matching the given query.
+  *
+  * @param query must not be {@literal null}.
+  * @return a {@link Mono} completing empty if no file matches.
+  */
+ Mono<GridFSFile> findOne(Query query);
+
+ /**
+  * Read the content of the given {@link GridFSFile} fetching up to {@link GridFsTransferOptions#getParallelism()}
+  * chunks concurrently.
+  *
+  * @param file must not be {@literal null}.
+  * @param options must not be {@literal null}.
+  * @return a {@link Flux} emitting one {@link DataBuffer} per chunk in order.
+  */
+ Flux<DataBuffer> getContent(GridFSFile file, GridFsTransferOptions options);
+
+ /**
+  * Read up to {@code length} bytes of the given {@link GridFSFile} starting at {@code offset} fetching up to
+  * {@link GridFsTransferOptions#getParallelism()} chunks concurrently. Only the chunks covering the requested range are
+  * read.
+  *
+  * @param file must not be {@literal null}.
+  * @param offset the position of the first byte to read. Must not be negative.
+  * @param length the maximum number of bytes to read. Must not be negative.
+  * @param options must not be {@literal null}.
+  * @return a {@link Flux} emitting one {@link DataBuffer} per chunk in order.
+  */
+ Flux<DataBuffer> getContent(GridFSFile file, long offset, long length, GridFsTransferOptions options);
+}
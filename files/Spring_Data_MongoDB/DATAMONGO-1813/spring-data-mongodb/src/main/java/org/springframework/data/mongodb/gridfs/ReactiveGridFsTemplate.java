@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsChunks.ChunkRange;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mongodb.reactivestreams.client.gridfs.GridFSBucket;
+import com.mongodb.reactivestreams.client.gridfs.GridFSBuckets;
+
+/**
+ * {@link ReactiveGridFsOperations} implementation reading and writing GridFS chunks directly to transfer multiple
+ * chunks concurrently.
+ *
+ * @since 2.1
+ */
+public class ReactiveGridFsTemplate implements ReactiveGridFsOperations {
+
+ private final ReactiveMongoDatabaseFactory dbFactory;
+ private final DataBufferFactory dataBufferFactory;
+ private final @Nullable String bucket;
+ private final QueryMapper queryMapper;
+
+ private volatile boolean indexesCreated;
+
+ /**
+  * Creates a new {@link ReactiveGridFsTemplate} using the given {@link ReactiveMongoDatabaseFactory} and
+  * {@link MongoConverter}.
+  *
+  * @param dbFactory must not be {@literal null}.
+  * @param converter must not be {@literal null}.
+  */
+ public ReactiveGridFsTemplate(ReactiveMongoDatabaseFactory dbFactory, MongoConverter converter) {
+  this(dbFactory, converter, null);
+ }
+
+ /**
+  * Creates a new {@link ReactiveGridFsTemplate} using the given {@link ReactiveMongoDatabaseFactory} and
+  * {@link MongoConverter}.
+  *
+  * @param dbFactory must not be {@literal null}.
+  * @param converter must not be {@literal null}.
+  * @param bucket can be {@literal null} to use the default bucket.
+  */
+ public ReactiveGridFsTemplate(ReactiveMongoDatabaseFactory dbFactory, MongoConverter converter,
+   @Nullable String bucket) {
+  this(new DefaultDataBufferFactory(), dbFactory, converter, bucket);
+ }
+
+ /**
+  * Creates a new {@link ReactiveGridFsTemplate} using the given {@link DataBufferFactory},
+  * {@link ReactiveMongoDatabaseFactory} and {@link MongoConverter}.
+  *
+  * @param dataBufferFactory must not be {@literal null}.
+  * @param dbFactory must not be {@literal null}.
+  * @param converter must not be {@literal null}.
+  * @param bucket can be {@literal null} to use the default bucket.
+  */
+ public ReactiveGridFsTemplate(DataBufferFactory dataBufferFactory, ReactiveMongoDatabaseFactory dbFactory,
+   MongoConverter converter, @Nullable String bucket) {
+
+  Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null!");
+  Assert.notNull(dbFactory, "ReactiveMongoDatabaseFactory must not be null!");
+  Assert.notNull(converter, "MongoConverter must not be null!");
+
+  this.dataBufferFactory = dataBufferFactory;
+  this.dbFactory = dbFactory;
+  this.bucket = bucket;
+  this.queryMapper = new QueryMapper(converter);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.String, org.bson.Document, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public Mono<ObjectId> store(Publisher<DataBuffer> content, @Nullable String filename, @Nullable String contentType,
+   @Nullable Document metadata, GridFsTransferOptions options) {
+
+  Assert.notNull(content, "Content must not be null!");
+  Assert.notNull(options, "GridFsTransferOptions must not be null!");
+
+  return Mono.defer(() -> {
+
+   MongoDatabase db = dbFactory.getMongoDatabase();
+   MongoCollection<Document> files = db.getCollection(GridFsChunks.getFilesCollectionName(bucket));
+   MongoCollection<Document> chunks = db.getCollection(GridFsChunks.getChunksCollectionName(bucket));
+
+   ObjectId id = new ObjectId();
+   ChunkCollector collector = new ChunkCollector(options.getChunkSize());
+
+   Flux<byte[]> chunkData = Flux.from(content) //
+     .flatMapIterable(collector::add, 1) //
+     .concatWith(Mono.fromSupplier(collector::getRemaining));
+
+   Mono<Void> writeChunks = chunkData.index() //
+     .flatMap(it -> Mono.from(chunks.insertOne(GridFsChunks.createChunk(id, it.getT1().intValue(), it.getT2()))),
+       options.getParallelism()) //
+     .then();
+
+   Mono<Void> writeFile = Mono.defer(() -> {
+
+    Document file = GridFsChunks.createFile(id, filename, collector.getLength(), options.getChunkSize(),
+      collector.getMd5(), GridFsChunks.getMetadata(contentType, metadata));
+
+    return Mono.from(files.insertOne(file)).then();
+   });
+
+   return ensureIndexes(files, chunks) //
+     .then(writeChunks) //
+     .then(writeFile) //
+     .onErrorResume(e -> Mono.from(chunks.deleteMany(GridFsChunks.queryChunks(id))).then(Mono.error(e))) //
+     .then(Mono.just(id));
+  });
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#find(org.springframework.data.mongodb.core.query.Query)
+  */
+ @Override
+ public Flux<GridFSFile> find(Query query) {
+
+  Assert.notNull(query, "Query must not be null!");
+
+  Document queryObject = getMappedQuery(query.getQueryObject());
+  Document sortObject = getMappedQuery(query.getSortObject());
+
+  return Flux.defer(() -> Flux.from(getGridFs().find(queryObject).sort(sortObject)));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#findOne(org.springframework.data.mongodb.core.query.Query)
+  */
+ @Override
+ public Mono<GridFSFile> findOne(Query query) {
+
+  Assert.notNull(query, "Query must not be null!");
+
+  Document queryObject = getMappedQuery(query.getQueryObject());
+  Document sortObject = getMappedQuery(query.getSortObject());
+
+  return Mono.defer(() -> Mono.from(getGridFs().find(queryObject).sort(sortObject).first()));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public Flux<DataBuffer> getContent(GridFSFile file, GridFsTransferOptions options) {
+
+  Assert.notNull(file, "GridFSFile must not be null!");
+
+  return getContent(file, 0, file.getLength(), options);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#getContent(com.mongodb.client.gridfs.model.GridFSFile, long, long, org.springframework.data.mongodb.gridfs.GridFsTransferOptions)
+  */
+ @Override
+ public Flux<DataBuffer> getContent(GridFSFile file, long offset, long length, GridFsTransferOptions options) {
+
+  Assert.notNull(options, "GridFsTransferOptions must not be null!");
+
+  ChunkRange range = ChunkRange.of(file, offset, length);
+
+  if (range.getChunkCount() <= 0) {
+   return Flux.empty();
+  }
+
+  return Flux.defer(() -> {
+
+   MongoCollection<Document> chunks = dbFactory.getMongoDatabase()
+     .getCollection(GridFsChunks.getChunksCollectionName(bucket));
+
+   return Flux.range(range.getFirstChunk(), range.getChunkCount()) //
+     .flatMapSequential(n -> Mono.from(chunks.find(GridFsChunks.queryChunk(file.getId(), n)).first()) //
+       .map(chunk -> GridFsChunks.getData(chunk, file.getId(), n)) //
+       .switchIfEmpty(Mono.fromCallable(() -> GridFsChunks.getData(null, file.getId(), n))) //
+       .map(data -> {
+
+        int start = range.getStart(n);
+        return dataBufferFactory.wrap(ByteBuffer.wrap(data, start, range.getEnd(n, data.length) - start));
+       }), options.getParallelism(), 1);
+  });
+ }
+
+ private Mono<Void> ensureIndexes(MongoCollection<Document> files, MongoCollection<Document> chunks) {
+
+  if (indexesCreated) {
+   return Mono.empty();
+  }
+
+  return Mono.from(files.createIndex(GridFsChunks.FILES_INDEX)) //
+    .then(Mono.from(chunks.createIndex(GridFsChunks.CHUNKS_INDEX, GridFsChunks.CHUNKS_INDEX_OPTIONS))) //
+    .doOnSuccess(it -> indexesCreated = true) //
+    .then();
+ }
+
+ private Document getMappedQuery(Document query) {
+  return queryMapper.getMappedObject(query, Optional.empty());
+ }
+
+ private GridFSBucket getGridFs() {
+
+  MongoDatabase db = dbFactory.getMongoDatabase();
+  return bucket == null ? GridFSBuckets.create(db) : GridFSBuckets.create(db, bucket);
+ }
+
+ /**
+  * Splits incoming {@link DataBuffer}s into chunks of a fixed size while computing length and MD5 hash of the content.
+  */
+ private static class ChunkCollector {
+
+  private final int chunkSize;
+  private final MessageDigest md5 = GridFsChunks.createMd5();
+
+  private byte[] current;
+  private int position;
+  private long length;
+
+  ChunkCollector(int chunkSize) {
+
+   this.chunkSize = chunkSize;
+   this.current = new byte[chunkSize];
+  }
+
+  /**
+   * Consume and release the given {@link DataBuffer}.
+   *
+   * @param buffer must not be {@literal null}.
+   * @return the chunks completed by the buffer.
+   */
+  List<byte[]> add(DataBuffer buffer) {
+
+   try {
+
+    List<byte[]> completed = Collections.emptyList();
+
+    while (buffer.readableByteCount() > 0) {
+
+     int count = Math.min(buffer.readableByteCount(), chunkSize - position);
+     buffer.read(current, position, count);
+     position += count;
+
+     if (position == chunkSize) {
+
+      if (completed.isEmpty()) {
+       completed = new ArrayList<>(1);
+      }
+
+      completed.add(complete(current));
+      current = new byte[chunkSize];
+     }
+    }
+
+    return completed;
+   } finally {
+    DataBufferUtils.release(buffer);
+   }
+  }
+
+  /**
+   * @return the remaining bytes not filling up a complete chunk or {@literal null} if there are none.
+   */
+  @Nullable
+  byte[] getRemaining() {
+   return position == 0 ? null : complete(Arrays.copyOf(current, position));
+  }
+
+  long getLength() {
+   return length;
+  }
+
+  String getMd5() {
+   return GridFsChunks.toHex(md5.digest());
+  }
+
+  private byte[] complete(byte[] chunk) {
+
+   md5.update(chunk);
+   length += chunk.length;
+   position = 0;
+
+   return chunk;
+  }
+ }
+}
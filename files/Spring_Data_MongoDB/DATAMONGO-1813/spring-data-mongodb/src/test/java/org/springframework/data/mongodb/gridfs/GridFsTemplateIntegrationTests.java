@@ -21,6 +21,9 @@ import static org.springframework.data.mongodb.core.query.Query.*;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,9 +42,11 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.util.StreamUtils;
 
 import com.mongodb.MongoGridFSException;
 import com.mongodb.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.model.GridFSFile;
 
 /**
  * Integration tests for {@link GridFsTemplate}.
@@ -225,6 +230,84 @@ public class GridFsTemplateIntegrationTests {
   assertThatThrownBy(() -> result.getContentType()).isInstanceOf(MongoGridFSException.class);
  }
 
+ @Test
+ public void storesAndReadsContentWithParallelChunkTransfer() throws IOException {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(4).chunkSize(64);
+  byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+  ObjectId reference = operations.store(Channels.newChannel(resource.getInputStream()), "parallel.xml",
+    "application/xml", new Document("key", "value"), options);
+
+  GridFSFile file = operations.findOne(query(whereFilename().is("parallel.xml")));
+
+  assertThat(((BsonObjectId) file.getId()).getValue()).isEqualTo(reference);
+  assertThat(file.getLength()).isEqualTo(content.length);
+  assertThat(file.getChunkSize()).isEqualTo(64);
+  assertThat(file.getMetadata()).containsEntry("key", "value");
+  assertThat(operations.getResource("parallel.xml").getContentType()).isEqualTo("application/xml");
+
+  try (InputStream stream = operations.getContent(file, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(content);
+  }
+ }
+
+ @Test
+ public void readsParallelStoredContentWithDriver() throws IOException {
+
+  byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+  operations.store(Channels.newChannel(resource.getInputStream()), "parallel.xml", null, null,
+    GridFsTransferOptions.parallelism(4).chunkSize(100));
+
+  try (InputStream stream = operations.getResource("parallel.xml").getInputStream()) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(content);
+  }
+ }
+
+ @Test
+ public void readsRangeOfContentWithParallelChunkTransfer() throws IOException {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(3);
+  byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+  operations.store(resource.getInputStream(), "foo.xml");
+  GridFSFile file = operations.findOne(query(whereFilename().is("foo.xml")));
+
+  try (InputStream stream = operations.getContent(file, 10, 50, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, 10, 60));
+  }
+
+  try (InputStream stream = operations.getContent(file, content.length - 5, 100, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, content.length - 5,
+     content.length));
+  }
+ }
+
+ @Test
+ public void readsRangeAcrossChunkBoundariesWithParallelChunkTransfer() throws IOException {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(2).chunkSize(64);
+  byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+  operations.store(Channels.newChannel(resource.getInputStream()), "chunked.xml", null, null, options);
+  GridFSFile file = operations.findOne(query(whereFilename().is("chunked.xml")));
+
+  assertThat(content.length).isGreaterThan(260);
+
+  try (InputStream stream = operations.getContent(file, 60, 200, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, 60, 260));
+  }
+
+  try (InputStream stream = operations.getContent(file, 64, 64, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, 64, 128));
+  }
+
+  try (InputStream stream = operations.getContent(file, 63, 2, options)) {
+   assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, 63, 65));
+  }
+ }
+
  class Metadata {
   String version;
  }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.util.StreamUtils;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+/**
+ * Integration tests for {@link ReactiveGridFsTemplate}.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration
+public class ReactiveGridFsTemplateTests {
+
+ @Configuration
+ static class Config extends AbstractReactiveMongoConfiguration {
+
+  @Override
+  public MongoClient mongoClient() {
+   return MongoClients.create();
+  }
+
+  @Override
+  protected String getDatabaseName() {
+   return "reactive-gridfs-tests";
+  }
+
+  @Bean
+  public ReactiveGridFsTemplate reactiveGridFsTemplate() throws Exception {
+   return new ReactiveGridFsTemplate(reactiveMongoDbFactory(), mappingMongoConverter());
+  }
+ }
+
+ Resource resource = new ClassPathResource("gridfs/gridfs.xml");
+
+ @Autowired ReactiveGridFsOperations operations;
+ @Autowired ReactiveMongoDatabaseFactory dbFactory;
+
+ byte[] content;
+
+ @Before
+ public void setUp() throws IOException {
+
+  content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+  StepVerifier.create(Mono.from(dbFactory.getMongoDatabase().getCollection("fs.files").deleteMany(new Document())))
+    .expectNextCount(1).verifyComplete();
+  StepVerifier.create(Mono.from(dbFactory.getMongoDatabase().getCollection("fs.chunks").deleteMany(new Document())))
+    .expectNextCount(1).verifyComplete();
+ }
+
+ @Test
+ public void storesAndReadsContent() {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(4).chunkSize(64);
+
+  ObjectId reference = operations
+    .store(read(resource, 100), "reactive.xml", "application/xml", new Document("key", "value"), options).block();
+
+  StepVerifier.create(operations.findOne(query(whereFilename().is("reactive.xml")))).consumeNextWith(file -> {
+
+   assertThat(((BsonObjectId) file.getId()).getValue()).isEqualTo(reference);
+   assertThat(file.getLength()).isEqualTo(content.length);
+   assertThat(file.getChunkSize()).isEqualTo(64);
+   assertThat(file.getMetadata()).containsEntry("key", "value").containsEntry(GridFsResource.CONTENT_TYPE_FIELD,
+     "application/xml");
+  }).verifyComplete();
+
+  GridFSFile file = operations.findOne(query(whereFilename().is("reactive.xml"))).block();
+
+  assertThat(toBytes(operations.getContent(file, options))).isEqualTo(content);
+ }
+
+ @Test
+ public void storesContentSplitAcrossBuffersNotAlignedToChunks() {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(2).chunkSize(64);
+
+  operations.store(read(resource, 7), "unaligned.xml", null, null, options).block();
+
+  GridFSFile file = operations.findOne(query(whereFilename().is("unaligned.xml"))).block();
+
+  assertThat(file.getLength()).isEqualTo(content.length);
+  assertThat(toBytes(operations.getContent(file, options))).isEqualTo(content);
+ }
+
+ @Test
+ public void readsRangeAcrossChunkBoundaries() {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(3).chunkSize(64);
+
+  operations.store(read(resource, 100), "chunked.xml", null, null, options).block();
+  GridFSFile file = operations.findOne(query(whereFilename().is("chunked.xml"))).block();
+
+  assertThat(content.length).isGreaterThan(260);
+  assertThat(toBytes(operations.getContent(file, 60, 200, options)))
+    .isEqualTo(Arrays.copyOfRange(content, 60, 260));
+  assertThat(toBytes(operations.getContent(file, 64, 64, options))).isEqualTo(Arrays.copyOfRange(content, 64, 128));
+  assertThat(toBytes(operations.getContent(file, content.length - 5, 100, options)))
+    .isEqualTo(Arrays.copyOfRange(content, content.length - 5, content.length));
+ }
+
+ @Test
+ public void emitsNothingForRangeBeyondContent() {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(2).chunkSize(64);
+
+  operations.store(read(resource, 100), "empty-range.xml", null, null, options).block();
+  GridFSFile file = operations.findOne(query(whereFilename().is("empty-range.xml"))).block();
+
+  StepVerifier.create(operations.getContent(file, content.length, 10, options)).verifyComplete();
+ }
+
+ @Test
+ public void removesChunksIfStoringFails() {
+
+  GridFsTransferOptions options = GridFsTransferOptions.parallelism(2).chunkSize(64);
+  Flux<DataBuffer> failing = read(resource, 100).concatWith(Flux.error(new IllegalStateException("boom")));
+
+  StepVerifier.create(operations.store(failing, "failing.xml", null, null, options))
+    .verifyError(IllegalStateException.class);
+
+  StepVerifier.create(Mono.from(dbFactory.getMongoDatabase().getCollection("fs.chunks").count())).expectNext(0L)
+    .verifyComplete();
+  StepVerifier.create(operations.find(query(whereFilename().is("failing.xml")))).verifyComplete();
+ }
+
+ private static Flux<DataBuffer> read(Resource resource, int bufferSize) {
+  return DataBufferUtils.read(resource, new DefaultDataBufferFactory(), bufferSize);
+ }
+
+ private static byte[] toBytes(Flux<DataBuffer> buffers) {
+
+  return buffers.reduce(new ByteArrayOutputStream(), (out, buffer) -> {
+
+   byte[] bytes = new byte[buffer.readableByteCount()];
+   buffer.read(bytes);
+   DataBufferUtils.release(buffer);
+   out.write(bytes, 0, bytes.length);
+
+   return out;
+  }).map(ByteArrayOutputStream::toByteArray).defaultIfEmpty(new byte[0]).block();
+ }
+}
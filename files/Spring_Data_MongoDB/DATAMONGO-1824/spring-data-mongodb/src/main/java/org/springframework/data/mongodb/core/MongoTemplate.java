@@ -1935,6 +1935,11 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
   AggregationOperationContext rootContext = context == null ? Aggregation.DEFAULT_CONTEXT : context;
   Document command = aggregation.toDocument(collectionName, rootContext);
+  AggregationOptions options = AggregationOptions.fromDocument(command);
+
+  if (!options.isExplain() && options.getCursorBatchSize() != null) {
+   return aggregateUsingCursor(command, options, collectionName, outputType);
+  }
 
   if (LOGGER.isDebugEnabled()) {
    LOGGER.debug("Executing aggregation: {}", serializeToJsonSafely(command));
@@ -1946,6 +1951,77 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
     commandResult);
  }
 
+ /**
+  * Execute the aggregation via a cursor fetching {@link AggregationOptions#getCursorBatchSize() batchSize} documents
+  * per round trip, so that results are not limited by the maximum size of a single command reply. The raw results
+  * mirror the reply of the non cursor based command, holding all documents in {@literal result}. Use
+  * {@link #aggregateStream(Aggregation, String, Class)} to process results without holding them in memory.
+  *
+  * @param command the aggregation command.
+  * @param options the options extracted from the command.
+  * @param collectionName the collection to aggregate.
+  * @param outputType the type to map the results to.
+  * @return never {@literal null}.
+  */
+ private <O> AggregationResults<O> aggregateUsingCursor(Document command, AggregationOptions options,
+   String collectionName, Class<O> outputType) {
+
+  if (LOGGER.isDebugEnabled()) {
+   LOGGER.debug("Executing aggregation using cursor: {}", serializeToJsonSafely(command));
+  }
+
+  DocumentCallback<O> callback = new UnwrapAndReadDocumentCallback<O>(mongoConverter, outputType, collectionName);
+
+  List<Document> rawResults = execute(collectionName, collection -> {
+
+   List<Document> results = new ArrayList<Document>();
+
+   try (MongoCursor<Document> cursor = prepareAggregation(collection, command, options).iterator()) {
+    while (cursor.hasNext()) {
+     results.add(cursor.next());
+    }
+   }
+
+   return results;
+  });
+
+  List<O> mappedResults = new ArrayList<O>(rawResults.size());
+  for (Document document : rawResults) {
+   mappedResults.add(callback.doWith(document));
+  }
+
+  return new AggregationResults<O>(mappedResults, new Document("result", rawResults).append("ok", 1.0D));
+ }
+
+ /**
+  * Create the {@link AggregateIterable} for the given aggregation {@code command} applying the {@link AggregationOptions}.
+  *
+  * @param collection the collection to aggregate.
+  * @param command the aggregation command.
+  * @param options the options extracted from the command.
+  * @return never {@literal null}.
+  */
+ @SuppressWarnings("unchecked")
+ private static AggregateIterable<Document> prepareAggregation(MongoCollection<Document> collection, Document command,
+   AggregationOptions options) {
+
+  List<Document> pipeline = (List<Document>) command.get("pipeline");
+
+  AggregateIterable<Document> cursor = collection.aggregate(pipeline).allowDiskUse(options.isAllowDiskUse())
+    .useCursor(true);
+
+  Integer cursorBatchSize = options.getCursorBatchSize();
+  if (cursorBatchSize != null) {
+   cursor = cursor.batchSize(cursorBatchSize);
+  }
+
+  if (options.getCollation().isPresent()) {
+   cursor = cursor.collation(options.getCollation().map(Collation::toMongoCollation).get());
+  }
+
+  return cursor;
+ }
+
  /**
   * Returns the potentially mapped results of the given {@code commandResult}.
   *
@@ -1997,21 +2073,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
    public CloseableIterator<O> doInCollection(MongoCollection<Document> collection)
      throws MongoException, DataAccessException {
 
-    List<Document> pipeline = (List<Document>) command.get("pipeline");
-
-    AggregationOptions options = AggregationOptions.fromDocument(command);
-
-    AggregateIterable<Document> cursor = collection.aggregate(pipeline).allowDiskUse(options.isAllowDiskUse())
-      .useCursor(true);
-
-    Integer cursorBatchSize = options.getCursorBatchSize();
-    if (cursorBatchSize != null) {
-     cursor = cursor.batchSize(cursorBatchSize);
-    }
-
-    if (options.getCollation().isPresent()) {
-     cursor = cursor.collation(options.getCollation().map(Collation::toMongoCollation).get());
-    }
+    AggregateIterable<Document> cursor = prepareAggregation(collection, command,
+      AggregationOptions.fromDocument(command));
 
     return new CloseableIterableCursorAdapter<O>(cursor.iterator(), exceptionTranslator, readCallback);
    }
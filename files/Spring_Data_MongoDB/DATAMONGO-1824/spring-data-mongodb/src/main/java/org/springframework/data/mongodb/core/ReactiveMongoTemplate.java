@@ -737,7 +737,6 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   AggregationOptions options = AggregationOptions.fromDocument(command);
 
   Assert.isTrue(!options.isExplain(), "Cannot use explain option with streaming!");
-  Assert.isNull(options.getCursorBatchSize(), "Cannot use batchSize cursor option with streaming!");
 
   if (LOGGER.isDebugEnabled()) {
    LOGGER.debug("Streaming aggregation: {}", serializeToJsonSafely(command));
@@ -758,7 +757,14 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    cursor = cursor.collation(options.getCollation().map(Collation::toMongoCollation).get());
   }
 
-  return Flux.from(cursor).map(readCallback::doWith);
+  Integer cursorBatchSize = options.getCursorBatchSize();
+
+  if (cursorBatchSize == null) {
+   return Flux.from(cursor).map(readCallback::doWith);
+  }
+
+  // request at most one batch ahead so that getMore is only issued on demand
+  return Flux.from(cursor.batchSize(cursorBatchSize)).limitRate(cursorBatchSize).map(readCallback::doWith);
  }
 
  /*
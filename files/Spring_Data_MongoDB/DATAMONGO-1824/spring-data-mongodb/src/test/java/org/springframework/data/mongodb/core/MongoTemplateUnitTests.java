@@ -58,6 +58,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
@@ -75,12 +76,14 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.mongodb.DB;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
 import com.mongodb.ReadPreference;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MapReduceIterable;
 import com.mongodb.client.MongoCollection;
@@ -857,6 +860,55 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
   verify(findIterable).projection(eq(new Document()));
  }
 
+ @Test
+ @SuppressWarnings("unchecked")
+ public void aggregateShouldReadResultsViaCursorWhenBatchSizeIsSet() {
+
+  AggregateIterable<Document> aggregateIterable = mock(AggregateIterable.class);
+  when(collection.aggregate(any(List.class))).thenReturn(aggregateIterable);
+  when(aggregateIterable.allowDiskUse(any())).thenReturn(aggregateIterable);
+  when(aggregateIterable.useCursor(any())).thenReturn(aggregateIterable);
+  when(aggregateIterable.batchSize(anyInt())).thenReturn(aggregateIterable);
+  when(aggregateIterable.iterator()).thenReturn(cursor);
+  when(cursor.hasNext()).thenReturn(true, false);
+  when(cursor.next()).thenReturn(new Document("_id", "id-1"));
+
+  AggregationResults<Document> results = template.aggregate(
+    newAggregation(project("id")).withOptions(newAggregationOptions().cursorBatchSize(10).build()),
+    "collection-1", Document.class);
+
+  assertThat(results.getMappedResults(), hasSize(1));
+  assertThat((List<Document>) results.getRawResults().get("result"), contains(new Document("_id", "id-1")));
+  verify(aggregateIterable).batchSize(10);
+  verify(db, never()).runCommand(any(), any(Class.class));
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void aggregateStreamShouldReadResultsLazilyUsingCursorBatchSize() {
+
+  AggregateIterable<Document> aggregateIterable = mock(AggregateIterable.class);
+  when(collection.aggregate(any(List.class))).thenReturn(aggregateIterable);
+  when(aggregateIterable.allowDiskUse(any())).thenReturn(aggregateIterable);
+  when(aggregateIterable.useCursor(any())).thenReturn(aggregateIterable);
+  when(aggregateIterable.batchSize(anyInt())).thenReturn(aggregateIterable);
+  when(aggregateIterable.iterator()).thenReturn(cursor);
+  when(cursor.hasNext()).thenReturn(true, false);
+  when(cursor.next()).thenReturn(new Document("_id", "id-1"));
+
+  CloseableIterator<Document> results = template.aggregateStream(
+    newAggregation(project("id")).withOptions(newAggregationOptions().cursorBatchSize(10).build()),
+    "collection-1", Document.class);
+
+  verify(aggregateIterable).batchSize(10);
+  verify(cursor, never()).next();
+
+  assertThat(results.hasNext(), is(true));
+  assertThat(results.next(), is(new Document("_id", "id-1")));
+  assertThat(results.hasNext(), is(false));
+  results.close();
+ }
+
  class AutogenerateableId {
 
   @Id BigInteger id;
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.reactivestreams.Subscriber;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+/**
+ * Unit tests for {@link ReactiveMongoTemplate}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveMongoTemplateUnitTests {
+
+ ReactiveMongoTemplate template;
+
+ @Mock ReactiveMongoDatabaseFactory factory;
+ @Mock MongoDatabase db;
+ @Mock MongoCollection<Document> collection;
+ @Mock AggregatePublisher<Document> aggregatePublisher;
+
+ @Before
+ public void setUp() {
+
+  when(factory.getMongoDatabase()).thenReturn(db);
+  when(db.getCollection(any(String.class))).thenReturn(collection);
+  when(collection.aggregate(anyList())).thenReturn(aggregatePublisher);
+  when(aggregatePublisher.allowDiskUse(any())).thenReturn(aggregatePublisher);
+  when(aggregatePublisher.useCursor(any())).thenReturn(aggregatePublisher);
+
+  this.template = new ReactiveMongoTemplate(factory);
+ }
+
+ @Test
+ public void aggregateShouldLimitDemandToCursorBatchSize() {
+
+  List<Long> requests = new CopyOnWriteArrayList<>();
+  Flux<Document> documents = Flux.range(0, 10).map(i -> new Document("_id", i)).doOnRequest(requests::add);
+
+  when(aggregatePublisher.batchSize(anyInt())).thenReturn(aggregatePublisher);
+  doAnswer(invocation -> {
+
+   documents.subscribe(invocation.<Subscriber<Document>> getArgument(0));
+   return null;
+  }).when(aggregatePublisher).subscribe(any());
+
+  StepVerifier.create(template.aggregate(
+    newAggregation(project("id")).withOptions(newAggregationOptions().cursorBatchSize(3).build()), "collection-1",
+    Document.class)) //
+    .expectNextCount(10) //
+    .verifyComplete();
+
+  verify(aggregatePublisher).batchSize(3);
+  assertThat(requests, everyItem(lessThanOrEqualTo(3L)));
+ }
+
+ @Test
+ public void aggregateShouldNotLimitDemandWithoutCursorBatchSize() {
+
+  List<Long> requests = new CopyOnWriteArrayList<>();
+  Flux<Document> documents = Flux.range(0, 10).map(i -> new Document("_id", i)).doOnRequest(requests::add);
+
+  doAnswer(invocation -> {
+
+   documents.subscribe(invocation.<Subscriber<Document>> getArgument(0));
+   return null;
+  }).when(aggregatePublisher).subscribe(any());
+
+  StepVerifier.create(template.aggregate(newAggregation(project("id")), "collection-1", Document.class)) //
+    .expectNextCount(10) //
+    .verifyComplete();
+
+  verify(aggregatePublisher, never()).batchSize(anyInt());
+  assertThat(requests, contains(Long.MAX_VALUE));
+ }
+}
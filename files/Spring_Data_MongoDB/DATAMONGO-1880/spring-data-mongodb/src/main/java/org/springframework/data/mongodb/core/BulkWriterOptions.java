@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Options for streaming bulk writes that submit the collected operations in batches instead of holding all of them
+ * until {@link BulkOperations#execute()} is called. A batch is submitted as soon as it reaches either the configured
+ * number of operations or the estimated size in bytes. {@link BulkOperations.BulkMode#UNORDERED Unordered} writes may
+ * submit multiple batches concurrently. {@link BulkOperations.BulkMode#ORDERED Ordered} writes always submit batches
+ * one after another to retain the order of operations.
+ *
+ * @since 2.1
+ */
+public class BulkWriterOptions {
+
+ private final int batchSize;
+ private final long maxBatchBytes;
+ private final int parallelism;
+ private final @Nullable Executor executor;
+
+ private BulkWriterOptions(int batchSize, long maxBatchBytes, int parallelism, @Nullable Executor executor) {
+
+  this.batchSize = batchSize;
+  this.maxBatchBytes = maxBatchBytes;
+  this.parallelism = parallelism;
+  this.executor = executor;
+ }
+
+ /**
+  * Create new {@link BulkWriterOptions} submitting a batch every {@code batchSize} operations.
+  *
+  * @param batchSize the maximum number of operations per batch. Must be greater than zero.
+  * @return new instance of {@link BulkWriterOptions}.
+  */
+ public static BulkWriterOptions batchSize(int batchSize) {
+
+  Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+  return new BulkWriterOptions(batchSize, 0, 1, null);
+ }
+
+ /**
+  * Additionally submit a batch once the estimated BSON size of its operations reaches the given number of bytes. Sizes
+  * are estimated for operations carrying {@link org.bson.Document}s only.
+  *
+  * @param maxBatchBytes the maximum size of a batch in bytes. Must be greater than zero.
+  * @return new instance of {@link BulkWriterOptions}.
+  */
+ public BulkWriterOptions maxBatchBytes(long maxBatchBytes) {
+
+  Assert.isTrue(maxBatchBytes > 0, "Max batch bytes must be greater than zero!");
+
+  return new BulkWriterOptions(batchSize, maxBatchBytes, parallelism, executor);
+ }
+
+ /**
+  * Set the maximum number of batches submitted concurrently for {@link BulkOperations.BulkMode#UNORDERED unordered}
+  * writes. Ordered writes ignore this setting.
+  *
+  * @param parallelism the maximum number of concurrent batches. Must be greater than zero.
+  * @return new instance of {@link BulkWriterOptions}.
+  */
+ public BulkWriterOptions parallelism(int parallelism) {
+
+  Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+
+  return new BulkWriterOptions(batchSize, maxBatchBytes, parallelism, executor);
+ }
+
+ /**
+  * Set the {@link Executor} to submit concurrent batches with. Defaults to a
+  * {@link org.springframework.core.task.SimpleAsyncTaskExecutor}.
+  *
+  * @param executor must not be {@literal null}.
+  * @return new instance of {@link BulkWriterOptions}.
+  */
+ public BulkWriterOptions executor(Executor executor) {
+
+  Assert.notNull(executor, "Executor must not be null!");
+
+  return new BulkWriterOptions(batchSize, maxBatchBytes, parallelism, executor);
+ }
+
+ /**
+  * @return the maximum number of operations per batch.
+  */
+ public int getBatchSize() {
+  return batchSize;
+ }
+
+ /**
+  * @return the maximum estimated size of a batch in bytes. Zero if the size is not limited.
+  */
+ public long getMaxBatchBytes() {
+  return maxBatchBytes;
+ }
+
+ /**
+  * @return the maximum number of concurrently submitted batches for unordered writes.
+  */
+ public int getParallelism() {
+  return parallelism;
+ }
+
+ /**
+  * @return {@link Optional#empty()} if not set.
+  */
+ public Optional<Executor> getExecutor() {
+  return Optional.ofNullable(executor);
+ }
+}
@@ -20,14 +20,24 @@ import lombok.Value;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
+import org.bson.BsonBinaryWriter;
 import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
 import org.bson.conversions.Bson;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverterCodecProvider;
 import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.convert.UpdateMapper;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
@@ -37,15 +47,23 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.Pair;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 import com.mongodb.BulkWriteException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.bulk.WriteConcernError;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.UpdateManyModel;
 import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
@@ -65,10 +83,12 @@ class DefaultBulkOperations implements BulkOperations {
  private final MongoOperations mongoOperations;
  private final String collectionName;
  private final BulkOperationContext bulkOperationContext;
- private final List<WriteModel<Document>> models = new ArrayList<>();
+ private final List<WriteModel<Object>> models = new ArrayList<>();
 
  private PersistenceExceptionTranslator exceptionTranslator;
  private @Nullable WriteConcern defaultWriteConcern;
+ private @Nullable MappingMongoConverterCodecProvider entityCodecProvider;
+ private @Nullable BatchWriter batchWriter;
 
  private BulkWriteOptions bulkOptions;
 
@@ -113,6 +133,28 @@ class DefaultBulkOperations implements BulkOperations {
   this.defaultWriteConcern = defaultWriteConcern;
  }
 
+ /**
+  * Configures the {@link MappingMongoConverterCodecProvider} to encode inserted entities with. Entities are converted
+  * into a {@link Document} upfront if {@literal null}. Defaults to {@literal null}.
+  *
+  * @param entityCodecProvider can be {@literal null}.
+  * @since 2.1
+  */
+ void setEntityCodecProvider(@Nullable MappingMongoConverterCodecProvider entityCodecProvider) {
+  this.entityCodecProvider = entityCodecProvider;
+ }
+
+ /**
+  * Configures the {@link BulkWriterOptions} to submit operations in batches with. All operations are held in memory
+  * and written on {@link #execute()} if {@literal null}. Defaults to {@literal null}.
+  *
+  * @param writerOptions can be {@literal null}.
+  * @since 2.1
+  */
+ void setWriterOptions(@Nullable BulkWriterOptions writerOptions) {
+  this.batchWriter = writerOptions != null ? new BatchWriter(writerOptions) : null;
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.mongodb.core.BulkOperations#insert(java.lang.Object)
@@ -122,16 +164,17 @@ class DefaultBulkOperations implements BulkOperations {
 
   Assert.notNull(document, "Document must not be null!");
 
-  if (document instanceof Document) {
+  if (document instanceof Document
+    || (entityCodecProvider != null && entityCodecProvider.isEntity(ClassUtils.getUserClass(document)))) {
 
-   models.add(new InsertOneModel<>((Document) document));
+   addModel(new InsertOneModel<>(document));
    return this;
   }
 
   Document sink = new Document();
   mongoOperations.getConverter().write(document, sink);
 
-  models.add(new InsertOneModel<>(sink));
+  addModel(new InsertOneModel<>(sink));
 
   return this;
  }
@@ -245,7 +288,7 @@ class DefaultBulkOperations implements BulkOperations {
   DeleteOptions deleteOptions = new DeleteOptions();
   query.getCollation().map(Collation::toMongoCollation).ifPresent(deleteOptions::collation);
 
-  models.add(new DeleteManyModel<>(query.getQueryObject(), deleteOptions));
+  addModel(new DeleteManyModel<>(query.getQueryObject(), deleteOptions));
 
   return this;
  }
@@ -273,14 +316,23 @@ class DefaultBulkOperations implements BulkOperations {
  @Override
  public com.mongodb.bulk.BulkWriteResult execute() {
 
-  try {
+  if (batchWriter != null) {
 
-   MongoCollection<Document> collection = mongoOperations.getCollection(collectionName);
-   if (defaultWriteConcern != null) {
-    collection = collection.withWriteConcern(defaultWriteConcern);
+   try {
+
+    if (!models.isEmpty()) {
+     batchWriter.submit(drainModels());
+    }
+
+    return batchWriter.awaitResult();
+   } finally {
+    this.bulkOptions = getBulkWriteOptions(bulkOperationContext.getBulkMode());
    }
+  }
+
+  try {
 
-   return collection.bulkWrite(models.stream().map(this::mapWriteModel).collect(Collectors.toList()), bulkOptions);
+   return bulkWrite(models, bulkOptions);
 
   } catch (BulkWriteException o_O) {
 
@@ -311,55 +363,116 @@ class DefaultBulkOperations implements BulkOperations {
   query.getCollation().map(Collation::toMongoCollation).ifPresent(options::collation);
 
   if (multi) {
-   models.add(new UpdateManyModel<>(query.getQueryObject(), update.getUpdateObject(), options));
+   addModel(new UpdateManyModel<>(query.getQueryObject(), update.getUpdateObject(), options));
   } else {
-   models.add(new UpdateOneModel<>(query.getQueryObject(), update.getUpdateObject(), options));
+   addModel(new UpdateOneModel<>(query.getQueryObject(), update.getUpdateObject(), options));
   }
 
   return this;
  }
 
- private WriteModel<Document> mapWriteModel(WriteModel<Document> writeModel) {
+ private void addModel(WriteModel<Object> model) {
+
+  models.add(model);
+
+  if (batchWriter != null && batchWriter.isBatchComplete(model)) {
+   batchWriter.submit(drainModels());
+  }
+ }
+
+ private List<WriteModel<Object>> drainModels() {
+
+  List<WriteModel<Object>> batch = new ArrayList<>(models);
+  models.clear();
+
+  return batch;
+ }
+
+ private BulkWriteResult bulkWrite(List<WriteModel<Object>> models, BulkWriteOptions options) {
+
+  MongoCollection<Object> collection = getCollection();
+  if (defaultWriteConcern != null) {
+   collection = collection.withWriteConcern(defaultWriteConcern);
+  }
+
+  return collection.bulkWrite(
+    models.stream().map(it -> mapWriteModel(it, bulkOperationContext)).collect(Collectors.toList()), options);
+ }
+
+ private RuntimeException potentiallyTranslate(RuntimeException e) {
+
+  DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+  return translated == null ? e : translated;
+ }
+
+ /**
+  * Obtain the {@link MongoCollection} to run the bulk write against. Without an entity
+  * {@link MappingMongoConverterCodecProvider} all inserted objects have been converted into a {@link Document} so that
+  * the {@link Document} based collection can take all {@link WriteModel}s.
+  *
+  * @return never {@literal null}.
+  */
+ @SuppressWarnings({ "unchecked", "rawtypes" })
+ private MongoCollection<Object> getCollection() {
+
+  MongoCollection<Document> collection = mongoOperations.getCollection(collectionName);
+
+  if (entityCodecProvider == null) {
+   return (MongoCollection) collection;
+  }
+
+  return collection.withDocumentClass(Object.class)
+    .withCodecRegistry(entityCodecProvider.createCodecRegistry(collection.getCodecRegistry()));
+ }
+
+ /**
+  * Map filter and update of the given {@link WriteModel} against the entity of the given {@link BulkOperationContext}.
+  *
+  * @param writeModel must not be {@literal null}.
+  * @param context must not be {@literal null}.
+  * @return the mapped {@link WriteModel}.
+  */
+ static <T> WriteModel<T> mapWriteModel(WriteModel<T> writeModel, BulkOperationContext context) {
 
   if (writeModel instanceof UpdateOneModel) {
 
-   UpdateOneModel<Document> model = (UpdateOneModel<Document>) writeModel;
+   UpdateOneModel<T> model = (UpdateOneModel<T>) writeModel;
 
-   return new UpdateOneModel<>(getMappedQuery(model.getFilter()), getMappedUpdate(model.getUpdate()),
-     model.getOptions());
+   return new UpdateOneModel<>(getMappedQuery(model.getFilter(), context),
+     getMappedUpdate(model.getUpdate(), context), model.getOptions());
   }
 
   if (writeModel instanceof UpdateManyModel) {
 
-   UpdateManyModel<Document> model = (UpdateManyModel<Document>) writeModel;
+   UpdateManyModel<T> model = (UpdateManyModel<T>) writeModel;
 
-   return new UpdateManyModel<>(getMappedQuery(model.getFilter()), getMappedUpdate(model.getUpdate()),
-     model.getOptions());
+   return new UpdateManyModel<>(getMappedQuery(model.getFilter(), context),
+     getMappedUpdate(model.getUpdate(), context), model.getOptions());
   }
 
   if (writeModel instanceof DeleteOneModel) {
 
-   DeleteOneModel<Document> model = (DeleteOneModel<Document>) writeModel;
+   DeleteOneModel<T> model = (DeleteOneModel<T>) writeModel;
 
-   return new DeleteOneModel<>(getMappedQuery(model.getFilter()), model.getOptions());
+   return new DeleteOneModel<>(getMappedQuery(model.getFilter(), context), model.getOptions());
   }
 
   if (writeModel instanceof DeleteManyModel) {
 
-   DeleteManyModel<Document> model = (DeleteManyModel<Document>) writeModel;
+   DeleteManyModel<T> model = (DeleteManyModel<T>) writeModel;
 
-   return new DeleteManyModel<>(getMappedQuery(model.getFilter()), model.getOptions());
+   return new DeleteManyModel<>(getMappedQuery(model.getFilter(), context), model.getOptions());
   }
 
   return writeModel;
  }
 
- private Bson getMappedUpdate(Bson update) {
-  return bulkOperationContext.getUpdateMapper().getMappedObject(update, bulkOperationContext.getEntity());
+ private static Bson getMappedUpdate(Bson update, BulkOperationContext context) {
+  return context.getUpdateMapper().getMappedObject(update, context.getEntity());
  }
 
- private Bson getMappedQuery(Bson query) {
-  return bulkOperationContext.getQueryMapper().getMappedObject(query, bulkOperationContext.getEntity());
+ private static Bson getMappedQuery(Bson query, BulkOperationContext context) {
+  return context.getQueryMapper().getMappedObject(query, context.getEntity());
  }
 
  private static BulkWriteOptions getBulkWriteOptions(BulkMode bulkMode) {
@@ -392,4 +505,320 @@ class DefaultBulkOperations implements BulkOperations {
   @NonNull QueryMapper queryMapper;
   @NonNull UpdateMapper updateMapper;
  }
-}
\ No newline at end of file
+
+ /**
+  * Submits batches of {@link WriteModel}s as configured by {@link BulkWriterOptions} and aggregates their results.
+  * Ordered writes are submitted in the calling thread and skip all batches following a failed one. Unordered writes
+  * are submitted using the configured {@link Executor}, blocking the caller while the maximum number of batches is in
+  * flight.
+  *
+  * @since 2.1
+  */
+ private class BatchWriter {
+
+  private final BatchBoundary boundary;
+  private final boolean ordered;
+  private final boolean concurrent;
+  private final Semaphore permits;
+  private final @Nullable Executor executor;
+  private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+  private BulkWriteResults results = new BulkWriteResults();
+  private int offset;
+
+  BatchWriter(BulkWriterOptions options) {
+
+   this.boundary = new BatchBoundary(options);
+   this.ordered = BulkMode.ORDERED.equals(bulkOperationContext.getBulkMode());
+   this.concurrent = !ordered && options.getParallelism() > 1;
+   this.permits = new Semaphore(options.getParallelism());
+   this.executor = concurrent ? options.getExecutor().orElseGet(() -> new SimpleAsyncTaskExecutor("bulk-write-"))
+     : null;
+  }
+
+  boolean isBatchComplete(WriteModel<?> model) {
+   return boundary.add(model);
+  }
+
+  void submit(List<WriteModel<Object>> batch) {
+
+   boundary.reset();
+
+   int batchOffset = offset;
+   offset += batch.size();
+
+   BulkWriteOptions options = bulkOptions;
+
+   if (executor == null) {
+
+    if (!ordered || !results.hasErrors()) {
+     write(batch, batchOffset, options);
+    }
+
+    return;
+   }
+
+   try {
+    permits.acquire();
+   } catch (InterruptedException e) {
+
+    Thread.currentThread().interrupt();
+    throw new IllegalStateException("Interrupted while waiting to submit bulk write batch!", e);
+   }
+
+   pending.add(CompletableFuture.runAsync(() -> {
+
+    try {
+     write(batch, batchOffset, options);
+    } finally {
+     permits.release();
+    }
+   }, executor));
+  }
+
+  BulkWriteResult awaitResult() {
+
+   try {
+
+    CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
+    if (results.hasErrors()) {
+     throw potentiallyTranslate(results.toException());
+    }
+
+    return results.toResult();
+   } finally {
+
+    pending.clear();
+    boundary.reset();
+    results = new BulkWriteResults();
+    offset = 0;
+   }
+  }
+
+  private void write(List<WriteModel<Object>> batch, int batchOffset, BulkWriteOptions options) {
+
+   try {
+    results.add(bulkWrite(batch, options), batchOffset);
+   } catch (MongoBulkWriteException e) {
+    results.add(e, batchOffset);
+   } catch (RuntimeException e) {
+    results.add(e);
+   }
+  }
+ }
+
+ /**
+  * Tracks the number of operations and their estimated size to determine when a batch is complete. Sizes are only
+  * estimated if {@link BulkWriterOptions#getMaxBatchBytes()} is set.
+  *
+  * @since 2.1
+  */
+ static class BatchBoundary {
+
+  private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+  private final BulkWriterOptions options;
+
+  private int count;
+  private long bytes;
+
+  BatchBoundary(BulkWriterOptions options) {
+
+   Assert.notNull(options, "BulkWriterOptions must not be null!");
+
+   this.options = options;
+  }
+
+  /**
+   * Register the given {@link WriteModel} with the current batch.
+   *
+   * @param model must not be {@literal null}.
+   * @return {@literal true} if the batch is complete. The boundary is reset in that case.
+   */
+  boolean add(WriteModel<?> model) {
+
+   count++;
+
+   if (options.getMaxBatchBytes() > 0) {
+    bytes += estimateSize(model);
+   }
+
+   if (count >= options.getBatchSize() || (options.getMaxBatchBytes() > 0 && bytes >= options.getMaxBatchBytes())) {
+
+    reset();
+    return true;
+   }
+
+   return false;
+  }
+
+  void reset() {
+
+   count = 0;
+   bytes = 0;
+  }
+
+  private static long estimateSize(WriteModel<?> model) {
+
+   if (model instanceof InsertOneModel) {
+    return sizeOf(((InsertOneModel<?>) model).getDocument());
+   }
+
+   if (model instanceof ReplaceOneModel) {
+    return sizeOf(((ReplaceOneModel<?>) model).getFilter()) + sizeOf(((ReplaceOneModel<?>) model).getReplacement());
+   }
+
+   if (model instanceof UpdateOneModel) {
+    return sizeOf(((UpdateOneModel<?>) model).getFilter()) + sizeOf(((UpdateOneModel<?>) model).getUpdate());
+   }
+
+   if (model instanceof UpdateManyModel) {
+    return sizeOf(((UpdateManyModel<?>) model).getFilter()) + sizeOf(((UpdateManyModel<?>) model).getUpdate());
+   }
+
+   if (model instanceof DeleteOneModel) {
+    return sizeOf(((DeleteOneModel<?>) model).getFilter());
+   }
+
+   if (model instanceof DeleteManyModel) {
+    return sizeOf(((DeleteManyModel<?>) model).getFilter());
+   }
+
+   return 0;
+  }
+
+  private static long sizeOf(Object source) {
+
+   if (!(source instanceof Document)) {
+    return 0;
+   }
+
+   BasicOutputBuffer buffer = new BasicOutputBuffer();
+   DOCUMENT_CODEC.encode(new BsonBinaryWriter(buffer), (Document) source, EncoderContext.builder().build());
+
+   return buffer.getPosition();
+  }
+ }
+
+ /**
+  * Aggregates the {@link BulkWriteResult}s and errors of multiple batches, shifting operation indexes by the offset of
+  * the batch. Safe for concurrent use.
+  *
+  * @since 2.1
+  */
+ static class BulkWriteResults {
+
+  private final List<BulkWriteUpsert> upserts = new ArrayList<>();
+  private final List<BulkWriteError> errors = new ArrayList<>();
+
+  private boolean acknowledged = true;
+  private boolean modifiedCountAvailable = true;
+  private int insertedCount;
+  private int matchedCount;
+  private int deletedCount;
+  private int modifiedCount;
+
+  private @Nullable WriteConcernError writeConcernError;
+  private @Nullable ServerAddress serverAddress;
+  private @Nullable RuntimeException failure;
+
+  /**
+   * Add the result of a successful batch.
+   *
+   * @param result must not be {@literal null}.
+   * @param offset index of the first operation of the batch.
+   */
+  synchronized void add(BulkWriteResult result, int offset) {
+
+   if (!result.wasAcknowledged()) {
+
+    acknowledged = false;
+    return;
+   }
+
+   insertedCount += result.getInsertedCount();
+   matchedCount += result.getMatchedCount();
+   deletedCount += result.getDeletedCount();
+
+   if (result.isModifiedCountAvailable()) {
+    modifiedCount += result.getModifiedCount();
+   } else {
+    modifiedCountAvailable = false;
+   }
+
+   for (BulkWriteUpsert upsert : result.getUpserts()) {
+    upserts.add(new BulkWriteUpsert(upsert.getIndex() + offset, upsert.getId()));
+   }
+  }
+
+  /**
+   * Add the partial result and the errors of a failed batch.
+   *
+   * @param exception must not be {@literal null}.
+   * @param offset index of the first operation of the batch.
+   */
+  synchronized void add(MongoBulkWriteException exception, int offset) {
+
+   add(exception.getWriteResult(), offset);
+
+   for (BulkWriteError error : exception.getWriteErrors()) {
+    errors.add(new BulkWriteError(error.getCode(), error.getMessage(), error.getDetails(), error.getIndex() + offset));
+   }
+
+   if (writeConcernError == null) {
+    writeConcernError = exception.getWriteConcernError();
+   }
+
+   serverAddress = exception.getServerAddress();
+  }
+
+  /**
+   * Add a batch failing for reasons other than write errors.
+   *
+   * @param exception must not be {@literal null}.
+   */
+  synchronized void add(RuntimeException exception) {
+
+   if (failure == null) {
+    failure = exception;
+   } else {
+    failure.addSuppressed(exception);
+   }
+  }
+
+  synchronized boolean hasErrors() {
+   return failure != null || !errors.isEmpty() || writeConcernError != null;
+  }
+
+  synchronized BulkWriteResult toResult() {
+
+   if (!acknowledged) {
+    return BulkWriteResult.unacknowledged();
+   }
+
+   List<BulkWriteUpsert> sortedUpserts = new ArrayList<>(upserts);
+   sortedUpserts.sort(Comparator.comparingInt(BulkWriteUpsert::getIndex));
+
+   return BulkWriteResult.acknowledged(insertedCount, matchedCount, deletedCount,
+     modifiedCountAvailable ? modifiedCount : null, sortedUpserts);
+  }
+
+  /**
+   * @return the first failure not caused by write errors or a {@link MongoBulkWriteException} combining all write
+   *         errors.
+   */
+  synchronized RuntimeException toException() {
+
+   if (failure != null) {
+    return failure;
+   }
+
+   List<BulkWriteError> sortedErrors = new ArrayList<>(errors);
+   sortedErrors.sort(Comparator.comparingInt(BulkWriteError::getIndex));
+
+   return new MongoBulkWriteException(toResult(), sortedErrors, writeConcernError,
+     serverAddress != null ? serverAddress : new ServerAddress());
+  }
+ }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * Detects {@link ApplicationListener}s for the
+ * {@link org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent}s carrying a {@link org.bson.Document}.
+ * Those events cannot be published when entities are encoded and decoded by entity codecs, so the templates fall back
+ * to the {@link org.bson.Document} based conversion if such a listener is present. The lookup is done once the
+ * {@link org.springframework.context.ApplicationContext} is active and its result is retained afterwards.
+ *
+ * @since 2.1
+ */
+class DocumentEventListenerLookup {
+
+ private static final List<ResolvableType> DOCUMENT_EVENT_TYPES = Arrays.asList(
+   ResolvableType.forClass(BeforeSaveEvent.class), ResolvableType.forClass(AfterSaveEvent.class),
+   ResolvableType.forClass(AfterLoadEvent.class), ResolvableType.forClass(AfterConvertEvent.class));
+
+ private final @Nullable ApplicationEventPublisher publisher;
+ private volatile @Nullable Boolean present;
+
+ /**
+  * Creates a new {@link DocumentEventListenerLookup} for the given {@link ApplicationEventPublisher}.
+  *
+  * @param publisher can be {@literal null}.
+  */
+ DocumentEventListenerLookup(@Nullable ApplicationEventPublisher publisher) {
+  this.publisher = publisher;
+ }
+
+ /**
+  * Check whether the {@link ApplicationEventPublisher} notifies a listener about {@link BeforeSaveEvent},
+  * {@link AfterSaveEvent}, {@link AfterLoadEvent} or {@link AfterConvertEvent}. Considers both
+  * {@link ApplicationListener} beans and listeners registered with the {@link AbstractApplicationContext} directly,
+  * e.g. for {@code @EventListener} methods. Listeners are assumed to be present as long as the
+  * {@link ConfigurableApplicationContext} is not active.
+  *
+  * @return {@literal true} if at least one listener receives events carrying a {@link org.bson.Document}.
+  */
+ boolean hasDocumentEventListeners() {
+
+  Boolean present = this.present;
+
+  if (present != null) {
+   return present;
+  }
+
+  if (publisher instanceof ConfigurableApplicationContext && !((ConfigurableApplicationContext) publisher).isActive()) {
+   return true;
+  }
+
+  present = publisher instanceof ListableBeanFactory && lookup((ListableBeanFactory) publisher);
+  this.present = present;
+
+  return present;
+ }
+
+ @SuppressWarnings("rawtypes")
+ private static boolean lookup(ListableBeanFactory beanFactory) {
+
+  List<ApplicationListener<?>> listeners = new ArrayList<>();
+
+  if (beanFactory instanceof AbstractApplicationContext) {
+   listeners.addAll(((AbstractApplicationContext) beanFactory).getApplicationListeners());
+  }
+
+  for (ApplicationListener bean : beanFactory.getBeansOfType(ApplicationListener.class, false, false).values()) {
+   listeners.add(bean);
+  }
+
+  for (ApplicationListener<?> listener : listeners) {
+
+   GenericApplicationListenerAdapter adapter = new GenericApplicationListenerAdapter(listener);
+
+   for (ResolvableType eventType : DOCUMENT_EVENT_TYPES) {
+    if (adapter.supportsEventType(eventType)) {
+     return true;
+    }
+   }
+  }
+
+  return false;
+ }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.bson.Document;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Support class for a single keyset (seek) based scroll. Derives the {@link Query} reading the next window from the
+ * sort of the user {@link Query} and the {@link KeysetPosition} to continue from. The sort is completed with
+ * {@literal _id} to guarantee a total order and the range predicate is expressed in terms of the unmapped property
+ * paths, so that it is mapped along with the remaining criteria by the {@link QueryMapper}. One document more than
+ * requested is read to determine whether there is a next window without issuing a count query.
+ *
+ * @since 2.1
+ */
+class KeysetScroll {
+
+ private static final String ID_FIELD = "_id";
+
+ private final Query query;
+ private final KeysetPosition position;
+ private final Document sort;
+ private final List<String> mappedSortKeys;
+ private final int limit;
+
+ private int documentsRead;
+ private @Nullable Document lastDocument;
+
+ private KeysetScroll(Query query, KeysetPosition position, Document sort, List<String> mappedSortKeys) {
+
+  this.query = query;
+  this.position = position;
+  this.sort = sort;
+  this.mappedSortKeys = mappedSortKeys;
+  this.limit = query.getLimit();
+ }
+
+ /**
+  * Create a new {@link KeysetScroll} reading the window after the given {@link KeysetPosition}.
+  *
+  * @param query must not be {@literal null} and define a positive {@link Query#limit(int) limit} but no
+  *          {@link Query#skip(long) skip}.
+  * @param position must not be {@literal null}.
+  * @param entity can be {@literal null}.
+  * @param queryMapper must not be {@literal null}.
+  * @return new instance of {@link KeysetScroll}.
+  * @throws InvalidDataAccessApiUsageException if the query or position cannot be used for keyset scrolling.
+  */
+ static KeysetScroll of(Query query, KeysetPosition position, @Nullable MongoPersistentEntity<?> entity,
+   QueryMapper queryMapper) {
+
+  Assert.notNull(query, "Query must not be null!");
+  Assert.notNull(position, "KeysetPosition must not be null!");
+  Assert.notNull(queryMapper, "QueryMapper must not be null!");
+
+  if (query.getLimit() <= 0) {
+   throw new InvalidDataAccessApiUsageException("Keyset scrolling requires the query to define a limit!");
+  }
+
+  if (query.getSkip() > 0) {
+   throw new InvalidDataAccessApiUsageException("Keyset scrolling does not support skipping documents!");
+  }
+
+  Document sort = new Document();
+
+  for (Entry<String, Object> entry : query.getSortObject().entrySet()) {
+
+   if (!(entry.getValue() instanceof Number)) {
+    throw new InvalidDataAccessApiUsageException(
+      String.format("Keyset scrolling cannot sort by %s: %s!", entry.getKey(), entry.getValue()));
+   }
+
+   sort.put(entry.getKey(), ((Number) entry.getValue()).intValue() < 0 ? -1 : 1);
+  }
+
+  if (!containsId(sort, entity)) {
+   sort.put(ID_FIELD, 1);
+  }
+
+  if (!position.isInitial()
+    && !new ArrayList<>(position.getKeys().keySet()).equals(new ArrayList<>(sort.keySet()))) {
+   throw new InvalidDataAccessApiUsageException(
+     String.format("%s does not match the sort keys %s of the query!", position, sort.keySet()));
+  }
+
+  List<String> mappedSortKeys = new ArrayList<>(queryMapper.getMappedSort(sort, entity).keySet());
+
+  if (mappedSortKeys.size() != sort.size()) {
+   throw new InvalidDataAccessApiUsageException(
+     String.format("Sort keys %s must map to distinct fields!", sort.keySet()));
+  }
+
+  return new KeysetScroll(query, position, sort, mappedSortKeys);
+ }
+
+ /**
+  * @return the number of elements in a window.
+  */
+ int getLimit() {
+  return limit;
+ }
+
+ /**
+  * Create the {@link Query} reading the window. The query combines the criteria of the user query with the range
+  * predicate derived from the {@link KeysetPosition}, sorts by the completed sort keys and reads one document more
+  * than requested.
+  *
+  * @return never {@literal null}.
+  */
+ Query getWindowQuery() {
+
+  BasicQuery windowQuery = new BasicQuery(getQueryObject(), getFieldsObject());
+
+  windowQuery.setSortObject(sort);
+  windowQuery.limit(limit + 1);
+  windowQuery.setMeta(query.getMeta());
+  query.getCollation().ifPresent(windowQuery::collation);
+
+  if (StringUtils.hasText(query.getHint())) {
+   windowQuery.withHint(query.getHint());
+  }
+
+  return windowQuery;
+ }
+
+ /**
+  * Remember the raw {@link Document} read so that the {@link KeysetPosition} after the last document of the window
+  * can be derived from it. Must be called for each document read in result order.
+  *
+  * @param document can be {@literal null}.
+  */
+ void capture(@Nullable Document document) {
+
+  if (documentsRead++ < limit && document != null) {
+   lastDocument = document;
+  }
+ }
+
+ /**
+  * Create the {@link KeysetWindow} from the converted results.
+  *
+  * @param results must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ <T> KeysetWindow<T> createWindow(List<T> results) {
+
+  boolean hasNext = results.size() > limit;
+  List<T> content = hasNext ? new ArrayList<>(results.subList(0, limit)) : results;
+
+  return KeysetWindow.of(content, lastDocument != null ? positionOf(lastDocument) : position, hasNext);
+ }
+
+ private Document getQueryObject() {
+
+  Document queryObject = new Document(query.getQueryObject());
+
+  if (position.isInitial()) {
+   return queryObject;
+  }
+
+  List<Object> and = new ArrayList<>();
+
+  if (queryObject.get("$and") instanceof List) {
+   and.addAll((List<?>) queryObject.get("$and"));
+  }
+
+  and.add(createRangePredicate());
+  queryObject.put("$and", and);
+
+  return queryObject;
+ }
+
+ /**
+  * Create the predicate selecting all documents sorted after the {@link KeysetPosition}. For sort keys
+  * {@code k1, k2, ... kn} the predicate is
+  * {@code $or [ k1 > v1, (k1 = v1 and k2 > v2), ..., (k1 = v1 and ... and kn > vn) ]} using {@literal $lt} for
+  * descending keys. As {@literal null} and missing values sort first but are not matched by range comparisons,
+  * {@code k > null} is expressed as {@code k != null}, {@code k < null} is omitted as no value sorts before
+  * {@literal null}, and {@code k < v} also matches {@code k = null} for all keys but {@literal _id}.
+  *
+  * @return never {@literal null}.
+  */
+ private Document createRangePredicate() {
+
+  List<Document> or = new ArrayList<>(sort.size());
+  Map<String, Object> keys = position.getKeys();
+  Iterator<String> mappedKeys = mappedSortKeys.iterator();
+  Document equalities = new Document();
+
+  for (Entry<String, Object> entry : sort.entrySet()) {
+
+   String key = entry.getKey();
+   Object value = keys.get(key);
+   boolean descending = ((Number) entry.getValue()).intValue() < 0;
+   boolean nullable = !ID_FIELD.equals(mappedKeys.next());
+
+   Document clause = new Document(equalities);
+
+   if (value == null) {
+
+    if (!descending) {
+     clause.put(key, new Document("$ne", null));
+     or.add(clause);
+    }
+   } else if (descending && nullable) {
+
+    clause.put("$or", Arrays.asList(new Document(key, new Document("$lt", value)), new Document(key, null)));
+    or.add(clause);
+   } else {
+
+    clause.put(key, new Document(descending ? "$lt" : "$gt", value));
+    or.add(clause);
+   }
+
+   equalities.put(key, value);
+  }
+
+  return or.size() == 1 ? or.get(0) : new Document("$or", or);
+ }
+
+ /**
+  * Make sure the fields required to derive the next {@link KeysetPosition} are read.
+  */
+ private Document getFieldsObject() {
+
+  Document fields = query.getFieldsObject();
+
+  if (fields == null || fields.isEmpty()) {
+   return new Document();
+  }
+
+  Document result = new Document(fields);
+  boolean inclusion = fields.entrySet().stream()
+    .anyMatch(it -> !ID_FIELD.equals(it.getKey()) && isInclusion(it.getValue()));
+
+  for (String key : sort.keySet()) {
+
+   if (inclusion) {
+    result.put(key, 1);
+   } else {
+    result.remove(key);
+   }
+  }
+
+  return result;
+ }
+
+ private KeysetPosition positionOf(Document document) {
+
+  Map<String, Object> keys = new LinkedHashMap<>(sort.size(), 1);
+  Iterator<String> mappedKeys = mappedSortKeys.iterator();
+
+  for (String key : sort.keySet()) {
+   keys.put(key, getValue(document, mappedKeys.next()));
+  }
+
+  return KeysetPosition.of(keys);
+ }
+
+ @Nullable
+ private static Object getValue(Document document, String path) {
+
+  Object current = document;
+
+  for (String segment : StringUtils.delimitedListToStringArray(path, ".")) {
+
+   if (!(current instanceof Map)) {
+    return null;
+   }
+
+   current = ((Map<?, ?>) current).get(segment);
+  }
+
+  return current;
+ }
+
+ private static boolean containsId(Document sort, @Nullable MongoPersistentEntity<?> entity) {
+
+  if (sort.containsKey(ID_FIELD)) {
+   return true;
+  }
+
+  MongoPersistentProperty idProperty = entity != null ? entity.getIdProperty() : null;
+
+  return idProperty != null && sort.containsKey(idProperty.getName());
+ }
+
+ private static boolean isInclusion(Object value) {
+  return value instanceof Number ? ((Number) value).intValue() != 0 : Boolean.TRUE.equals(value);
+ }
+}
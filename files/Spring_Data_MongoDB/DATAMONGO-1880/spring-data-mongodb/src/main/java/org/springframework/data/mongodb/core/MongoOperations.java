@@ -34,6 +34,8 @@ import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceResults;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -324,6 +326,21 @@ public interface MongoOperations extends FluentMongoOperations {
   */
  BulkOperations bulkOps(BulkMode mode, @Nullable Class<?> entityType, String collectionName);
 
+ /**
+  * Returns a new {@link BulkOperations} for the given entity type and collection name that submits the registered
+  * operations in batches as configured by the given {@link BulkWriterOptions}. {@link BulkOperations#execute()} writes
+  * the remaining operations, waits for all batches and returns their combined result.
+  *
+  * @param mode the {@link BulkMode} to use for bulk operations, must not be {@literal null}.
+  * @param entityType the name of the entity class. Can be {@literal null}.
+  * @param collectionName the name of the collection to work on, must not be {@literal null} or empty.
+  * @param options the {@link BulkWriterOptions} to use, must not be {@literal null}.
+  * @return {@link BulkOperations} on the named collection associated with the given entity class.
+  * @since 2.1
+  */
+ BulkOperations bulkOps(BulkMode mode, @Nullable Class<?> entityType, String collectionName,
+   BulkWriterOptions options);
+
  /**
   * Query for a list of objects of type T from the collection used by the entity class.
   * <p/>
@@ -687,6 +704,44 @@ public interface MongoOperations extends FluentMongoOperations {
   */
  <T> List<T> find(Query query, Class<T> entityClass, String collectionName);
 
+ /**
+  * Read the window of documents following the given {@link KeysetPosition} using keyset (seek) based pagination. The
+  * collection the query is ran against will be derived from the given target class as well.
+  * <p/>
+  * Other than paging via {@link Query#skip(long) skip} and {@link Query#limit(int) limit}, the documents to skip are
+  * excluded by a range predicate derived from the sort key values of the last document seen. The cost of reading a
+  * window therefore does not grow with the number of documents skipped, given an index supporting the sort. The
+  * {@link Query#getSortObject() sort} is completed with {@literal _id} to guarantee a stable order, and no count query
+  * is issued. {@literal null} and missing sort values are considered to sort before any other value, as MongoDB does.
+  * Other than that, range comparisons only match values of the same BSON type as the value in the position, so sort
+  * properties should not hold values of different types (e.g. strings and numbers).
+  *
+  * @param query the query to read the window with. Must not be {@literal null} and define a
+  *          {@link Query#limit(int) limit} as window size. {@link Query#skip(long) Skipping} is not supported.
+  * @param position the position to continue from. Use {@link KeysetPosition#initial()} to read the first window.
+  *          Must not be {@literal null}.
+  * @param entityClass the parametrized type of the returned window. Must not be {@literal null}.
+  * @return the {@link KeysetWindow} holding the converted objects and the position to continue from.
+  * @since 2.1
+  */
+ <T> KeysetWindow<T> scroll(Query query, KeysetPosition position, Class<T> entityClass);
+
+ /**
+  * Read the window of documents following the given {@link KeysetPosition} from the specified collection using
+  * keyset (seek) based pagination.
+  *
+  * @param query the query to read the window with. Must not be {@literal null} and define a
+  *          {@link Query#limit(int) limit} as window size. {@link Query#skip(long) Skipping} is not supported.
+  * @param position the position to continue from. Use {@link KeysetPosition#initial()} to read the first window.
+  *          Must not be {@literal null}.
+  * @param entityClass the parametrized type of the returned window. Must not be {@literal null}.
+  * @param collectionName name of the collection to retrieve the objects from. Must not be {@literal null}.
+  * @return the {@link KeysetWindow} holding the converted objects and the position to continue from.
+  * @since 2.1
+  * @see #scroll(Query, KeysetPosition, Class)
+  */
+ <T> KeysetWindow<T> scroll(Query query, KeysetPosition position, Class<T> entityClass, String collectionName);
+
  /**
   * Returns a document with the given id mapped onto the given class. The collection the query is ran against will be
   * derived from the given target class as well.
@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
 import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,10 +72,12 @@ import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.Fields;
 import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.DbRefResolutionScope;
 import org.springframework.data.mongodb.core.convert.DbRefResolver;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.JsonSchemaMapper;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverterCodecProvider;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.convert.MongoJsonSchemaMapper;
@@ -103,6 +106,8 @@ import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceResults;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
 import org.springframework.data.mongodb.core.query.Meta;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
@@ -184,6 +189,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
  private static final String ID_FIELD = "_id";
  private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
  private static final Collection<String> ITERABLE_CLASSES;
+ private static final int DBREF_RESOLUTION_BATCH_SIZE = 100;
 
  static {
 
@@ -211,6 +217,9 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
  private @Nullable ApplicationEventPublisher eventPublisher;
  private @Nullable ResourceLoader resourceLoader;
  private @Nullable MongoPersistentEntityIndexCreator indexCreator;
+ private @Nullable MappingMongoConverterCodecProvider entityCodecProvider;
+ private volatile @Nullable CodecRegistry entityCodecRegistry;
+ private DocumentEventListenerLookup documentEventListeners = new DocumentEventListenerLookup(null);
 
  /**
   * Constructor used for a basic template configuration
@@ -302,6 +311,33 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   this.readPreference = readPreference;
  }
 
+ /**
+  * Configures whether entities are written to and read from BSON by
+  * {@link org.springframework.data.mongodb.core.convert.MappingMongoConverterCodec}s registered with the
+  * {@link CodecRegistry} of the database instead of being converted into an intermediate {@link Document}. Applies to
+  * {@code insert}, {@code find} and {@link BulkOperations}. Types with eagerly resolved DBRefs are still read via
+  * {@link Document}. Combine with {@link MappingMongoConverter#setCodeGenerationEnabled(boolean)} to stream properties
+  * directly. <br />
+  * <strong>NOTE:</strong> As no {@link Document} is created, {@link BeforeSaveEvent}, {@link AfterSaveEvent},
+  * {@link AfterLoadEvent} and {@link AfterConvertEvent} cannot be published for operations using the codecs. Entities
+  * are therefore converted via {@link Document} as long as the {@link ApplicationContext} contains a listener for any
+  * of those events, e.g. a {@code ValidatingMongoEventListener}. Listeners are looked up once the context is active.
+  *
+  * @param entityCodecsEnabled
+  * @throws IllegalStateException if the template does not use a {@link MappingMongoConverter}.
+  * @since 2.1
+  */
+ public void setEntityCodecsEnabled(boolean entityCodecsEnabled) {
+
+  Assert.state(!entityCodecsEnabled || mongoConverter instanceof MappingMongoConverter,
+    "Entity codecs require a MappingMongoConverter!");
+
+  this.entityCodecProvider = entityCodecsEnabled
+    ? new MappingMongoConverterCodecProvider((MappingMongoConverter) mongoConverter)
+    : null;
+  this.entityCodecRegistry = null;
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -311,6 +347,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   prepareIndexCreator(applicationContext);
 
   eventPublisher = applicationContext;
+  documentEventListeners = new DocumentEventListenerLookup(applicationContext);
 
   if (mappingContext instanceof ApplicationEventPublisherAware) {
    ((ApplicationEventPublisherAware) mappingContext).setApplicationEventPublisher(eventPublisher);
@@ -692,6 +729,27 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   * @see org.springframework.data.mongodb.core.ExecutableInsertOperation#bulkOps(org.springframework.data.mongodb.core.BulkMode, java.lang.Class, java.lang.String)
   */
  public BulkOperations bulkOps(BulkMode mode, @Nullable Class<?> entityType, String collectionName) {
+  return createBulkOperations(mode, entityType, collectionName);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.MongoOperations#bulkOps(org.springframework.data.mongodb.core.BulkOperations.BulkMode, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.BulkWriterOptions)
+  */
+ @Override
+ public BulkOperations bulkOps(BulkMode mode, @Nullable Class<?> entityType, String collectionName,
+   BulkWriterOptions options) {
+
+  Assert.notNull(options, "BulkWriterOptions must not be null!");
+
+  DefaultBulkOperations operations = createBulkOperations(mode, entityType, collectionName);
+  operations.setWriterOptions(options);
+
+  return operations;
+ }
+
+ private DefaultBulkOperations createBulkOperations(BulkMode mode, @Nullable Class<?> entityType,
+   String collectionName) {
 
   Assert.notNull(mode, "BulkMode must not be null!");
   Assert.hasText(collectionName, "Collection name must not be null or empty!");
@@ -701,6 +759,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
   operations.setExceptionTranslator(exceptionTranslator);
   operations.setDefaultWriteConcern(writeConcern);
+  operations.setEntityCodecProvider(entityCodecProvider);
 
   return operations;
  }
@@ -789,6 +848,39 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
     new QueryCursorPreparer(query, entityClass));
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.MongoOperations#scroll(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.KeysetPosition, java.lang.Class)
+  */
+ @Override
+ public <T> KeysetWindow<T> scroll(Query query, KeysetPosition position, Class<T> entityClass) {
+  return scroll(query, position, entityClass, determineCollectionName(entityClass));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.MongoOperations#scroll(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.KeysetPosition, java.lang.Class, java.lang.String)
+  */
+ @Override
+ public <T> KeysetWindow<T> scroll(Query query, KeysetPosition position, Class<T> entityClass,
+   String collectionName) {
+
+  Assert.notNull(query, "Query must not be null!");
+  Assert.notNull(position, "KeysetPosition must not be null!");
+  Assert.notNull(entityClass, "EntityClass must not be null!");
+  Assert.notNull(collectionName, "CollectionName must not be null!");
+
+  KeysetScroll scroll = KeysetScroll.of(query, position, mappingContext.getPersistentEntity(entityClass),
+    queryMapper);
+  Query windowQuery = scroll.getWindowQuery();
+
+  List<T> result = doFind(collectionName, windowQuery.getQueryObject(), windowQuery.getFieldsObject(), entityClass,
+    new QueryCursorPreparer(windowQuery, entityClass), new KeysetCapturingDocumentCallback<>(scroll,
+      new ReadDocumentCallback<>(mongoConverter, entityClass, collectionName)));
+
+  return scroll.createWindow(result);
+ }
+
  @Nullable
  @Override
  public <T> T findById(Object id, Class<T> entityClass) {
@@ -1145,6 +1237,12 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave, collectionName));
   assertUpdateableIdIfNotSet(objectToSave);
 
+  if (canWriteWithEntityCodecs(Collections.singleton(objectToSave), writer)) {
+
+   insertEntities(collectionName, Collections.singletonList(objectToSave), objectToSave.getClass());
+   return;
+  }
+
   Document dbDoc = toDocument(objectToSave, writer);
 
   maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc, collectionName));
@@ -1254,6 +1352,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
   Assert.notNull(writer, "MongoWriter must not be null!");
 
+  if (canWriteWithEntityCodecs(batchToSave, writer)) {
+
+   for (T o : batchToSave) {
+
+    initializeVersionProperty(o);
+    maybeEmitEvent(new BeforeConvertEvent<T>(o, collectionName));
+   }
+
+   insertEntities(collectionName, new ArrayList<>(batchToSave), null);
+   return;
+  }
+
   List<Document> documentList = new ArrayList<Document>();
   for (T o : batchToSave) {
 
@@ -1382,6 +1492,45 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   });
  }
 
+ /**
+  * Insert the given entities using the entity {@link CodecRegistry}. Identifiers are generated by the codec and set on
+  * the entities directly.
+  *
+  * @param collectionName must not be {@literal null}.
+  * @param entities must not be {@literal null} or empty.
+  * @param entityClass can be {@literal null}.
+  */
+ private void insertEntities(String collectionName, List<?> entities, @Nullable Class<?> entityClass) {
+
+  if (LOGGER.isDebugEnabled()) {
+   LOGGER.debug("Inserting {} entities via codec in collection: {}", entities.size(), collectionName);
+  }
+
+  CodecRegistry registry = getRequiredEntityCodecRegistry();
+
+  execute(collectionName, collection -> {
+
+   MongoActionOperation operation = entities.size() == 1 ? MongoActionOperation.INSERT
+     : MongoActionOperation.INSERT_LIST;
+   MongoAction mongoAction = new MongoAction(writeConcern, operation, collectionName, entityClass, null, null);
+   WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+
+   MongoCollection<Object> collectionToUse = collection.withDocumentClass(Object.class).withCodecRegistry(registry);
+
+   if (writeConcernToUse != null) {
+    collectionToUse = collectionToUse.withWriteConcern(writeConcernToUse);
+   }
+
+   if (entities.size() == 1) {
+    collectionToUse.insertOne(entities.get(0));
+   } else {
+    collectionToUse.insertMany(entities);
+   }
+
+   return null;
+  });
+ }
+
  protected List<Object> insertDocumentList(final String collectionName, final List<Document> documents) {
 
   if (documents.isEmpty()) {
@@ -2334,10 +2483,75 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   */
  protected <T> List<T> doFind(String collectionName, Document query, Document fields, Class<T> entityClass,
    CursorPreparer preparer) {
+
+  if (canReadWithEntityCodecs(entityClass)) {
+   return doFindWithEntityCodecs(collectionName, query, fields, entityClass, preparer);
+  }
+
   return doFind(collectionName, query, fields, entityClass, preparer,
     new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName));
  }
 
+ /**
+  * Map the results of an ad-hoc query to a {@link List} of the given entity type decoding the entities via the entity
+  * {@link CodecRegistry}.
+  *
+  * @param collectionName name of the collection to retrieve the objects from.
+  * @param query the query document that specifies the criteria used to find a record.
+  * @param fields the document that specifies the fields to be returned.
+  * @param entityClass the parameterized type of the returned list.
+  * @param preparer can be {@literal null}.
+  * @return the {@link List} of decoded objects.
+  * @since 2.1
+  */
+ @SuppressWarnings({ "unchecked", "rawtypes" })
+ private <T> List<T> doFindWithEntityCodecs(String collectionName, Document query, Document fields,
+   Class<T> entityClass, @Nullable CursorPreparer preparer) {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityClass);
+
+  Document mappedFields = queryMapper.getMappedFields(fields, entity);
+  Document mappedQuery = queryMapper.getMappedObject(query, entity);
+
+  if (LOGGER.isDebugEnabled()) {
+   LOGGER.debug("find via codec using query: {} fields: {} for class: {} in collection: {}",
+     serializeToJsonSafely(mappedQuery), mappedFields, entityClass, collectionName);
+  }
+
+  try {
+
+   MongoCursor<T> cursor = null;
+
+   try {
+
+    FindIterable<T> iterable = getAndPrepareCollection(getDb(), collectionName)
+      .withCodecRegistry(getRequiredEntityCodecRegistry()).find(mappedQuery, entityClass).projection(mappedFields);
+
+    if (preparer != null) {
+     // CursorPreparer only applies modifiers that do not depend on the result type
+     iterable = (FindIterable<T>) preparer.prepare((FindIterable) iterable);
+    }
+
+    cursor = iterable.iterator();
+
+    List<T> result = new ArrayList<>();
+
+    while (cursor.hasNext()) {
+     result.add(cursor.next());
+    }
+
+    return result;
+   } finally {
+
+    if (cursor != null) {
+     cursor.close();
+    }
+   }
+  } catch (RuntimeException e) {
+   throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+  }
+ }
+
  protected <S, T> List<T> doFind(String collectionName, Document query, Document fields, Class<S> entityClass,
    @Nullable CursorPreparer preparer, DocumentCallback<T> objectCallback) {
 
@@ -2603,10 +2817,30 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
     cursor = iterable.iterator();
 
     List<T> result = new ArrayList<T>();
+    Class<?> typeToRead = objectCallback.getTypeToRead();
+
+    if (typeToRead == null || !(mongoConverter instanceof MappingMongoConverter)
+      || !((MappingMongoConverter) mongoConverter).hasEagerDbRefs(typeToRead)) {
+
+     while (cursor.hasNext()) {
+      Document object = cursor.next();
+      result.add(objectCallback.doWith(object));
+     }
+
+     return result;
+    }
+
+    List<Document> batch = new ArrayList<>(DBREF_RESOLUTION_BATCH_SIZE);
 
     while (cursor.hasNext()) {
-     Document object = cursor.next();
-     result.add(objectCallback.doWith(object));
+
+     batch.add(cursor.next());
+
+     if (batch.size() == DBREF_RESOLUTION_BATCH_SIZE || !cursor.hasNext()) {
+
+      result.addAll(readWithPrefetchedDbRefs(batch, typeToRead, objectCallback));
+      batch.clear();
+     }
     }
 
     return result;
@@ -2621,6 +2855,33 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   }
  }
 
+ /**
+  * Reads the given batch of {@link Document}s after loading the eagerly resolved
+  * {@link org.springframework.data.mongodb.core.mapping.DBRef}s of all of them with one query per target collection.
+  *
+  * @param documents must not be {@literal null}.
+  * @param typeToRead must not be {@literal null}.
+  * @param objectCallback must not be {@literal null}.
+  * @return
+  */
+ private <T> List<T> readWithPrefetchedDbRefs(List<Document> documents, Class<?> typeToRead,
+   DocumentCallback<T> objectCallback) {
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  ((MappingMongoConverter) mongoConverter).prefetchDbRefs(typeToRead, documents, scope);
+
+  return scope.execute(() -> {
+
+   List<T> result = new ArrayList<>(documents.size());
+
+   for (Document document : documents) {
+    result.add(objectCallback.doWith(document));
+   }
+
+   return result;
+  });
+ }
+
  private void executeQueryInternal(CollectionCallback<FindIterable<Document>> collectionCallback,
    @Nullable CursorPreparer preparer, DocumentCallbackHandler callbackHandler, String collectionName) {
 
@@ -2655,6 +2916,46 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
   return exceptionTranslator;
  }
 
+ private boolean canWriteWithEntityCodecs(Collection<?> objects, MongoWriter<?> writer) {
+
+  if (entityCodecProvider == null || writer != mongoConverter || objects.isEmpty()
+    || documentEventListeners.hasDocumentEventListeners()) {
+   return false;
+  }
+
+  for (Object object : objects) {
+   if (object == null || !entityCodecProvider.isEntity(ClassUtils.getUserClass(object))) {
+    return false;
+   }
+  }
+
+  return true;
+ }
+
+ private boolean canReadWithEntityCodecs(Class<?> entityClass) {
+
+  return entityCodecProvider != null && entityCodecProvider.isEntity(entityClass)
+    && !((MappingMongoConverter) mongoConverter).hasEagerDbRefs(entityClass)
+    && !documentEventListeners.hasDocumentEventListeners();
+ }
+
+ private CodecRegistry getRequiredEntityCodecRegistry() {
+
+  MappingMongoConverterCodecProvider provider = entityCodecProvider;
+
+  Assert.state(provider != null, "Entity codecs are not enabled!");
+
+  CodecRegistry registry = entityCodecRegistry;
+
+  if (registry == null) {
+
+   registry = provider.createCodecRegistry(getDb().getCodecRegistry());
+   entityCodecRegistry = registry;
+  }
+
+  return registry;
+ }
+
  @Nullable
  private MongoPersistentEntity<?> getPersistentEntity(@Nullable Class<?> type) {
   return type != null ? mappingContext.getPersistentEntity(type) : null;
@@ -2919,6 +3220,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
   @Nullable
   T doWith(@Nullable Document object);
+
+  /**
+   * @return the type {@link Document}s are read into or {@literal null} if not known up front.
+   */
+  @Nullable
+  default Class<?> getTypeToRead() {
+   return null;
+  }
  }
 
  /**
@@ -2950,6 +3259,51 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
    return source;
   }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.MongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Override
+  public Class<?> getTypeToRead() {
+   return type;
+  }
+ }
+
+ /**
+  * {@link DocumentCallback} handing each raw {@link Document} to a {@link KeysetScroll} before delegating the
+  * conversion to the given {@link DocumentCallback}.
+  *
+  * @since 2.1
+  */
+ @RequiredArgsConstructor
+ private static class KeysetCapturingDocumentCallback<T> implements DocumentCallback<T> {
+
+  private final @NonNull KeysetScroll scroll;
+  private final @NonNull DocumentCallback<T> delegate;
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.MongoTemplate.DocumentCallback#doWith(org.bson.Document)
+   */
+  @Nullable
+  @Override
+  public T doWith(@Nullable Document object) {
+
+   scroll.capture(object);
+
+   return delegate.doWith(object);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.MongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Nullable
+  @Override
+  public Class<?> getTypeToRead() {
+   return delegate.getTypeToRead();
+  }
  }
 
  /**
@@ -2980,8 +3334,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
     return null;
    }
 
-   Class<?> typeToRead = targetType.isInterface() || targetType.isAssignableFrom(entityType) ? entityType
-     : targetType;
+   Class<?> typeToRead = getTypeToRead();
 
    if (null != object) {
     maybeEmitEvent(new AfterLoadEvent<T>(object, targetType, collectionName));
@@ -2996,6 +3349,15 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
    return (T) result;
   }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.MongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Override
+  public Class<?> getTypeToRead() {
+   return targetType.isInterface() || targetType.isAssignableFrom(entityType) ? entityType : targetType;
+  }
  }
 
  class UnwrapAndReadDocumentCallback<T> extends ReadDocumentCallback<T> {
@@ -3004,6 +3366,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
    super(reader, type, collectionName);
   }
 
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.MongoTemplate.ReadDocumentCallback#getTypeToRead()
+   */
+  @Nullable
+  @Override
+  public Class<?> getTypeToRead() {
+   return null;
+  }
+
   @Override
   public T doWith(@Nullable Document object) {
 
@@ -25,6 +25,7 @@ import org.bson.Document;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
@@ -33,12 +34,16 @@ import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.lang.Nullable;
 
 import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 import com.mongodb.reactivestreams.client.MongoCollection;
@@ -358,6 +363,46 @@ public interface ReactiveMongoOperations extends ReactiveFluentMongoOperations {
   */
  <T> Flux<T> find(Query query, Class<T> entityClass, String collectionName);
 
+ /**
+  * Read the window of documents following the given {@link KeysetPosition} using keyset (seek) based pagination. The
+  * collection the query is ran against will be derived from the given target class as well.
+  * <p/>
+  * Other than paging via {@link Query#skip(long) skip} and {@link Query#limit(int) limit}, the documents to skip are
+  * excluded by a range predicate derived from the sort key values of the last document seen. The cost of reading a
+  * window therefore does not grow with the number of documents skipped, given an index supporting the sort. The
+  * {@link Query#getSortObject() sort} is completed with {@literal _id} to guarantee a stable order, and no count query
+  * is issued. {@literal null} and missing sort values are considered to sort before any other value, as MongoDB does.
+  * Other than that, range comparisons only match values of the same BSON type as the value in the position, so sort
+  * properties should not hold values of different types (e.g. strings and numbers).
+  *
+  * @param query the query to read the window with. Must not be {@literal null} and define a
+  *          {@link Query#limit(int) limit} as window size. {@link Query#skip(long) Skipping} is not supported.
+  * @param position the position to continue from. Use {@link KeysetPosition#initial()} to read the first window.
+  *          Must not be {@literal null}.
+  * @param entityClass the parametrized type of the returned window. Must not be {@literal null}.
+  * @return a {@link Mono} emitting the {@link KeysetWindow} holding the converted objects and the position to
+  *         continue from.
+  * @since 2.1
+  */
+ <T> Mono<KeysetWindow<T>> scroll(Query query, KeysetPosition position, Class<T> entityClass);
+
+ /**
+  * Read the window of documents following the given {@link KeysetPosition} from the specified collection using
+  * keyset (seek) based pagination.
+  *
+  * @param query the query to read the window with. Must not be {@literal null} and define a
+  *          {@link Query#limit(int) limit} as window size. {@link Query#skip(long) Skipping} is not supported.
+  * @param position the position to continue from. Use {@link KeysetPosition#initial()} to read the first window.
+  *          Must not be {@literal null}.
+  * @param entityClass the parametrized type of the returned window. Must not be {@literal null}.
+  * @param collectionName name of the collection to retrieve the objects from. Must not be {@literal null}.
+  * @return a {@link Mono} emitting the {@link KeysetWindow} holding the converted objects and the position to
+  *         continue from.
+  * @since 2.1
+  * @see #scroll(Query, KeysetPosition, Class)
+  */
+ <T> Mono<KeysetWindow<T>> scroll(Query query, KeysetPosition position, Class<T> entityClass, String collectionName);
+
  /**
   * Returns a document with the given id mapped onto the given class. The collection the query is ran against will be
   * derived from the given target class as well.
@@ -771,6 +816,25 @@ public interface ReactiveMongoOperations extends ReactiveFluentMongoOperations {
   */
  <T> Flux<T> insertAll(Mono<? extends Collection<? extends T>> objectsToSave);
 
+ /**
+  * Write the {@link WriteModel}s emitted by the given {@link Publisher} in batches as configured by the given
+  * {@link BulkWriterOptions}. Filters and updates are mapped against the given entity type. Batches of
+  * {@link BulkMode#UNORDERED unordered} writes are submitted concurrently up to
+  * {@link BulkWriterOptions#getParallelism()}. {@link BulkMode#ORDERED Ordered} writes are submitted one after another
+  * and stop at the first batch containing write errors.
+  *
+  * @param models the {@link WriteModel}s to write. Must not be {@literal null}.
+  * @param mode the {@link BulkMode} to use for the bulk writes. Must not be {@literal null}.
+  * @param entityType the entity type to map filters and updates against. Can be {@literal null}.
+  * @param collectionName name of the collection to write to. Must not be {@literal null} or empty.
+  * @param options the {@link BulkWriterOptions} to use. Must not be {@literal null}.
+  * @return a {@link Mono} emitting the combined {@link BulkWriteResult} of all batches or an error combining the write
+  *         errors of all batches.
+  * @since 2.1
+  */
+ Mono<BulkWriteResult> bulkWrite(Publisher<? extends WriteModel<Document>> models, BulkMode mode,
+   @Nullable Class<?> entityType, String collectionName, BulkWriterOptions options);
+
  /**
   * Save the object to the collection for the entity type of the object to save. This will perform an insert if the
   * object is not already present, that is an 'upsert'.
@@ -23,9 +23,11 @@ import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,6 +36,7 @@ import javax.annotation.Nonnull;
 import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.reactivestreams.Publisher;
@@ -64,6 +67,10 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BatchBoundary;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
+import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkWriteResults;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
@@ -89,6 +96,8 @@ import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
 import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -110,9 +119,12 @@ import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBRef;
 import com.mongodb.Mongo;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.Filters;
@@ -121,6 +133,7 @@ import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.ValidationOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.model.changestream.FullDocument;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
@@ -156,6 +169,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
  private static final String ID_FIELD = "_id";
  private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
  private static final Collection<Class<?>> ITERABLE_CLASSES;
+ private static final int DBREF_RESOLUTION_BATCH_SIZE = 100;
 
  static {
 
@@ -183,6 +197,9 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
  private @Nullable ReadPreference readPreference;
  private @Nullable ApplicationEventPublisher eventPublisher;
  private @Nullable MongoPersistentEntityIndexCreator indexCreator;
+ private @Nullable MappingMongoConverterCodecProvider entityCodecProvider;
+ private volatile @Nullable CodecRegistry entityCodecRegistry;
+ private DocumentEventListenerLookup documentEventListeners = new DocumentEventListenerLookup(null);
 
  /**
   * Constructor used for a basic template configuration.
@@ -276,6 +293,32 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   this.readPreference = readPreference;
  }
 
+ /**
+  * Configures whether entities are written to and read from BSON by {@link MappingMongoConverterCodec}s registered
+  * with the {@link CodecRegistry} of the database instead of being converted into an intermediate {@link Document}.
+  * Applies to {@code insert} and {@code find}. Types with eagerly resolved DBRefs are still read via {@link Document}.
+  * <br />
+  * <strong>NOTE:</strong> As no {@link Document} is created, {@link BeforeSaveEvent}, {@link AfterSaveEvent},
+  * {@link AfterLoadEvent} and {@link AfterConvertEvent} cannot be published for operations using the codecs. Entities
+  * are therefore converted via {@link Document} as long as the {@link ApplicationContext} contains a listener for any
+  * of those events, e.g. a {@code ValidatingMongoEventListener}. Listeners are looked up once the context is active.
+  *
+  * @param entityCodecsEnabled
+  * @throws IllegalStateException if the template does not use a {@link MappingMongoConverter}.
+  * @since 2.1
+  * @see MappingMongoConverter#setCodeGenerationEnabled(boolean)
+  */
+ public void setEntityCodecsEnabled(boolean entityCodecsEnabled) {
+
+  Assert.state(!entityCodecsEnabled || mongoConverter instanceof MappingMongoConverter,
+    "Entity codecs require a MappingMongoConverter!");
+
+  this.entityCodecProvider = entityCodecsEnabled
+    ? new MappingMongoConverterCodecProvider((MappingMongoConverter) mongoConverter)
+    : null;
+  this.entityCodecRegistry = null;
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -285,6 +328,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   prepareIndexCreator(applicationContext);
 
   eventPublisher = applicationContext;
+  documentEventListeners = new DocumentEventListenerLookup(applicationContext);
   if (mappingContext instanceof ApplicationEventPublisherAware) {
    ((ApplicationEventPublisherAware) mappingContext).setApplicationEventPublisher(eventPublisher);
   }
@@ -650,6 +694,42 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
     new QueryFindPublisherPreparer(query, entityClass));
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#scroll(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.KeysetPosition, java.lang.Class)
+  */
+ @Override
+ public <T> Mono<KeysetWindow<T>> scroll(Query query, KeysetPosition position, Class<T> entityClass) {
+  return scroll(query, position, entityClass, determineCollectionName(entityClass));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#scroll(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.KeysetPosition, java.lang.Class, java.lang.String)
+  */
+ @Override
+ public <T> Mono<KeysetWindow<T>> scroll(Query query, KeysetPosition position, Class<T> entityClass,
+   String collectionName) {
+
+  Assert.notNull(query, "Query must not be null!");
+  Assert.notNull(position, "KeysetPosition must not be null!");
+  Assert.notNull(entityClass, "EntityClass must not be null!");
+  Assert.notNull(collectionName, "CollectionName must not be null!");
+
+  return Mono.defer(() -> {
+
+   KeysetScroll scroll = KeysetScroll.of(query, position, mappingContext.getPersistentEntity(entityClass),
+     queryMapper);
+   Query windowQuery = scroll.getWindowQuery();
+
+   return doFind(collectionName, windowQuery.getQueryObject(), windowQuery.getFieldsObject(), entityClass,
+     new QueryFindPublisherPreparer(windowQuery, entityClass), new KeysetCapturingDocumentCallback<>(scroll,
+       new ReadDocumentCallback<>(mongoConverter, entityClass, collectionName))) //
+         .collectList() //
+         .map(scroll::createWindow);
+  });
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#findById(java.lang.Object, java.lang.Class)
@@ -1058,6 +1138,11 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    initializeVersionProperty(objectToSave);
    maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave, collectionName));
 
+   if (canWriteWithEntityCodecs(Collections.singleton(objectToSave), writer)) {
+    return insertEntities(collectionName, Collections.singletonList(objectToSave), objectToSave.getClass())
+      .then(Mono.just(objectToSave));
+   }
+
    Document dbDoc = toDbObject(objectToSave, writer);
 
    maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc, collectionName));
@@ -1105,6 +1190,57 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   return Flux.from(objectsToSave).flatMap(this::insertAll);
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#bulkWrite(org.reactivestreams.Publisher, org.springframework.data.mongodb.core.BulkOperations.BulkMode, java.lang.Class, java.lang.String, org.springframework.data.mongodb.core.BulkWriterOptions)
+  */
+ @Override
+ public Mono<BulkWriteResult> bulkWrite(Publisher<? extends WriteModel<Document>> models, BulkMode mode,
+   @Nullable Class<?> entityType, String collectionName, BulkWriterOptions options) {
+
+  Assert.notNull(models, "Models must not be null!");
+  Assert.notNull(mode, "BulkMode must not be null!");
+  Assert.hasText(collectionName, "Collection name must not be null or empty!");
+  Assert.notNull(options, "BulkWriterOptions must not be null!");
+
+  BulkOperationContext context = new BulkOperationContext(mode, Optional.ofNullable(getPersistentEntity(entityType)),
+    queryMapper, updateMapper);
+  boolean ordered = BulkMode.ORDERED.equals(mode);
+  BulkWriteOptions bulkWriteOptions = new BulkWriteOptions().ordered(ordered);
+
+  return Mono.defer(() -> {
+
+   MongoCollection<Document> collection = writeConcern != null
+     ? getCollection(collectionName).withWriteConcern(writeConcern)
+     : getCollection(collectionName);
+
+   BatchBoundary boundary = new BatchBoundary(options);
+   BulkWriteResults results = new BulkWriteResults();
+   AtomicInteger offset = new AtomicInteger();
+
+   return Flux.<WriteModel<Document>> from(models) //
+     .map(it -> DefaultBulkOperations.mapWriteModel(it, context)) //
+     .bufferUntil(boundary::add) //
+     .map(batch -> Tuples.of(offset.getAndAdd(batch.size()), batch)) //
+     .flatMap(batch -> Mono.from(collection.bulkWrite(batch.getT2(), bulkWriteOptions)) //
+       .doOnNext(result -> results.add(result, batch.getT1())) //
+       .onErrorResume(MongoBulkWriteException.class, e -> {
+
+        results.add(e, batch.getT1());
+        return ordered ? Mono.error(e) : Mono.empty();
+       }), ordered ? 1 : options.getParallelism()) //
+     .then(Mono.fromCallable(() -> {
+
+      if (results.hasErrors()) {
+       throw results.toException();
+      }
+
+      return results.toResult();
+     })) //
+     .onErrorMap(MongoBulkWriteException.class, e -> results.toException());
+  }).onErrorMap(translateException());
+ }
+
  protected <T> Flux<T> doInsertAll(Collection<? extends T> listToSave, MongoWriter<Object> writer) {
 
   final Map<String, List<T>> elementsByCollection = new HashMap<String, List<T>>();
@@ -1132,6 +1268,21 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
   Assert.notNull(writer, "MongoWriter must not be null!");
 
+  if (canWriteWithEntityCodecs(batchToSave, writer)) {
+
+   return Flux.defer(() -> {
+
+    for (T o : batchToSave) {
+
+     initializeVersionProperty(o);
+     maybeEmitEvent(new BeforeConvertEvent<T>(o, collectionName));
+    }
+
+    return insertEntities(collectionName, new ArrayList<>(batchToSave), null)
+      .thenMany(Flux.<T> fromIterable(batchToSave));
+   });
+  }
+
   Mono<List<Tuple2<T, Document>>> prepareDocuments = Flux.fromIterable(batchToSave)
     .flatMap(new Function<T, Flux<Tuple2<T, Document>>>() {
      @Override
@@ -1300,6 +1451,39 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   return Flux.from(execute).last().map(success -> document.get(ID_FIELD));
  }
 
+ /**
+  * Insert the given entities using the entity {@link CodecRegistry}. Identifiers are generated by the codec and set on
+  * the entities directly.
+  *
+  * @param collectionName must not be {@literal null}.
+  * @param entities must not be {@literal null} or empty.
+  * @param entityClass can be {@literal null}.
+  * @return {@link Mono} completing once the entities are inserted.
+  */
+ private Mono<Void> insertEntities(String collectionName, List<?> entities, @Nullable Class<?> entityClass) {
+
+  if (LOGGER.isDebugEnabled()) {
+   LOGGER.debug("Inserting " + entities.size() + " entities via codec in collection: " + collectionName);
+  }
+
+  return createFlux(collectionName, collection -> {
+
+   MongoActionOperation operation = entities.size() == 1 ? MongoActionOperation.INSERT
+     : MongoActionOperation.INSERT_LIST;
+   MongoAction mongoAction = new MongoAction(writeConcern, operation, collectionName, entityClass, null, null);
+   WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+
+   MongoCollection<Object> collectionToUse = collection.withDocumentClass(Object.class)
+     .withCodecRegistry(getRequiredEntityCodecRegistry());
+
+   if (writeConcernToUse != null) {
+    collectionToUse = collectionToUse.withWriteConcern(writeConcernToUse);
+   }
+
+   return entities.size() == 1 ? collectionToUse.insertOne(entities.get(0)) : collectionToUse.insertMany(entities);
+  }).then();
+ }
+
  protected Flux<ObjectId> insertDocumentList(final String collectionName, final List<Document> dbDocList) {
 
   if (dbDocList.isEmpty()) {
@@ -1784,8 +1968,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    // TODO: clean up
    LOGGER.debug(String.format("find for class: %s in collection: %s", entityClass, collectionName));
 
-   return executeFindMultiInternal(
-     collection -> new FindCallback(null).doInCollection(collection).cursorType(CursorType.TailableAwait), null,
+   return executeFindMultiInternal(new FindCallback(null), new TailingQueryFindPublisherPreparer(null, entityClass),
      new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName), collectionName);
   }
 
@@ -1986,10 +2169,55 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   */
  protected <T> Flux<T> doFind(String collectionName, Document query, Document fields, Class<T> entityClass,
    FindPublisherPreparer preparer) {
+
+  if (canReadWithEntityCodecs(entityClass)) {
+   return doFindWithEntityCodecs(collectionName, query, fields, entityClass, preparer);
+  }
+
   return doFind(collectionName, query, fields, entityClass, preparer,
     new ReadDocumentCallback<T>(mongoConverter, entityClass, collectionName));
  }
 
+ /**
+  * Map the results of an ad-hoc query to the given entity type decoding the entities via the entity
+  * {@link CodecRegistry}.
+  *
+  * @param collectionName name of the collection to retrieve the objects from.
+  * @param query the query document that specifies the criteria used to find a record.
+  * @param fields the document that specifies the fields to be returned.
+  * @param entityClass the parameterized type of the returned {@link Flux}.
+  * @param preparer can be {@literal null}.
+  * @return the {@link Flux} of decoded objects.
+  * @since 2.1
+  */
+ @SuppressWarnings({ "unchecked", "rawtypes" })
+ private <T> Flux<T> doFindWithEntityCodecs(String collectionName, Document query, Document fields,
+   Class<T> entityClass, @Nullable FindPublisherPreparer preparer) {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityClass);
+
+  Document mappedFields = queryMapper.getMappedFields(fields, entity);
+  Document mappedQuery = queryMapper.getMappedObject(query, entity);
+
+  if (LOGGER.isDebugEnabled()) {
+   LOGGER.debug(String.format("find via codec using query: %s fields: %s for class: %s in collection: %s",
+     serializeToJsonSafely(mappedQuery), mappedFields, entityClass, collectionName));
+  }
+
+  return createFlux(collectionName, collection -> {
+
+   FindPublisher<T> findPublisher = collection.withCodecRegistry(getRequiredEntityCodecRegistry())
+     .find(mappedQuery, entityClass).projection(mappedFields);
+
+   if (preparer != null) {
+    // FindPublisherPreparer only applies modifiers that do not depend on the result type
+    findPublisher = (FindPublisher<T>) preparer.prepare((FindPublisher) findPublisher);
+   }
+
+   return findPublisher;
+  });
+ }
+
  protected <S, T> Flux<T> doFind(String collectionName, Document query, Document fields, Class<S> entityClass,
    @Nullable FindPublisherPreparer preparer, DocumentCallback<T> objectCallback) {
 
@@ -2314,10 +2542,67 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    if (preparer != null) {
     findPublisher = preparer.prepare(findPublisher);
    }
-   return Flux.from(findPublisher).map(objectCallback::doWith);
+
+   Class<?> typeToRead = objectCallback.getTypeToRead();
+
+   if (typeToRead == null || preparer instanceof TailingQueryFindPublisherPreparer
+     || !(mongoConverter instanceof MappingMongoConverter)
+     || !((MappingMongoConverter) mongoConverter).hasEagerDbRefs(typeToRead)) {
+    return Flux.from(findPublisher).map(objectCallback::doWith);
+   }
+
+   return Flux.from(findPublisher) //
+     .buffer(DBREF_RESOLUTION_BATCH_SIZE) //
+     .concatMap(documents -> readWithPrefetchedDbRefs(documents, typeToRead, objectCallback));
   });
  }
 
+ /**
+  * Reads the given batch of {@link Document}s after loading the eagerly resolved
+  * {@link org.springframework.data.mongodb.core.mapping.DBRef}s of all of them with one query per target collection.
+  *
+  * @param documents must not be {@literal null}.
+  * @param typeToRead must not be {@literal null}.
+  * @param objectCallback must not be {@literal null}.
+  * @return
+  */
+ private <T> Flux<T> readWithPrefetchedDbRefs(List<Document> documents, Class<?> typeToRead,
+   DocumentCallback<T> objectCallback) {
+
+  MappingMongoConverter converter = (MappingMongoConverter) mongoConverter;
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  converter.collectDbRefs(typeToRead, documents, scope);
+
+  Mono<Void> prefetch = Flux.defer(() -> Flux.fromIterable(scope.drainPendingDbRefs())) //
+    .concatMap(dbRefs -> fetchDbRefs(dbRefs) //
+      .doOnNext(fetched -> converter.addResolvedDbRefs(dbRefs, fetched, scope))) //
+    .repeat(scope::hasPendingDbRefs) //
+    .then();
+
+  return prefetch.thenMany(Flux.defer(() -> Flux.fromIterable(scope.execute(() -> {
+
+   List<T> result = new ArrayList<>(documents.size());
+
+   for (Document document : documents) {
+    result.add(objectCallback.doWith(document));
+   }
+
+   return result;
+  }))));
+ }
+
+ private Mono<List<Document>> fetchDbRefs(List<DBRef> dbRefs) {
+
+  DBRef first = dbRefs.get(0);
+  List<Object> ids = dbRefs.stream().map(DBRef::getId).collect(Collectors.toList());
+
+  MongoDatabase db = StringUtils.hasText(first.getDatabaseName())
+    ? mongoDatabaseFactory.getMongoDatabase(first.getDatabaseName())
+    : getMongoDatabase();
+
+  return Flux.from(db.getCollection(first.getCollectionName()).find(Filters.in("_id", ids))).collectList();
+ }
+
  private <T> T execute(MongoDatabaseCallback<T> action) {
 
   Assert.notNull(action, "MongoDatabaseCallback must not be null!");
@@ -2361,6 +2646,46 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   return resolved == null ? ex : resolved;
  }
 
+ private boolean canWriteWithEntityCodecs(Collection<?> objects, MongoWriter<?> writer) {
+
+  if (entityCodecProvider == null || writer != mongoConverter || objects.isEmpty()
+    || documentEventListeners.hasDocumentEventListeners()) {
+   return false;
+  }
+
+  for (Object object : objects) {
+   if (object == null || !entityCodecProvider.isEntity(ClassUtils.getUserClass(object))) {
+    return false;
+   }
+  }
+
+  return true;
+ }
+
+ private boolean canReadWithEntityCodecs(Class<?> entityClass) {
+
+  return entityCodecProvider != null && entityCodecProvider.isEntity(entityClass)
+    && !((MappingMongoConverter) mongoConverter).hasEagerDbRefs(entityClass)
+    && !documentEventListeners.hasDocumentEventListeners();
+ }
+
+ private CodecRegistry getRequiredEntityCodecRegistry() {
+
+  MappingMongoConverterCodecProvider provider = entityCodecProvider;
+
+  Assert.state(provider != null, "Entity codecs are not enabled!");
+
+  CodecRegistry registry = entityCodecRegistry;
+
+  if (registry == null) {
+
+   registry = provider.createCodecRegistry(getMongoDatabase().getCodecRegistry());
+   entityCodecRegistry = registry;
+  }
+
+  return registry;
+ }
+
  @Nullable
  private MongoPersistentEntity<?> getPersistentEntity(@Nullable Class<?> type) {
   return type == null ? null : mappingContext.getPersistentEntity(type);
@@ -2646,6 +2971,14 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
  interface DocumentCallback<T> {
 
   T doWith(Document object);
+
+  /**
+   * @return the type {@link Document}s are read into or {@literal null} if not known up front.
+   */
+  @Nullable
+  default Class<?> getTypeToRead() {
+   return null;
+  }
  }
 
  /**
@@ -2702,6 +3035,15 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    }
    return source;
   }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.ReactiveMongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Override
+  public Class<?> getTypeToRead() {
+   return type;
+  }
  }
 
  /**
@@ -2729,8 +3071,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
     return null;
    }
 
-   Class<?> typeToRead = targetType.isInterface() || targetType.isAssignableFrom(entityType) ? entityType
-     : targetType;
+   Class<?> typeToRead = getTypeToRead();
 
    if (null != object) {
     maybeEmitEvent(new AfterLoadEvent<>(object, typeToRead, collectionName));
@@ -2744,6 +3085,15 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
    }
    return (T) result;
   }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.ReactiveMongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Override
+  public Class<?> getTypeToRead() {
+   return targetType.isInterface() || targetType.isAssignableFrom(entityType) ? entityType : targetType;
+  }
  }
 
  /**
@@ -2782,6 +3132,41 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   }
  }
 
+ /**
+  * {@link DocumentCallback} handing each raw {@link Document} to a {@link KeysetScroll} before delegating the
+  * conversion to the given {@link DocumentCallback}.
+  *
+  * @since 2.1
+  */
+ @RequiredArgsConstructor
+ static class KeysetCapturingDocumentCallback<T> implements DocumentCallback<T> {
+
+  private final @NonNull KeysetScroll scroll;
+  private final @NonNull DocumentCallback<T> delegate;
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.ReactiveMongoTemplate.DocumentCallback#doWith(org.bson.Document)
+   */
+  @Override
+  public T doWith(Document object) {
+
+   scroll.capture(object);
+
+   return delegate.doWith(object);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.ReactiveMongoTemplate.DocumentCallback#getTypeToRead()
+   */
+  @Nullable
+  @Override
+  public Class<?> getTypeToRead() {
+   return delegate.getTypeToRead();
+  }
+ }
+
  /**
   * @author Mark Paluch
   */
@@ -2873,7 +3258,16 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
   @Nullable
   public Object resolveDbRef(@Nonnull MongoPersistentProperty property, @Nonnull DBRef dbref,
     @Nonnull DbRefResolverCallback callback, @Nonnull DbRefProxyHandler proxyHandler) {
-   return null;
+
+   DbRefResolutionScope scope = DbRefResolutionScope.current();
+
+   if (dbref == null || scope == null || !scope.isResolved(dbref) || property.getDBRef() == null
+     || property.getDBRef().lazy()) {
+    return null;
+   }
+
+   // DBRefs pre-fetched for the current batch can be resolved without blocking
+   return callback.resolve(property);
   }
 
   @Override
@@ -0,0 +1,755 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.springframework.asm.Opcodes.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Type;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.data.convert.CustomConversions;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.model.ClassGeneratingPropertyAccessorFactory;
+import org.springframework.data.mongodb.core.convert.EntityDocumentCodec.PropertyFallback;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Factory generating an {@link EntityDocumentCodec} class per {@link MongoPersistentEntity} using ASM. Similar to
+ * {@link ClassGeneratingPropertyAccessorFactory} the generated class is defined in the package and {@link ClassLoader}
+ * of the entity so that it can access non-private fields and accessor methods directly. Properties backed by private
+ * members are accessed through the {@link PersistentPropertyAccessor} of the entity instead. <br />
+ * Only properties of a type MongoDB stores natively and reads back as the very same type are mapped by the generated
+ * code. Identifiers, associations, constructor arguments, properties using SpEL, nested field names and types with
+ * custom conversions registered are delegated to the {@link PropertyFallback}.
+ *
+ * @since 2.1
+ */
+class ClassGeneratingEntityDocumentCodecFactory {
+
+ private static final Logger LOGGER = LoggerFactory.getLogger(ClassGeneratingEntityDocumentCodecFactory.class);
+
+ private static final String TAG = "_DocumentCodec_";
+ private static final AtomicInteger COUNTER = new AtomicInteger();
+
+ private static final Set<Class<?>> NATIVE_TYPES = new HashSet<>(
+   Arrays.asList(String.class, ObjectId.class, Integer.class, Long.class, Double.class, Boolean.class));
+
+ private static final String CODEC = Type.getInternalName(EntityDocumentCodec.class);
+ private static final String DOCUMENT = Type.getInternalName(Document.class);
+ private static final String BSON_WRITER = Type.getInternalName(BsonWriter.class);
+ private static final String PROPERTY_ACCESSOR = Type.getInternalName(PersistentPropertyAccessor.class);
+ private static final String FALLBACK = Type.getInternalName(PropertyFallback.class);
+ private static final String PROPERTIES_DESCRIPTOR = Type.getDescriptor(MongoPersistentProperty[].class);
+
+ private static final String READ_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Document.class),
+   Type.getType(PersistentPropertyAccessor.class), Type.getType(PropertyFallback.class));
+ private static final String WRITE_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+   Type.getType(PersistentPropertyAccessor.class), Type.getType(Document.class), Type.getType(PropertyFallback.class));
+ private static final String ENCODE_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+   Type.getType(PersistentPropertyAccessor.class), Type.getType(BsonWriter.class), Type.getType(PropertyFallback.class));
+
+ private static final int THIS = 0;
+ private static final int BEAN = 4;
+ private static final int VALUE = 5;
+
+ private final CustomConversions conversions;
+
+ /**
+  * Creates a new {@link ClassGeneratingEntityDocumentCodecFactory}.
+  *
+  * @param conversions must not be {@literal null}.
+  */
+ ClassGeneratingEntityDocumentCodecFactory(CustomConversions conversions) {
+
+  Assert.notNull(conversions, "CustomConversions must not be null!");
+
+  this.conversions = conversions;
+ }
+
+ /**
+  * Generate an {@link EntityDocumentCodec} for the given {@link MongoPersistentEntity}.
+  *
+  * @param entity must not be {@literal null}.
+  * @return {@literal null} if the entity does not have any property the generated code could map or the class cannot
+  *         be generated.
+  */
+ @Nullable
+ EntityDocumentCodec createCodec(MongoPersistentEntity<?> entity) {
+
+  Assert.notNull(entity, "Entity must not be null!");
+
+  Class<?> type = entity.getType();
+
+  if (!isTypeInjectable(type)) {
+   return null;
+  }
+
+  MongoPersistentProperty idProperty = entity.getIdProperty();
+  boolean typeAccessible = isAccessible(type);
+
+  List<PropertyMapping> mappings = new ArrayList<>();
+  boolean nativeMappingFound = false;
+
+  for (MongoPersistentProperty property : entity) {
+
+   if (property.equals(idProperty)) {
+    continue;
+   }
+
+   PropertyMapping mapping = createMapping(entity, property, typeAccessible);
+   nativeMappingFound |= mapping.access != Access.FALLBACK;
+   mappings.add(mapping);
+  }
+
+  if (!nativeMappingFound) {
+   return null;
+  }
+
+  String className = type.getName() + TAG + Integer.toString(COUNTER.incrementAndGet(), 36);
+  MongoPersistentProperty[] properties = mappings.stream().map(it -> it.property)
+    .toArray(MongoPersistentProperty[]::new);
+
+  try {
+
+   byte[] bytecode = generateCodec(className, type, mappings);
+   Class<?> codecType = ReflectUtils.defineClass(className, bytecode, type.getClassLoader(),
+     type.getProtectionDomain(), type);
+
+   return (EntityDocumentCodec) codecType.getConstructor(MongoPersistentProperty[].class)
+     .newInstance((Object) properties);
+
+  } catch (Exception | LinkageError e) {
+
+   if (LOGGER.isDebugEnabled()) {
+    LOGGER.debug(String.format("Cannot generate EntityDocumentCodec for %s. Using reflective mapping instead.",
+      type.getName()), e);
+   }
+
+   return null;
+  }
+ }
+
+ private PropertyMapping createMapping(MongoPersistentEntity<?> entity, MongoPersistentProperty property,
+   boolean typeAccessible) {
+
+  if (!isNativelyMapped(entity, property)) {
+   return new PropertyMapping(property, Access.FALLBACK);
+  }
+
+  if (!typeAccessible) {
+   return new PropertyMapping(property, Access.ACCESSOR);
+  }
+
+  Class<?> rawType = property.getType();
+
+  if (property.usePropertyAccess()) {
+
+   Method getter = property.getGetter();
+   Method setter = property.getSetter();
+
+   boolean accessible = getter != null && setter != null //
+     && isAccessible(getter, entity.getType()) && isAccessible(setter, entity.getType()) //
+     && getter.getReturnType().equals(rawType) && setter.getParameterTypes()[0].equals(rawType);
+
+   return new PropertyMapping(property, accessible ? Access.METHOD : Access.ACCESSOR);
+  }
+
+  Field field = property.getField();
+
+  boolean accessible = field != null && isAccessible(field, entity.getType())
+    && !Modifier.isFinal(field.getModifiers()) && field.getType().equals(rawType);
+
+  return new PropertyMapping(property, accessible ? Access.FIELD : Access.ACCESSOR);
+ }
+
+ /**
+  * Returns whether the given property is mapped by generated code, i.e. it is of a type MongoDB stores natively and
+  * does not require any conversion.
+  *
+  * @param entity must not be {@literal null}.
+  * @param property must not be {@literal null}.
+  * @return
+  */
+ boolean isNativelyMapped(MongoPersistentEntity<?> entity, MongoPersistentProperty property) {
+
+  Class<?> rawType = property.getType();
+  Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(rawType);
+
+  if (!NATIVE_TYPES.contains(type)) {
+   return false;
+  }
+
+  if (property.isAssociation() || property.isDbReference() || property.isTextScoreProperty()
+    || property.getSpelExpression() != null || entity.isConstructorArgument(property) || !property.isWritable()) {
+   return false;
+  }
+
+  if (property.getFieldName().contains(".")) {
+   return false;
+  }
+
+  return !conversions.getCustomWriteTarget(type).isPresent() && !conversions.hasCustomReadTarget(type, rawType);
+ }
+
+ private static boolean isTypeInjectable(Class<?> type) {
+
+  ClassLoader classLoader = type.getClassLoader();
+
+  if (classLoader == null || type.isInterface() || type.isAnonymousClass() || type.isLocalClass()
+    || ClassUtils.getPackageName(type).startsWith("java")) {
+   return false;
+  }
+
+  try {
+   return ClassUtils.forName(EntityDocumentCodec.class.getName(), classLoader).equals(EntityDocumentCodec.class)
+     && ClassUtils.forName(Document.class.getName(), classLoader).equals(Document.class);
+  } catch (ClassNotFoundException | LinkageError o_O) {
+   return false;
+  }
+ }
+
+ private static boolean isAccessible(Class<?> type) {
+
+  for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+   if (Modifier.isPrivate(current.getModifiers())) {
+    return false;
+   }
+  }
+
+  return true;
+ }
+
+ private static boolean isAccessible(Member member, Class<?> type) {
+
+  int modifiers = member.getModifiers();
+
+  if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) {
+   return false;
+  }
+
+  if (Modifier.isPublic(modifiers)) {
+   return true;
+  }
+
+  Class<?> declaringClass = member.getDeclaringClass();
+
+  return ClassUtils.getPackageName(declaringClass).equals(ClassUtils.getPackageName(type))
+    && declaringClass.getClassLoader() == type.getClassLoader();
+ }
+
+ /**
+  * Generates the following class:
+  *
+  * <pre class="code">
+  * public final class Person_DocumentCodec_1 extends EntityDocumentCodec {
+  *
+  * 	public Person_DocumentCodec_1(MongoPersistentProperty[] properties) {
+  * 		super(properties);
+  * 	}
+  *
+  * 	public void read(Document source, PersistentPropertyAccessor accessor, PropertyFallback fallback) {
+  *
+  * 		Person bean = (Person) accessor.getBean();
+  * 		Object value;
+  *
+  * 		value = source.get("firstname");
+  * 		if (value instanceof String) {
+  * 			bean.firstname = (String) value;
+  * 		} else {
+  * 			fallback.apply(this.properties[0]);
+  * 		}
+  *
+  * 		value = source.get("age");
+  * 		if (value instanceof Integer) {
+  * 			bean.setAge(((Integer) value).intValue());
+  * 		} else {
+  * 			fallback.apply(this.properties[1]);
+  * 		}
+  *
+  * 		value = source.get("email");
+  * 		if (value instanceof String) {
+  * 			accessor.setProperty(this.properties[2], value);
+  * 		} else {
+  * 			fallback.apply(this.properties[2]);
+  * 		}
+  *
+  * 		fallback.apply(this.properties[3]); // address
+  * 	}
+  *
+  * 	public void write(PersistentPropertyAccessor accessor, Document target, PropertyFallback fallback) {
+  *
+  * 		Person bean = (Person) accessor.getBean();
+  * 		Object value;
+  *
+  * 		value = bean.firstname;
+  * 		if (value != null) {
+  * 			target.put("firstname", value);
+  * 		}
+  *
+  * 		value = Integer.valueOf(bean.getAge());
+  * 		if (value != null) {
+  * 			target.put("age", value);
+  * 		}
+  *
+  * 		value = accessor.getProperty(this.properties[2]);
+  * 		if (value != null) {
+  * 			target.put("email", value);
+  * 		}
+  *
+  * 		fallback.apply(this.properties[3]); // address
+  * 	}
+  *
+  * 	public void encode(PersistentPropertyAccessor accessor, BsonWriter writer, PropertyFallback fallback) {
+  *
+  * 		// same as write(…) using writer.writeName("firstname"); writer.writeString((String) value); etc.
+  * 	}
+  * }
+  * </pre>
+  */
+ private static byte[] generateCodec(String className, Class<?> type, List<PropertyMapping> mappings) {
+
+  String internalName = className.replace('.', '/');
+  String beanType = Type.getInternalName(type);
+  boolean usesBean = mappings.stream().anyMatch(it -> it.access == Access.FIELD || it.access == Access.METHOD);
+
+  ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+  cw.visit(V1_6, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null, CODEC, null);
+
+  visitConstructor(cw);
+  visitRead(cw, internalName, beanType, usesBean, mappings);
+  visitWrite(cw, internalName, beanType, usesBean, mappings);
+  visitEncode(cw, internalName, beanType, usesBean, mappings);
+
+  cw.visitEnd();
+
+  return cw.toByteArray();
+ }
+
+ private static void visitConstructor(ClassWriter cw) {
+
+  String descriptor = "(" + PROPERTIES_DESCRIPTOR + ")V";
+
+  MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", descriptor, null, null);
+  mv.visitCode();
+  mv.visitVarInsn(ALOAD, THIS);
+  mv.visitVarInsn(ALOAD, 1);
+  mv.visitMethodInsn(INVOKESPECIAL, CODEC, "<init>", descriptor, false);
+  mv.visitInsn(RETURN);
+  mv.visitMaxs(0, 0);
+  mv.visitEnd();
+ }
+
+ private static void visitRead(ClassWriter cw, String internalName, String beanType, boolean usesBean,
+   List<PropertyMapping> mappings) {
+
+  int source = 1;
+  int accessor = 2;
+  int fallback = 3;
+
+  MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "read", READ_DESCRIPTOR, null, null);
+  mv.visitCode();
+
+  if (usesBean) {
+   visitLoadBean(mv, accessor, beanType);
+  }
+
+  for (int index = 0; index < mappings.size(); index++) {
+
+   PropertyMapping mapping = mappings.get(index);
+
+   if (mapping.access == Access.FALLBACK) {
+    visitFallback(mv, internalName, fallback, index);
+    continue;
+   }
+
+   Class<?> rawType = mapping.property.getType();
+   String boxedType = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(rawType));
+
+   Label useFallback = new Label();
+   Label next = new Label();
+
+   mv.visitVarInsn(ALOAD, source);
+   mv.visitLdcInsn(mapping.property.getFieldName());
+   mv.visitMethodInsn(INVOKEVIRTUAL, DOCUMENT, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", false);
+   mv.visitVarInsn(ASTORE, VALUE);
+
+   mv.visitVarInsn(ALOAD, VALUE);
+   mv.visitTypeInsn(INSTANCEOF, boxedType);
+   mv.visitJumpInsn(IFEQ, useFallback);
+
+   switch (mapping.access) {
+
+    case FIELD:
+
+     Field field = mapping.property.getRequiredField();
+
+     mv.visitVarInsn(ALOAD, BEAN);
+     visitLoadValue(mv, rawType, boxedType);
+     mv.visitFieldInsn(PUTFIELD, beanType, field.getName(), Type.getDescriptor(rawType));
+     break;
+
+    case METHOD:
+
+     Method setter = mapping.property.getRequiredSetter();
+
+     mv.visitVarInsn(ALOAD, BEAN);
+     visitLoadValue(mv, rawType, boxedType);
+     mv.visitMethodInsn(INVOKEVIRTUAL, beanType, setter.getName(), Type.getMethodDescriptor(setter), false);
+     visitDiscardReturnValue(mv, setter.getReturnType());
+     break;
+
+    default:
+
+     mv.visitVarInsn(ALOAD, accessor);
+     visitLoadProperty(mv, internalName, index);
+     mv.visitVarInsn(ALOAD, VALUE);
+     mv.visitMethodInsn(INVOKEINTERFACE, PROPERTY_ACCESSOR, "setProperty",
+       "(" + Type.getDescriptor(PersistentProperty.class) + "Ljava/lang/Object;)V", true);
+   }
+
+   mv.visitJumpInsn(GOTO, next);
+
+   mv.visitLabel(useFallback);
+   visitFallback(mv, internalName, fallback, index);
+
+   mv.visitLabel(next);
+  }
+
+  mv.visitInsn(RETURN);
+  mv.visitMaxs(0, 0);
+  mv.visitEnd();
+ }
+
+ private static void visitWrite(ClassWriter cw, String internalName, String beanType, boolean usesBean,
+   List<PropertyMapping> mappings) {
+
+  int accessor = 1;
+  int target = 2;
+  int fallback = 3;
+
+  MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "write", WRITE_DESCRIPTOR, null, null);
+  mv.visitCode();
+
+  if (usesBean) {
+   visitLoadBean(mv, accessor, beanType);
+  }
+
+  for (int index = 0; index < mappings.size(); index++) {
+
+   PropertyMapping mapping = mappings.get(index);
+
+   if (mapping.access == Access.FALLBACK) {
+    visitFallback(mv, internalName, fallback, index);
+    continue;
+   }
+
+   Label next = new Label();
+
+   visitStorePropertyValue(mv, internalName, beanType, accessor, mapping, index);
+   mv.visitVarInsn(ALOAD, VALUE);
+   mv.visitJumpInsn(IFNULL, next);
+
+   mv.visitVarInsn(ALOAD, target);
+   mv.visitLdcInsn(mapping.property.getFieldName());
+   mv.visitVarInsn(ALOAD, VALUE);
+   mv.visitMethodInsn(INVOKEVIRTUAL, DOCUMENT, "put", "(Ljava/lang/String;Ljava/lang/Object;)Ljava/lang/Object;",
+     false);
+   mv.visitInsn(POP);
+
+   mv.visitLabel(next);
+  }
+
+  mv.visitInsn(RETURN);
+  mv.visitMaxs(0, 0);
+  mv.visitEnd();
+ }
+
+ private static void visitEncode(ClassWriter cw, String internalName, String beanType, boolean usesBean,
+   List<PropertyMapping> mappings) {
+
+  int accessor = 1;
+  int writer = 2;
+  int fallback = 3;
+
+  MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "encode", ENCODE_DESCRIPTOR, null, null);
+  mv.visitCode();
+
+  if (usesBean) {
+   visitLoadBean(mv, accessor, beanType);
+  }
+
+  for (int index = 0; index < mappings.size(); index++) {
+
+   PropertyMapping mapping = mappings.get(index);
+
+   if (mapping.access == Access.FALLBACK) {
+    visitFallback(mv, internalName, fallback, index);
+    continue;
+   }
+
+   Class<?> rawType = mapping.property.getType();
+   Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(rawType);
+   Label next = new Label();
+
+   visitStorePropertyValue(mv, internalName, beanType, accessor, mapping, index);
+   mv.visitVarInsn(ALOAD, VALUE);
+   mv.visitJumpInsn(IFNULL, next);
+
+   mv.visitVarInsn(ALOAD, writer);
+   mv.visitLdcInsn(mapping.property.getFieldName());
+   mv.visitMethodInsn(INVOKEINTERFACE, BSON_WRITER, "writeName", "(Ljava/lang/String;)V", true);
+
+   mv.visitVarInsn(ALOAD, writer);
+   mv.visitVarInsn(ALOAD, VALUE);
+   mv.visitTypeInsn(CHECKCAST, Type.getInternalName(boxedType));
+
+   if (String.class.equals(boxedType)) {
+    mv.visitMethodInsn(INVOKEINTERFACE, BSON_WRITER, "writeString", "(Ljava/lang/String;)V", true);
+   } else if (ObjectId.class.equals(boxedType)) {
+    mv.visitMethodInsn(INVOKEINTERFACE, BSON_WRITER, "writeObjectId", "(" + Type.getDescriptor(ObjectId.class) + ")V",
+      true);
+   } else {
+
+    Class<?> primitiveType = getPrimitiveType(boxedType);
+
+    mv.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(boxedType), primitiveType.getName() + "Value",
+      "()" + Type.getDescriptor(primitiveType), false);
+    mv.visitMethodInsn(INVOKEINTERFACE, BSON_WRITER, getBsonWriterMethod(boxedType),
+      "(" + Type.getDescriptor(primitiveType) + ")V", true);
+   }
+
+   mv.visitLabel(next);
+  }
+
+  mv.visitInsn(RETURN);
+  mv.visitMaxs(0, 0);
+  mv.visitEnd();
+ }
+
+ private static Class<?> getPrimitiveType(Class<?> boxedType) {
+
+  for (Class<?> candidate : Arrays.asList(Integer.TYPE, Long.TYPE, Double.TYPE, Boolean.TYPE)) {
+   if (ClassUtils.resolvePrimitiveIfNecessary(candidate).equals(boxedType)) {
+    return candidate;
+   }
+  }
+
+  throw new IllegalArgumentException(String.format("%s is not a primitive wrapper type!", boxedType));
+ }
+
+ private static String getBsonWriterMethod(Class<?> boxedType) {
+
+  if (Integer.class.equals(boxedType)) {
+   return "writeInt32";
+  }
+
+  if (Long.class.equals(boxedType)) {
+   return "writeInt64";
+  }
+
+  if (Double.class.equals(boxedType)) {
+   return "writeDouble";
+  }
+
+  if (Boolean.class.equals(boxedType)) {
+   return "writeBoolean";
+  }
+
+  throw new IllegalArgumentException(String.format("No BsonWriter method for %s!", boxedType));
+ }
+
+ /**
+  * {@code value = bean.field}, {@code value = bean.getProperty()} or {@code value = accessor.getProperty(property)}
+  * boxing primitive values.
+  */
+ private static void visitStorePropertyValue(MethodVisitor mv, String internalName, String beanType, int accessor,
+   PropertyMapping mapping, int index) {
+
+  Class<?> rawType = mapping.property.getType();
+
+  switch (mapping.access) {
+
+   case FIELD:
+
+    Field field = mapping.property.getRequiredField();
+
+    mv.visitVarInsn(ALOAD, BEAN);
+    mv.visitFieldInsn(GETFIELD, beanType, field.getName(), Type.getDescriptor(rawType));
+    visitBoxIfNecessary(mv, rawType);
+    break;
+
+   case METHOD:
+
+    Method getter = mapping.property.getRequiredGetter();
+
+    mv.visitVarInsn(ALOAD, BEAN);
+    mv.visitMethodInsn(INVOKEVIRTUAL, beanType, getter.getName(), Type.getMethodDescriptor(getter), false);
+    visitBoxIfNecessary(mv, rawType);
+    break;
+
+   default:
+
+    mv.visitVarInsn(ALOAD, accessor);
+    visitLoadProperty(mv, internalName, index);
+    mv.visitMethodInsn(INVOKEINTERFACE, PROPERTY_ACCESSOR, "getProperty",
+      "(" + Type.getDescriptor(PersistentProperty.class) + ")Ljava/lang/Object;", true);
+  }
+
+  mv.visitVarInsn(ASTORE, VALUE);
+ }
+
+ /**
+  * {@code bean = (Type) accessor.getBean()}
+  */
+ private static void visitLoadBean(MethodVisitor mv, int accessor, String beanType) {
+
+  mv.visitVarInsn(ALOAD, accessor);
+  mv.visitMethodInsn(INVOKEINTERFACE, PROPERTY_ACCESSOR, "getBean", "()Ljava/lang/Object;", true);
+  mv.visitTypeInsn(CHECKCAST, beanType);
+  mv.visitVarInsn(ASTORE, BEAN);
+ }
+
+ /**
+  * {@code this.properties[index]}
+  */
+ private static void visitLoadProperty(MethodVisitor mv, String internalName, int index) {
+
+  mv.visitVarInsn(ALOAD, THIS);
+  mv.visitFieldInsn(GETFIELD, internalName, "properties", PROPERTIES_DESCRIPTOR);
+  visitPushInt(mv, index);
+  mv.visitInsn(AALOAD);
+ }
+
+ /**
+  * {@code fallback.apply(this.properties[index])}
+  */
+ private static void visitFallback(MethodVisitor mv, String internalName, int fallback, int index) {
+
+  mv.visitVarInsn(ALOAD, fallback);
+  visitLoadProperty(mv, internalName, index);
+  mv.visitMethodInsn(INVOKEINTERFACE, FALLBACK, "apply", "(" + Type.getDescriptor(MongoPersistentProperty.class) + ")V",
+    true);
+ }
+
+ /**
+  * {@code (Type) value} or {@code ((Type) value).typeValue()} for primitive targets.
+  */
+ private static void visitLoadValue(MethodVisitor mv, Class<?> rawType, String boxedType) {
+
+  mv.visitVarInsn(ALOAD, VALUE);
+  mv.visitTypeInsn(CHECKCAST, boxedType);
+
+  if (rawType.isPrimitive()) {
+   mv.visitMethodInsn(INVOKEVIRTUAL, boxedType, rawType.getName() + "Value", "()" + Type.getDescriptor(rawType),
+     false);
+  }
+ }
+
+ private static void visitBoxIfNecessary(MethodVisitor mv, Class<?> rawType) {
+
+  if (!rawType.isPrimitive()) {
+   return;
+  }
+
+  Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(rawType);
+
+  mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(boxedType), "valueOf",
+    Type.getMethodDescriptor(Type.getType(boxedType), Type.getType(rawType)), false);
+ }
+
+ private static void visitDiscardReturnValue(MethodVisitor mv, Class<?> returnType) {
+
+  if (Void.TYPE.equals(returnType)) {
+   return;
+  }
+
+  mv.visitInsn(Long.TYPE.equals(returnType) || Double.TYPE.equals(returnType) ? POP2 : POP);
+ }
+
+ private static void visitPushInt(MethodVisitor mv, int value) {
+
+  if (value <= 5) {
+   mv.visitInsn(ICONST_0 + value);
+  } else if (value <= Byte.MAX_VALUE) {
+   mv.visitIntInsn(BIPUSH, value);
+  } else if (value <= Short.MAX_VALUE) {
+   mv.visitIntInsn(SIPUSH, value);
+  } else {
+   mv.visitLdcInsn(value);
+  }
+ }
+
+ /**
+  * How the generated code accesses a property.
+  */
+ private enum Access {
+
+  /**
+   * Direct field access.
+   */
+  FIELD,
+
+  /**
+   * Direct getter and setter invocation.
+   */
+  METHOD,
+
+  /**
+   * Access through the {@link PersistentPropertyAccessor} of the entity.
+   */
+  ACCESSOR,
+
+  /**
+   * Not mapped by the generated code but by the {@link PropertyFallback}.
+   */
+  FALLBACK
+ }
+
+ private static class PropertyMapping {
+
+  private final MongoPersistentProperty property;
+  private final Access access;
+
+  PropertyMapping(MongoPersistentProperty property, Access access) {
+
+   this.property = property;
+   this.access = access;
+  }
+ }
+}
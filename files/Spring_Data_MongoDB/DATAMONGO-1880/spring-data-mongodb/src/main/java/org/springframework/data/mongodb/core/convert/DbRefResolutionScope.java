@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.DBRef;
+
+/**
+ * Identity map for {@link DBRef}s resolved while reading a batch of documents. The {@link MappingMongoConverter}
+ * collects the eagerly resolved {@link DBRef}s of all documents of a batch up front so that they can be loaded with a
+ * single {@literal $in} query per target collection. Reading the documents {@link #execute(Supplier) within} the scope
+ * then uses the pre-fetched documents instead of issuing one query per {@link DBRef} and shares the converted
+ * instances among all documents of the batch. <br />
+ * A {@link DbRefResolutionScope} is not thread-safe and is meant to be used for a single batch only.
+ *
+ * @since 2.1
+ * @see MappingMongoConverter#prefetchDbRefs(Class, Collection, DbRefResolutionScope)
+ */
+public class DbRefResolutionScope {
+
+ private static final ThreadLocal<DbRefResolutionScope> CURRENT = new NamedThreadLocal<>("DBRef resolution scope");
+
+ private final Map<DbRefKey, PendingDbRef> pending = new LinkedHashMap<>();
+ private final Map<DbRefKey, TypeInformation<?>> targetTypes = new HashMap<>();
+ private final Map<DbRefKey, Document> documents = new HashMap<>();
+ private final Map<InstanceKey, Object> instances = new HashMap<>();
+
+ /**
+  * Returns the {@link DbRefResolutionScope} bound to the current thread.
+  *
+  * @return {@literal null} if no scope is bound.
+  */
+ @Nullable
+ public static DbRefResolutionScope current() {
+  return CURRENT.get();
+ }
+
+ /**
+  * Bind this scope to the current thread while running the given action.
+  *
+  * @param action must not be {@literal null}.
+  * @return the result of the action.
+  */
+ public <T> T execute(Supplier<T> action) {
+
+  Assert.notNull(action, "Action must not be null!");
+
+  DbRefResolutionScope previous = CURRENT.get();
+  CURRENT.set(this);
+
+  try {
+   return action.get();
+  } finally {
+
+   if (previous != null) {
+    CURRENT.set(previous);
+   } else {
+    CURRENT.remove();
+   }
+  }
+ }
+
+ /**
+  * @return {@literal true} if there are {@link DBRef}s that still need to be fetched.
+  */
+ public boolean hasPendingDbRefs() {
+  return !pending.isEmpty();
+ }
+
+ /**
+  * Removes all pending {@link DBRef}s from the scope grouped by their target database and collection. Each group can
+  * be loaded with a single {@literal $in} query and has to be handed back via
+  * {@link MappingMongoConverter#addResolvedDbRefs(List, List, DbRefResolutionScope)}.
+  *
+  * @return never {@literal null}.
+  */
+ public List<List<DBRef>> drainPendingDbRefs() {
+
+  Map<List<String>, List<DBRef>> groups = new LinkedHashMap<>();
+
+  for (Map.Entry<DbRefKey, PendingDbRef> entry : pending.entrySet()) {
+
+   DBRef dbRef = entry.getValue().dbRef;
+   List<String> namespace = new ArrayList<>(2);
+   namespace.add(dbRef.getDatabaseName());
+   namespace.add(dbRef.getCollectionName());
+
+   groups.computeIfAbsent(namespace, it -> new ArrayList<>()).add(dbRef);
+   targetTypes.put(entry.getKey(), entry.getValue().type);
+  }
+
+  pending.clear();
+
+  return new ArrayList<>(groups.values());
+ }
+
+ /**
+  * @param dbRef must not be {@literal null}.
+  * @return {@literal true} if the given {@link DBRef} has been fetched, even if it points to a missing document.
+  */
+ public boolean isResolved(DBRef dbRef) {
+  return documents.containsKey(new DbRefKey(dbRef));
+ }
+
+ /**
+  * @param dbRefs must not be {@literal null}.
+  * @return {@literal true} if all given {@link DBRef}s have been fetched.
+  */
+ boolean isResolved(Collection<DBRef> dbRefs) {
+
+  for (DBRef dbRef : dbRefs) {
+   if (dbRef == null || !isResolved(dbRef)) {
+    return false;
+   }
+  }
+
+  return true;
+ }
+
+ /**
+  * Registers the given {@link DBRef} to be fetched unless it is already pending or resolved.
+  *
+  * @param dbRef must not be {@literal null}.
+  * @param type the type to read the referenced document into. Must not be {@literal null}.
+  */
+ void register(DBRef dbRef, TypeInformation<?> type) {
+
+  DbRefKey key = new DbRefKey(dbRef);
+
+  if (documents.containsKey(key) || targetTypes.containsKey(key) || pending.containsKey(key)) {
+   return;
+  }
+
+  pending.put(key, new PendingDbRef(dbRef, type));
+ }
+
+ /**
+  * Stores the documents fetched for the given {@link DBRef}s. {@link DBRef}s without a matching document are
+  * remembered as resolved to {@literal null}.
+  *
+  * @param dbRefs must not be {@literal null}.
+  * @param fetched must not be {@literal null}.
+  */
+ void resolved(List<DBRef> dbRefs, List<Document> fetched) {
+
+  if (dbRefs.isEmpty()) {
+   return;
+  }
+
+  for (DBRef dbRef : dbRefs) {
+   documents.putIfAbsent(new DbRefKey(dbRef), null);
+  }
+
+  DBRef first = dbRefs.get(0);
+
+  for (Document document : fetched) {
+   if (document != null) {
+    documents.put(new DbRefKey(first.getDatabaseName(), first.getCollectionName(), document.get("_id")), document);
+   }
+  }
+ }
+
+ /**
+  * @param dbRef must not be {@literal null}.
+  * @param document must not be {@literal null}.
+  * @return the type the given document was requested with.
+  */
+ @Nullable
+ TypeInformation<?> getTargetType(DBRef dbRef, Document document) {
+  return targetTypes.get(new DbRefKey(dbRef.getDatabaseName(), dbRef.getCollectionName(), document.get("_id")));
+ }
+
+ /**
+  * @param dbRef must not be {@literal null}.
+  * @return the fetched document or {@literal null} if it does not exist or has not been fetched.
+  */
+ @Nullable
+ Document getDocument(DBRef dbRef) {
+  return documents.get(new DbRefKey(dbRef));
+ }
+
+ /**
+  * @param databaseName can be {@literal null}.
+  * @param collectionName must not be {@literal null}.
+  * @param id can be {@literal null}.
+  * @param type must not be {@literal null}.
+  * @return the instance previously read for the given document and type or {@literal null}.
+  */
+ @Nullable
+ @SuppressWarnings("unchecked")
+ <T> T getInstance(@Nullable String databaseName, String collectionName, @Nullable Object id, Class<?> type) {
+  return id == null ? null : (T) instances.get(new InstanceKey(databaseName, collectionName, id, type));
+ }
+
+ /**
+  * Shares the given instance with all further documents read within this scope.
+  *
+  * @param databaseName can be {@literal null}.
+  * @param collectionName must not be {@literal null}.
+  * @param id can be {@literal null}.
+  * @param type must not be {@literal null}.
+  * @param instance must not be {@literal null}.
+  */
+ void putInstance(@Nullable String databaseName, String collectionName, @Nullable Object id, Class<?> type,
+   Object instance) {
+
+  if (id != null) {
+   instances.put(new InstanceKey(databaseName, collectionName, id, type), instance);
+  }
+ }
+
+ private static class PendingDbRef {
+
+  private final DBRef dbRef;
+  private final TypeInformation<?> type;
+
+  PendingDbRef(DBRef dbRef, TypeInformation<?> type) {
+
+   this.dbRef = dbRef;
+   this.type = type;
+  }
+ }
+
+ private static class DbRefKey {
+
+  private final @Nullable String databaseName;
+  private final String collectionName;
+  private final @Nullable Object id;
+
+  DbRefKey(DBRef dbRef) {
+   this(dbRef.getDatabaseName(), dbRef.getCollectionName(), dbRef.getId());
+  }
+
+  DbRefKey(@Nullable String databaseName, String collectionName, @Nullable Object id) {
+
+   this.databaseName = databaseName;
+   this.collectionName = collectionName;
+   this.id = id;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object obj) {
+
+   if (this == obj) {
+    return true;
+   }
+
+   if (obj == null || !getClass().equals(obj.getClass())) {
+    return false;
+   }
+
+   DbRefKey that = (DbRefKey) obj;
+
+   return ObjectUtils.nullSafeEquals(databaseName, that.databaseName)
+     && ObjectUtils.nullSafeEquals(collectionName, that.collectionName) && ObjectUtils.nullSafeEquals(id, that.id);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+
+   int result = ObjectUtils.nullSafeHashCode(databaseName);
+   result = 31 * result + ObjectUtils.nullSafeHashCode(collectionName);
+   return 31 * result + ObjectUtils.nullSafeHashCode(id);
+  }
+ }
+
+ private static class InstanceKey extends DbRefKey {
+
+  private final Class<?> type;
+
+  InstanceKey(@Nullable String databaseName, String collectionName, Object id, Class<?> type) {
+
+   super(databaseName, collectionName, id);
+   this.type = type;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.convert.DbRefResolutionScope.DbRefKey#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(Object obj) {
+   return super.equals(obj) && type.equals(((InstanceKey) obj).type);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mongodb.core.convert.DbRefResolutionScope.DbRefKey#hashCode()
+   */
+  @Override
+  public int hashCode() {
+   return 31 * super.hashCode() + type.hashCode();
+  }
+ }
+}
@@ -23,11 +23,12 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -125,10 +126,8 @@ public class DefaultDbRefResolver implements DbRefResolver {
  @Override
  public Document fetch(DBRef dbRef) {
 
-  StringUtils.hasText(dbRef.getDatabaseName());
-  return (StringUtils.hasText(dbRef.getDatabaseName()) ? mongoDbFactory.getDb(dbRef.getDatabaseName())
-    : mongoDbFactory.getDb()).getCollection(dbRef.getCollectionName(), Document.class)
-      .find(Filters.eq("_id", dbRef.getId())).first();
+  return getDb(dbRef).getCollection(dbRef.getCollectionName(), Document.class)
+    .find(Filters.eq("_id", dbRef.getId())).first();
  }
 
  /*
@@ -145,7 +144,8 @@ public class DefaultDbRefResolver implements DbRefResolver {
    return Collections.emptyList();
   }
 
-  String collection = refs.iterator().next().getCollectionName();
+  DBRef first = refs.iterator().next();
+  String collection = first.getCollectionName();
   List<Object> ids = new ArrayList<>(refs.size());
 
   for (DBRef ref : refs) {
@@ -158,17 +158,27 @@ public class DefaultDbRefResolver implements DbRefResolver {
    ids.add(ref.getId());
   }
 
-  MongoDatabase db = mongoDbFactory.getDb();
-
-  List<Document> result = db.getCollection(collection) //
+  List<Document> result = getDb(first).getCollection(collection) //
     .find(new Document("_id", new Document("$in", ids))) //
     .into(new ArrayList<>());
 
+  Map<Object, Document> documentsById = new HashMap<>(result.size());
+
+  for (Document document : result) {
+   documentsById.put(document.get("_id"), document);
+  }
+
   return ids.stream() //
-    .flatMap(id -> documentWithId(id, result)) //
+    .map(documentsById::get) //
+    .filter(Objects::nonNull) //
     .collect(Collectors.toList());
  }
 
+ private MongoDatabase getDb(DBRef dbRef) {
+  return StringUtils.hasText(dbRef.getDatabaseName()) ? mongoDbFactory.getDb(dbRef.getDatabaseName())
+    : mongoDbFactory.getDb();
+ }
+
  /**
   * Creates a proxy for the given {@link MongoPersistentProperty} using the given {@link DbRefResolverCallback} to
   * eventually resolve the value of the property.
@@ -231,20 +241,6 @@ public class DefaultDbRefResolver implements DbRefResolver {
   return property.getDBRef() != null && property.getDBRef().lazy();
  }
 
- /**
-  * Returns document with the given identifier from the given list of {@link Document}s.
-  *
-  * @param identifier
-  * @param documents
-  * @return
-  */
- private static Stream<Document> documentWithId(Object identifier, Collection<Document> documents) {
-
-  return documents.stream() //
-    .filter(it -> it.get("_id").equals(identifier)) //
-    .limit(1);
- }
-
  /**
   * A {@link MethodInterceptor} that is used within a lazy loading proxy. The property resolving is delegated to a
   * {@link DbRefResolverCallback}. The resolving process is triggered by a method invocation on the proxy and is
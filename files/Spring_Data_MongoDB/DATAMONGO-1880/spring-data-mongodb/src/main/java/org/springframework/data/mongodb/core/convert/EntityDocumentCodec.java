@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.Assert;
+
+/**
+ * Specialized {@link Document} to entity mapping for a single {@link MongoPersistentEntity}. Implementations are
+ * generated by {@link ClassGeneratingEntityDocumentCodecFactory} and copy properties of types natively stored by
+ * MongoDB (e.g. {@link String}, {@link Long} or {@link org.bson.types.ObjectId}) without consulting
+ * {@link org.springframework.data.convert.CustomConversions}. All other properties, as well as values not matching the
+ * expected type, are handed to a {@link PropertyFallback} applying the reflective mapping of
+ * {@link MappingMongoConverter}. <br />
+ * Properties are visited in the iteration order of the {@link MongoPersistentEntity}. The identifier property is not
+ * part of the codec.
+ *
+ * @since 2.1
+ * @see MappingMongoConverter#setCodeGenerationEnabled(boolean)
+ */
+public abstract class EntityDocumentCodec {
+
+ protected final MongoPersistentProperty[] properties;
+
+ /**
+  * Creates a new {@link EntityDocumentCodec} for the given properties.
+  *
+  * @param properties must not be {@literal null}.
+  */
+ protected EntityDocumentCodec(MongoPersistentProperty[] properties) {
+
+  Assert.notNull(properties, "Properties must not be null!");
+
+  this.properties = properties;
+ }
+
+ /**
+  * @return the properties handled by the codec in the order they are read and written. Never {@literal null}.
+  */
+ public List<MongoPersistentProperty> getProperties() {
+  return Collections.unmodifiableList(Arrays.asList(properties));
+ }
+
+ /**
+  * Read the properties from the given {@link Document} into the bean backing the given
+  * {@link PersistentPropertyAccessor}.
+  *
+  * @param source must not be {@literal null}.
+  * @param accessor must not be {@literal null}.
+  * @param fallback invoked for each property the codec does not read itself. Must not be {@literal null}.
+  */
+ public abstract void read(Document source, PersistentPropertyAccessor accessor, PropertyFallback fallback);
+
+ /**
+  * Write the properties of the bean backing the given {@link PersistentPropertyAccessor} into the given
+  * {@link Document}. {@literal null} values are skipped.
+  *
+  * @param accessor must not be {@literal null}.
+  * @param target must not be {@literal null}.
+  * @param fallback invoked for each property the codec does not write itself. Must not be {@literal null}.
+  */
+ public abstract void write(PersistentPropertyAccessor accessor, Document target, PropertyFallback fallback);
+
+ /**
+  * Write the properties of the bean backing the given {@link PersistentPropertyAccessor} to the given
+  * {@link BsonWriter} positioned inside of a document. {@literal null} values are skipped.
+  *
+  * @param accessor must not be {@literal null}.
+  * @param writer must not be {@literal null}.
+  * @param fallback invoked for each property the codec does not write itself. Must not be {@literal null}.
+  */
+ public abstract void encode(PersistentPropertyAccessor accessor, BsonWriter writer, PropertyFallback fallback);
+
+ /**
+  * Callback applying the reflective mapping to a single property.
+  */
+ @FunctionalInterface
+ public interface PropertyFallback {
+
+  /**
+   * @param property never {@literal null}.
+   */
+  void apply(MongoPersistentProperty property);
+ }
+}
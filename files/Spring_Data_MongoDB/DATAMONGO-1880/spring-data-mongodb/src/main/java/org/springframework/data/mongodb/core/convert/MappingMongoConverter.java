@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -101,6 +102,12 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 
  private SpELContext spELContext;
 
+ private final Map<Class<?>, Boolean> typesWithEagerDbRefs = new ConcurrentHashMap<>();
+ private final Map<Class<?>, Optional<EntityDocumentCodec>> codecs = new ConcurrentHashMap<>();
+
+ private boolean codeGenerationEnabled = false;
+ private @Nullable ClassGeneratingEntityDocumentCodecFactory codecFactory;
+
  /**
   * Creates a new {@link MappingMongoConverter} given the new {@link DbRefResolver} and {@link MappingContext}.
   *
@@ -151,6 +158,22 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
     : typeMapper;
  }
 
+ /**
+  * Configure whether to map entities with an {@link EntityDocumentCodec} generated per entity type instead of
+  * inspecting the properties reflectively for each {@link Document}. The codecs are created for all entities known to
+  * the {@link MappingContext} on {@link #afterPropertiesSet()} and lazily for entities added later on. Properties the
+  * generated code cannot map, such as associations or values requiring conversion, are still mapped reflectively.
+  * Disabled by default.
+  *
+  * @param codeGenerationEnabled
+  * @since 2.1
+  */
+ public void setCodeGenerationEnabled(boolean codeGenerationEnabled) {
+
+  this.codeGenerationEnabled = codeGenerationEnabled;
+  this.codecs.clear();
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.mongodb.core.convert.MongoConverter#getTypeMapper()
@@ -190,6 +213,23 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   this.spELContext = new SpELContext(this.spELContext, applicationContext);
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.mongodb.core.convert.AbstractMongoConverter#afterPropertiesSet()
+  */
+ @Override
+ public void afterPropertiesSet() {
+
+  super.afterPropertiesSet();
+
+  this.codecFactory = new ClassGeneratingEntityDocumentCodecFactory(conversions);
+  this.codecs.clear();
+
+  if (codeGenerationEnabled) {
+   mappingContext.getPersistentEntities().forEach(this::getCodec);
+  }
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.mongodb.core.core.MongoReader#read(java.lang.Class, com.mongodb.Document)
@@ -273,8 +313,8 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   EntityInstantiator instantiator = instantiators.getInstantiatorFor(entity);
   S instance = instantiator.createInstance(entity, provider);
 
-  PersistentPropertyAccessor accessor = new ConvertingPropertyAccessor(entity.getPropertyAccessor(instance),
-    conversionService);
+  PersistentPropertyAccessor propertyAccessor = entity.getPropertyAccessor(instance);
+  PersistentPropertyAccessor accessor = new ConvertingPropertyAccessor(propertyAccessor, conversionService);
 
   MongoPersistentProperty idProperty = entity.getIdProperty();
   DocumentAccessor documentAccessor = new DocumentAccessor(bson);
@@ -295,7 +335,14 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 
   DbRefResolverCallback callback = new DefaultDbRefResolverCallback(bson, currentPath, evaluator,
     MappingMongoConverter.this);
-  readProperties(entity, accessor, idProperty, documentAccessor, valueProvider, callback);
+  EntityDocumentCodec codec = getCodec(entity);
+
+  if (codec != null) {
+   codec.read(bson, propertyAccessor,
+     property -> readProperty(entity, property, accessor, documentAccessor, valueProvider, callback));
+  } else {
+   readProperties(entity, accessor, idProperty, documentAccessor, valueProvider, callback);
+  }
 
   return instance;
  }
@@ -315,26 +362,81 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 
   for (MongoPersistentProperty prop : entity) {
 
-   if (prop.isAssociation() && !entity.isConstructorArgument(prop)) {
-    readAssociation(prop.getAssociation(), accessor, documentAccessor, dbRefProxyHandler, callback);
-    continue;
-   }
    // we skip the id property since it was already set
    if (idProperty != null && idProperty.equals(prop)) {
     continue;
    }
 
-   if (entity.isConstructorArgument(prop) || !documentAccessor.hasValue(prop)) {
-    continue;
-   }
+   readProperty(entity, prop, accessor, documentAccessor, valueProvider, callback);
+  }
+ }
 
-   if (prop.isAssociation()) {
-    readAssociation(prop.getAssociation(), accessor, documentAccessor, dbRefProxyHandler, callback);
-    continue;
-   }
+ private void readProperty(MongoPersistentEntity<?> entity, MongoPersistentProperty prop,
+   PersistentPropertyAccessor accessor, DocumentAccessor documentAccessor, MongoDbPropertyValueProvider valueProvider,
+   DbRefResolverCallback callback) {
+
+  if (prop.isAssociation() && !entity.isConstructorArgument(prop)) {
+   readAssociation(prop.getAssociation(), accessor, documentAccessor, dbRefProxyHandler, callback);
+   return;
+  }
+
+  if (entity.isConstructorArgument(prop) || !documentAccessor.hasValue(prop)) {
+   return;
+  }
+
+  if (prop.isAssociation()) {
+   readAssociation(prop.getAssociation(), accessor, documentAccessor, dbRefProxyHandler, callback);
+   return;
+  }
+
+  accessor.setProperty(prop, valueProvider.getPropertyValue(prop));
+ }
+
+ /**
+  * Returns the {@link EntityDocumentCodec} generated for the given entity if code generation is enabled.
+  *
+  * @param entity must not be {@literal null}.
+  * @return {@literal null} if code generation is disabled or no codec could be generated for the entity.
+  */
+ @Nullable
+ EntityDocumentCodec getCodec(MongoPersistentEntity<?> entity) {
 
-   accessor.setProperty(prop, valueProvider.getPropertyValue(prop));
+  if (!codeGenerationEnabled) {
+   return null;
   }
+
+  return codecs.computeIfAbsent(entity.getType(), it -> Optional.ofNullable(getCodecFactory().createCodec(entity)))
+    .orElse(null);
+ }
+
+ /**
+  * Returns whether the given property is mapped by {@link EntityDocumentCodec}s without any conversion.
+  *
+  * @param entity must not be {@literal null}.
+  * @param property must not be {@literal null}.
+  * @return
+  */
+ boolean isNativelyMapped(MongoPersistentEntity<?> entity, MongoPersistentProperty property) {
+  return getCodecFactory().isNativelyMapped(entity, property);
+ }
+
+ /**
+  * Creates a new instance of the given entity which must not require any constructor arguments.
+  *
+  * @param entity must not be {@literal null}.
+  * @return
+  */
+ <S> S createInstance(MongoPersistentEntity<S> entity) {
+  return instantiators.getInstantiatorFor(entity).createInstance(entity, NoOpParameterValueProvider.INSTANCE);
+ }
+
+ private ClassGeneratingEntityDocumentCodecFactory getCodecFactory() {
+
+  if (codecFactory == null) {
+   codecFactory = new ClassGeneratingEntityDocumentCodecFactory(conversions);
+  }
+
+  return codecFactory;
  }
 
  private void readAssociation(Association<MongoPersistentProperty> association, PersistentPropertyAccessor accessor,
@@ -451,15 +553,40 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   DocumentAccessor dbObjectAccessor = new DocumentAccessor(bson);
 
   MongoPersistentProperty idProperty = entity.getIdProperty();
-  if (idProperty != null && !dbObjectAccessor.hasValue(idProperty)) {
+  writeIdProperty(idProperty, accessor, dbObjectAccessor);
 
-   Object value = idMapper.convertId(accessor.getProperty(idProperty));
+  EntityDocumentCodec codec = bson instanceof Document ? getCodec(entity) : null;
 
-   if (value != null) {
-    dbObjectAccessor.put(idProperty, value);
-   }
+  if (codec != null) {
+   codec.write(accessor, (Document) bson, property -> writeProperty(bson, property, accessor, dbObjectAccessor));
+  } else {
+   writeProperties(bson, entity, accessor, dbObjectAccessor, idProperty);
+  }
+ }
+
+ /**
+  * Writes the identifier of the bean backing the given {@link PersistentPropertyAccessor} to the given {@link Bson}.
+  *
+  * @param entity must not be {@literal null}.
+  * @param accessor must not be {@literal null}.
+  * @param bson must not be {@literal null}.
+  */
+ void writeIdProperty(MongoPersistentEntity<?> entity, PersistentPropertyAccessor accessor, Bson bson) {
+  writeIdProperty(entity.getIdProperty(), accessor, new DocumentAccessor(bson));
+ }
+
+ private void writeIdProperty(@Nullable MongoPersistentProperty idProperty, PersistentPropertyAccessor accessor,
+   DocumentAccessor dbObjectAccessor) {
+
+  if (idProperty == null || dbObjectAccessor.hasValue(idProperty)) {
+   return;
+  }
+
+  Object value = idMapper.convertId(accessor.getProperty(idProperty));
+
+  if (value != null) {
+   dbObjectAccessor.put(idProperty, value);
   }
-  writeProperties(bson, entity, accessor, dbObjectAccessor, idProperty);
  }
 
  private void writeProperties(Bson bson, MongoPersistentEntity<?> entity, PersistentPropertyAccessor accessor,
@@ -468,25 +595,45 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   // Write the properties
   for (MongoPersistentProperty prop : entity) {
 
-   if (prop.equals(idProperty) || !prop.isWritable()) {
-    continue;
-   }
-   if (prop.isAssociation()) {
-    writeAssociation(prop.getAssociation(), accessor, dbObjectAccessor);
+   if (prop.equals(idProperty)) {
     continue;
    }
 
-   Object value = accessor.getProperty(prop);
+   writeProperty(bson, prop, accessor, dbObjectAccessor);
+  }
+ }
 
-   if (value == null) {
-    continue;
-   }
+ /**
+  * Writes the given property of the bean backing the given {@link PersistentPropertyAccessor} to the given
+  * {@link Bson}.
+  *
+  * @param bson must not be {@literal null}.
+  * @param prop must not be {@literal null}.
+  * @param accessor must not be {@literal null}.
+  * @param dbObjectAccessor must not be {@literal null}.
+  */
+ void writeProperty(Bson bson, MongoPersistentProperty prop, PersistentPropertyAccessor accessor,
+   DocumentAccessor dbObjectAccessor) {
 
-   if (!conversions.isSimpleType(value.getClass())) {
-    writePropertyInternal(value, dbObjectAccessor, prop);
-   } else {
-    writeSimpleInternal(value, bson, prop);
-   }
+  if (!prop.isWritable()) {
+   return;
+  }
+
+  if (prop.isAssociation()) {
+   writeAssociation(prop.getAssociation(), accessor, dbObjectAccessor);
+   return;
+  }
+
+  Object value = accessor.getProperty(prop);
+
+  if (value == null) {
+   return;
+  }
+
+  if (!conversions.isSimpleType(value.getClass())) {
+   writePropertyInternal(value, dbObjectAccessor, prop);
+  } else {
+   writeSimpleInternal(value, bson, prop);
   }
  }
 
@@ -1433,15 +1580,29 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
    return Collections.emptyList();
   }
 
-  List<Document> referencedRawDocuments = dbrefs.size() == 1
-    ? Collections.singletonList(readRef(dbrefs.iterator().next()))
-    : bulkReadRefs(dbrefs);
-  String collectionName = dbrefs.iterator().next().getCollectionName();
+  DbRefResolutionScope scope = DbRefResolutionScope.current();
+
+  if (scope != null && !scope.isResolved(dbrefs)) {
+   scope = null;
+  }
+
+  List<Document> referencedRawDocuments = scope != null ? getResolvedDocuments(dbrefs, scope)
+    : dbrefs.size() == 1 ? Collections.singletonList(readRef(dbrefs.iterator().next())) : bulkReadRefs(dbrefs);
+  DBRef first = dbrefs.iterator().next();
+  String collectionName = first.getCollectionName();
 
   List<T> targeList = new ArrayList<>(dbrefs.size());
 
   for (Document document : referencedRawDocuments) {
 
+   Object id = document != null ? document.get("_id") : null;
+   T existing = scope != null ? scope.getInstance(first.getDatabaseName(), collectionName, id, rawType) : null;
+
+   if (existing != null) {
+    targeList.add(existing);
+    continue;
+   }
+
    if (document != null) {
     maybeEmitEvent(new AfterLoadEvent<>(document, (Class<T>) rawType, collectionName));
    }
@@ -1451,12 +1612,44 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 
    if (target != null) {
     maybeEmitEvent(new AfterConvertEvent<>(document, target, collectionName));
+
+    if (scope != null) {
+     scope.putInstance(first.getDatabaseName(), collectionName, id, rawType, target);
+    }
    }
   }
 
   return targeList;
  }
 
+ /**
+  * Returns the pre-fetched documents for the given {@link DBRef}s following the semantics of
+  * {@link #readRef(DBRef)} for a single {@link DBRef} and {@link #bulkReadRefs(List)} for multiple ones.
+  *
+  * @param dbrefs must not be {@literal null}.
+  * @param scope must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ private static List<Document> getResolvedDocuments(List<DBRef> dbrefs, DbRefResolutionScope scope) {
+
+  if (dbrefs.size() == 1) {
+   return Collections.singletonList(scope.getDocument(dbrefs.iterator().next()));
+  }
+
+  List<Document> documents = new ArrayList<>(dbrefs.size());
+
+  for (DBRef dbref : dbrefs) {
+
+   Document document = scope.getDocument(dbref);
+
+   if (document != null) {
+    documents.add(document);
+   }
+  }
+
+  return documents;
+ }
+
  private void maybeEmitEvent(MongoMappingEvent<?> event) {
 
   if (canPublishEvent()) {
@@ -1489,6 +1682,195 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   return dbRefResolver.bulkFetch(references);
  }
 
+ /**
+  * Returns whether documents read into the given type might contain eagerly resolved
+  * {@link org.springframework.data.mongodb.core.mapping.DBRef}s, either directly or within embedded entities.
+  *
+  * @param type must not be {@literal null}.
+  * @return
+  * @since 2.1
+  */
+ public boolean hasEagerDbRefs(Class<?> type) {
+
+  Assert.notNull(type, "Type must not be null!");
+
+  return typesWithEagerDbRefs.computeIfAbsent(type, it -> {
+
+   MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(it);
+   return entity != null && hasEagerDbRefs(entity, new HashSet<>());
+  });
+ }
+
+ private boolean hasEagerDbRefs(MongoPersistentEntity<?> entity, Set<Class<?>> visited) {
+
+  if (!visited.add(entity.getType())) {
+   return false;
+  }
+
+  for (MongoPersistentProperty property : entity) {
+
+   if (property.isAssociation()) {
+
+    if (isEagerDbRef(property)) {
+     return true;
+    }
+
+    continue;
+   }
+
+   MongoPersistentEntity<?> propertyEntity = property.isEntity() ? mappingContext.getPersistentEntity(property)
+     : null;
+
+   if (propertyEntity != null && hasEagerDbRefs(propertyEntity, visited)) {
+    return true;
+   }
+  }
+
+  return false;
+ }
+
+ /**
+  * Loads all eagerly resolved {@link org.springframework.data.mongodb.core.mapping.DBRef}s of the given documents
+  * into the given {@link DbRefResolutionScope} using one {@link DbRefResolver#bulkFetch(List) bulk fetch} per target
+  * collection. {@link DBRef}s contained in the fetched documents are loaded the same way until all of them are
+  * resolved. Documents read {@link DbRefResolutionScope#execute(java.util.function.Supplier) within} the scope
+  * afterwards will not issue any further queries for those {@link DBRef}s.
+  *
+  * @param type the type the documents are read into. Must not be {@literal null}.
+  * @param documents must not be {@literal null}.
+  * @param scope must not be {@literal null}.
+  * @since 2.1
+  */
+ public void prefetchDbRefs(Class<?> type, Collection<Document> documents, DbRefResolutionScope scope) {
+
+  collectDbRefs(type, documents, scope);
+
+  while (scope.hasPendingDbRefs()) {
+   for (List<DBRef> dbRefs : scope.drainPendingDbRefs()) {
+    addResolvedDbRefs(dbRefs, bulkReadRefs(dbRefs), scope);
+   }
+  }
+ }
+
+ /**
+  * Registers all eagerly resolved {@link org.springframework.data.mongodb.core.mapping.DBRef}s of the given documents
+  * that are not resolved yet as pending within the given {@link DbRefResolutionScope}.
+  *
+  * @param type the type the documents are read into. Must not be {@literal null}.
+  * @param documents must not be {@literal null}.
+  * @param scope must not be {@literal null}.
+  * @since 2.1
+  * @see DbRefResolutionScope#drainPendingDbRefs()
+  */
+ public void collectDbRefs(Class<?> type, Collection<Document> documents, DbRefResolutionScope scope) {
+
+  Assert.notNull(type, "Type must not be null!");
+  Assert.notNull(documents, "Documents must not be null!");
+  Assert.notNull(scope, "DbRefResolutionScope must not be null!");
+
+  TypeInformation<?> typeInformation = ClassTypeInformation.from(type);
+
+  for (Document document : documents) {
+   if (document != null) {
+    collectDbRefs(typeInformation, document, scope);
+   }
+  }
+ }
+
+ /**
+  * Adds the documents fetched for the given {@link DBRef}s to the {@link DbRefResolutionScope} and registers the
+  * {@link DBRef}s they contain themselves as pending.
+  *
+  * @param dbRefs the {@link DBRef}s fetched, all pointing to the same collection. Must not be {@literal null}.
+  * @param documents the documents fetched. Must not be {@literal null}.
+  * @param scope must not be {@literal null}.
+  * @since 2.1
+  */
+ public void addResolvedDbRefs(List<DBRef> dbRefs, List<Document> documents, DbRefResolutionScope scope) {
+
+  Assert.notNull(dbRefs, "DBRefs must not be null!");
+  Assert.notNull(documents, "Documents must not be null!");
+  Assert.notNull(scope, "DbRefResolutionScope must not be null!");
+
+  if (dbRefs.isEmpty()) {
+   return;
+  }
+
+  scope.resolved(dbRefs, documents);
+
+  for (Document document : documents) {
+
+   TypeInformation<?> targetType = document != null ? scope.getTargetType(dbRefs.get(0), document) : null;
+
+   if (targetType != null) {
+    collectDbRefs(targetType, document, scope);
+   }
+  }
+ }
+
+ private void collectDbRefs(TypeInformation<?> type, Document document, DbRefResolutionScope scope) {
+
+  MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(typeMapper.readType(document, type));
+
+  if (entity == null) {
+   return;
+  }
+
+  DocumentAccessor accessor = new DocumentAccessor(document);
+
+  for (MongoPersistentProperty property : entity) {
+
+   Object value = accessor.get(property);
+
+   if (value == null) {
+    continue;
+   }
+
+   TypeInformation<?> actualType = property.getTypeInformation().getRequiredActualType();
+
+   if (property.isAssociation()) {
+
+    if (isEagerDbRef(property)) {
+     registerDbRefs(value, actualType, scope);
+    }
+
+    continue;
+   }
+
+   if (!property.isEntity()) {
+    continue;
+   }
+
+   Iterable<?> values = value instanceof Collection ? (Collection<?>) value
+     : property.isMap() && value instanceof Document ? ((Document) value).values()
+       : Collections.singleton(value);
+
+   for (Object element : values) {
+    if (element instanceof Document) {
+     collectDbRefs(actualType, (Document) element, scope);
+    }
+   }
+  }
+ }
+
+ private static void registerDbRefs(Object value, TypeInformation<?> type, DbRefResolutionScope scope) {
+
+  Iterable<?> values = value instanceof Collection ? (Collection<?>) value
+    : value instanceof Document ? ((Document) value).values() : Collections.singleton(value);
+
+  for (Object element : values) {
+   if (element instanceof DBRef) {
+    scope.register((DBRef) element, type);
+   }
+  }
+ }
+
+ private static boolean isEagerDbRef(MongoPersistentProperty property) {
+
+  org.springframework.data.mongodb.core.mapping.DBRef annotation = property.getDBRef();
+  return annotation != null && !annotation.lazy() && !DBRef.class.equals(property.getActualType());
+ }
+
  /**
   * Returns whether the given {@link Iterable} contains {@link DBRef} instances all pointing to the same collection.
   *
@@ -1517,6 +1899,26 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
   return true;
  }
 
+ /**
+  * {@link ParameterValueProvider} for entities created without any constructor arguments.
+  *
+  * @since 2.1
+  */
+ enum NoOpParameterValueProvider implements ParameterValueProvider<MongoPersistentProperty> {
+
+  INSTANCE;
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.data.mapping.model.ParameterValueProvider#getParameterValue(org.springframework.data.mapping.PreferredConstructor.Parameter)
+   */
+  @Nullable
+  @Override
+  public <T> T getParameterValue(Parameter<T, MongoPersistentProperty> parameter) {
+   return null;
+  }
+ }
+
  /**
   * Marker class used to indicate we have a non root document object here that might be used within an update - so we
   * need to preserve type hints for potential nested elements but need to remove it on top level.
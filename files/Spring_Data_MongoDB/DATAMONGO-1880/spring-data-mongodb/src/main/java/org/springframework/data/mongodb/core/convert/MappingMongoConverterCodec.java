@@ -0,0 +1,508 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.mongodb.BasicDBObject;
+
+/**
+ * {@link CollectibleCodec} reading and writing entities via a {@link MappingMongoConverter}. Entities the converter has
+ * generated an {@link EntityDocumentCodec} for are written to the {@link BsonWriter} directly. Only properties that
+ * require conversion are written via the {@link MappingMongoConverter} and encoded one by one. Reading those entities
+ * streams values from the {@link BsonReader} into a new instance as long as all fields present map to properties
+ * stored in their native type. As soon as a field requiring conversion is encountered, the reader is reset and the
+ * whole document is read into a {@link Document} handed to the {@link MappingMongoConverter}. All other entities
+ * always use the intermediate {@link Document}. <br />
+ * A codec for {@link Object} writes values based on their runtime type, passing {@link Document}s on to the
+ * {@link Codec} registered for them.
+ *
+ * @param <T>
+ * @since 2.1
+ * @see MappingMongoConverterCodecProvider
+ * @see MappingMongoConverter#setCodeGenerationEnabled(boolean)
+ */
+public class MappingMongoConverterCodec<T> implements CollectibleCodec<T> {
+
+ private static final String ID_FIELD = "_id";
+ private static final Set<Class<?>> GENERATED_ID_TYPES = new HashSet<>(
+   Arrays.asList(ObjectId.class, String.class, BigInteger.class));
+
+ private final Class<T> type;
+ private final MappingMongoConverter converter;
+ private final CodecRegistry registry;
+
+ private volatile @Nullable DecodingPlan decodingPlan;
+
+ /**
+  * Creates a new {@link MappingMongoConverterCodec}.
+  *
+  * @param type must not be {@literal null}.
+  * @param converter must not be {@literal null}.
+  * @param registry the {@link CodecRegistry} to obtain {@link Codec}s for converted values from. Must not be
+  *          {@literal null}.
+  */
+ public MappingMongoConverterCodec(Class<T> type, MappingMongoConverter converter, CodecRegistry registry) {
+
+  Assert.notNull(type, "Type must not be null!");
+  Assert.notNull(converter, "MappingMongoConverter must not be null!");
+  Assert.notNull(registry, "CodecRegistry must not be null!");
+
+  this.type = type;
+  this.converter = converter;
+  this.registry = registry;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.Encoder#getEncoderClass()
+  */
+ @Override
+ public Class<T> getEncoderClass() {
+  return type;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.Encoder#encode(org.bson.BsonWriter, java.lang.Object, org.bson.codecs.EncoderContext)
+  */
+ @Override
+ public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+
+  if (value instanceof Document) {
+   encodeDocument(writer, (Document) value, encoderContext);
+   return;
+  }
+
+  Object source = value instanceof LazyLoadingProxy ? ((LazyLoadingProxy) value).getTarget() : value;
+  Class<?> sourceType = ClassUtils.getUserClass(source.getClass());
+
+  MongoPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(sourceType);
+  EntityDocumentCodec codec = entity != null && !converter.conversions.hasCustomWriteTarget(sourceType, Document.class)
+    ? converter.getCodec(entity)
+    : null;
+
+  if (codec == null) {
+
+   Document document = new Document();
+   converter.write(source, document);
+   encodeDocument(writer, document, encoderContext);
+   return;
+  }
+
+  PersistentPropertyAccessor accessor = entity.getPropertyAccessor(source);
+  Document buffer = new Document();
+  DocumentAccessor bufferAccessor = new DocumentAccessor(buffer);
+
+  writer.writeStartDocument();
+
+  converter.writeIdProperty(entity, accessor, buffer);
+  flush(writer, buffer, encoderContext);
+
+  codec.encode(accessor, writer, property -> {
+
+   converter.writeProperty(buffer, property, accessor, bufferAccessor);
+   flush(writer, buffer, encoderContext);
+  });
+
+  converter.getTypeMapper().writeType(ClassTypeInformation.from(sourceType), buffer);
+  flush(writer, buffer, encoderContext);
+
+  writer.writeEndDocument();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.Decoder#decode(org.bson.BsonReader, org.bson.codecs.DecoderContext)
+  */
+ @Override
+ public T decode(BsonReader reader, DecoderContext decoderContext) {
+
+  DecodingPlan plan = getDecodingPlan();
+
+  if (plan != null) {
+
+   BsonReaderMark mark = reader.getMark();
+   T result = decodeDirectly(reader, plan);
+
+   if (result != null) {
+    return result;
+   }
+
+   mark.reset();
+  }
+
+  Document document = registry.get(Document.class).decode(reader, decoderContext);
+  return converter.read(type, document);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.CollectibleCodec#generateIdIfAbsentFromDocument(java.lang.Object)
+  */
+ @Override
+ public T generateIdIfAbsentFromDocument(T document) {
+
+  if (document instanceof Document) {
+
+   if (!((Document) document).containsKey(ID_FIELD)) {
+    ((Document) document).put(ID_FIELD, new ObjectId());
+   }
+
+   return document;
+  }
+
+  MongoPersistentEntity<?> entity = getEntity(document);
+
+  if (entity == null || !entity.hasIdProperty()) {
+   return document;
+  }
+
+  MongoPersistentProperty idProperty = entity.getRequiredIdProperty();
+  PersistentPropertyAccessor accessor = new ConvertingPropertyAccessor(entity.getPropertyAccessor(document),
+    converter.getConversionService());
+
+  if (accessor.getProperty(idProperty) == null && GENERATED_ID_TYPES.contains(idProperty.getType())) {
+   accessor.setProperty(idProperty, new ObjectId());
+  }
+
+  return document;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.CollectibleCodec#documentHasId(java.lang.Object)
+  */
+ @Override
+ public boolean documentHasId(T document) {
+
+  if (document instanceof Document) {
+   return ((Document) document).containsKey(ID_FIELD);
+  }
+
+  MongoPersistentEntity<?> entity = getEntity(document);
+
+  return entity != null && entity.hasIdProperty()
+    && entity.getPropertyAccessor(document).getProperty(entity.getRequiredIdProperty()) != null;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.CollectibleCodec#getDocumentId(java.lang.Object)
+  */
+ @Override
+ public BsonValue getDocumentId(T document) {
+
+  if (!documentHasId(document)) {
+   throw new IllegalStateException("The document does not contain an _id");
+  }
+
+  Document id = new Document();
+
+  if (document instanceof Document) {
+   id.put(ID_FIELD, ((Document) document).get(ID_FIELD));
+  } else {
+
+   MongoPersistentEntity<?> entity = getEntity(document);
+   converter.writeIdProperty(entity, entity.getPropertyAccessor(document), id);
+  }
+
+  return id.toBsonDocument(Document.class, registry).get(ID_FIELD);
+ }
+
+ @Nullable
+ @SuppressWarnings("unchecked")
+ private T decodeDirectly(BsonReader reader, DecodingPlan plan) {
+
+  reader.readStartDocument();
+
+  T instance = (T) converter.createInstance(plan.getRequiredEntity());
+  PersistentPropertyAccessor accessor = plan.getRequiredEntity().getPropertyAccessor(instance);
+
+  while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+   String name = reader.readName();
+
+   if (converter.getTypeMapper().isTypeKey(name)) {
+
+    if (reader.getCurrentBsonType() != BsonType.STRING || !plan.isTypeAlias(reader.readString())) {
+     return null;
+    }
+
+    continue;
+   }
+
+   MongoPersistentProperty property = plan.properties.get(name);
+
+   if (property == null) {
+
+    if (plan.convertedFields.contains(name)) {
+     return null;
+    }
+
+    reader.skipValue();
+    continue;
+   }
+
+   if (!readValue(reader, property, accessor)) {
+    return null;
+   }
+  }
+
+  reader.readEndDocument();
+
+  return instance;
+ }
+
+ /**
+  * Reads the current value if it is stored in the native type of the given property.
+  *
+  * @return {@literal false} if the value requires conversion and was not read.
+  */
+ private static boolean readValue(BsonReader reader, MongoPersistentProperty property,
+   PersistentPropertyAccessor accessor) {
+
+  Class<?> propertyType = ClassUtils.resolvePrimitiveIfNecessary(property.getType());
+  Object value;
+
+  switch (reader.getCurrentBsonType()) {
+
+   case NULL:
+
+    if (property.getType().isPrimitive()) {
+     return false;
+    }
+
+    reader.readNull();
+    value = null;
+    break;
+
+   case STRING:
+
+    if (!String.class.equals(propertyType)) {
+     return false;
+    }
+
+    value = reader.readString();
+    break;
+
+   case OBJECT_ID:
+
+    if (ObjectId.class.equals(propertyType)) {
+     value = reader.readObjectId();
+    } else if (property.isIdProperty() && String.class.equals(propertyType)) {
+     value = reader.readObjectId().toHexString();
+    } else {
+     return false;
+    }
+    break;
+
+   case INT32:
+
+    if (!Integer.class.equals(propertyType)) {
+     return false;
+    }
+
+    value = reader.readInt32();
+    break;
+
+   case INT64:
+
+    if (!Long.class.equals(propertyType)) {
+     return false;
+    }
+
+    value = reader.readInt64();
+    break;
+
+   case DOUBLE:
+
+    if (!Double.class.equals(propertyType)) {
+     return false;
+    }
+
+    value = reader.readDouble();
+    break;
+
+   case BOOLEAN:
+
+    if (!Boolean.class.equals(propertyType)) {
+     return false;
+    }
+
+    value = reader.readBoolean();
+    break;
+
+   default:
+    return false;
+  }
+
+  accessor.setProperty(property, value);
+
+  return true;
+ }
+
+ private void flush(BsonWriter writer, Document buffer, EncoderContext encoderContext) {
+
+  for (Entry<String, Object> entry : buffer.entrySet()) {
+
+   writer.writeName(entry.getKey());
+   encodeValue(writer, entry.getValue(), encoderContext);
+  }
+
+  buffer.clear();
+ }
+
+ private void encodeDocument(BsonWriter writer, Document document, EncoderContext encoderContext) {
+  registry.get(Document.class).encode(writer, document, encoderContext);
+ }
+
+ @SuppressWarnings("unchecked")
+ private void encodeValue(BsonWriter writer, @Nullable Object value, EncoderContext encoderContext) {
+
+  if (value == null) {
+   writer.writeNull();
+   return;
+  }
+
+  Codec<Object> codec = (Codec<Object>) registry.get(value.getClass());
+  encoderContext.encodeWithChildContext(codec, writer, value);
+ }
+
+ @Nullable
+ private MongoPersistentEntity<?> getEntity(Object source) {
+  return converter.getMappingContext().getPersistentEntity(ClassUtils.getUserClass(source.getClass()));
+ }
+
+ /**
+  * Returns the {@link DecodingPlan} for the type of the codec.
+  *
+  * @return {@literal null} if the type cannot be read directly from a {@link BsonReader}.
+  */
+ @Nullable
+ private DecodingPlan getDecodingPlan() {
+
+  DecodingPlan plan = decodingPlan;
+
+  if (plan == null) {
+
+   MongoPersistentEntity<?> entity = getEntityToDecodeDirectly();
+
+   plan = entity != null ? new DecodingPlan(entity, converter) : DecodingPlan.NONE;
+   this.decodingPlan = plan;
+  }
+
+  return plan.entity != null ? plan : null;
+ }
+
+ @Nullable
+ private MongoPersistentEntity<?> getEntityToDecodeDirectly() {
+
+  if (type.isInterface() || Modifier.isAbstract(type.getModifiers())
+    || converter.conversions.hasCustomReadTarget(Document.class, type)
+    || converter.conversions.hasCustomReadTarget(BasicDBObject.class, type)) {
+   return null;
+  }
+
+  MongoPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(type);
+
+  if (entity == null || converter.getCodec(entity) == null) {
+   return null;
+  }
+
+  PreferredConstructor<?, ?> constructor = entity.getPersistenceConstructor();
+
+  return constructor == null || !constructor.hasParameters() ? entity : null;
+ }
+
+ /**
+  * Field names of a {@link MongoPersistentEntity} to be read directly, those requiring conversion and the type alias to
+  * expect.
+  */
+ private static class DecodingPlan {
+
+  static final DecodingPlan NONE = new DecodingPlan();
+
+  final @Nullable MongoPersistentEntity<?> entity;
+  final Map<String, MongoPersistentProperty> properties = new HashMap<>();
+  final Set<String> convertedFields = new HashSet<>();
+
+  private DecodingPlan() {
+   this.entity = null;
+  }
+
+  DecodingPlan(MongoPersistentEntity<?> entity, MappingMongoConverter converter) {
+
+   this.entity = entity;
+
+   for (MongoPersistentProperty property : entity) {
+
+    boolean nativeId = property.isIdProperty() && !property.getFieldName().contains(".")
+      && Arrays.asList(String.class, ObjectId.class).contains(property.getType())
+      && !converter.conversions.getCustomWriteTarget(property.getType()).isPresent();
+
+    if (nativeId || (!property.isIdProperty() && converter.isNativelyMapped(entity, property))) {
+     properties.put(property.getFieldName(), property);
+    } else {
+     convertedFields.add(property.getFieldName().split("\\.")[0]);
+    }
+   }
+  }
+
+  MongoPersistentEntity<?> getRequiredEntity() {
+
+   Assert.state(entity != null, "No entity available!");
+
+   return entity;
+  }
+
+  boolean isTypeAlias(String value) {
+
+   MongoPersistentEntity<?> entity = getRequiredEntity();
+
+   return entity.getTypeAlias().hasValue(value) || entity.getType().getName().equals(value);
+  }
+ }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.bson.codecs.configuration.CodecRegistries.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CodecProvider} handing out {@link MappingMongoConverterCodec}s for types known to the
+ * {@link org.springframework.data.mapping.context.MappingContext} of a {@link MappingMongoConverter}.
+ *
+ * @since 2.1
+ */
+public class MappingMongoConverterCodecProvider implements CodecProvider {
+
+ private final MappingMongoConverter converter;
+
+ /**
+  * Creates a new {@link MappingMongoConverterCodecProvider} for the given {@link MappingMongoConverter}.
+  *
+  * @param converter must not be {@literal null}.
+  */
+ public MappingMongoConverterCodecProvider(MappingMongoConverter converter) {
+
+  Assert.notNull(converter, "MappingMongoConverter must not be null!");
+
+  this.converter = converter;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.bson.codecs.configuration.CodecProvider#get(java.lang.Class, org.bson.codecs.configuration.CodecRegistry)
+  */
+ @Nullable
+ @Override
+ public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+  return isEntity(clazz) ? new MappingMongoConverterCodec<>(clazz, converter, registry) : null;
+ }
+
+ /**
+  * Create a {@link CodecRegistry} resolving {@link Codec}s for entities via this provider before consulting the given
+  * fallback. The registry additionally contains a {@link Codec} for {@link Object} so that collections using
+  * {@link Object} as document class accept both entities and {@link org.bson.Document}s.
+  *
+  * @param fallback the {@link CodecRegistry} to obtain all other {@link Codec}s from. Must not be {@literal null}.
+  * @return new instance of {@link CodecRegistry}.
+  */
+ public CodecRegistry createCodecRegistry(CodecRegistry fallback) {
+
+  Assert.notNull(fallback, "Fallback CodecRegistry must not be null!");
+
+  CodecRegistry registry = fromRegistries(fromProviders(this), fallback);
+
+  return fromRegistries(fromCodecs(new MappingMongoConverterCodec<>(Object.class, converter, registry)), registry);
+ }
+
+ /**
+  * @param type must not be {@literal null}.
+  * @return {@literal true} if the given type is a mapped entity read and written by the codecs of this provider.
+  */
+ public boolean isEntity(Class<?> type) {
+
+  if (type.isArray() || Bson.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+    || Collection.class.isAssignableFrom(type) || converter.conversions.isSimpleType(type)) {
+   return false;
+  }
+
+  return converter.getMappingContext().getPersistentEntity(type) != null;
+ }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.query;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+import org.bson.BSONException;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * The position within a sorted result to continue a keyset (seek) based scroll from. A {@link KeysetPosition} holds the
+ * sort key values of the last document seen, keyed by the property path used in the {@link Query#getSortObject()
+ * sort}, including the {@literal _id} that is used to break ties. Positions can be turned into an opaque
+ * {@link #toToken() continuation token} to hand out to clients and be restored via {@link #fromToken(String)}.
+ *
+ * @since 2.1
+ * @see KeysetWindow
+ */
+public final class KeysetPosition {
+
+ private static final KeysetPosition INITIAL = new KeysetPosition(new Document());
+ private static final DocumentCodec CODEC = new DocumentCodec();
+
+ private final Document keys;
+
+ private KeysetPosition(Document keys) {
+  this.keys = keys;
+ }
+
+ /**
+  * Obtain the {@link KeysetPosition} pointing to the start of the result.
+  *
+  * @return never {@literal null}.
+  */
+ public static KeysetPosition initial() {
+  return INITIAL;
+ }
+
+ /**
+  * Create a new {@link KeysetPosition} for the given sort key values. The iteration order of the given {@link Map}
+  * must match the order of the sort keys.
+  *
+  * @param keys the sort key values of the last document seen. Must not be {@literal null}.
+  * @return new instance of {@link KeysetPosition}.
+  */
+ public static KeysetPosition of(Map<String, ?> keys) {
+
+  Assert.notNull(keys, "Keys must not be null!");
+
+  return keys.isEmpty() ? INITIAL : new KeysetPosition(new Document(keys));
+ }
+
+ /**
+  * Restore a {@link KeysetPosition} from a token previously obtained via {@link #toToken()}.
+  *
+  * @param token must not be {@literal null}. An empty token represents the {@link #initial() initial} position.
+  * @return the {@link KeysetPosition} represented by the token.
+  * @throws IllegalArgumentException if the token is malformed.
+  */
+ public static KeysetPosition fromToken(String token) {
+
+  Assert.notNull(token, "Token must not be null!");
+
+  if (!StringUtils.hasText(token)) {
+   return INITIAL;
+  }
+
+  try {
+
+   byte[] bytes = Base64.getUrlDecoder().decode(token);
+
+   try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+    return of(CODEC.decode(reader, DecoderContext.builder().build()));
+   }
+  } catch (IllegalArgumentException | BSONException e) {
+   throw new IllegalArgumentException(String.format("Invalid keyset token '%s'!", token), e);
+  }
+ }
+
+ /**
+  * @return {@literal true} if this position points to the start of the result.
+  */
+ public boolean isInitial() {
+  return keys.isEmpty();
+ }
+
+ /**
+  * @return the sort key values in sort order. Never {@literal null}.
+  */
+ public Map<String, Object> getKeys() {
+  return Collections.unmodifiableMap(keys);
+ }
+
+ /**
+  * Encode the position into an opaque, URL safe continuation token that retains the BSON types of the key values.
+  *
+  * @return never {@literal null}. An empty {@link String} for the {@link #initial() initial} position.
+  */
+ public String toToken() {
+
+  if (isInitial()) {
+   return "";
+  }
+
+  BasicOutputBuffer buffer = new BasicOutputBuffer();
+
+  try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+   CODEC.encode(writer, keys, EncoderContext.builder().build());
+  }
+
+  return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#equals(java.lang.Object)
+  */
+ @Override
+ public boolean equals(Object obj) {
+
+  if (this == obj) {
+   return true;
+  }
+
+  if (!(obj instanceof KeysetPosition)) {
+   return false;
+  }
+
+  return keys.equals(((KeysetPosition) obj).keys);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#hashCode()
+  */
+ @Override
+ public int hashCode() {
+  return keys.hashCode();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return isInitial() ? "KeysetPosition: initial"
+    : String.format("KeysetPosition: %s", SerializationUtils.serializeToJsonSafely(keys));
+ }
+}
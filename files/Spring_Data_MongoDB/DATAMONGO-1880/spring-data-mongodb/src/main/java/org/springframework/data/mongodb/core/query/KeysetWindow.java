@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.query;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * A window of results obtained via keyset (seek) based scrolling. Other than a
+ * {@link org.springframework.data.domain.Page} a {@link KeysetWindow} does not know about the total number of elements
+ * and therefore does not require an additional count query. Use {@link #getNextPosition()} to obtain the next window.
+ *
+ * @since 2.1
+ * @see KeysetPosition
+ */
+public final class KeysetWindow<T> implements Iterable<T> {
+
+ private final List<T> content;
+ private final KeysetPosition nextPosition;
+ private final boolean hasNext;
+
+ private KeysetWindow(List<T> content, KeysetPosition nextPosition, boolean hasNext) {
+
+  this.content = content;
+  this.nextPosition = nextPosition;
+  this.hasNext = hasNext;
+ }
+
+ /**
+  * Create a new {@link KeysetWindow}.
+  *
+  * @param content the elements of the window. Must not be {@literal null}.
+  * @param nextPosition the position after the last element of the window. Must not be {@literal null}.
+  * @param hasNext whether there are more elements after the window.
+  * @return new instance of {@link KeysetWindow}.
+  */
+ public static <T> KeysetWindow<T> of(List<T> content, KeysetPosition nextPosition, boolean hasNext) {
+
+  Assert.notNull(content, "Content must not be null!");
+  Assert.notNull(nextPosition, "Next position must not be null!");
+
+  return new KeysetWindow<>(Collections.unmodifiableList(content), nextPosition, hasNext);
+ }
+
+ /**
+  * @return the elements of the window. Never {@literal null}.
+  */
+ public List<T> getContent() {
+  return content;
+ }
+
+ /**
+  * @return the number of elements in the window.
+  */
+ public int size() {
+  return content.size();
+ }
+
+ /**
+  * @return {@literal true} if the window does not contain any elements.
+  */
+ public boolean isEmpty() {
+  return content.isEmpty();
+ }
+
+ /**
+  * @return {@literal true} if there are more elements after this window.
+  */
+ public boolean hasNext() {
+  return hasNext;
+ }
+
+ /**
+  * Obtain the {@link KeysetPosition} to continue scrolling from. Pointing to the position the window was obtained for
+  * if the window is {@link #isEmpty() empty}.
+  *
+  * @return never {@literal null}.
+  */
+ public KeysetPosition getNextPosition() {
+  return nextPosition;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Iterable#iterator()
+  */
+ @Override
+ public Iterator<T> iterator() {
+  return content.iterator();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return String.format("KeysetWindow: %d elements, has next: %s, next %s", content.size(), hasNext, nextPosition);
+ }
+}
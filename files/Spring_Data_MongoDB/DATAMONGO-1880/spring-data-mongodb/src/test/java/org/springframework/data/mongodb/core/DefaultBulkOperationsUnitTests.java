@@ -22,9 +22,12 @@ import static org.mockito.Mockito.any;
 import static org.springframework.data.mongodb.core.query.Criteria.*;
 import static org.springframework.data.mongodb.core.query.Query.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
 import org.bson.Document;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,6 +36,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.DefaultBulkOperations.BulkOperationContext;
@@ -47,6 +51,11 @@ import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Update;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.UpdateManyModel;
@@ -148,6 +157,105 @@ public class DefaultBulkOperationsUnitTests {
   assertThat(updateModel.getFilter()).isEqualTo(new Document("first_name", "danerys"));
  }
 
+ @Test
+ public void shouldSubmitBatchOnceBatchSizeIsReached() {
+
+  when(collection.bulkWrite(anyList(), any())).thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0,
+    Collections.emptyList()), BulkWriteResult.acknowledged(2, 0, 0, 0, Collections.emptyList()),
+    BulkWriteResult.acknowledged(1, 0, 0, 0, Collections.emptyList()));
+
+  ops.setWriterOptions(BulkWriterOptions.batchSize(2));
+
+  for (int i = 0; i < 5; i++) {
+   ops.insert(new Document("_id", i));
+  }
+
+  verify(collection, times(2)).bulkWrite(anyList(), any());
+
+  BulkWriteResult result = ops.execute();
+
+  verify(collection, times(3)).bulkWrite(captor.capture(), any());
+  assertThat(captor.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+  assertThat(result.getInsertedCount()).isEqualTo(5);
+ }
+
+ @Test
+ public void shouldSubmitBatchOnceMaxBatchBytesAreReached() {
+
+  when(collection.bulkWrite(anyList(), any()))
+    .thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, Collections.emptyList()));
+
+  ops.setWriterOptions(BulkWriterOptions.batchSize(100).maxBatchBytes(10));
+
+  ops.insert(new Document("_id", 1));
+  ops.insert(new Document("_id", 2));
+
+  verify(collection, times(2)).bulkWrite(anyList(), any());
+ }
+
+ @Test
+ public void shouldShiftUpsertIndexesOfBatches() {
+
+  when(collection.bulkWrite(anyList(), any())).thenReturn(
+    BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.singletonList(new BulkWriteUpsert(1, new BsonInt32(1)))),
+    BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.singletonList(new BulkWriteUpsert(0, new BsonInt32(2)))));
+
+  ops.setWriterOptions(BulkWriterOptions.batchSize(2));
+
+  for (int i = 0; i < 3; i++) {
+   ops.upsert(query(where("firstName").is("danerys-" + i)), Update.update("lastName", "targaryen"));
+  }
+
+  assertThat(ops.execute().getUpserts()).extracting(BulkWriteUpsert::getIndex).containsExactly(1, 2);
+ }
+
+ @Test
+ public void orderedBatchesShouldStopAtFirstWriteError() {
+
+  when(collection.bulkWrite(anyList(), any())).thenThrow(duplicateKeyError(1));
+
+  ops.setWriterOptions(BulkWriterOptions.batchSize(2));
+
+  for (int i = 0; i < 5; i++) {
+   ops.insert(new Document("_id", i));
+  }
+
+  assertThatExceptionOfType(DuplicateKeyException.class).isThrownBy(() -> ops.execute());
+  verify(collection, times(1)).bulkWrite(anyList(), any());
+ }
+
+ @Test
+ public void unorderedBatchesShouldCombineWriteErrors() {
+
+  ops = new DefaultBulkOperations(template, "collection-1",
+    new BulkOperationContext(BulkMode.UNORDERED, Optional.empty(), new QueryMapper(converter),
+      new UpdateMapper(converter)));
+  ops.setWriterOptions(BulkWriterOptions.batchSize(2).parallelism(2).executor(Runnable::run));
+
+  when(collection.bulkWrite(anyList(), any())).thenThrow(duplicateKeyError(1))
+    .thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, Collections.emptyList())).thenThrow(duplicateKeyError(0));
+
+  for (int i = 0; i < 5; i++) {
+   ops.insert(new Document("_id", i));
+  }
+
+  assertThatExceptionOfType(DuplicateKeyException.class).isThrownBy(() -> ops.execute()).satisfies(e -> {
+
+   MongoBulkWriteException cause = (MongoBulkWriteException) e.getCause();
+
+   assertThat(cause.getWriteErrors()).extracting(BulkWriteError::getIndex).containsExactly(1, 4);
+   assertThat(cause.getWriteResult().getInsertedCount()).isEqualTo(4);
+  });
+  verify(collection, times(3)).bulkWrite(anyList(), any());
+ }
+
+ private static MongoBulkWriteException duplicateKeyError(int index) {
+
+  return new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, Collections.emptyList()),
+    Collections.singletonList(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), index)), null,
+    new ServerAddress());
+ }
+
  class SomeDomainType {
 
   @Id String id;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+
+/**
+ * Unit tests for {@link DocumentEventListenerLookup}.
+ */
+public class DocumentEventListenerLookupUnitTests {
+
+ @Test
+ public void reportsNoListenersWithoutApplicationContext() {
+  assertThat(new DocumentEventListenerLookup(null).hasDocumentEventListeners()).isFalse();
+ }
+
+ @Test
+ public void reportsNoListenersForEmptyContext() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  context.refresh();
+
+  assertThat(new DocumentEventListenerLookup(context).hasDocumentEventListeners()).isFalse();
+ }
+
+ @Test
+ public void detectsRegisteredMongoEventListener() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  context.refresh();
+  context.addApplicationListener(new AbstractMongoEventListener<Person>() {});
+
+  assertThat(new DocumentEventListenerLookup(context).hasDocumentEventListeners()).isTrue();
+ }
+
+ @Test
+ public void detectsListenerBeanForSingleDocumentEvent() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  context.registerBeanDefinition("listener", new RootBeanDefinition(AfterLoadListener.class));
+  context.refresh();
+
+  assertThat(new DocumentEventListenerLookup(context).hasDocumentEventListeners()).isTrue();
+ }
+
+ @Test
+ public void ignoresListenersForEventsPublishedWithEntityCodecs() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  context.registerBeanDefinition("listener", new RootBeanDefinition(BeforeConvertListener.class));
+  context.refresh();
+
+  assertThat(new DocumentEventListenerLookup(context).hasDocumentEventListeners()).isFalse();
+ }
+
+ @Test
+ public void assumesListenersUntilContextIsActive() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  DocumentEventListenerLookup lookup = new DocumentEventListenerLookup(context);
+
+  assertThat(lookup.hasDocumentEventListeners()).isTrue();
+
+  context.refresh();
+
+  assertThat(lookup.hasDocumentEventListeners()).isFalse();
+ }
+
+ static class Person {
+  String id;
+ }
+
+ static class AfterLoadListener implements ApplicationListener<AfterLoadEvent<Person>> {
+
+  @Override
+  public void onApplicationEvent(AfterLoadEvent<Person> event) {}
+ }
+
+ static class BeforeConvertListener implements ApplicationListener<BeforeConvertEvent<Object>> {
+
+  @Override
+  public void onApplicationEvent(BeforeConvertEvent<Object> event) {}
+ }
+}
@@ -25,6 +25,7 @@ import static org.springframework.data.mongodb.test.util.IsBsonObject.*;
 import lombok.Data;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -55,6 +56,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.convert.CustomConversions;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
@@ -72,6 +74,8 @@ import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
+import org.springframework.data.mongodb.core.query.KeysetWindow;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -866,6 +870,137 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
   verify(findIterable).projection(eq(new Document()));
  }
 
+ @Test
+ public void scrollCompletesSortWithIdAndReadsOneDocumentMoreThanRequested() {
+
+  ObjectId first = new ObjectId();
+  ObjectId second = new ObjectId();
+
+  when(cursor.hasNext()).thenReturn(true, true, true, false);
+  when(cursor.next()).thenReturn(new Document("_id", first).append("n", "anakin"),
+    new Document("_id", second).append("n", "luke"), new Document("_id", new ObjectId()).append("n", "rey"));
+
+  KeysetWindow<Sith> window = template.scroll(new Query().with(Sort.by("name")).limit(2), KeysetPosition.initial(),
+    Sith.class);
+
+  verify(findIterable).sort(new Document("n", 1).append("_id", 1));
+  verify(findIterable).limit(3);
+  verify(collection, never()).count(any(Bson.class), any(CountOptions.class));
+
+  assertThat(window.size(), is(2));
+  assertThat(window.hasNext(), is(true));
+  assertThat(window.getContent().get(1).name, is("luke"));
+  assertThat(window.getNextPosition().getKeys(), is(new Document("name", "luke").append("_id", second)));
+ }
+
+ @Test
+ public void scrollAppliesRangePredicateForPositionViaQueryMapper() {
+
+  ObjectId id = new ObjectId();
+  when(cursor.hasNext()).thenReturn(false);
+
+  Query query = new Query(Criteria.where("name").ne("vader")).with(Sort.by("name")).limit(2);
+
+  KeysetWindow<Sith> window = template.scroll(query,
+    KeysetPosition.of(new Document("name", "luke").append("_id", id)), Sith.class);
+
+  ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+  verify(collection).find(captor.capture());
+
+  Document expected = new Document("n", new Document("$ne", "vader")).append("$and",
+    Collections.singletonList(new Document("$or", Arrays.asList(new Document("n", new Document("$gt", "luke")),
+      new Document("n", "luke").append("_id", new Document("$gt", id))))));
+
+  assertThat(captor.getValue(), is(expected));
+  assertThat(window.isEmpty(), is(true));
+  assertThat(window.hasNext(), is(false));
+  assertThat(window.getNextPosition(), is(KeysetPosition.of(new Document("name", "luke").append("_id", id))));
+ }
+
+ @Test
+ public void scrollUsesLessThanForDescendingSortKeys() {
+
+  ObjectId id = new ObjectId();
+  when(cursor.hasNext()).thenReturn(false);
+
+  template.scroll(new Query().with(Sort.by(Direction.DESC, "id")).limit(2),
+    KeysetPosition.of(Collections.singletonMap("id", id)), Sith.class);
+
+  verify(collection).find(new Document("$and",
+    Collections.singletonList(new Document("_id", new Document("$lt", id)))));
+  verify(findIterable).sort(new Document("_id", -1));
+ }
+
+ @Test
+ public void scrollMatchesNonNullValuesAfterNullPosition() {
+
+  ObjectId id = new ObjectId();
+  when(cursor.hasNext()).thenReturn(false);
+
+  template.scroll(new Query().with(Sort.by("name")).limit(2),
+    KeysetPosition.of(new Document("name", null).append("_id", id)), Sith.class);
+
+  verify(collection).find(new Document("$and",
+    Collections.singletonList(new Document("$or", Arrays.asList(new Document("n", new Document("$ne", null)),
+      new Document("n", null).append("_id", new Document("$gt", id)))))));
+ }
+
+ @Test
+ public void scrollIncludesNullValuesAfterPositionForDescendingSortKeys() {
+
+  ObjectId id = new ObjectId();
+  when(cursor.hasNext()).thenReturn(false);
+
+  template.scroll(new Query().with(Sort.by(Direction.DESC, "name")).limit(2),
+    KeysetPosition.of(new Document("name", "luke").append("_id", id)), Sith.class);
+
+  Document lessThanOrNull = new Document("$or",
+    Arrays.asList(new Document("n", new Document("$lt", "luke")), new Document("n", null)));
+
+  verify(collection).find(new Document("$and", Collections.singletonList(new Document("$or",
+    Arrays.asList(lessThanOrNull, new Document("n", "luke").append("_id", new Document("$gt", id)))))));
+ }
+
+ @Test
+ public void scrollOmitsRangeOfNullPositionForDescendingSortKeys() {
+
+  ObjectId id = new ObjectId();
+  when(cursor.hasNext()).thenReturn(false);
+
+  template.scroll(new Query().with(Sort.by(Direction.DESC, "name")).limit(2),
+    KeysetPosition.of(new Document("name", null).append("_id", id)), Sith.class);
+
+  verify(collection).find(new Document("$and",
+    Collections.singletonList(new Document("n", null).append("_id", new Document("$gt", id)))));
+ }
+
+ @Test(expected = InvalidDataAccessApiUsageException.class)
+ public void scrollRejectsQueryWithoutLimit() {
+  template.scroll(new Query().with(Sort.by("name")), KeysetPosition.initial(), Sith.class);
+ }
+
+ @Test(expected = InvalidDataAccessApiUsageException.class)
+ public void scrollRejectsPositionNotMatchingSort() {
+  template.scroll(new Query().with(Sort.by("name")).limit(2), KeysetPosition.of(Collections.singletonMap("_id", 1)),
+    Sith.class);
+ }
+
+ @Test
+ public void readsViaDocumentIfEntityCodecsEnabledAndDocumentEventListenerPresent() {
+
+  GenericApplicationContext context = new GenericApplicationContext();
+  context.refresh();
+  context.addApplicationListener(new AbstractMongoEventListener<Person>() {});
+
+  template.setApplicationContext(context);
+  template.setEntityCodecsEnabled(true);
+
+  template.find(new Query(), Person.class);
+
+  verify(collection).find(Mockito.any(Document.class));
+  verify(collection, never()).withCodecRegistry(Mockito.any());
+ }
+
  class AutogenerateableId {
 
   @Id BigInteger id;
@@ -929,6 +1064,12 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
   @Field("firstname") String name;
  }
 
+ static class Sith {
+
+  @Id String id;
+  @Field("n") String name;
+ }
+
  class Wrapper {
 
   AutogenerateableId foo;
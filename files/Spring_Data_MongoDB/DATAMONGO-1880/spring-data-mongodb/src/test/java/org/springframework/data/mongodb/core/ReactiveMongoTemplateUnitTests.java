@@ -24,8 +24,12 @@ import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 import lombok.Data;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -37,7 +41,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplateUnitTests.AutogenerateableId;
+import org.springframework.data.mongodb.core.MongoTemplateUnitTests.Sith;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate.NoOpDbRefResolver;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
@@ -45,7 +51,9 @@ import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.KeysetPosition;
 import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -321,6 +329,22 @@ public class ReactiveMongoTemplateUnitTests {
   verify(findPublisher, never()).projection(any());
  }
 
+ @Test
+ public void scrollAppliesRangePredicateAndReadsOneDocumentMoreThanRequested() {
+
+  when(findPublisher.sort(any())).thenReturn(findPublisher);
+  ObjectId id = new ObjectId();
+
+  template.scroll(new Query().with(Sort.by("name")).limit(2),
+    KeysetPosition.of(new Document("name", "luke").append("_id", id)), Sith.class).subscribe();
+
+  verify(collection).find(new Document("$and",
+    Collections.singletonList(new Document("$or", Arrays.asList(new Document("n", new Document("$gt", "luke")),
+      new Document("n", "luke").append("_id", new Document("$gt", id)))))));
+  verify(findPublisher).sort(new Document("n", 1).append("_id", 1));
+  verify(findPublisher).limit(3);
+ }
+
  @Data
  @org.springframework.data.mongodb.core.mapping.Document(collection = "star-wars")
  static class Person {
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.annotation.AccessType;
+import org.springframework.data.annotation.AccessType.Type;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+
+/**
+ * Unit tests for {@link ClassGeneratingEntityDocumentCodecFactory} and the code generation mode of
+ * {@link MappingMongoConverter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ClassGeneratingEntityDocumentCodecFactoryUnitTests {
+
+ @Mock DbRefResolver resolver;
+
+ MongoMappingContext mappingContext;
+ MappingMongoConverter converter;
+
+ @Before
+ public void setUp() {
+
+  mappingContext = new MongoMappingContext();
+
+  converter = new MappingMongoConverter(resolver, mappingContext);
+  converter.setCodeGenerationEnabled(true);
+  converter.afterPropertiesSet();
+ }
+
+ @Test
+ public void codecShouldWriteNativelyMappedProperties() {
+
+  EntityDocumentCodec codec = createCodec(Person.class, new MongoCustomConversions(Collections.emptyList()));
+
+  Person person = new Person();
+  person.firstname = "luke";
+  person.setAge(19);
+  person.setEmail("luke@rebels.org");
+
+  Document target = new Document();
+  List<String> fallbacks = new ArrayList<>();
+
+  codec.write(mappingContext.getRequiredPersistentEntity(Person.class).getPropertyAccessor(person), target,
+    property -> fallbacks.add(property.getName()));
+
+  assertThat(target).containsEntry("fn", "luke").containsEntry("age", 19).containsEntry("email", "luke@rebels.org");
+  assertThat(fallbacks).containsExactly("address", "nicknames");
+ }
+
+ @Test
+ public void codecShouldReadNativelyMappedProperties() {
+
+  EntityDocumentCodec codec = createCodec(Person.class, new MongoCustomConversions(Collections.emptyList()));
+
+  ObjectId friendId = new ObjectId();
+  Document source = new Document("fn", "luke").append("age", 19).append("email", "luke@rebels.org")
+    .append("friendId", friendId).append("active", true);
+
+  Person person = new Person();
+  List<String> fallbacks = new ArrayList<>();
+
+  codec.read(source, mappingContext.getRequiredPersistentEntity(Person.class).getPropertyAccessor(person),
+    property -> fallbacks.add(property.getName()));
+
+  assertThat(person.firstname).isEqualTo("luke");
+  assertThat(person.getAge()).isEqualTo(19);
+  assertThat(person.getEmail()).isEqualTo("luke@rebels.org");
+  assertThat(person.friendId).isEqualTo(friendId);
+  assertThat(person.active).isTrue();
+  assertThat(fallbacks).containsExactly("address", "nicknames");
+ }
+
+ @Test
+ public void codecShouldUseFallbackForValuesOfUnexpectedType() {
+
+  EntityDocumentCodec codec = createCodec(Person.class, new MongoCustomConversions(Collections.emptyList()));
+
+  Person person = new Person();
+  List<String> fallbacks = new ArrayList<>();
+
+  codec.read(new Document("age", 19L),
+    mappingContext.getRequiredPersistentEntity(Person.class).getPropertyAccessor(person),
+    property -> fallbacks.add(property.getName()));
+
+  assertThat(fallbacks).contains("age", "firstname", "email");
+ }
+
+ @Test
+ public void shouldNotCreateCodecForEntityWithoutNativelyMappedProperties() {
+
+  MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Address.class);
+
+  assertThat(new ClassGeneratingEntityDocumentCodecFactory(new MongoCustomConversions(Collections.emptyList()))
+    .createCodec(entity)).isNull();
+ }
+
+ @Test
+ public void shouldNotMapPropertiesWithCustomConversionNatively() {
+
+  EntityDocumentCodec codec = createCodec(Person.class,
+    new MongoCustomConversions(Collections.singletonList(IntegerToStringConverter.INSTANCE)));
+
+  Person person = new Person();
+  person.setAge(19);
+
+  List<String> fallbacks = new ArrayList<>();
+
+  codec.write(mappingContext.getRequiredPersistentEntity(Person.class).getPropertyAccessor(person), new Document(),
+    property -> fallbacks.add(property.getName()));
+
+  assertThat(fallbacks).contains("age");
+ }
+
+ @Test
+ public void converterShouldWriteSameDocumentAsReflectiveMapping() {
+
+  Person person = createPerson();
+
+  Document generated = new Document();
+  converter.write(person, generated);
+
+  Document reflective = new Document();
+  reflectiveConverter().write(person, reflective);
+
+  assertThat(generated).isEqualTo(reflective);
+  assertThat(generated.keySet()).containsExactlyElementsOf(reflective.keySet());
+ }
+
+ @Test
+ public void converterShouldReadSameEntityAsReflectiveMapping() {
+
+  Document source = new Document();
+  reflectiveConverter().write(createPerson(), source);
+
+  Person generated = converter.read(Person.class, source);
+  Person reflective = reflectiveConverter().read(Person.class, source);
+
+  assertThat(generated).isEqualToComparingFieldByFieldRecursively(reflective);
+ }
+
+ @Test
+ public void converterShouldConvertValuesOfUnexpectedType() {
+
+  Person person = converter.read(Person.class, new Document("_id", "p1").append("age", 19L).append("active", "true"));
+
+  assertThat(person.id).isEqualTo("p1");
+  assertThat(person.getAge()).isEqualTo(19);
+  assertThat(person.active).isTrue();
+ }
+
+ private EntityDocumentCodec createCodec(Class<?> type, MongoCustomConversions conversions) {
+
+  EntityDocumentCodec codec = new ClassGeneratingEntityDocumentCodecFactory(conversions)
+    .createCodec(mappingContext.getRequiredPersistentEntity(type));
+
+  assertThat(codec).isNotNull();
+  assertThat(codec.getProperties()).extracting(MongoPersistentProperty::getName).doesNotContain("id");
+
+  return codec;
+ }
+
+ private MappingMongoConverter reflectiveConverter() {
+
+  MappingMongoConverter converter = new MappingMongoConverter(resolver, mappingContext);
+  converter.afterPropertiesSet();
+
+  return converter;
+ }
+
+ private static Person createPerson() {
+
+  Person person = new Person();
+  person.id = "p1";
+  person.firstname = "luke";
+  person.setAge(19);
+  person.setEmail("luke@rebels.org");
+  person.friendId = new ObjectId();
+  person.active = true;
+  person.address = new Address();
+  person.address.street = "Homestead";
+  person.nicknames = Arrays.asList("kid", "farmboy");
+
+  return person;
+ }
+
+ static class Person {
+
+  @Id String id;
+  @Field("fn") String firstname;
+  private int age;
+  private String email;
+  ObjectId friendId;
+  Boolean active;
+  Address address;
+  List<String> nicknames;
+
+  @AccessType(Type.PROPERTY)
+  public int getAge() {
+   return age;
+  }
+
+  public void setAge(int age) {
+   this.age = age;
+  }
+
+  public String getEmail() {
+   return email;
+  }
+
+  public void setEmail(String email) {
+   this.email = email;
+  }
+ }
+
+ static class Address {
+  Object street;
+ }
+
+ enum IntegerToStringConverter implements Converter<Integer, String> {
+
+  INSTANCE;
+
+  @Override
+  public String convert(Integer source) {
+   return source.toString();
+  }
+ }
+}
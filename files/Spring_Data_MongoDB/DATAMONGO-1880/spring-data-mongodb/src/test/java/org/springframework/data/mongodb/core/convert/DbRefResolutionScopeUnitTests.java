@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for {@link DbRefResolutionScope} and the {@link DBRef} pre-fetching of {@link MappingMongoConverter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DbRefResolutionScopeUnitTests {
+
+ @Mock DbRefResolver resolver;
+
+ MappingMongoConverter converter;
+ Map<Object, Document> database = new HashMap<>();
+
+ @Before
+ public void setUp() {
+
+  converter = new MappingMongoConverter(resolver, new MongoMappingContext());
+  converter.afterPropertiesSet();
+
+  database.put("c1", new Document("_id", "c1").append("name", "luke").append("company", ref("company", "x1")));
+  database.put("c2", new Document("_id", "c2").append("name", "leia").append("company", ref("company", "x1")));
+  database.put("x1", new Document("_id", "x1").append("name", "rebels"));
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void prefetchShouldLoadDbRefsWithOneBulkFetchPerCollection() {
+
+  when(resolver.bulkFetch(anyList())).then(invocation -> fetch(invocation.getArgument(0)));
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  converter.prefetchDbRefs(Order.class, orders("c1", "c2", "c1"), scope);
+
+  ArgumentCaptor<List<com.mongodb.DBRef>> captor = ArgumentCaptor.forClass(List.class);
+  verify(resolver, times(2)).bulkFetch(captor.capture());
+
+  assertThat(captor.getAllValues().get(0)).extracting(com.mongodb.DBRef::getId).containsExactly("c1", "c2");
+  assertThat(captor.getAllValues().get(1)).extracting(com.mongodb.DBRef::getId).containsExactly("x1");
+  assertThat(scope.hasPendingDbRefs()).isFalse();
+ }
+
+ @Test
+ public void readWithinScopeShouldSharePrefetchedInstances() {
+
+  when(resolver.bulkFetch(anyList())).then(invocation -> fetch(invocation.getArgument(0)));
+  when(resolver.resolveDbRef(any(), any(), any(), any()))
+    .then(invocation -> invocation.<DbRefResolverCallback> getArgument(2).resolve(invocation.getArgument(0)));
+
+  List<Document> documents = orders("c1", "c2", "c1");
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  converter.prefetchDbRefs(Order.class, documents, scope);
+
+  List<Order> orders = scope.execute(() -> documents.stream() //
+    .map(it -> converter.read(Order.class, it)) //
+    .collect(Collectors.toList()));
+
+  assertThat(orders.get(0).customer.name).isEqualTo("luke");
+  assertThat(orders.get(1).customer.name).isEqualTo("leia");
+  assertThat(orders.get(0).customer).isSameAs(orders.get(2).customer);
+  assertThat(orders.get(0).customer.company).isSameAs(orders.get(1).customer.company);
+
+  verify(resolver, never()).fetch(any());
+  verify(resolver, times(2)).bulkFetch(anyList());
+ }
+
+ @Test
+ public void missingDocumentsShouldResolveToNullWithoutFurtherQueries() {
+
+  when(resolver.bulkFetch(anyList())).then(invocation -> fetch(invocation.getArgument(0)));
+  when(resolver.resolveDbRef(any(), any(), any(), any()))
+    .then(invocation -> invocation.<DbRefResolverCallback> getArgument(2).resolve(invocation.getArgument(0)));
+
+  List<Document> documents = orders("unknown");
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  converter.prefetchDbRefs(Order.class, documents, scope);
+
+  Order order = scope.execute(() -> converter.read(Order.class, documents.get(0)));
+
+  assertThat(order.customer).isNull();
+  verify(resolver, never()).fetch(any());
+ }
+
+ @Test
+ public void prefetchShouldSkipLazyDbRefs() {
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+  converter.prefetchDbRefs(LazyOrder.class, orders("c1"), scope);
+
+  verify(resolver, never()).bulkFetch(anyList());
+ }
+
+ @Test
+ public void shouldDetectEagerDbRefsInEmbeddedTypes() {
+
+  assertThat(converter.hasEagerDbRefs(Order.class)).isTrue();
+  assertThat(converter.hasEagerDbRefs(Shipment.class)).isTrue();
+  assertThat(converter.hasEagerDbRefs(LazyOrder.class)).isFalse();
+  assertThat(converter.hasEagerDbRefs(Company.class)).isFalse();
+ }
+
+ @Test
+ public void scopeShouldOnlyBeBoundWhileExecuting() {
+
+  DbRefResolutionScope scope = new DbRefResolutionScope();
+
+  assertThat(scope.execute(DbRefResolutionScope::current)).isSameAs(scope);
+  assertThat(DbRefResolutionScope.current()).isNull();
+ }
+
+ private List<Document> orders(String... customerIds) {
+
+  return Arrays.stream(customerIds) //
+    .map(id -> new Document("_id", "o-" + id).append("customer", ref("customer", id))) //
+    .collect(Collectors.toList());
+ }
+
+ private List<Document> fetch(List<com.mongodb.DBRef> dbRefs) {
+
+  return dbRefs.stream() //
+    .map(it -> database.get(it.getId())) //
+    .filter(Objects::nonNull) //
+    .collect(Collectors.toList());
+ }
+
+ private static com.mongodb.DBRef ref(String collection, Object id) {
+  return new com.mongodb.DBRef(collection, id);
+ }
+
+ static class Order {
+
+  @Id String id;
+  @DBRef Customer customer;
+ }
+
+ static class LazyOrder {
+
+  @Id String id;
+  @DBRef(lazy = true) Customer customer;
+ }
+
+ static class Shipment {
+
+  @Id String id;
+  List<Order> orders;
+ }
+
+ static class Customer {
+
+  @Id String id;
+  String name;
+  @DBRef Company company;
+ }
+
+ static class Company {
+
+  @Id String id;
+  String name;
+ }
+}
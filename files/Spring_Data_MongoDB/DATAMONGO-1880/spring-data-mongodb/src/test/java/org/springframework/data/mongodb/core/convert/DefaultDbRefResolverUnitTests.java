@@ -127,4 +127,18 @@ public class DefaultDbRefResolverUnitTests {
 
   assertThat(resolver.bulkFetch(Arrays.asList(ref1, ref2))).containsExactly(document, document);
  }
+
+ @Test
+ public void bulkFetchShouldUseDatabaseOfDbRef() {
+
+  when(factoryMock.getDb("other-db")).thenReturn(dbMock);
+
+  DBRef ref1 = new DBRef("other-db", "collection-1", new ObjectId());
+  DBRef ref2 = new DBRef("other-db", "collection-1", new ObjectId());
+
+  resolver.bulkFetch(Arrays.asList(ref1, ref2));
+
+  verify(factoryMock).getDb("other-db");
+  verify(factoryMock, never()).getDb();
+ }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.MongoClient;
+
+/**
+ * Unit tests for {@link MappingMongoConverterCodec} and {@link MappingMongoConverterCodecProvider}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MappingMongoConverterCodecUnitTests {
+
+ @Mock DbRefResolver resolver;
+
+ MappingMongoConverter converter;
+ MappingMongoConverterCodecProvider provider;
+ CodecRegistry registry;
+
+ @Before
+ public void setUp() {
+
+  converter = new MappingMongoConverter(resolver, new MongoMappingContext());
+  converter.setCodeGenerationEnabled(true);
+  converter.afterPropertiesSet();
+
+  provider = new MappingMongoConverterCodecProvider(converter);
+  registry = provider.createCodecRegistry(MongoClient.getDefaultCodecRegistry());
+ }
+
+ @Test
+ public void encodeShouldWriteSameDocumentAsConverter() {
+
+  Person person = createPerson();
+
+  Document expected = new Document();
+  converter.write(person, expected);
+
+  assertThat(toDocument(encode(person, Person.class))).isEqualTo(expected);
+ }
+
+ @Test
+ public void encodeShouldWriteSameDocumentAsConverterWithoutCodeGeneration() {
+
+  MappingMongoConverter converter = new MappingMongoConverter(resolver, new MongoMappingContext());
+  converter.afterPropertiesSet();
+  registry = new MappingMongoConverterCodecProvider(converter)
+    .createCodecRegistry(MongoClient.getDefaultCodecRegistry());
+
+  Person person = createPerson();
+
+  Document expected = new Document();
+  converter.write(person, expected);
+
+  assertThat(toDocument(encode(person, Person.class))).isEqualTo(expected);
+ }
+
+ @Test
+ public void objectCodecShouldEncodeEntitiesAndDocuments() {
+
+  Contact contact = new Contact();
+  contact.id = "c1";
+  contact.name = "luke";
+
+  assertThat(encode(contact, Object.class).getString("n").getValue()).isEqualTo("luke");
+  assertThat(encode(new Document("n", "leia"), Object.class).getString("n").getValue()).isEqualTo("leia");
+ }
+
+ @Test
+ public void decodeShouldReadEntityWithNativeProperties() {
+
+  ObjectId id = new ObjectId();
+  BsonDocument source = encode(new Document("_id", id).append("n", "luke").append("age", 19)
+    .append("active", true).append("_class", Contact.class.getName()), Object.class);
+
+  Contact contact = decode(source, Contact.class);
+
+  assertThat(contact.id).isEqualTo(id.toHexString());
+  assertThat(contact.name).isEqualTo("luke");
+  assertThat(contact.age).isEqualTo(19);
+  assertThat(contact.active).isTrue();
+ }
+
+ @Test
+ public void decodeShouldFallBackToConverterForValuesRequiringConversion() {
+
+  BsonDocument source = encode(new Document("_id", "c1").append("n", "luke").append("age", 19L), Object.class);
+
+  Contact contact = decode(source, Contact.class);
+
+  assertThat(contact.id).isEqualTo("c1");
+  assertThat(contact.name).isEqualTo("luke");
+  assertThat(contact.age).isEqualTo(19);
+ }
+
+ @Test
+ public void decodeShouldReadSameEntityAsConverter() {
+
+  Person person = createPerson();
+  BsonDocument source = encode(person, Person.class);
+
+  assertThat(decode(source, Person.class)).isEqualToComparingFieldByFieldRecursively(person);
+ }
+
+ @Test
+ public void generateIdIfAbsentShouldSetObjectIdOnEntity() {
+
+  Contact contact = new Contact();
+  MappingMongoConverterCodec<Contact> codec = new MappingMongoConverterCodec<>(Contact.class, converter, registry);
+
+  assertThat(codec.documentHasId(contact)).isFalse();
+
+  codec.generateIdIfAbsentFromDocument(contact);
+
+  assertThat(codec.documentHasId(contact)).isTrue();
+  assertThat(ObjectId.isValid(contact.id)).isTrue();
+  assertThat(codec.getDocumentId(contact).asObjectId().getValue()).isEqualTo(new ObjectId(contact.id));
+ }
+
+ @Test
+ public void providerShouldOnlyProvideCodecsForEntities() {
+
+  assertThat(provider.get(Person.class, registry)).isInstanceOf(MappingMongoConverterCodec.class);
+  assertThat(provider.get(Document.class, registry)).isNull();
+  assertThat(provider.get(String.class, registry)).isNull();
+  assertThat(provider.get(List.class, registry)).isNull();
+ }
+
+ @SuppressWarnings("unchecked")
+ private <T> BsonDocument encode(Object value, Class<T> type) {
+
+  BsonDocument target = new BsonDocument();
+  registry.get(type).encode(new BsonDocumentWriter(target), (T) value, EncoderContext.builder().build());
+
+  return target;
+ }
+
+ private <T> T decode(BsonDocument source, Class<T> type) {
+  return registry.get(type).decode(new BsonDocumentReader(source), DecoderContext.builder().build());
+ }
+
+ private Document toDocument(BsonDocument source) {
+  return decode(source, Document.class);
+ }
+
+ private static Person createPerson() {
+
+  Person person = new Person();
+  person.id = new ObjectId().toHexString();
+  person.firstname = "luke";
+  person.age = 19;
+  person.friendId = new ObjectId();
+  person.address = new Address();
+  person.address.street = "Homestead";
+  person.nicknames = Arrays.asList("kid", "farmboy");
+
+  return person;
+ }
+
+ static class Person {
+
+  @Id String id;
+  @Field("fn") String firstname;
+  int age;
+  ObjectId friendId;
+  Address address;
+  List<String> nicknames;
+ }
+
+ static class Address {
+  String street;
+ }
+
+ static class Contact {
+
+  @Id String id;
+  @Field("n") String name;
+  int age;
+  Boolean active;
+ }
+}
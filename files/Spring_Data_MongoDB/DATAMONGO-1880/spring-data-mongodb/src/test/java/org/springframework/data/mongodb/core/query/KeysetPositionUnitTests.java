@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Date;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link KeysetPosition}.
+ */
+public class KeysetPositionUnitTests {
+
+ @Test
+ public void tokenRoundTripRetainsKeyOrderAndTypes() {
+
+  ObjectId id = new ObjectId();
+  Date date = new Date();
+  KeysetPosition position = KeysetPosition.of(new Document("lastname", "skywalker").append("born", date)
+    .append("_id", id));
+
+  KeysetPosition restored = KeysetPosition.fromToken(position.toToken());
+
+  assertThat(restored).isEqualTo(position);
+  assertThat(restored.getKeys().keySet()).containsExactly("lastname", "born", "_id");
+  assertThat(restored.getKeys().get("_id")).isEqualTo(id);
+  assertThat(restored.getKeys().get("born")).isEqualTo(date);
+ }
+
+ @Test
+ public void tokenRoundTripRetainsNullValues() {
+
+  KeysetPosition position = KeysetPosition.of(new Document("lastname", null).append("_id", 1));
+
+  KeysetPosition restored = KeysetPosition.fromToken(position.toToken());
+
+  assertThat(restored).isEqualTo(position);
+  assertThat(restored.getKeys()).containsEntry("lastname", null);
+ }
+
+ @Test
+ public void tokenIsUrlSafe() {
+
+  String token = KeysetPosition.of(new Document("_id", new ObjectId())).toToken();
+
+  assertThat(token).matches("[A-Za-z0-9_-]+");
+ }
+
+ @Test
+ public void initialPositionUsesEmptyToken() {
+
+  assertThat(KeysetPosition.initial().toToken()).isEmpty();
+  assertThat(KeysetPosition.fromToken("")).isEqualTo(KeysetPosition.initial());
+  assertThat(KeysetPosition.of(new Document()).isInitial()).isTrue();
+ }
+
+ @Test(expected = IllegalArgumentException.class)
+ public void rejectsMalformedToken() {
+  KeysetPosition.fromToken("not a token!");
+ }
+}
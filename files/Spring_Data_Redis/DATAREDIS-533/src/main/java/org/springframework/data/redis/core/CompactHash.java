@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.redis.core.convert.CompactBucketCodec;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+
+/**
+ * Marks a {@link RedisHash} entity to be stored in a compact binary layout. Instead of one hash field per property
+ * path the {@link MappingRedisConverter} writes a single hash field holding a length-prefixed document in which
+ * property names are stored once in a field dictionary. See {@link CompactBucketCodec} for the layout. <br />
+ * The compact layout reduces memory footprint and the number of hash fields transferred per entity at the cost of
+ * not being able to access single properties via Redis hash commands. Entities using it must not have
+ * {@link org.springframework.data.redis.core.index.Indexed} properties. Values written in the default layout are still
+ * read so the annotation can be added to existing entities.
+ *
+ * @since 1.8
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface CompactHash {
+
+}
@@ -20,6 +20,7 @@ import java.util.Set;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.convert.IndexedData;
+import org.springframework.data.redis.core.convert.RangeIndexedPropertyValue;
 import org.springframework.data.redis.core.convert.RedisConverter;
 import org.springframework.data.redis.core.convert.RemoveIndexedData;
 import org.springframework.data.redis.core.convert.SimpleIndexedPropertyValue;
@@ -32,7 +33,8 @@ import org.springframework.util.ObjectUtils;
  * {@link IndexWriter} takes care of writing <a href="http://redis.io/topics/indexes">secondary index</a> structures to
  * Redis. Depending on the type of {@link IndexedData} it uses eg. Sets with specific names to add actually referenced
  * keys to. While doing so {@link IndexWriter} also keeps track of all indexes associated with the root types key, which
- * allows to remove the root key from all indexes in case of deletion.
+ * allows to remove the root key from all indexes in case of deletion. Range indexes are tracked in a dedicated helper
+ * set so that removal knows whether to use {@literal SREM} or {@literal ZREM} without inspecting each index key.
  *
  * @author Christoph Strobl
  * @author Rob Winch
@@ -40,6 +42,12 @@ import org.springframework.util.ObjectUtils;
  */
 class IndexWriter {
 
+ /**
+  * Suffix of {@literal SORTED SET} range index keys ({@code keyspace:path:range}) keeping them apart from the entity
+  * keys ({@code keyspace:id}) in the same keyspace.
+  */
+ static final String RANGE_INDEX_SUFFIX = ":range";
+
  private final RedisConnection connection;
  private final RedisConverter converter;
 
@@ -123,13 +131,18 @@ class IndexWriter {
   Assert.notNull(key, "Key must not be null!");
 
   byte[] binKey = toBytes(key);
-  byte[] indexHelperKey = ByteUtils.concatAll(toBytes(keyspace + ":"), binKey, toBytes(":idx"));
+  byte[] indexHelperKey = createIndexHelperKey(keyspace, binKey);
+  byte[] rangeIndexHelperKey = createRangeIndexHelperKey(keyspace, binKey);
 
   for (byte[] indexKey : connection.sMembers(indexHelperKey)) {
    connection.sRem(indexKey, binKey);
   }
 
-  connection.del(indexHelperKey);
+  for (byte[] indexKey : connection.sMembers(rangeIndexHelperKey)) {
+   connection.zRem(indexKey, binKey);
+  }
+
+  connection.del(indexHelperKey, rangeIndexHelperKey);
  }
 
  /**
@@ -161,6 +174,12 @@ class IndexWriter {
 
   Assert.notNull(indexedData, "IndexedData must not be null!");
 
+  if (indexedData instanceof RangeIndexedPropertyValue) {
+
+   connection.zRem(createIndexKey(indexedData), key);
+   return;
+  }
+
   Set<byte[]> existingKeys = connection
     .keys(toBytes(indexedData.getKeyspace() + ":" + indexedData.getIndexName() + ":*"));
 
@@ -189,28 +208,81 @@ class IndexWriter {
   Assert.notNull(key, "Key must not be null!");
   Assert.notNull(indexedData, "IndexedData must not be null!");
 
-  if (indexedData instanceof RemoveIndexedData) {
+  byte[] indexKey = createIndexKey(indexedData);
+
+  if (indexKey == null) {
    return;
   }
 
-  else if (indexedData instanceof SimpleIndexedPropertyValue) {
+  // keep track of indexes used for the object
+  if (indexedData instanceof RangeIndexedPropertyValue) {
+
+   connection.zAdd(indexKey, ((RangeIndexedPropertyValue) indexedData).getScore(), key);
+   connection.sAdd(createRangeIndexHelperKey(indexedData.getKeyspace(), key), indexKey);
+  } else {
+
+   connection.sAdd(indexKey, key);
+   connection.sAdd(createIndexHelperKey(indexedData.getKeyspace(), key), indexKey);
+  }
+ }
+
+ /**
+  * Creates the key of the index set the root key has to be added to for given {@link IndexedData}.
+  *
+  * @param indexedData must not be {@literal null}.
+  * @return {@literal null} if there is nothing to add, eg. for {@link RemoveIndexedData} or {@literal null} values.
+  * @since 1.8
+  */
+ byte[] createIndexKey(IndexedData indexedData) {
+
+  Assert.notNull(indexedData, "IndexedData must not be null!");
+
+  if (indexedData instanceof RemoveIndexedData) {
+   return null;
+  }
+
+  if (indexedData instanceof SimpleIndexedPropertyValue) {
 
    Object value = ((SimpleIndexedPropertyValue) indexedData).getValue();
 
    if (value == null) {
-    return;
+    return null;
    }
 
    byte[] indexKey = toBytes(indexedData.getKeyspace() + ":" + indexedData.getIndexName() + ":");
-   indexKey = ByteUtils.concat(indexKey, toBytes(value));
-   connection.sAdd(indexKey, key);
+   return ByteUtils.concat(indexKey, toBytes(value));
+  }
 
-   // keep track of indexes used for the object
-   connection.sAdd(ByteUtils.concatAll(toBytes(indexedData.getKeyspace() + ":"), key, toBytes(":idx")), indexKey);
-  } else {
-   throw new IllegalArgumentException(
-     String.format("Cannot write index data for unknown index type %s", indexedData.getClass()));
+  if (indexedData instanceof RangeIndexedPropertyValue) {
+   return toBytes(indexedData.getKeyspace() + ":" + indexedData.getIndexName() + RANGE_INDEX_SUFFIX);
   }
+
+  throw new IllegalArgumentException(
+    String.format("Cannot write index data for unknown index type %s", indexedData.getClass()));
+ }
+
+ /**
+  * Creates the key of the set keeping track of all indexes the root key is part of.
+  *
+  * @param keyspace must not be {@literal null}.
+  * @param key must not be {@literal null}.
+  * @return never {@literal null}.
+  * @since 1.8
+  */
+ byte[] createIndexHelperKey(String keyspace, byte[] key) {
+  return ByteUtils.concatAll(toBytes(keyspace + ":"), key, toBytes(":idx"));
+ }
+
+ /**
+  * Creates the key of the set keeping track of all range indexes the root key is part of.
+  *
+  * @param keyspace must not be {@literal null}.
+  * @param key must not be {@literal null}.
+  * @return never {@literal null}.
+  * @since 1.8
+  */
+ byte[] createRangeIndexHelperKey(String keyspace, byte[] key) {
+  return ByteUtils.concatAll(toBytes(keyspace + ":"), key, toBytes(":idx" + RANGE_INDEX_SUFFIX));
  }
 
  private byte[] toBytes(Object source) {
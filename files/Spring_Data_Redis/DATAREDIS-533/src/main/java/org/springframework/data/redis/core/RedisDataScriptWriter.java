@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.convert.IndexedData;
+import org.springframework.data.redis.core.convert.RangeIndexedPropertyValue;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RedisDataScriptWriter} persists {@link RedisData} along with its phantom copy and secondary index structures
+ * in one single server side <a href="http://redis.io/commands/eval">Lua script</a>. Other than {@link IndexWriter},
+ * which issues one command per index operation, the script computes the diff between the indexes the root key is
+ * currently part of and the ones it should be part of, so that saving an entity with several indexed properties costs
+ * one round trip and never leaves indexes half updated. <br />
+ * The script is invoked via {@literal EVALSHA} and only transferred via {@literal EVAL} in case it is not yet present
+ * in the server side script cache. <br />
+ * <strong>NOTE:</strong> Index keys are passed as script arguments and therefore must be served by the same node as the
+ * object key. This is not the case in a Redis Cluster environment.
+ *
+ * @since 1.8
+ */
+class RedisDataScriptWriter {
+
+ /**
+  * <ul>
+  * <li>KEYS: objectKey, keyspaceKey, phantomKey, indexHelperKey, rangeIndexHelperKey</li>
+  * <li>ARGV: id, ttl, number of hash fields, field/value pairs..., index key/score pairs...</li>
+  * </ul>
+  * An empty score denotes a {@literal SET} based index, a {@literal SORTED SET} range index otherwise. Returns
+  * {@literal 1} if the object did not exist before, {@literal 0} otherwise.
+  */
+ static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<Long>(//
+   "local objectKey, keyspaceKey, phantomKey = KEYS[1], KEYS[2], KEYS[3] " //
+     + "local helperKey, rangeHelperKey = KEYS[4], KEYS[5] " //
+     + "local id, ttl, fieldCount = ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3]) " //
+     + "local indexOffset = 4 + fieldCount * 2 " //
+     + "local isNew = redis.call('DEL', objectKey) == 0 " //
+     + "for i = 4, indexOffset - 1, 2 do redis.call('HSET', objectKey, ARGV[i], ARGV[i + 1]) end " //
+     + "if ttl > 0 then " //
+     + "  redis.call('EXPIRE', objectKey, ttl) " //
+     + "  redis.call('DEL', phantomKey) " //
+     + "  for i = 4, indexOffset - 1, 2 do redis.call('HSET', phantomKey, ARGV[i], ARGV[i + 1]) end " //
+     + "  redis.call('EXPIRE', phantomKey, ttl + 300) " //
+     + "end " //
+     + "redis.call('SADD', keyspaceKey, id) " //
+     + "local requested = {} " //
+     + "for i = indexOffset, #ARGV, 2 do requested[ARGV[i]] = true end " //
+     + "for _, indexKey in ipairs(redis.call('SMEMBERS', helperKey)) do " //
+     + "  if not requested[indexKey] then " //
+     + "    redis.call('SREM', indexKey, id) " //
+     + "    redis.call('SREM', helperKey, indexKey) " //
+     + "  end " //
+     + "end " //
+     + "for _, indexKey in ipairs(redis.call('SMEMBERS', rangeHelperKey)) do " //
+     + "  if not requested[indexKey] then " //
+     + "    redis.call('ZREM', indexKey, id) " //
+     + "    redis.call('SREM', rangeHelperKey, indexKey) " //
+     + "  end " //
+     + "end " //
+     + "for i = indexOffset, #ARGV, 2 do " //
+     + "  if ARGV[i + 1] == '' then " //
+     + "    redis.call('SADD', ARGV[i], id) " //
+     + "    redis.call('SADD', helperKey, ARGV[i]) " //
+     + "  else " //
+     + "    redis.call('ZADD', ARGV[i], ARGV[i + 1], id) " //
+     + "    redis.call('SADD', rangeHelperKey, ARGV[i]) " //
+     + "  end " //
+     + "end " //
+     + "if isNew then return 1 end " //
+     + "return 0", Long.class);
+
+ private final RedisConnection connection;
+ private final RedisConverter converter;
+ private final IndexWriter indexWriter;
+
+ /**
+  * Creates new {@link RedisDataScriptWriter}.
+  *
+  * @param connection must not be {@literal null}.
+  * @param converter must not be {@literal null}.
+  */
+ public RedisDataScriptWriter(RedisConnection connection, RedisConverter converter) {
+
+  Assert.notNull(connection, "RedisConnection cannot be null!");
+  Assert.notNull(converter, "RedisConverter cannot be null!");
+
+  this.connection = connection;
+  this.converter = converter;
+  this.indexWriter = new IndexWriter(connection, converter);
+ }
+
+ /**
+  * Write the given {@link RedisData} including its indexes.
+  *
+  * @param objectKey the key of the hash holding the object. Must not be {@literal null}.
+  * @param key the id of the object. Must not be {@literal null}.
+  * @param rdo must not be {@literal null}.
+  * @return {@literal true} if no object was stored for {@code objectKey} before.
+  */
+ public boolean write(byte[] objectKey, byte[] key, RedisData rdo) {
+
+  Assert.notNull(objectKey, "ObjectKey must not be null!");
+  Assert.notNull(key, "Key must not be null!");
+  Assert.notNull(rdo, "RedisData must not be null!");
+
+  Map<byte[], byte[]> bucket = rdo.getBucket().rawMap();
+  Map<byte[], byte[]> indexKeys = collectIndexKeys(rdo.getIndexedData());
+  long ttl = rdo.getTimeToLive() != null && rdo.getTimeToLive().longValue() > 0 ? rdo.getTimeToLive().longValue()
+    : 0L;
+
+  List<byte[]> keysAndArgs = new ArrayList<byte[]>(8 + bucket.size() * 2 + indexKeys.size() * 2);
+
+  keysAndArgs.add(objectKey);
+  keysAndArgs.add(toBytes(rdo.getKeyspace()));
+  keysAndArgs.add(ByteUtils.concat(objectKey, toBytes(":phantom")));
+  keysAndArgs.add(indexWriter.createIndexHelperKey(rdo.getKeyspace(), key));
+  keysAndArgs.add(indexWriter.createRangeIndexHelperKey(rdo.getKeyspace(), key));
+
+  keysAndArgs.add(key);
+  keysAndArgs.add(toBytes(Long.toString(ttl)));
+  keysAndArgs.add(toBytes(Integer.toString(bucket.size())));
+
+  for (Map.Entry<byte[], byte[]> entry : bucket.entrySet()) {
+   keysAndArgs.add(entry.getKey());
+   keysAndArgs.add(entry.getValue());
+  }
+
+  for (Map.Entry<byte[], byte[]> entry : indexKeys.entrySet()) {
+   keysAndArgs.add(entry.getKey());
+   keysAndArgs.add(entry.getValue());
+  }
+
+  Object result = eval(keysAndArgs.toArray(new byte[keysAndArgs.size()][]));
+  return result instanceof Long && ((Long) result).longValue() == 1L;
+ }
+
+ private Map<byte[], byte[]> collectIndexKeys(Iterable<IndexedData> indexValues) {
+
+  Map<byte[], byte[]> indexKeys = new LinkedHashMap<byte[], byte[]>();
+
+  if (indexValues == null) {
+   return indexKeys;
+  }
+
+  for (IndexedData indexedData : indexValues) {
+
+   byte[] indexKey = indexWriter.createIndexKey(indexedData);
+   if (indexKey == null) {
+    continue;
+   }
+
+   indexKeys.put(indexKey, indexedData instanceof RangeIndexedPropertyValue
+     ? toBytes(Double.toString(((RangeIndexedPropertyValue) indexedData).getScore())) : new byte[0]);
+  }
+
+  return indexKeys;
+ }
+
+ private Object eval(byte[][] keysAndArgs) {
+
+  if (connection.isPipelined() || connection.isQueueing()) {
+   return connection.eval(scriptBytes(), ReturnType.INTEGER, 5, keysAndArgs);
+  }
+
+  try {
+   return connection.evalSha(PUT_SCRIPT.getSha1(), ReturnType.INTEGER, 5, keysAndArgs);
+  } catch (Exception e) {
+
+   if (!exceptionContainsNoScriptError(e)) {
+    throw e instanceof RuntimeException ? (RuntimeException) e : new RedisSystemException(e.getMessage(), e);
+   }
+
+   return connection.eval(scriptBytes(), ReturnType.INTEGER, 5, keysAndArgs);
+  }
+ }
+
+ private byte[] scriptBytes() {
+  return toBytes(PUT_SCRIPT.getScriptAsString());
+ }
+
+ private byte[] toBytes(String source) {
+  return converter.getConversionService().convert(source, byte[].class);
+ }
+
+ private static boolean exceptionContainsNoScriptError(Exception e) {
+
+  if (!(e instanceof NonTransientDataAccessException)) {
+   return false;
+  }
+
+  Throwable current = e;
+  while (current != null) {
+
+   String exMessage = current.getMessage();
+   if (exMessage != null && exMessage.contains("NOSCRIPT")) {
+    return true;
+   }
+
+   current = current.getCause();
+  }
+
+  return false;
+ }
+}
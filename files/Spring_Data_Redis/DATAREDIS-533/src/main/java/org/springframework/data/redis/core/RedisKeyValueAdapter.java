@@ -38,6 +38,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.keyvalue.core.AbstractKeyValueAdapter;
 import org.springframework.data.keyvalue.core.KeyValueAdapter;
 import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentProperty;
@@ -47,6 +48,8 @@ import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.PartialUpdate.PropertyUpdate;
 import org.springframework.data.redis.core.PartialUpdate.UpdateCommand;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.CompactBucketCodec;
 import org.springframework.data.redis.core.convert.CustomConversions;
 import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
 import org.springframework.data.redis.core.convert.MappingRedisConverter;
@@ -90,6 +93,8 @@ import org.springframework.util.ObjectUtils;
  * </pre>
  *
  * <br />
+ * Types annotated with {@link CompactHash} are stored as a single hash field holding a compact binary document. Both
+ * layouts are read, so existing entries remain accessible and are converted on the next write. <br />
  * The {@link KeyValueAdapter} is <strong>not</strong> intended to store simple types such as {@link String} values.
  * Please use {@link RedisTemplate} for this purpose.
  *
@@ -101,6 +106,7 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
   implements InitializingBean, ApplicationContextAware, ApplicationListener<RedisKeyspaceEvent> {
 
  private static final Logger LOGGER = LoggerFactory.getLogger(RedisKeyValueAdapter.class);
+ private static final int MAX_COMPACT_UPDATE_ATTEMPTS = 16;
 
  private RedisOperations<?, ?> redisOps;
  private RedisConverter converter;
@@ -111,6 +117,7 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
 
  private EnableKeyspaceEvents enableKeyspaceEvents = EnableKeyspaceEvents.OFF;
  private String keyspaceNotificationsConfigParameter = null;
+ private boolean scriptedWrites = false;
 
  /**
   * Creates new {@link RedisKeyValueAdapter} with default {@link RedisMappingContext} and default
@@ -218,6 +225,12 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
     byte[] key = toBytes(rdo.getId());
     byte[] objectKey = createKey(rdo.getKeyspace(), rdo.getId());
 
+    if (scriptedWrites) {
+
+     new RedisDataScriptWriter(connection, converter).write(objectKey, key, rdo);
+     return null;
+    }
+
     boolean isNew = connection.del(objectKey) == 0;
 
     connection.hMSet(objectKey, rdo.getBucket().rawMap());
@@ -436,6 +449,12 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
   final RedisData rdo = new RedisData();
   this.converter.write(update, rdo);
 
+  if (CompactBucketCodec.isCompactType(entity.getType())) {
+
+   updateCompact(update, redisKey, rdo);
+   return;
+  }
+
   redisOps.execute(new RedisCallback<Void>() {
 
    @Override
@@ -445,14 +464,9 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
 
     for (PropertyUpdate pUpdate : update.getPropertyUpdates()) {
 
-     String propertyPath = pUpdate.getPropertyPath();
-
-     if (UpdateCommand.DEL.equals(pUpdate.getCmd()) || pUpdate.getValue() instanceof Collection
-       || pUpdate.getValue() instanceof Map
-       || (pUpdate.getValue() != null && pUpdate.getValue().getClass().isArray()) || (pUpdate.getValue() != null
-         && !converter.getConversionService().canConvert(pUpdate.getValue().getClass(), byte[].class))) {
-
-      redisUpdateObject = fetchDeletePathsFromHashAndUpdateIndex(redisUpdateObject, propertyPath, connection);
+     if (requiresRemovalOfExistingPaths(pUpdate)) {
+      redisUpdateObject = fetchDeletePathsFromHashAndUpdateIndex(redisUpdateObject, pUpdate.getPropertyPath(),
+        connection);
      }
     }
 
@@ -497,6 +511,140 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
   });
  }
 
+ /**
+  * Apply the {@link PartialUpdate} to an entity stored in the {@link CompactBucketCodec compact layout} by reading,
+  * merging and rewriting the whole document. The hash is {@literal WATCH}ed while reading and rewritten within a
+  * transaction that is retried in case of a concurrent modification, so that concurrent partial updates do not lose
+  * each other's fields. Entities using the compact layout do not have indexes to maintain.
+  *
+  * @param update
+  * @param redisKey
+  * @param rdo the already converted update.
+  * @throws OptimisticLockingFailureException if the update cannot be applied after
+  *           {@value #MAX_COMPACT_UPDATE_ATTEMPTS} attempts.
+  */
+ private void updateCompact(final PartialUpdate<?> update, final byte[] redisKey, final RedisData rdo) {
+
+  final List<String> pathsToRemove = new ArrayList<String>();
+  for (PropertyUpdate pUpdate : update.getPropertyUpdates()) {
+   if (requiresRemovalOfExistingPaths(pUpdate)) {
+    pathsToRemove.add(pUpdate.getPropertyPath());
+   }
+  }
+
+  redisOps.execute(new RedisCallback<Void>() {
+
+   @Override
+   public Void doInRedis(RedisConnection connection) throws DataAccessException {
+
+    for (int attempt = 0; attempt < MAX_COMPACT_UPDATE_ATTEMPTS; attempt++) {
+
+     connection.watch(redisKey);
+
+     Bucket stored;
+     Map<byte[], byte[]> raw;
+
+     try {
+
+      stored = Bucket.newBucketFromRawMap(connection.hGetAll(redisKey));
+      raw = CompactBucketCodec.compact(merge(stored, rdo.getBucket(), pathsToRemove)).rawMap();
+     } catch (RuntimeException e) {
+
+      connection.unwatch();
+      throw e;
+     }
+
+     connection.multi();
+     writeCompact(connection, stored, raw);
+
+     List<Object> results = connection.exec();
+
+     // an aborted transaction has no results, a committed one at least the result of HMSET.
+     if (results != null && !results.isEmpty()) {
+      return null;
+     }
+    }
+
+    throw new OptimisticLockingFailureException(
+      String.format("Could not update %s with id %s within %s attempts due to concurrent modification.",
+        update.getTarget().getName(), update.getId(), MAX_COMPACT_UPDATE_ATTEMPTS));
+   }
+
+   private void writeCompact(RedisConnection connection, Bucket stored, Map<byte[], byte[]> raw) {
+
+    // drop fields of a previously path based representation
+    List<byte[]> staleFields = new ArrayList<byte[]>();
+    for (String field : stored.keySet()) {
+     if (!CompactBucketCodec.COMPACT_FIELD.equals(field)) {
+      staleFields.add(toBytes(field));
+     }
+    }
+
+    if (!staleFields.isEmpty()) {
+     connection.hDel(redisKey, staleFields.toArray(new byte[staleFields.size()][]));
+    }
+
+    connection.hMSet(redisKey, raw);
+
+    if (update.isRefreshTtl()) {
+
+     byte[] phantomKey = ByteUtils.concat(redisKey, toBytes(":phantom"));
+
+     if (rdo.getTimeToLive() != null && rdo.getTimeToLive().longValue() > 0) {
+
+      connection.expire(redisKey, rdo.getTimeToLive().longValue());
+
+      // add phantom key so values can be restored
+      connection.del(phantomKey);
+      connection.hMSet(phantomKey, raw);
+      connection.expire(phantomKey, rdo.getTimeToLive().longValue() + 300);
+     } else {
+
+      connection.persist(redisKey);
+      connection.persist(phantomKey);
+     }
+    }
+   }
+  });
+ }
+
+ private static Bucket merge(Bucket stored, Bucket update, List<String> pathsToRemove) {
+
+  Bucket merged = new Bucket();
+  for (Entry<String, byte[]> entry : CompactBucketCodec.expand(stored).entrySet()) {
+   if (!isPathOrNestedPathOf(entry.getKey(), pathsToRemove)) {
+    merged.put(entry.getKey(), entry.getValue());
+   }
+  }
+
+  for (Entry<String, byte[]> entry : update.entrySet()) {
+   if (entry.getValue() != null) {
+    merged.put(entry.getKey(), entry.getValue());
+   }
+  }
+
+  return merged;
+ }
+
+ private boolean requiresRemovalOfExistingPaths(PropertyUpdate pUpdate) {
+
+  Object value = pUpdate.getValue();
+
+  return UpdateCommand.DEL.equals(pUpdate.getCmd()) || value instanceof Collection || value instanceof Map
+    || (value != null && value.getClass().isArray())
+    || (value != null && !converter.getConversionService().canConvert(value.getClass(), byte[].class));
+ }
+
+ private static boolean isPathOrNestedPathOf(String candidate, List<String> paths) {
+
+  for (String path : paths) {
+   if (candidate.equals(path) || candidate.startsWith(path + ".")) {
+    return true;
+   }
+  }
+  return false;
+ }
+
  private RedisUpdateObject fetchDeletePathsFromHashAndUpdateIndex(RedisUpdateObject redisUpdateObject, String path,
    RedisConnection connection) {
 
@@ -652,6 +800,20 @@ public class RedisKeyValueAdapter extends AbstractKeyValueAdapter
   this.keyspaceNotificationsConfigParameter = keyspaceNotificationsConfigParameter;
  }
 
+ /**
+  * Configure whether {@link #put(Serializable, Object, Serializable)} should write the hash, the phantom copy used for
+  * expiration events and all secondary index updates within one single server side Lua script instead of issuing
+  * separate commands for each of them. The script is cached on the server and invoked via {@literal EVALSHA}. <br />
+  * Scripted writes require all index keys to be served by the same node as the object key and hence cannot be used
+  * with Redis Cluster.
+  *
+  * @param scriptedWrites {@literal true} to use scripted writes. Defaults to {@literal false}.
+  * @since 1.8
+  */
+ public void setScriptedWrites(boolean scriptedWrites) {
+  this.scriptedWrites = scriptedWrites;
+ }
+
  /**
   * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
   * @since 1.8
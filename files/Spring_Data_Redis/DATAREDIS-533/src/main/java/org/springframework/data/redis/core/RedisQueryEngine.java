@@ -20,18 +20,34 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.keyvalue.core.CriteriaAccessor;
 import org.springframework.data.keyvalue.core.QueryEngine;
 import org.springframework.data.keyvalue.core.SortAccessor;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands.Limit;
+import org.springframework.data.redis.connection.RedisZSetCommands.Range;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
 import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.index.IndexConfiguration;
+import org.springframework.data.redis.core.index.IndexDefinition;
+import org.springframework.data.redis.core.index.RangeIndexDefinition;
+import org.springframework.data.redis.core.index.RangeIndexDefinition.ScoreValueTransformer;
+import org.springframework.data.redis.core.index.RangeIndexed;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.core.mapping.RedisPersistentEntity;
 import org.springframework.data.redis.repository.query.RedisOperationChain;
+import org.springframework.data.redis.repository.query.RedisOperationChain.PathAndRange;
 import org.springframework.data.redis.repository.query.RedisOperationChain.PathAndValue;
 import org.springframework.data.redis.util.ByteUtils;
 import org.springframework.util.CollectionUtils;
@@ -73,8 +89,8 @@ class RedisQueryEngine extends QueryEngine<RedisKeyValueAdapter, RedisOperationC
  public <T> Collection<T> execute(final RedisOperationChain criteria, final Comparator<?> sort, final int offset,
    final int rows, final Serializable keyspace, Class<T> type) {
 
-  if (criteria == null
-    || (CollectionUtils.isEmpty(criteria.getOrSismember()) && CollectionUtils.isEmpty(criteria.getSismember()))) {
+  if (criteria == null || (CollectionUtils.isEmpty(criteria.getOrSismember())
+    && CollectionUtils.isEmpty(criteria.getSismember()) && CollectionUtils.isEmpty(criteria.getZrangebyscore()))) {
    return (Collection<T>) getAdapter().getAllOf(keyspace, offset, rows);
   }
 
@@ -91,26 +107,16 @@ class RedisQueryEngine extends QueryEngine<RedisKeyValueAdapter, RedisOperationC
      i++;
     }
 
-    List<byte[]> allKeys = new ArrayList<byte[]>();
-    if (!criteria.getSismember().isEmpty()) {
-     allKeys.addAll(connection.sInter(keys(keyspace + ":", criteria.getSismember())));
-    }
-    if (!criteria.getOrSismember().isEmpty()) {
-     allKeys.addAll(connection.sUnion(keys(keyspace + ":", criteria.getOrSismember())));
-    }
+    List<byte[]> allKeys = findIds(connection, criteria, keyspace, offset, rows);
 
     byte[] keyspaceBin = getAdapter().getConverter().getConversionService().convert(keyspace + ":", byte[].class);
 
     final Map<byte[], Map<byte[], byte[]>> rawData = new LinkedHashMap<byte[], Map<byte[], byte[]>>();
 
-    if (allKeys.isEmpty() || allKeys.size() < offset) {
+    if (allKeys.isEmpty()) {
      return Collections.emptyMap();
     }
 
-    int offsetToUse = Math.max(0, offset);
-    if (rows > 0) {
-     allKeys = allKeys.subList(Math.max(0, offsetToUse), Math.min(offsetToUse + rows, allKeys.size()));
-    }
     for (byte[] id : allKeys) {
 
      byte[] singleKey = ByteUtils.concat(keyspaceBin, id);
@@ -166,6 +172,16 @@ class RedisQueryEngine extends QueryEngine<RedisKeyValueAdapter, RedisOperationC
    @Override
    public Long doInRedis(RedisConnection connection) throws DataAccessException {
 
+    if (isSingleRangeQuery(criteria)) {
+
+     PathAndRange pathAndRange = criteria.getZrangebyscore().iterator().next();
+     return connection.zCount(rangeIndexKey(keyspace, pathAndRange), toScoreRange(pathAndRange.getRange()));
+    }
+
+    if (!criteria.getZrangebyscore().isEmpty()) {
+     return (long) findIds(connection, criteria, keyspace, -1, -1).size();
+    }
+
     String key = keyspace + ":";
     byte[][] keys = new byte[criteria.getSismember().size()][];
     int i = 0;
@@ -178,6 +194,199 @@ class RedisQueryEngine extends QueryEngine<RedisKeyValueAdapter, RedisOperationC
   });
  }
 
+ /**
+  * Find the ids matching the given {@link RedisOperationChain}. Single range queries are paged on the server via
+  * {@literal ZRANGEBYSCORE ... LIMIT}, all other criteria are resolved first and paged afterwards.
+  *
+  * @param connection
+  * @param criteria
+  * @param keyspace
+  * @param offset
+  * @param rows
+  * @return never {@literal null}.
+  */
+ private List<byte[]> findIds(RedisConnection connection, RedisOperationChain criteria, Serializable keyspace,
+   int offset, int rows) {
+
+  if (isSingleRangeQuery(criteria)) {
+
+   PathAndRange pathAndRange = criteria.getZrangebyscore().iterator().next();
+   return new ArrayList<byte[]>(
+     rangeByScore(connection, keyspace, pathAndRange, isDescending(criteria, pathAndRange), offset, rows));
+  }
+
+  List<byte[]> allKeys = new ArrayList<byte[]>();
+  if (!criteria.getSismember().isEmpty()) {
+   allKeys.addAll(connection.sInter(keys(keyspace + ":", criteria.getSismember())));
+  }
+  if (!criteria.getOrSismember().isEmpty()) {
+   allKeys.addAll(connection.sUnion(keys(keyspace + ":", criteria.getOrSismember())));
+  }
+
+  if (!criteria.getZrangebyscore().isEmpty()) {
+   allKeys = filterByRanges(connection, criteria, keyspace, allKeys);
+  }
+
+  if (allKeys.isEmpty() || allKeys.size() < offset) {
+   return Collections.emptyList();
+  }
+
+  int offsetToUse = Math.max(0, offset);
+  if (rows > 0) {
+   allKeys = allKeys.subList(Math.max(0, offsetToUse), Math.min(offsetToUse + rows, allKeys.size()));
+  }
+
+  return allKeys;
+ }
+
+ /**
+  * Intersect the given candidates with the ids contained in each of the range indexes. The result follows the order
+  * of the range index used for sorting, if any.
+  */
+ private List<byte[]> filterByRanges(RedisConnection connection, RedisOperationChain criteria,
+   Serializable keyspace, List<byte[]> candidates) {
+
+  List<byte[]> result = criteria.getSismember().isEmpty() && criteria.getOrSismember().isEmpty() ? null
+    : candidates;
+  PathAndRange sortedRange = getSortedRange(criteria);
+
+  for (PathAndRange pathAndRange : criteria.getZrangebyscore()) {
+
+   List<byte[]> ids = new ArrayList<byte[]>(rangeByScore(connection, keyspace, pathAndRange,
+     isDescending(criteria, pathAndRange), -1, -1));
+
+   if (result == null) {
+    result = ids;
+   } else if (pathAndRange == sortedRange) {
+    result = retain(ids, result);
+   } else {
+    result = retain(result, ids);
+   }
+  }
+
+  return result;
+ }
+
+ private Set<byte[]> rangeByScore(RedisConnection connection, Serializable keyspace, PathAndRange pathAndRange,
+   boolean descending, int offset, int rows) {
+
+  byte[] key = rangeIndexKey(keyspace, pathAndRange);
+  Range range = toScoreRange(pathAndRange.getRange());
+
+  if (rows > 0) {
+
+   Limit limit = Limit.limit().offset(Math.max(0, offset)).count(rows);
+   return descending ? connection.zRevRangeByScore(key, range, limit) : connection.zRangeByScore(key, range, limit);
+  }
+
+  return descending ? connection.zRevRangeByScore(key, range) : connection.zRangeByScore(key, range);
+ }
+
+ private byte[] rangeIndexKey(Serializable keyspace, PathAndRange pathAndRange) {
+
+  String indexName = getRangeIndexName(keyspace, pathAndRange.getPath());
+  return getAdapter().getConverter().getConversionService()
+    .convert(keyspace + ":" + indexName + IndexWriter.RANGE_INDEX_SUFFIX, byte[].class);
+ }
+
+ /**
+  * Resolve the name of the {@link RangeIndexDefinition} the given path is indexed with. Definitions registered via
+  * {@link IndexConfiguration} are considered first, {@link RangeIndexed} properties are indexed by their path.
+  *
+  * @param keyspace
+  * @param path
+  * @return never {@literal null}.
+  * @throws InvalidDataAccessApiUsageException if the path is not range indexed, as the query would silently return no
+  *           results otherwise.
+  */
+ private String getRangeIndexName(Serializable keyspace, String path) {
+
+  RedisMappingContext mappingContext = getAdapter().getConverter().getMappingContext();
+
+  for (IndexDefinition indexDefinition : mappingContext.getMappingConfiguration().getIndexConfiguration()
+    .getIndexDefinitionsFor(keyspace, path)) {
+
+   if (indexDefinition instanceof RangeIndexDefinition) {
+    return indexDefinition.getIndexName();
+   }
+  }
+
+  for (RedisPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+
+   if (keyspace.equals(entity.getKeySpace()) && mappingContext.getPersistentPropertyPath(path, entity.getType())
+     .getLeafProperty().isAnnotationPresent(RangeIndexed.class)) {
+    return path;
+   }
+  }
+
+  throw new InvalidDataAccessApiUsageException(String.format("No range index defined for %s in keyspace %s. "
+    + "Please annotate the property with @RangeIndexed or register a RangeIndexDefinition.", path, keyspace));
+ }
+
+ private static Range toScoreRange(Range source) {
+
+  Range range = Range.range();
+
+  if (source.getMin() != null && source.getMin().getValue() != null) {
+
+   Double min = ScoreValueTransformer.INSTANCE.convert(source.getMin().getValue());
+   range = source.getMin().isIncluding() ? range.gte(min) : range.gt(min);
+  }
+
+  if (source.getMax() != null && source.getMax().getValue() != null) {
+
+   Double max = ScoreValueTransformer.INSTANCE.convert(source.getMax().getValue());
+   range = source.getMax().isIncluding() ? range.lte(max) : range.lt(max);
+  }
+
+  return range;
+ }
+
+ private static List<byte[]> retain(List<byte[]> source, Collection<byte[]> filter) {
+
+  Set<ByteArrayWrapper> lookup = new HashSet<ByteArrayWrapper>(filter.size());
+  for (byte[] value : filter) {
+   lookup.add(new ByteArrayWrapper(value));
+  }
+
+  List<byte[]> result = new ArrayList<byte[]>();
+  for (byte[] value : source) {
+   if (lookup.contains(new ByteArrayWrapper(value))) {
+    result.add(value);
+   }
+  }
+  return result;
+ }
+
+ private static boolean isSingleRangeQuery(RedisOperationChain criteria) {
+  return criteria.getSismember().isEmpty() && criteria.getOrSismember().isEmpty()
+    && criteria.getZrangebyscore().size() == 1;
+ }
+
+ private static PathAndRange getSortedRange(RedisOperationChain criteria) {
+
+  if (criteria.getSort() == null) {
+   return null;
+  }
+
+  for (PathAndRange pathAndRange : criteria.getZrangebyscore()) {
+   if (criteria.getSort().getOrderFor(pathAndRange.getPath()) != null) {
+    return pathAndRange;
+   }
+  }
+  return null;
+ }
+
+ private static boolean isDescending(RedisOperationChain criteria, PathAndRange pathAndRange) {
+
+  if (criteria.getSort() == null) {
+   return false;
+  }
+
+  Order order = criteria.getSort().getOrderFor(pathAndRange.getPath());
+  return order != null && Direction.DESC.equals(order.getDirection());
+ }
+
  private byte[][] keys(String prefix, Collection<PathAndValue> source) {
 
   byte[][] keys = new byte[source.size()][];
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core.convert;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.redis.core.CompactHash;
+import org.springframework.util.Assert;
+
+/**
+ * Codec converting a path based {@link Bucket} into its compact representation and back. The compact {@link Bucket}
+ * holds a single {@link #COMPACT_FIELD} whose value is laid out as follows:
+ *
+ * <pre>
+ * <code>
+ * version                            1 byte
+ * dictionary size                    varint
+ *   segment length, segment bytes    varint, UTF-8 (repeated)
+ * entry count                        varint
+ *   segment count                    varint
+ *     dictionary index               varint (repeated)
+ *   value length, value bytes        varint, raw (repeated)
+ * </code>
+ * </pre>
+ *
+ * Paths are split into their dot separated segments and each distinct segment is stored only once, so that
+ * {@code coworkers.[0].firstname} and {@code coworkers.[1].firstname} share the {@code coworkers} and
+ * {@code firstname} entries of the dictionary. Varints use the unsigned LEB128 encoding.
+ *
+ * @since 1.8
+ * @see CompactHash
+ */
+public final class CompactBucketCodec {
+
+ /**
+  * Name of the hash field holding the compact document.
+  */
+ public static final String COMPACT_FIELD = "_compact";
+
+ private static final byte VERSION = 1;
+
+ private CompactBucketCodec() {}
+
+ /**
+  * @param type can be {@literal null}.
+  * @return {@literal true} if the given type is annotated with {@link CompactHash}.
+  */
+ public static boolean isCompactType(Class<?> type) {
+  return type != null && AnnotationUtils.findAnnotation(type, CompactHash.class) != null;
+ }
+
+ /**
+  * @param bucket can be {@literal null}.
+  * @return {@literal true} if the given {@link Bucket} holds a compact document.
+  */
+ public static boolean isCompact(Bucket bucket) {
+  return bucket != null && bucket.get(COMPACT_FIELD) != null;
+ }
+
+ /**
+  * Create the compact representation of the given path based {@link Bucket}. {@literal null} values are skipped.
+  *
+  * @param bucket must not be {@literal null}.
+  * @return new {@link Bucket} holding the {@link #COMPACT_FIELD} only.
+  */
+ public static Bucket compact(Bucket bucket) {
+
+  Assert.notNull(bucket, "Bucket must not be null!");
+
+  Bucket compact = new Bucket();
+  compact.put(COMPACT_FIELD, encode(bucket));
+  return compact;
+ }
+
+ /**
+  * Restore the path based {@link Bucket} from a compact one. Returns the given {@link Bucket} as is if it does not
+  * hold a compact document.
+  *
+  * @param bucket must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ public static Bucket expand(Bucket bucket) {
+
+  Assert.notNull(bucket, "Bucket must not be null!");
+
+  if (!isCompact(bucket)) {
+   return bucket;
+  }
+
+  return decode(bucket.get(COMPACT_FIELD));
+ }
+
+ /**
+  * Encode the entries of the given {@link Bucket}.
+  *
+  * @param bucket must not be {@literal null}.
+  * @return never {@literal null}.
+  */
+ public static byte[] encode(Bucket bucket) {
+
+  Assert.notNull(bucket, "Bucket must not be null!");
+
+  Map<String, Integer> dictionary = new LinkedHashMap<String, Integer>();
+  List<int[]> paths = new ArrayList<int[]>(bucket.size());
+  List<byte[]> values = new ArrayList<byte[]>(bucket.size());
+
+  for (Map.Entry<String, byte[]> entry : bucket.entrySet()) {
+
+   if (entry.getValue() == null) {
+    continue;
+   }
+
+   List<String> segments = split(entry.getKey());
+   int[] path = new int[segments.size()];
+
+   for (int i = 0; i < path.length; i++) {
+
+    Integer index = dictionary.get(segments.get(i));
+    if (index == null) {
+     index = dictionary.size();
+     dictionary.put(segments.get(i), index);
+    }
+    path[i] = index;
+   }
+
+   paths.add(path);
+   values.add(entry.getValue());
+  }
+
+  ByteArrayOutputStream out = new ByteArrayOutputStream();
+  out.write(VERSION);
+
+  writeVarInt(out, dictionary.size());
+  for (String segment : dictionary.keySet()) {
+   writeBytes(out, segment.getBytes(Bucket.CHARSET));
+  }
+
+  writeVarInt(out, paths.size());
+  for (int i = 0; i < paths.size(); i++) {
+
+   int[] path = paths.get(i);
+   writeVarInt(out, path.length);
+   for (int index : path) {
+    writeVarInt(out, index);
+   }
+   writeBytes(out, values.get(i));
+  }
+
+  return out.toByteArray();
+ }
+
+ /**
+  * Decode a document created via {@link #encode(Bucket)}.
+  *
+  * @param source must not be {@literal null}.
+  * @return never {@literal null}.
+  * @throws MappingException if the source is not a valid compact document.
+  */
+ public static Bucket decode(byte[] source) {
+
+  Assert.notNull(source, "Source must not be null!");
+
+  try {
+
+   ByteBuffer buffer = ByteBuffer.wrap(source);
+
+   byte version = buffer.get();
+   if (version != VERSION) {
+    throw new MappingException(String.format("Unsupported compact bucket version %s.", version));
+   }
+
+   String[] dictionary = new String[readVarInt(buffer)];
+   for (int i = 0; i < dictionary.length; i++) {
+    dictionary[i] = new String(readBytes(buffer), Bucket.CHARSET);
+   }
+
+   Bucket bucket = new Bucket();
+   int entries = readVarInt(buffer);
+
+   for (int i = 0; i < entries; i++) {
+
+    int segments = readVarInt(buffer);
+    StringBuilder path = new StringBuilder();
+
+    for (int j = 0; j < segments; j++) {
+
+     if (j > 0) {
+      path.append('.');
+     }
+     path.append(dictionary[readVarInt(buffer)]);
+    }
+
+    bucket.put(path.toString(), readBytes(buffer));
+   }
+
+   return bucket;
+  } catch (BufferUnderflowException e) {
+   throw new MappingException("Compact bucket is truncated.", e);
+  } catch (ArrayIndexOutOfBoundsException e) {
+   throw new MappingException("Compact bucket references unknown dictionary entry.", e);
+  }
+ }
+
+ private static List<String> split(String path) {
+
+  List<String> segments = new ArrayList<String>();
+
+  int start = 0;
+  int index;
+  while ((index = path.indexOf('.', start)) != -1) {
+
+   segments.add(path.substring(start, index));
+   start = index + 1;
+  }
+  segments.add(path.substring(start));
+
+  return segments;
+ }
+
+ private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+
+  writeVarInt(out, bytes.length);
+  out.write(bytes, 0, bytes.length);
+ }
+
+ private static void writeVarInt(ByteArrayOutputStream out, int value) {
+
+  while ((value & ~0x7F) != 0) {
+
+   out.write((value & 0x7F) | 0x80);
+   value >>>= 7;
+  }
+  out.write(value);
+ }
+
+ private static byte[] readBytes(ByteBuffer buffer) {
+
+  byte[] bytes = new byte[readVarInt(buffer)];
+  buffer.get(bytes);
+  return bytes;
+ }
+
+ private static int readVarInt(ByteBuffer buffer) {
+
+  int value = 0;
+  int shift = 0;
+  byte current;
+
+  do {
+
+   if (shift > 28) {
+    throw new MappingException("Malformed varint in compact bucket.");
+   }
+
+   current = buffer.get();
+   value |= (current & 0x7F) << shift;
+   shift += 7;
+  } while ((current & 0x80) != 0);
+
+  if (value < 0) {
+   throw new MappingException("Malformed varint in compact bucket.");
+  }
+
+  return value;
+ }
+}
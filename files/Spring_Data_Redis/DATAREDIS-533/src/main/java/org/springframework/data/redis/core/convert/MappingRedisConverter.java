@@ -106,6 +106,9 @@ import org.springframework.util.comparator.NullSafeComparator;
  * </code>
  * </pre>
  *
+ * Types annotated with {@link org.springframework.data.redis.core.CompactHash} are written as a single
+ * {@link CompactBucketCodec#COMPACT_FIELD} holding the above in binary form. Both representations are read.
+ *
  * @author Christoph Strobl
  * @author Greg Turnquist
  * @author Mark Paluch
@@ -166,7 +169,19 @@ public class MappingRedisConverter implements RedisConverter, InitializingBean {
   */
  @Override
  public <R> R read(Class<R> type, final RedisData source) {
-  return readInternal("", type, source);
+  return readInternal("", type, expandIfCompact(source));
+ }
+
+ private RedisData expandIfCompact(RedisData source) {
+
+  if (!CompactBucketCodec.isCompact(source.getBucket())) {
+   return source;
+  }
+
+  RedisData expanded = new RedisData(CompactBucketCodec.expand(source.getBucket()));
+  expanded.setId(source.getId());
+  expanded.setKeyspace(source.getKeyspace());
+  return expanded;
  }
 
  @SuppressWarnings("unchecked")
@@ -362,6 +377,32 @@ public class MappingRedisConverter implements RedisConverter, InitializingBean {
    return;
   }
 
+  if (!CompactBucketCodec.isCompactType(ClassUtils.getUserClass(source))) {
+
+   writeEntity(source, sink);
+   assertNoReservedField(sink, source.getClass());
+   return;
+  }
+
+  RedisData flat = new RedisData();
+  writeEntity(source, flat);
+
+  if (!flat.getIndexedData().isEmpty()) {
+   throw new MappingException(
+     String.format("Type %s uses compact hash encoding and must not define indexes.", source.getClass()));
+  }
+
+  sink.setKeyspace(flat.getKeyspace());
+  sink.setId(flat.getId());
+  if (flat.getTimeToLive() != null) {
+   sink.setTimeToLive(flat.getTimeToLive());
+  }
+  sink.getBucket().put(CompactBucketCodec.COMPACT_FIELD, CompactBucketCodec.encode(flat.getBucket()));
+ }
+
+ @SuppressWarnings({ "rawtypes" })
+ private void writeEntity(Object source, RedisData sink) {
+
   final RedisPersistentEntity entity = mappingContext.getPersistentEntity(source.getClass());
 
   if (!customConversions.hasCustomWriteTarget(source.getClass())) {
@@ -394,7 +435,9 @@ public class MappingRedisConverter implements RedisConverter, InitializingBean {
 
   RedisPersistentEntity<?> entity = mappingContext.getPersistentEntity(update.getTarget());
 
-  write(update.getValue(), sink);
+  if (update.getValue() != null) {
+   writeEntity(update.getValue(), sink);
+  }
   if (sink.getBucket().keySet().contains(TYPE_HINT_ALIAS)) {
    sink.getBucket().put(TYPE_HINT_ALIAS, null); // overwrite stuff in here
   }
@@ -415,6 +458,22 @@ public class MappingRedisConverter implements RedisConverter, InitializingBean {
     writePartialPropertyUpdate(update, pUpdate, sink, entity, path);
    }
   }
+
+  if (!CompactBucketCodec.isCompactType(update.getTarget())) {
+   assertNoReservedField(sink, update.getTarget());
+  }
+ }
+
+ /**
+  * Hashes holding {@link CompactBucketCodec#COMPACT_FIELD} are read as compact documents. Path based hashes must
+  * therefore not contain a top level property of that name.
+  */
+ private static void assertNoReservedField(RedisData sink, Class<?> type) {
+
+  if (sink.getBucket().get(CompactBucketCodec.COMPACT_FIELD) != null) {
+   throw new MappingException(String.format("Type %s must not define a property named %s as it is reserved.", type,
+     CompactBucketCodec.COMPACT_FIELD));
+  }
  }
 
  /**
@@ -30,6 +30,8 @@ import org.springframework.data.redis.core.index.IndexDefinition;
 import org.springframework.data.redis.core.index.IndexDefinition.Condition;
 import org.springframework.data.redis.core.index.IndexDefinition.IndexingContext;
 import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.core.index.RangeIndexDefinition;
+import org.springframework.data.redis.core.index.RangeIndexed;
 import org.springframework.data.redis.core.index.SimpleIndexDefinition;
 import org.springframework.data.redis.core.mapping.RedisMappingContext;
 import org.springframework.data.redis.core.mapping.RedisPersistentEntity;
@@ -40,8 +42,8 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
 /**
- * {@link IndexResolver} implementation considering properties annotated with {@link Indexed} or paths set up in
- * {@link IndexConfiguration}.
+ * {@link IndexResolver} implementation considering properties annotated with {@link Indexed}, {@link RangeIndexed} or
+ * paths set up in {@link IndexConfiguration}.
  *
  * @author Christoph Strobl
  * @author Greg Turnquist
@@ -206,8 +208,7 @@ public class PathIndexResolver implements IndexResolver {
 
     Object transformedValue = indexDefinition.valueTransformer().convert(value);
 
-    IndexedData indexedData = new SimpleIndexedPropertyValue(keyspace, indexDefinition.getIndexName(),
-      transformedValue);
+    IndexedData indexedData = createIndexedData(keyspace, indexDefinition, transformedValue);
     if (transformedValue == null) {
      indexedData = new RemoveIndexedData(indexedData);
     }
@@ -215,6 +216,17 @@ public class PathIndexResolver implements IndexResolver {
    }
   }
 
+  else if (property != null && property.isAnnotationPresent(RangeIndexed.class)) {
+
+   RangeIndexDefinition indexDefinition = new RangeIndexDefinition(keyspace, path);
+   indexConfiguration.addIndexDefinition(indexDefinition);
+
+   Object transformedValue = indexDefinition.valueTransformer().convert(value);
+   if (transformedValue != null) {
+    data.add(createIndexedData(keyspace, indexDefinition, transformedValue));
+   }
+  }
+
   else if (property != null && property.isAnnotationPresent(Indexed.class)) {
 
    SimpleIndexDefinition indexDefinition = new SimpleIndexDefinition(keyspace, path);
@@ -226,6 +238,16 @@ public class PathIndexResolver implements IndexResolver {
   return data;
  }
 
+ private IndexedData createIndexedData(String keyspace, IndexDefinition indexDefinition, Object transformedValue) {
+
+  if (indexDefinition instanceof RangeIndexDefinition) {
+   return new RangeIndexedPropertyValue(keyspace, indexDefinition.getIndexName(),
+     transformedValue != null ? ((Number) transformedValue).doubleValue() : 0D);
+  }
+
+  return new SimpleIndexedPropertyValue(keyspace, indexDefinition.getIndexName(), transformedValue);
+ }
+
  @SuppressWarnings({ "rawtypes", "unchecked" })
  private boolean verifyConditions(Iterable<Condition<?>> conditions, Object value, IndexingContext context) {
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core.convert;
+
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link IndexedData} implementation indicating storage of data within a Redis {@literal SORTED SET} using the value
+ * as score.
+ *
+ * @since 1.8
+ */
+public class RangeIndexedPropertyValue implements IndexedData {
+
+ private final String keyspace;
+ private final String indexName;
+ private final double score;
+
+ /**
+  * Creates new {@link RangeIndexedPropertyValue}.
+  *
+  * @param keyspace must not be {@literal null}.
+  * @param indexName must not be {@literal null}.
+  * @param score
+  */
+ public RangeIndexedPropertyValue(String keyspace, String indexName, double score) {
+
+  this.keyspace = keyspace;
+  this.indexName = indexName;
+  this.score = score;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.convert.IndexedData#getIndexName()
+  */
+ @Override
+ public String getIndexName() {
+  return indexName;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.convert.IndexedData#getKeyspace()
+  */
+ @Override
+ public String getKeyspace() {
+  return keyspace;
+ }
+
+ /**
+  * Get the score to be used for the entity within the range index.
+  *
+  * @return
+  */
+ public double getScore() {
+  return score;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return "RangeIndexedPropertyValue [keyspace=" + keyspace + ", indexName=" + indexName + ", score=" + score + "]";
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#hashCode()
+  */
+ @Override
+ public int hashCode() {
+
+  int result = ObjectUtils.nullSafeHashCode(keyspace);
+  result += ObjectUtils.nullSafeHashCode(indexName);
+  result += ObjectUtils.hashCode(score);
+  return result;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#equals(java.lang.Object)
+  */
+ @Override
+ public boolean equals(Object obj) {
+
+  if (this == obj) {
+   return true;
+  }
+  if (!(obj instanceof RangeIndexedPropertyValue)) {
+   return false;
+  }
+
+  RangeIndexedPropertyValue that = (RangeIndexedPropertyValue) obj;
+
+  if (!ObjectUtils.nullSafeEquals(this.keyspace, that.keyspace)) {
+   return false;
+  }
+  if (!ObjectUtils.nullSafeEquals(this.indexName, that.indexName)) {
+   return false;
+  }
+  return Double.compare(this.score, that.score) == 0;
+ }
+}
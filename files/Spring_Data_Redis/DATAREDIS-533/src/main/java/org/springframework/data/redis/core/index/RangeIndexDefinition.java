@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core.index;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * {@link PathBasedRedisIndexDefinition} for including property values in a secondary range index backed by a Redis
+ * {@literal SORTED SET}.
+ *
+ * @since 1.8
+ */
+public class RangeIndexDefinition extends RedisIndexDefinition implements PathBasedRedisIndexDefinition {
+
+ /**
+  * Creates new {@link RangeIndexDefinition}.
+  *
+  * @param keyspace must not be {@literal null}.
+  * @param path
+  */
+ public RangeIndexDefinition(String keyspace, String path) {
+  this(keyspace, path, path);
+ }
+
+ /**
+  * Creates new {@link RangeIndexDefinition}.
+  *
+  * @param keyspace must not be {@literal null}.
+  * @param path
+  * @param name must not be {@literal null}.
+  */
+ public RangeIndexDefinition(String keyspace, String path, String name) {
+  super(keyspace, path, name);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.index.RedisIndexDefinition#valueTransformer()
+  */
+ @Override
+ public IndexValueTransformer valueTransformer() {
+
+  IndexValueTransformer transformer = super.valueTransformer();
+
+  if (transformer == NoOpValueTransformer.INSTANCE) {
+   return ScoreValueTransformer.INSTANCE;
+  }
+
+  return new CompositeValueTransformer(
+    Arrays.<IndexValueTransformer> asList(transformer, ScoreValueTransformer.INSTANCE));
+ }
+
+ /**
+  * {@link IndexValueTransformer} converting {@link Number}, {@link Date} and {@link Calendar} values into the
+  * {@link Double} score used for the {@literal SORTED SET} range index.
+  *
+  * @since 1.8
+  */
+ public static enum ScoreValueTransformer implements IndexValueTransformer {
+  INSTANCE;
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.core.convert.converter.Converter#convert(java.lang.Object)
+   */
+  @Override
+  public Double convert(Object source) {
+
+   if (source == null) {
+    return null;
+   }
+
+   if (source instanceof Double) {
+    return (Double) source;
+   }
+
+   if (source instanceof Number) {
+    return ((Number) source).doubleValue();
+   }
+
+   if (source instanceof Date) {
+    return (double) ((Date) source).getTime();
+   }
+
+   if (source instanceof Calendar) {
+    return (double) ((Calendar) source).getTimeInMillis();
+   }
+
+   throw new IllegalArgumentException(String.format(
+     "Cannot use %s as score for a range index. Please use a Number, Date or Calendar or register a custom IndexValueTransformer.",
+     source.getClass()));
+  }
+ }
+}
@@ -20,6 +20,9 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.RedisZSetCommands.Range;
+import org.springframework.data.redis.connection.RedisZSetCommands.Range.Boundary;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -32,6 +35,8 @@ public class RedisOperationChain {
 
  private Set<PathAndValue> sismember = new LinkedHashSet<PathAndValue>();
  private Set<PathAndValue> orSismember = new LinkedHashSet<PathAndValue>();
+ private Set<PathAndRange> zrangebyscore = new LinkedHashSet<PathAndRange>();
+ private Sort sort;
 
  public void sismember(String path, Object value) {
   sismember(new PathAndValue(path, value));
@@ -61,6 +66,39 @@ public class RedisOperationChain {
   return orSismember;
  }
 
+ /**
+  * @param path
+  * @param range must not be {@literal null}.
+  * @since 1.8
+  */
+ public void zrangebyscore(String path, Range range) {
+  zrangebyscore.add(new PathAndRange(path, range));
+ }
+
+ /**
+  * @return never {@literal null}.
+  * @since 1.8
+  */
+ public Set<PathAndRange> getZrangebyscore() {
+  return zrangebyscore;
+ }
+
+ /**
+  * @param sort can be {@literal null}.
+  * @since 1.8
+  */
+ public void setSort(Sort sort) {
+  this.sort = sort;
+ }
+
+ /**
+  * @return can be {@literal null}.
+  * @since 1.8
+  */
+ public Sort getSort() {
+  return sort;
+ }
+
  public static class PathAndValue {
 
   private final String path;
@@ -128,4 +166,68 @@ public class RedisOperationChain {
 
  }
 
-}
\ No newline at end of file
+ /**
+  * @since 1.8
+  */
+ public static class PathAndRange {
+
+  private final String path;
+  private final Range range;
+
+  public PathAndRange(String path, Range range) {
+
+   this.path = path;
+   this.range = range;
+  }
+
+  public String getPath() {
+   return path;
+  }
+
+  public Range getRange() {
+   return range;
+  }
+
+  @Override
+  public String toString() {
+   return path + ":" + valueOf(range.getMin()) + ".." + valueOf(range.getMax());
+  }
+
+  @Override
+  public int hashCode() {
+
+   int result = ObjectUtils.nullSafeHashCode(path);
+   result += ObjectUtils.nullSafeHashCode(valueOf(range.getMin()));
+   result += ObjectUtils.nullSafeHashCode(valueOf(range.getMax()));
+   return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+   if (this == obj) {
+    return true;
+   }
+   if (!(obj instanceof PathAndRange)) {
+    return false;
+   }
+   PathAndRange that = (PathAndRange) obj;
+   if (!ObjectUtils.nullSafeEquals(this.path, that.path)) {
+    return false;
+   }
+   return nullSafeEquals(this.range.getMin(), that.range.getMin())
+     && nullSafeEquals(this.range.getMax(), that.range.getMax());
+  }
+
+  private static Object valueOf(Boundary boundary) {
+   return boundary != null ? boundary.getValue() : null;
+  }
+
+  private static boolean nullSafeEquals(Boundary left, Boundary right) {
+
+   if (left == null || right == null) {
+    return valueOf(left) == null && valueOf(right) == null;
+   }
+   return ObjectUtils.nullSafeEquals(left.getValue(), right.getValue()) && left.isIncluding() == right.isIncluding();
+  }
+ }
+}
@@ -19,6 +19,7 @@ import java.util.Iterator;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.redis.connection.RedisZSetCommands.Range;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
@@ -52,6 +53,23 @@ public class RedisQueryCreator extends AbstractQueryCreator<KeyValueQuery<RedisO
    case SIMPLE_PROPERTY:
     sink.sismember(part.getProperty().toDotPath(), iterator.next());
     break;
+   case BETWEEN:
+    sink.zrangebyscore(part.getProperty().toDotPath(), Range.range().gte(iterator.next()).lte(iterator.next()));
+    break;
+   case GREATER_THAN:
+   case AFTER:
+    sink.zrangebyscore(part.getProperty().toDotPath(), Range.range().gt(iterator.next()));
+    break;
+   case GREATER_THAN_EQUAL:
+    sink.zrangebyscore(part.getProperty().toDotPath(), Range.range().gte(iterator.next()));
+    break;
+   case LESS_THAN:
+   case BEFORE:
+    sink.zrangebyscore(part.getProperty().toDotPath(), Range.range().lt(iterator.next()));
+    break;
+   case LESS_THAN_EQUAL:
+    sink.zrangebyscore(part.getProperty().toDotPath(), Range.range().lte(iterator.next()));
+    break;
    default:
     throw new IllegalArgumentException(part.getType() + "is not supported for redis query derivation");
   }
@@ -75,6 +93,10 @@ public class RedisQueryCreator extends AbstractQueryCreator<KeyValueQuery<RedisO
   */
  @Override
  protected RedisOperationChain or(RedisOperationChain base, RedisOperationChain criteria) {
+  if (!base.getZrangebyscore().isEmpty() || !criteria.getZrangebyscore().isEmpty()) {
+   throw new IllegalArgumentException("Range queries cannot be combined using OR for redis query derivation");
+  }
+
   base.orSismember(criteria.getSismember());
   return base;
  }
@@ -98,6 +120,10 @@ public class RedisQueryCreator extends AbstractQueryCreator<KeyValueQuery<RedisO
 
   if (sort != null) {
    query.setSort(sort);
+
+   if (query.getCritieria() != null) {
+    query.getCritieria().setSort(sort);
+   }
   }
 
   return query;
@@ -38,6 +38,7 @@ import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.convert.IndexedData;
 import org.springframework.data.redis.core.convert.MappingRedisConverter;
 import org.springframework.data.redis.core.convert.PathIndexResolver;
+import org.springframework.data.redis.core.convert.RangeIndexedPropertyValue;
 import org.springframework.data.redis.core.convert.ReferenceResolver;
 import org.springframework.data.redis.core.convert.SimpleIndexedPropertyValue;
 import org.springframework.data.redis.core.mapping.RedisMappingContext;
@@ -215,6 +216,44 @@ public class IndexWriterUnitTests {
   verify(connectionMock, times(1)).sRem(any(byte[].class), eq(KEY_BIN));
  }
 
+ @Test
+ public void addKeyToIndexShouldInvokeZaddForRangeIndex() {
+
+  writer.addKeyToIndex(KEY_BIN, new RangeIndexedPropertyValue(KEYSPACE, "age", 24D));
+
+  verify(connectionMock).zAdd(eq("persons:age:range".getBytes(CHARSET)), eq(24D), eq(KEY_BIN));
+  verify(connectionMock).sAdd(eq("persons:key-1:idx:range".getBytes(CHARSET)),
+    eq("persons:age:range".getBytes(CHARSET)));
+ }
+
+ @Test
+ public void removeKeyFromExistingIndexesShouldZremFromRangeIndexWithoutKeysLookup() {
+
+  writer.removeKeyFromExistingIndexes(KEY_BIN, new RangeIndexedPropertyValue(KEYSPACE, "age", 24D));
+
+  verify(connectionMock).zRem(eq("persons:age:range".getBytes(CHARSET)), eq(KEY_BIN));
+  verify(connectionMock, never()).keys(any(byte[].class));
+ }
+
+ @Test
+ public void removeKeyFromIndexesShouldUseZremForRangeIndexes() {
+
+  byte[] indexKey1 = "persons:firstname:rand".getBytes(CHARSET);
+  byte[] indexKey2 = "persons:age:range".getBytes(CHARSET);
+
+  when(connectionMock.sMembers("persons:key-1:idx".getBytes(CHARSET)))
+    .thenReturn(new LinkedHashSet<byte[]>(Arrays.asList(indexKey1)));
+  when(connectionMock.sMembers("persons:key-1:idx:range".getBytes(CHARSET)))
+    .thenReturn(new LinkedHashSet<byte[]>(Arrays.asList(indexKey2)));
+
+  writer.removeKeyFromIndexes(KEYSPACE, KEY_BIN);
+
+  verify(connectionMock).sRem(indexKey1, KEY_BIN);
+  verify(connectionMock).zRem(indexKey2, KEY_BIN);
+  verify(connectionMock, never()).type(any(byte[].class));
+  verify(connectionMock).del("persons:key-1:idx".getBytes(CHARSET), "persons:key-1:idx:range".getBytes(CHARSET));
+ }
+
  static class StubIndxedData implements IndexedData {
 
   @Override
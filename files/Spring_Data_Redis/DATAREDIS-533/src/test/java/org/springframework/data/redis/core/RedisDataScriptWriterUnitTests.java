@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core;
+
+import static org.hamcrest.core.Is.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.PathIndexResolver;
+import org.springframework.data.redis.core.convert.RangeIndexedPropertyValue;
+import org.springframework.data.redis.core.convert.ReferenceResolver;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.convert.RemoveIndexedData;
+import org.springframework.data.redis.core.convert.SimpleIndexedPropertyValue;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+
+/**
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RedisDataScriptWriterUnitTests {
+
+ private static final Charset CHARSET = Charset.forName("UTF-8");
+ private static final String KEYSPACE = "persons";
+ private static final String KEY = "key-1";
+ private static final byte[] KEY_BIN = KEY.getBytes(CHARSET);
+ private static final byte[] OBJECT_KEY_BIN = (KEYSPACE + ":" + KEY).getBytes(CHARSET);
+
+ RedisDataScriptWriter writer;
+ MappingRedisConverter converter;
+
+ @Mock RedisConnection connectionMock;
+ @Mock ReferenceResolver referenceResolverMock;
+
+ @Before
+ public void setUp() {
+
+  converter = new MappingRedisConverter(new RedisMappingContext(), new PathIndexResolver(), referenceResolverMock);
+  converter.afterPropertiesSet();
+
+  writer = new RedisDataScriptWriter(connectionMock, converter);
+ }
+
+ @Test
+ public void writeShouldPassHashPhantomAndIndexKeysToScript() {
+
+  RedisData rdo = new RedisData();
+  rdo.setKeyspace(KEYSPACE);
+  rdo.setId(KEY);
+  rdo.setTimeToLive(10L);
+  rdo.getBucket().put("firstname", "rand".getBytes(CHARSET));
+  rdo.addIndexedData(new SimpleIndexedPropertyValue(KEYSPACE, "firstname", "rand"));
+  rdo.addIndexedData(new RangeIndexedPropertyValue(KEYSPACE, "age", 24D));
+  rdo.addIndexedData(new RemoveIndexedData(new SimpleIndexedPropertyValue(KEYSPACE, "lastname", "al'thor")));
+
+  when(connectionMock.evalSha(anyString(), any(ReturnType.class), anyInt(), (byte[][]) anyVararg())).thenReturn(1L);
+
+  assertThat(writer.write(OBJECT_KEY_BIN, KEY_BIN, rdo), is(true));
+
+  ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+  verify(connectionMock).evalSha(eq(RedisDataScriptWriter.PUT_SCRIPT.getSha1()), eq(ReturnType.INTEGER), eq(5),
+    captor.capture());
+
+  List<String> keysAndArgs = asStrings(captor.getAllValues());
+
+  assertThat(keysAndArgs.get(0), is("persons:key-1"));
+  assertThat(keysAndArgs.get(1), is("persons"));
+  assertThat(keysAndArgs.get(2), is("persons:key-1:phantom"));
+  assertThat(keysAndArgs.get(3), is("persons:key-1:idx"));
+  assertThat(keysAndArgs.get(4), is("persons:key-1:idx:range"));
+  assertThat(keysAndArgs.get(5), is(KEY));
+  assertThat(keysAndArgs.get(6), is("10"));
+  assertThat(keysAndArgs.get(7), is("1"));
+  assertThat(keysAndArgs.get(8), is("firstname"));
+  assertThat(keysAndArgs.get(9), is("rand"));
+  assertThat(keysAndArgs.get(10), is("persons:firstname:rand"));
+  assertThat(keysAndArgs.get(11), is(""));
+  assertThat(keysAndArgs.get(12), is("persons:age:range"));
+  assertThat(keysAndArgs.get(13), is("24.0"));
+  assertThat(keysAndArgs.size(), is(14));
+
+  verify(connectionMock, never()).hMSet(any(byte[].class), anyMap());
+  verify(connectionMock, never()).sAdd(any(byte[].class), (byte[][]) anyVararg());
+ }
+
+ @Test
+ public void writeShouldPassZeroTtlWhenNotExpiring() {
+
+  RedisData rdo = new RedisData();
+  rdo.setKeyspace(KEYSPACE);
+  rdo.setId(KEY);
+
+  when(connectionMock.evalSha(anyString(), any(ReturnType.class), anyInt(), (byte[][]) anyVararg())).thenReturn(0L);
+
+  assertThat(writer.write(OBJECT_KEY_BIN, KEY_BIN, rdo), is(false));
+
+  ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+  verify(connectionMock).evalSha(anyString(), eq(ReturnType.INTEGER), eq(5), captor.capture());
+
+  List<String> keysAndArgs = asStrings(captor.getAllValues());
+  assertThat(keysAndArgs.get(6), is("0"));
+  assertThat(keysAndArgs.get(7), is("0"));
+  assertThat(keysAndArgs.size(), is(8));
+ }
+
+ @Test
+ public void writeShouldFallBackToEvalWhenScriptNotLoaded() {
+
+  RedisData rdo = new RedisData();
+  rdo.setKeyspace(KEYSPACE);
+  rdo.setId(KEY);
+
+  when(connectionMock.evalSha(anyString(), any(ReturnType.class), anyInt(), (byte[][]) anyVararg()))
+    .thenThrow(new InvalidDataAccessApiUsageException("NOSCRIPT No matching script."));
+  when(connectionMock.eval(any(byte[].class), any(ReturnType.class), anyInt(), (byte[][]) anyVararg()))
+    .thenReturn(1L);
+
+  assertThat(writer.write(OBJECT_KEY_BIN, KEY_BIN, rdo), is(true));
+
+  verify(connectionMock).eval(eq(RedisDataScriptWriter.PUT_SCRIPT.getScriptAsString().getBytes(CHARSET)),
+    eq(ReturnType.INTEGER), eq(5), (byte[][]) anyVararg());
+ }
+
+ @Test
+ public void writeShouldUseEvalWhenPipelined() {
+
+  RedisData rdo = new RedisData();
+  rdo.setKeyspace(KEYSPACE);
+  rdo.setId(KEY);
+
+  when(connectionMock.isPipelined()).thenReturn(true);
+
+  writer.write(OBJECT_KEY_BIN, KEY_BIN, rdo);
+
+  verify(connectionMock).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(5), (byte[][]) anyVararg());
+  verify(connectionMock, never()).evalSha(anyString(), any(ReturnType.class), anyInt(), (byte[][]) anyVararg());
+ }
+
+ private static List<String> asStrings(List<byte[]> source) {
+
+  List<String> target = new ArrayList<String>(source.size());
+  for (byte[] value : source) {
+   target.add(new String(value, CHARSET));
+  }
+  return target;
+ }
+}
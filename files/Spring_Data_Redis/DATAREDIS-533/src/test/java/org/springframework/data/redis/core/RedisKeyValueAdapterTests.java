@@ -37,12 +37,14 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Reference;
 import org.springframework.data.keyvalue.annotation.KeySpace;
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.redis.ConnectionFactoryTracker;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.CompactBucketCodec;
 import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
 import org.springframework.data.redis.core.convert.MappingConfiguration;
 import org.springframework.data.redis.core.index.IndexConfiguration;
@@ -510,6 +512,133 @@ public class RedisKeyValueAdapterTests {
   assertThat(template.opsForHash().hasKey("persons:1", "relatives.[stepfather].firstname"), is(false));
  }
 
+ @Test
+ public void putShouldWriteCompactHashAsSingleField() {
+
+  CompactPerson rand = new CompactPerson();
+  rand.firstname = "rand";
+  rand.nicknames = Arrays.asList("dragon reborn", "lews therin");
+
+  adapter.put("1", rand, "compact-persons");
+
+  Map<Object, Object> hash = template.opsForHash().entries("compact-persons:1");
+  assertThat(hash.size(), is(1));
+  assertThat(hash.containsKey(CompactBucketCodec.COMPACT_FIELD), is(true));
+  assertThat(template.opsForSet().members("compact-persons"), hasItems("1"));
+
+  CompactPerson loaded = adapter.get("1", "compact-persons", CompactPerson.class);
+
+  assertThat(loaded.id, is("1"));
+  assertThat(loaded.firstname, is("rand"));
+  assertThat(loaded.nicknames, contains("dragon reborn", "lews therin"));
+ }
+
+ @Test
+ public void getShouldReadPathBasedHashOfCompactType() {
+
+  Map<String, String> map = new LinkedHashMap<String, String>();
+  map.put("_class", CompactPerson.class.getName());
+  map.put("firstname", "rand");
+  template.opsForHash().putAll("compact-persons:load-1", map);
+
+  CompactPerson loaded = adapter.get("load-1", "compact-persons", CompactPerson.class);
+
+  assertThat(loaded.firstname, is("rand"));
+ }
+
+ @Test
+ public void updateShouldRewriteCompactHash() {
+
+  CompactPerson rand = new CompactPerson();
+  rand.firstname = "rand";
+  rand.nicknames = Arrays.asList("dragon reborn", "lews therin");
+
+  adapter.put("1", rand, "compact-persons");
+
+  PartialUpdate<CompactPerson> update = new PartialUpdate<CompactPerson>("1", CompactPerson.class) //
+    .set("firstname", "mat") //
+    .set("nicknames", Collections.singletonList("prince of the ravens"));
+
+  adapter.update(update);
+
+  assertThat(template.opsForHash().size("compact-persons:1"), is(1L));
+
+  CompactPerson loaded = adapter.get("1", "compact-persons", CompactPerson.class);
+
+  assertThat(loaded.firstname, is("mat"));
+  assertThat(loaded.nicknames, contains("prince of the ravens"));
+ }
+
+ @Test
+ public void updateShouldConvertPathBasedHashOfCompactType() {
+
+  Map<String, String> map = new LinkedHashMap<String, String>();
+  map.put("_class", CompactPerson.class.getName());
+  map.put("firstname", "rand");
+  map.put("nicknames.[0]", "dragon reborn");
+  template.opsForHash().putAll("compact-persons:1", map);
+
+  PartialUpdate<CompactPerson> update = new PartialUpdate<CompactPerson>("1", CompactPerson.class) //
+    .del("nicknames");
+
+  adapter.update(update);
+
+  assertThat(template.opsForHash().keys("compact-persons:1"), contains((Object) CompactBucketCodec.COMPACT_FIELD));
+
+  CompactPerson loaded = adapter.get("1", "compact-persons", CompactPerson.class);
+
+  assertThat(loaded.firstname, is("rand"));
+  assertThat(loaded.nicknames, nullValue());
+ }
+
+ @Test
+ public void concurrentUpdatesOfCompactHashShouldNotLoseFields() throws InterruptedException {
+
+  CompactPerson rand = new CompactPerson();
+  rand.firstname = "rand";
+  adapter.put("1", rand, "compact-persons");
+
+  Thread firstnames = new Thread(new Runnable() {
+
+   @Override
+   public void run() {
+    for (int i = 0; i < 25; i++) {
+     adapter.update(new PartialUpdate<CompactPerson>("1", CompactPerson.class).set("firstname", "mat-" + i));
+    }
+   }
+  });
+
+  Thread nicknames = new Thread(new Runnable() {
+
+   @Override
+   public void run() {
+    for (int i = 0; i < 25; i++) {
+     adapter.update(new PartialUpdate<CompactPerson>("1", CompactPerson.class).set("nicknames",
+       Collections.singletonList("nick-" + i)));
+    }
+   }
+  });
+
+  firstnames.start();
+  nicknames.start();
+  firstnames.join();
+  nicknames.join();
+
+  CompactPerson loaded = adapter.get("1", "compact-persons", CompactPerson.class);
+
+  assertThat(loaded.firstname, is("mat-24"));
+  assertThat(loaded.nicknames, contains("nick-24"));
+ }
+
+ @Test(expected = MappingException.class)
+ public void putShouldRejectPropertyUsingReservedCompactFieldName() {
+
+  WithReservedFieldName source = new WithReservedFieldName();
+  source._compact = "o_O";
+
+  adapter.put("1", source, "reserved");
+ }
+
  @KeySpace("persons")
  static class Person {
 
@@ -563,4 +692,20 @@ public class RedisKeyValueAdapterTests {
   String name;
  }
 
+ @CompactHash
+ @KeySpace("compact-persons")
+ static class CompactPerson {
+
+  @Id String id;
+  String firstname;
+  List<String> nicknames;
+ }
+
+ @KeySpace("reserved")
+ static class WithReservedFieldName {
+
+  @Id String id;
+  String _compact;
+ }
+
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.core.convert;
+
+import static org.hamcrest.core.Is.*;
+import static org.hamcrest.core.IsNull.*;
+import static org.hamcrest.core.IsSame.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.redis.core.CompactHash;
+
+/**
+ * Unit tests for {@link CompactBucketCodec}.
+ */
+public class CompactBucketCodecUnitTests {
+
+ @Test
+ public void shouldRoundTripPathsAndValues() {
+
+  Bucket bucket = new Bucket();
+  bucket.put("_class", "org.example.Person".getBytes(Bucket.CHARSET));
+  bucket.put("firstname", "rand".getBytes(Bucket.CHARSET));
+  bucket.put("coworkers.[0].firstname", "mat".getBytes(Bucket.CHARSET));
+  bucket.put("coworkers.[1].firstname", "perrin".getBytes(Bucket.CHARSET));
+  bucket.put("physicalAttributes.[hair.color]", "red".getBytes(Bucket.CHARSET));
+  bucket.put("empty", new byte[0]);
+
+  Bucket decoded = CompactBucketCodec.decode(CompactBucketCodec.encode(bucket));
+
+  assertThat(decoded.size(), is(bucket.size()));
+  for (String path : bucket.keySet()) {
+   assertThat(Arrays.equals(decoded.get(path), bucket.get(path)), is(true));
+  }
+ }
+
+ @Test
+ public void shouldStoreRepeatedSegmentsOnlyOnce() {
+
+  Bucket bucket = new Bucket();
+  for (int i = 0; i < 10; i++) {
+   bucket.put("coworkers.[" + i + "].firstname", "mat".getBytes(Bucket.CHARSET));
+  }
+
+  byte[] encoded = CompactBucketCodec.encode(bucket);
+
+  assertThat(occurrences(encoded, "firstname".getBytes(Bucket.CHARSET)), is(1));
+  assertThat(occurrences(encoded, "coworkers".getBytes(Bucket.CHARSET)), is(1));
+ }
+
+ @Test
+ public void shouldSkipNullValues() {
+
+  Bucket bucket = new Bucket();
+  bucket.put("_class", null);
+  bucket.put("firstname", "rand".getBytes(Bucket.CHARSET));
+
+  Bucket decoded = CompactBucketCodec.decode(CompactBucketCodec.encode(bucket));
+
+  assertThat(decoded.size(), is(1));
+  assertThat(decoded.get("_class"), nullValue());
+ }
+
+ @Test
+ public void shouldEncodeValuesLongerThanSingleByteVarInt() {
+
+  byte[] value = new byte[70000];
+  Arrays.fill(value, (byte) 'x');
+
+  Bucket bucket = new Bucket();
+  bucket.put("blob", value);
+
+  assertThat(Arrays.equals(CompactBucketCodec.decode(CompactBucketCodec.encode(bucket)).get("blob"), value),
+    is(true));
+ }
+
+ @Test
+ public void compactShouldCreateBucketWithSingleField() {
+
+  Bucket bucket = new Bucket();
+  bucket.put("firstname", "rand".getBytes(Bucket.CHARSET));
+  bucket.put("lastname", "al'thor".getBytes(Bucket.CHARSET));
+
+  Bucket compact = CompactBucketCodec.compact(bucket);
+
+  assertThat(compact.size(), is(1));
+  assertThat(CompactBucketCodec.isCompact(compact), is(true));
+  assertThat(CompactBucketCodec.expand(compact).size(), is(2));
+ }
+
+ @Test
+ public void expandShouldReturnPathBasedBucketAsIs() {
+
+  Bucket bucket = new Bucket();
+  bucket.put("firstname", "rand".getBytes(Bucket.CHARSET));
+
+  assertThat(CompactBucketCodec.expand(bucket), sameInstance(bucket));
+ }
+
+ @Test(expected = MappingException.class)
+ public void decodeShouldRejectTruncatedDocument() {
+
+  Bucket bucket = new Bucket();
+  bucket.put("firstname", "rand".getBytes(Bucket.CHARSET));
+
+  byte[] encoded = CompactBucketCodec.encode(bucket);
+  CompactBucketCodec.decode(Arrays.copyOf(encoded, encoded.length - 2));
+ }
+
+ @Test(expected = MappingException.class)
+ public void decodeShouldRejectUnknownVersion() {
+  CompactBucketCodec.decode(new byte[] { 42, 0, 0 });
+ }
+
+ @Test
+ public void isCompactTypeShouldConsiderAnnotation() {
+
+  assertThat(CompactBucketCodec.isCompactType(CompactPerson.class), is(true));
+  assertThat(CompactBucketCodec.isCompactType(Object.class), is(false));
+ }
+
+ private static int occurrences(byte[] source, byte[] pattern) {
+
+  int count = 0;
+  for (int i = 0; i <= source.length - pattern.length; i++) {
+   if (Arrays.equals(Arrays.copyOfRange(source, i, i + pattern.length), pattern)) {
+    count++;
+   }
+  }
+  return count;
+ }
+
+ @CompactHash
+ static class CompactPerson {
+  @Id String id;
+ }
+}
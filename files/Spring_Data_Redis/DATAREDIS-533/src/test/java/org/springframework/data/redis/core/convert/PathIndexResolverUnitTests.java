@@ -26,6 +26,7 @@ import static org.springframework.data.redis.core.convert.ConversionTestEntities
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,8 @@ import org.springframework.data.redis.core.convert.ConversionTestEntities.TaVere
 import org.springframework.data.redis.core.convert.ConversionTestEntities.TheWheelOfTime;
 import org.springframework.data.redis.core.index.IndexConfiguration;
 import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.core.index.RangeIndexDefinition;
+import org.springframework.data.redis.core.index.RangeIndexed;
 import org.springframework.data.redis.core.index.SimpleIndexDefinition;
 import org.springframework.data.redis.core.mapping.RedisMappingContext;
 import org.springframework.data.util.ClassTypeInformation;
@@ -526,6 +529,35 @@ public class PathIndexResolverUnitTests {
   return data.iterator().next();
  }
 
+ @Test
+ public void shouldResolveRangeIndexedNumericAndTemporalValuesAsScore() {
+
+  RangeIndexedOnNumericAndDateFields source = new RangeIndexedOnNumericAndDateFields();
+  source.age = 24;
+  source.created = new Date(1000L);
+
+  Set<IndexedData> indexes = indexResolver
+    .resolveIndexesFor(ClassTypeInformation.from(RangeIndexedOnNumericAndDateFields.class), source);
+
+  String keyspace = RangeIndexedOnNumericAndDateFields.class.getName();
+  assertThat(indexes.size(), is(2));
+  assertThat(indexes, hasItem(new RangeIndexedPropertyValue(keyspace, "age", 24D)));
+  assertThat(indexes, hasItem(new RangeIndexedPropertyValue(keyspace, "created", 1000D)));
+ }
+
+ @Test
+ public void shouldResolveConfiguredRangeIndex() {
+
+  indexConfig.addIndexDefinition(new RangeIndexDefinition(KEYSPACE_PERSON, "age"));
+
+  Person person = new Person();
+  person.age = 24;
+
+  Set<IndexedData> indexes = indexResolver.resolveIndexesFor(ClassTypeInformation.from(Person.class), person);
+
+  assertThat(indexes, hasItem(new RangeIndexedPropertyValue(KEYSPACE_PERSON, "age", 24D)));
+ }
+
  private Indexed createIndexedInstance() {
 
   return new Indexed() {
@@ -553,4 +585,10 @@ public class PathIndexResolverUnitTests {
   @Indexed Map<String, String> values;
  }
 
+ static class RangeIndexedOnNumericAndDateFields {
+
+  @RangeIndexed Integer age;
+  @RangeIndexed Date created;
+ }
+
 }
\ No newline at end of file
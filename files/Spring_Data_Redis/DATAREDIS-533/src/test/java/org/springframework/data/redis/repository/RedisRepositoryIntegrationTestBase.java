@@ -29,6 +29,7 @@ import org.hamcrest.core.IsNull;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Reference;
 import org.springframework.data.domain.Page;
@@ -40,6 +41,7 @@ import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
 import org.springframework.data.redis.core.index.IndexConfiguration;
 import org.springframework.data.redis.core.index.IndexDefinition;
 import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.core.index.RangeIndexDefinition;
 import org.springframework.data.redis.core.index.SimpleIndexDefinition;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
@@ -318,6 +320,27 @@ public abstract class RedisRepositoryIntegrationTestBase {
   }
  }
 
+ @Test
+ public void shouldFindByRangeUsingRangeIndexRegisteredWithCustomName() {
+
+  Person eddard = new Person("eddard", "stark");
+  eddard.setAge(43);
+  Person robb = new Person("robb", "stark");
+  robb.setAge(17);
+  Person jon = new Person("jon", "snow");
+  jon.setAge(18);
+
+  repo.save(Arrays.asList(eddard, robb, jon));
+
+  assertThat(repo.findByAgeGreaterThanEqual(18), containsInAnyOrder(eddard, jon));
+  assertThat(repo.findByAgeBetween(10, 20), containsInAnyOrder(robb, jon));
+ }
+
+ @Test(expected = InvalidDataAccessApiUsageException.class)
+ public void shouldRejectRangeQueryOnPropertyWithoutRangeIndex() {
+  repo.findByFirstnameGreaterThan("eddard");
+ }
+
  public static interface PersonRepository extends PagingAndSortingRepository<Person, String> {
 
   List<Person> findByFirstname(String firstname);
@@ -337,10 +360,17 @@ public abstract class RedisRepositoryIntegrationTestBase {
   List<Person> findTop2ByLastname(String lastname);
 
   Page<Person> findBy(Pageable page);
+
+  List<Person> findByAgeGreaterThanEqual(Integer age);
+
+  List<Person> findByAgeBetween(Integer from, Integer to);
+
+  List<Person> findByFirstnameGreaterThan(String firstname);
  }
 
  /**
-  * Custom Redis {@link IndexConfiguration} forcing index of {@link Person#lastname}.
+  * Custom Redis {@link IndexConfiguration} forcing index of {@link Person#lastname} and a range index with a custom
+  * name for {@link Person#age}.
   * 
   * @author Christoph Strobl
   */
@@ -348,7 +378,8 @@ public abstract class RedisRepositoryIntegrationTestBase {
 
   @Override
   protected Iterable<IndexDefinition> initialConfiguration() {
-   return Collections.<IndexDefinition> singleton(new SimpleIndexDefinition("persons", "lastname"));
+   return Arrays.<IndexDefinition> asList(new SimpleIndexDefinition("persons", "lastname"),
+     new RangeIndexDefinition("persons", "age", "person-age"));
   }
  }
 
@@ -372,6 +403,7 @@ public abstract class RedisRepositoryIntegrationTestBase {
   @Id String id;
   @Indexed String firstname;
   String lastname;
+  Integer age;
   @Reference City city;
 
   public Person() {}
@@ -414,6 +446,14 @@ public abstract class RedisRepositoryIntegrationTestBase {
    return lastname;
   }
 
+  public Integer getAge() {
+   return age;
+  }
+
+  public void setAge(Integer age) {
+   this.age = age;
+  }
+
   @Override
   public String toString() {
    return "Person [id=" + id + ", firstname=" + firstname + "]";
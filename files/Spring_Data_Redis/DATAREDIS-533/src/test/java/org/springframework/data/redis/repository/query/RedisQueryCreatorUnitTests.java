@@ -16,6 +16,7 @@
 package org.springframework.data.redis.repository.query;
 
 import static org.hamcrest.collection.IsCollectionWithSize.*;
+import static org.hamcrest.core.Is.*;
 import static org.hamcrest.core.IsCollectionContaining.*;
 import static org.junit.Assert.*;
 
@@ -23,8 +24,12 @@ import java.lang.reflect.Method;
 
 import org.junit.Test;
 import org.mockito.Mock;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.redis.connection.RedisZSetCommands.Range;
 import org.springframework.data.redis.core.convert.ConversionTestEntities;
+import org.springframework.data.redis.core.index.RangeIndexed;
+import org.springframework.data.redis.repository.query.RedisOperationChain.PathAndRange;
 import org.springframework.data.redis.repository.query.RedisOperationChain.PathAndValue;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -88,6 +93,51 @@ public class RedisQueryCreatorUnitTests {
   assertThat(query.getCritieria().getOrSismember(), hasItem(new PathAndValue("firstname", "eddard")));
  }
 
+ @Test
+ public void findByBetweenShouldCreateInclusiveRange() throws SecurityException, NoSuchMethodException {
+
+  RedisQueryCreator creator = createQueryCreatorForMethodWithArgs(
+    RangeIndexedRepository.class.getMethod("findByAgeBetween", Integer.class, Integer.class), new Object[] { 18, 43 });
+
+  KeyValueQuery<RedisOperationChain> query = creator.createQuery();
+
+  assertThat(query.getCritieria().getSismember(), hasSize(0));
+  assertThat(query.getCritieria().getZrangebyscore(),
+    hasItem(new PathAndRange("age", Range.range().gte(18).lte(43))));
+ }
+
+ @Test
+ public void findByGreaterThanShouldCreateExclusiveOpenRangeAndKeepSort()
+   throws SecurityException, NoSuchMethodException {
+
+  RedisQueryCreator creator = createQueryCreatorForMethodWithArgs(
+    RangeIndexedRepository.class.getMethod("findByAgeGreaterThanOrderByAgeDesc", Integer.class), new Object[] { 18 });
+
+  KeyValueQuery<RedisOperationChain> query = creator.createQuery();
+
+  assertThat(query.getCritieria().getZrangebyscore(), hasItem(new PathAndRange("age", Range.range().gt(18))));
+  assertThat(query.getCritieria().getSort().getOrderFor("age").getDirection(), is(Direction.DESC));
+ }
+
+ @Test(expected = IllegalArgumentException.class)
+ public void findByRangeUsingOrShouldFail() throws SecurityException, NoSuchMethodException {
+
+  createQueryCreatorForMethodWithArgs(
+    RangeIndexedRepository.class.getMethod("findByAgeLessThanOrFirstname", Integer.class, String.class),
+    new Object[] { 18, "eddard" }).createQuery();
+ }
+
+ @Test
+ public void findByRangeLeavesIndexResolutionToQueryEngine() throws SecurityException, NoSuchMethodException {
+
+  RedisQueryCreator creator = createQueryCreatorForMethodWithArgs(
+    RangeIndexedRepository.class.getMethod("findByHeightGreaterThan", Integer.class), new Object[] { 180 });
+
+  KeyValueQuery<RedisOperationChain> query = creator.createQuery();
+
+  assertThat(query.getCritieria().getZrangebyscore(), hasItem(new PathAndRange("height", Range.range().gt(180))));
+ }
+
  private RedisQueryCreator createQueryCreatorForMethodWithArgs(Method method, Object[] args) {
 
   PartTree partTree = new PartTree(method.getName(), method.getReturnType());
@@ -104,5 +154,25 @@ public class RedisQueryCreatorUnitTests {
   ConversionTestEntities.Person findByFirstnameAndAge(String firstname, Integer age);
 
   ConversionTestEntities.Person findByAgeOrFirstname(Integer age, String firstname);
+
+ }
+
+ private interface RangeIndexedRepository extends Repository<RangeIndexedPerson, String> {
+
+  RangeIndexedPerson findByAgeBetween(Integer from, Integer to);
+
+  RangeIndexedPerson findByAgeGreaterThanOrderByAgeDesc(Integer age);
+
+  RangeIndexedPerson findByAgeLessThanOrFirstname(Integer age, String firstname);
+
+  RangeIndexedPerson findByHeightGreaterThan(Integer height);
+ }
+
+ static class RangeIndexedPerson {
+
+  String id;
+  String firstname;
+  @RangeIndexed Integer age;
+  Integer height;
  }
 }
\ No newline at end of file
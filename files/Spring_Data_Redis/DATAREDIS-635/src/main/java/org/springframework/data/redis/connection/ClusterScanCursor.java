@@ -0,0 +1,398 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanIteration;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.CustomizableThreadCreator;
+
+/**
+ * {@link Cursor} implementation iterating the keyspace of multiple {@link RedisClusterNode nodes} by issuing
+ * {@literal SCAN} commands against all of them in parallel. Each node is scanned by a dedicated task that publishes
+ * the items of every {@link ScanIteration} to a bounded buffer, so that scanning continues while previously loaded
+ * items are consumed but never runs more than two iterations per node ahead of the consumer. <br />
+ * Items are emitted in the order their iterations arrive. There is no ordering across nodes. <br />
+ * <strong>Note:</strong> The cursor has to be {@link #open() opened} prior to usage and should be {@link #close()
+ * closed} when not iterated until its end to stop the background scans. Scans of a cursor that is not consumed for
+ * longer than the max idle time are stopped and the cursor fails on further access. A cluster wide scan cannot be
+ * resumed by a cursor id. <br />
+ * Unless an {@link AsyncTaskExecutor} is given, the scans run on a shared pool of at most
+ * {@link #DEFAULT_MAX_SCAN_THREADS} daemon threads. Scans exceeding the pool size are queued and start once another
+ * scan completes.
+ *
+ * @param <T>
+ * @since 2.1
+ */
+public class ClusterScanCursor<T> implements Cursor<T> {
+
+ /**
+  * Maximum number of threads of the shared executor used if none is given.
+  */
+ public static final int DEFAULT_MAX_SCAN_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+ private static final AsyncTaskExecutor DEFAULT_EXECUTOR;
+ private static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(1);
+ private static final long POLL_INTERVAL_MILLIS = 100;
+
+ static {
+
+  CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("redis-cluster-scan-");
+  threadCreator.setDaemon(true);
+
+  ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_MAX_SCAN_THREADS, DEFAULT_MAX_SCAN_THREADS, 60,
+    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadCreator::createThread);
+  executor.allowCoreThreadTimeOut(true);
+
+  DEFAULT_EXECUTOR = new TaskExecutorAdapter(executor);
+ }
+
+ private final List<RedisClusterNode> nodes;
+ private final ScanOptions options;
+ private final NodeScanFunction<T> scanFunction;
+ private final AsyncTaskExecutor executor;
+ private final long maxIdleTimeNanos;
+ private final BlockingQueue<NodeIteration<T>> iterations;
+ private final List<Future<?>> tasks;
+
+ private volatile boolean closed;
+ private volatile boolean abandoned;
+ private boolean opened;
+ private int runningScans;
+ private Iterator<T> delegate = Collections.emptyIterator();
+ private long position;
+
+ /**
+  * Creates new {@link ClusterScanCursor} using a shared {@link AsyncTaskExecutor} of at most
+  * {@link #DEFAULT_MAX_SCAN_THREADS} threads.
+  *
+  * @param nodes the nodes to scan. Must not be {@literal null}.
+  * @param options Defaulted to {@link ScanOptions#NONE} if {@literal null}.
+  * @param scanFunction must not be {@literal null}.
+  */
+ public ClusterScanCursor(Collection<RedisClusterNode> nodes, @Nullable ScanOptions options,
+   NodeScanFunction<T> scanFunction) {
+  this(nodes, options, scanFunction, DEFAULT_EXECUTOR);
+ }
+
+ /**
+  * Creates new {@link ClusterScanCursor} using the default max idle time of one minute.
+  *
+  * @param nodes the nodes to scan. Must not be {@literal null}.
+  * @param options Defaulted to {@link ScanOptions#NONE} if {@literal null}.
+  * @param scanFunction must not be {@literal null}.
+  * @param executor the {@link AsyncTaskExecutor} running the per node scans. Must not be {@literal null}.
+  */
+ public ClusterScanCursor(Collection<RedisClusterNode> nodes, @Nullable ScanOptions options,
+   NodeScanFunction<T> scanFunction, AsyncTaskExecutor executor) {
+  this(nodes, options, scanFunction, executor, DEFAULT_MAX_IDLE_TIME);
+ }
+
+ /**
+  * Creates new {@link ClusterScanCursor}.
+  *
+  * @param nodes the nodes to scan. Must not be {@literal null}.
+  * @param options Defaulted to {@link ScanOptions#NONE} if {@literal null}.
+  * @param scanFunction must not be {@literal null}.
+  * @param executor the {@link AsyncTaskExecutor} running the per node scans. Must not be {@literal null}.
+  * @param maxIdleTime the time a scan waits for the consumer to take loaded items before the scans are stopped. Must
+  *          not be {@literal null} and must be positive.
+  */
+ public ClusterScanCursor(Collection<RedisClusterNode> nodes, @Nullable ScanOptions options,
+   NodeScanFunction<T> scanFunction, AsyncTaskExecutor executor, Duration maxIdleTime) {
+
+  Assert.notNull(nodes, "Nodes must not be null!");
+  Assert.notNull(scanFunction, "NodeScanFunction must not be null!");
+  Assert.notNull(executor, "AsyncTaskExecutor must not be null!");
+  Assert.notNull(maxIdleTime, "Max idle time must not be null!");
+  Assert.isTrue(!maxIdleTime.isNegative() && !maxIdleTime.isZero(), "Max idle time must be positive!");
+
+  this.nodes = new ArrayList<>(nodes);
+  this.options = options != null ? options : ScanOptions.NONE;
+  this.scanFunction = scanFunction;
+  this.executor = executor;
+  this.maxIdleTimeNanos = maxIdleTime.toNanos();
+  this.iterations = new ArrayBlockingQueue<>(Math.max(1, this.nodes.size() * 2));
+  this.tasks = new ArrayList<>(this.nodes.size());
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.Cursor#open()
+  */
+ @Override
+ public ClusterScanCursor<T> open() {
+
+  if (opened || closed) {
+   throw new InvalidDataAccessApiUsageException("Cursor already opened. Cannot (re)open it.");
+  }
+
+  opened = true;
+  runningScans = nodes.size();
+
+  for (RedisClusterNode node : nodes) {
+   tasks.add(executor.submit(() -> scanNode(node)));
+  }
+
+  return this;
+ }
+
+ private void scanNode(RedisClusterNode node) {
+
+  try {
+
+   long cursorId = 0;
+   do {
+
+    ScanIteration<T> iteration = scanFunction.scan(node, cursorId, options);
+    cursorId = iteration.getCursorId();
+
+    if (!CollectionUtils.isEmpty(iteration.getItems())) {
+     publish(new NodeIteration<>(iteration.getItems(), null));
+    }
+   } while (cursorId != 0 && !closed && !abandoned);
+
+   publish(NodeIteration.completed());
+  } catch (RuntimeException e) {
+   publish(new NodeIteration<>(null, e));
+  }
+ }
+
+ private void publish(NodeIteration<T> iteration) {
+
+  long deadline = System.nanoTime() + maxIdleTimeNanos;
+
+  try {
+   while (!closed && !abandoned) {
+
+    if (iterations.offer(iteration, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+     return;
+    }
+
+    // the consumer is gone without closing the cursor. Stop all scans instead of waiting forever.
+    if (System.nanoTime() - deadline > 0) {
+     abandoned = true;
+    }
+   }
+  } catch (InterruptedException e) {
+   Thread.currentThread().interrupt();
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.util.Iterator#hasNext()
+  */
+ @Override
+ public boolean hasNext() {
+
+  assertCursorIsOpen();
+  assertNotAbandoned();
+
+  while (!delegate.hasNext() && runningScans > 0) {
+
+   NodeIteration<T> iteration = take();
+
+   if (iteration.error != null) {
+
+    close();
+    throw iteration.error;
+   }
+
+   if (iteration.items == null) {
+    runningScans--;
+    continue;
+   }
+
+   delegate = iteration.items.iterator();
+  }
+
+  return delegate.hasNext();
+ }
+
+ private NodeIteration<T> take() {
+
+  try {
+
+   NodeIteration<T> iteration;
+   while ((iteration = iterations.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+    assertNotAbandoned();
+   }
+
+   return iteration;
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new RedisSystemException("Interrupted while waiting for cluster scan results.", e);
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.util.Iterator#next()
+  */
+ @Override
+ public T next() {
+
+  if (!hasNext()) {
+   throw new NoSuchElementException("No more elements available for cluster scan.");
+  }
+
+  position++;
+  return delegate.next();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.util.Iterator#remove()
+  */
+ @Override
+ public void remove() {
+  throw new UnsupportedOperationException("Remove is not supported");
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.io.Closeable#close()
+  */
+ @Override
+ public void close() {
+
+  if (closed) {
+   return;
+  }
+
+  closed = true;
+
+  for (Future<?> task : tasks) {
+   task.cancel(true);
+  }
+
+  iterations.clear();
+  delegate = Collections.emptyIterator();
+ }
+
+ /**
+  * Cluster wide scans track one cursor id per node and cannot be resumed by a single id. Like a {@literal SCAN} cursor
+  * id, the returned value is {@literal 0} once the keyspace of all nodes has been iterated completely. Until then it
+  * is the number of nodes whose items have not all been consumed yet.
+  *
+  * @return {@literal 0} once all nodes are exhausted.
+  */
+ @Override
+ public long getCursorId() {
+  if (!opened || delegate.hasNext()) {
+   return Math.max(runningScans, 1);
+  }
+
+  return runningScans;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.Cursor#isClosed()
+  */
+ @Override
+ public boolean isClosed() {
+  return closed;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.core.Cursor#getPosition()
+  */
+ @Override
+ public long getPosition() {
+  return position;
+ }
+
+ private void assertCursorIsOpen() {
+
+  if (!opened || closed) {
+   throw new InvalidDataAccessApiUsageException("Cannot access closed cursor. Did you forget to call open()?");
+  }
+ }
+
+ private void assertNotAbandoned() {
+
+  if (abandoned) {
+
+   close();
+   throw new InvalidDataAccessApiUsageException(
+     "Cluster scan was stopped as its items were not consumed within the max idle time.");
+  }
+ }
+
+ /**
+  * Function performing a single {@literal SCAN} against a given {@link RedisClusterNode}.
+  *
+  * @param <T>
+  */
+ @FunctionalInterface
+ public interface NodeScanFunction<T> {
+
+  /**
+   * @param node the node to scan. Never {@literal null}.
+   * @param cursorId the cursor id to continue with. {@literal 0} for the initial scan.
+   * @param options never {@literal null}.
+   * @return the {@link ScanIteration} holding the next cursor id. Must not be {@literal null}.
+   */
+  ScanIteration<T> scan(RedisClusterNode node, long cursorId, ScanOptions options);
+ }
+
+ /**
+  * Items of a single {@link ScanIteration}, a scan failure or a completion signal if both are {@literal null}.
+  */
+ private static class NodeIteration<T> {
+
+  private static final NodeIteration<?> COMPLETED = new NodeIteration<>(null, null);
+
+  private final @Nullable Collection<T> items;
+  private final @Nullable RuntimeException error;
+
+  NodeIteration(@Nullable Collection<T> items, @Nullable RuntimeException error) {
+
+   this.items = items;
+   this.error = error;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> NodeIteration<T> completed() {
+   return (NodeIteration<T>) COMPLETED;
+  }
+ }
+}
@@ -18,6 +18,8 @@ package org.springframework.data.redis.connection.jedis;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import redis.clients.jedis.BinaryJedis;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,6 +33,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.ClusterScanCursor;
 import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.RedisClusterNode;
@@ -41,6 +44,7 @@ import org.springframework.data.redis.connection.convert.Converters;
 import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisClusterCommandCallback;
 import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisMultiKeyClusterCommandCallback;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanIteration;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -165,7 +169,36 @@ class JedisClusterKeyCommands implements RedisKeyCommands {
   */
  @Override
  public Cursor<byte[]> scan(ScanOptions options) {
-  throw new InvalidDataAccessApiUsageException("Scan is not supported across multiple nodes within a cluster");
+  return scan(0, options);
+ }
+
+ /**
+  * Scan the keyspace of all active master nodes.
+  *
+  * @param cursorId must be {@literal 0} as a cluster wide scan cannot be resumed.
+  * @param options can be {@literal null}.
+  * @return the {@link Cursor} iterating the keys of all nodes.
+  */
+ public Cursor<byte[]> scan(long cursorId, ScanOptions options) {
+
+  if (cursorId != 0) {
+   throw new InvalidDataAccessApiUsageException("Scan cannot be resumed across multiple nodes within a cluster.");
+  }
+
+  return new ClusterScanCursor<byte[]>(connection.getTopologyProvider().getTopology().getActiveMasterNodes(), options,
+    this::scan).open();
+ }
+
+ private ScanIteration<byte[]> scan(RedisClusterNode node, long cursorId, ScanOptions options) {
+
+  ScanParams params = JedisConverters.toScanParams(options);
+
+  ScanResult<byte[]> result = connection.getClusterCommandExecutor()
+    .executeCommandOnSingleNode((JedisClusterCommandCallback<ScanResult<byte[]>>) client -> client
+      .scan(JedisConverters.toBytes(cursorId), params), node)
+    .getValue();
+
+  return new ScanIteration<>(Long.valueOf(result.getStringCursor()), result.getResult());
  }
 
  /*
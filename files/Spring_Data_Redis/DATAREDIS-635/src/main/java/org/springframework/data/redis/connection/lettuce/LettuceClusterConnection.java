@@ -562,6 +562,10 @@ public class LettuceClusterConnection extends LettuceConnection implements Defau
   return clusterCommandExecutor;
  }
 
+ ClusterTopologyProvider getTopologyProvider() {
+  return topologyProvider;
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.redis.connection.RedisConnection#close()
@@ -15,6 +15,9 @@
  */
 package org.springframework.data.redis.connection.lettuce;
 
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
+
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -22,11 +25,13 @@ import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.ClusterScanCursor;
 import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.connection.lettuce.LettuceClusterConnection.LettuceClusterCommandCallback;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanIteration;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -53,7 +58,26 @@ class LettuceClusterKeyCommands extends LettuceKeyCommands {
   */
  @Override
  public Cursor<byte[]> scan(long cursorId, ScanOptions options) {
-  throw new InvalidDataAccessApiUsageException("Scan is not supported across multiple nodes within a cluster.");
+
+  if (cursorId != 0) {
+   throw new InvalidDataAccessApiUsageException("Scan cannot be resumed across multiple nodes within a cluster.");
+  }
+
+  return new ClusterScanCursor<byte[]>(connection.getTopologyProvider().getTopology().getActiveMasterNodes(), options,
+    this::scan).open();
+ }
+
+ private ScanIteration<byte[]> scan(RedisClusterNode node, long cursorId, ScanOptions options) {
+
+  io.lettuce.core.ScanCursor scanCursor = connection.getScanCursor(cursorId);
+  ScanArgs scanArgs = connection.getScanArgs(options);
+
+  KeyScanCursor<byte[]> keyScanCursor = connection.getClusterCommandExecutor()
+    .executeCommandOnSingleNode(
+      (LettuceClusterCommandCallback<KeyScanCursor<byte[]>>) client -> client.scan(scanCursor, scanArgs), node)
+    .getValue();
+
+  return new ScanIteration<>(Long.valueOf(keyScanCursor.getCursor()), keyScanCursor.getKeys());
  }
 
  /*
@@ -25,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.dao.DataAccessException;
@@ -262,12 +263,31 @@ class LettuceKeyCommands implements RedisKeyCommands {
     io.lettuce.core.ScanCursor scanCursor = connection.getScanCursor(cursorId);
     ScanArgs scanArgs = connection.getScanArgs(options);
 
-    KeyScanCursor<byte[]> keyScanCursor = getConnection().scan(scanCursor, scanArgs);
-    String nextCursorId = keyScanCursor.getCursor();
+    return toScanIteration(getConnection().scan(scanCursor, scanArgs));
+   }
+
+   @Override
+   protected CompletableFuture<ScanIteration<byte[]>> doPrefetch(long cursorId, ScanOptions options) {
+
+    if (isQueueing() || isPipelined()) {
+     return null;
+    }
 
-    List<byte[]> keys = keyScanCursor.getKeys();
+    io.lettuce.core.ScanCursor scanCursor = connection.getScanCursor(cursorId);
+    ScanArgs scanArgs = connection.getScanArgs(options);
+
+    CompletableFuture<ScanIteration<byte[]>> result = new CompletableFuture<>();
+    getAsyncConnection().scan(scanCursor, scanArgs).whenComplete((keyScanCursor, error) -> {
 
-    return new ScanIteration<>(Long.valueOf(nextCursorId), (keys));
+     if (error != null) {
+      result.completeExceptionally(
+        error instanceof Exception ? convertLettuceAccessException((Exception) error) : error);
+     } else {
+      result.complete(toScanIteration(keyScanCursor));
+     }
+    });
+
+    return result;
    }
 
    @Override
@@ -697,6 +717,10 @@ class LettuceKeyCommands implements RedisKeyCommands {
   }
  }
 
+ private static ScanIteration<byte[]> toScanIteration(KeyScanCursor<byte[]> keyScanCursor) {
+  return new ScanIteration<>(Long.valueOf(keyScanCursor.getCursor()), keyScanCursor.getKeys());
+ }
+
  private boolean isPipelined() {
   return connection.isPipelined();
  }
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.lang.Nullable;
@@ -28,6 +30,9 @@ import org.springframework.util.CollectionUtils;
  * Redis client agnostic {@link Cursor} implementation continuously loading additional results from Redis server until
  * reaching its starting point {@code zero}. <br />
  * <strong>Note:</strong> Please note that the {@link ScanCursor} has to be initialized ({@link #open()} prior to usage.
+ * <br />
+ * Implementations may {@link #doPrefetch(long, ScanOptions) prefetch} the next batch asynchronously while the current
+ * one is consumed so that iterating large keyspaces does not stall on every round trip.
  *
  * @author Christoph Strobl
  * @author Thomas Darimont
@@ -43,6 +48,7 @@ public abstract class ScanCursor<T> implements Cursor<T> {
  private @Nullable Iterator<T> delegate;
  private @Nullable final ScanOptions scanOptions;
  private long position;
+ private @Nullable CompletableFuture<ScanIteration<T>> prefetched;
 
  /**
   * Crates new {@link ScanCursor} with {@code id=0} and {@link ScanOptions#NONE}
@@ -85,10 +91,22 @@ public abstract class ScanCursor<T> implements Cursor<T> {
 
  private void scan(long cursorId) {
 
-  ScanIteration<T> result = doScan(cursorId, this.scanOptions);
+  ScanIteration<T> result = prefetched != null ? awaitPrefetched() : doScan(cursorId, this.scanOptions);
   processScanResult(result);
  }
 
+ private ScanIteration<T> awaitPrefetched() {
+
+  CompletableFuture<ScanIteration<T>> future = prefetched;
+  prefetched = null;
+
+  try {
+   return future.join();
+  } catch (CompletionException e) {
+   throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+  }
+ }
+
  /**
   * Performs the actual scan command using the native client implementation. The given {@literal options} are never
   * {@code null}.
@@ -99,6 +117,22 @@ public abstract class ScanCursor<T> implements Cursor<T> {
   */
  protected abstract ScanIteration<T> doScan(long cursorId, ScanOptions options);
 
+ /**
+  * Customization hook to asynchronously perform the scan command for the next {@code cursorId} while the items of the
+  * current iteration are consumed. The returned future is awaited instead of calling
+  * {@link #doScan(long, ScanOptions)} once the current iteration is exhausted. Implementations must only prefetch if
+  * the native connection can be used concurrently. The given {@literal options} are never {@code null}.
+  *
+  * @param cursorId the cursor id to continue with.
+  * @param options
+  * @return {@literal null} by default to load the next iteration on demand.
+  * @since 2.1
+  */
+ @Nullable
+ protected CompletableFuture<ScanIteration<T>> doPrefetch(long cursorId, ScanOptions options) {
+  return null;
+ }
+
  /**
   * Initialize the {@link Cursor} prior to usage.
   */
@@ -136,6 +170,8 @@ public abstract class ScanCursor<T> implements Cursor<T> {
 
   if (cursorId == 0) {
    state = CursorState.FINISHED;
+  } else {
+   prefetched = doPrefetch(cursorId, this.scanOptions);
   }
 
   if (!CollectionUtils.isEmpty(result.getItems())) {
@@ -235,6 +271,12 @@ public abstract class ScanCursor<T> implements Cursor<T> {
  public final void close() throws IOException {
 
   try {
+
+   if (prefetched != null) {
+    prefetched.cancel(true);
+    prefetched = null;
+   }
+
    doClose();
   } finally {
    state = CursorState.CLOSED;
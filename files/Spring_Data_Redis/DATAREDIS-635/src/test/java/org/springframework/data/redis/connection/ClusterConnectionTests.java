@@ -267,6 +267,8 @@ public interface ClusterConnectionTests {
  // DATAREDIS-315
  void keysShouldReturnAllKeysForSpecificNode();
 
+ void scanShouldReturnAllKeysAcrossAllNodes();
+
  // DATAREDIS-315
  void lIndexShouldGetElementAtIndexCorrectly();
 
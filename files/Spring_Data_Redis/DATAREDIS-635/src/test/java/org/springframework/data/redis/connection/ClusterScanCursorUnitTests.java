@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisClusterNode.SlotRange;
+import org.springframework.data.redis.core.ScanIteration;
+
+/**
+ * Unit tests for {@link ClusterScanCursor}.
+ */
+public class ClusterScanCursorUnitTests {
+
+ static final RedisClusterNode NODE_1 = new RedisClusterNode("127.0.0.1", 7379, SlotRange.empty());
+ static final RedisClusterNode NODE_2 = new RedisClusterNode("127.0.0.1", 7380, SlotRange.empty());
+ static final RedisClusterNode NODE_3 = new RedisClusterNode("127.0.0.1", 7381, SlotRange.empty());
+
+ @Test
+ public void shouldEmitItemsOfAllNodes() {
+
+  Map<RedisClusterNode, List<ScanIteration<String>>> iterations = new ConcurrentHashMap<>();
+  iterations.put(NODE_1, Arrays.asList(iteration(5, "a", "b"), iteration(0, "c")));
+  iterations.put(NODE_2, Arrays.asList(iteration(3), iteration(7, "d"), iteration(0)));
+  iterations.put(NODE_3, Collections.singletonList(iteration(0, "e", "f")));
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Arrays.asList(NODE_1, NODE_2, NODE_3), null,
+    (node, cursorId, options) -> nextIteration(iterations, node, cursorId)).open();
+
+  List<String> result = new ArrayList<>();
+  cursor.forEachRemaining(result::add);
+
+  assertThat(result).containsExactlyInAnyOrder("a", "b", "c", "d", "e", "f");
+  assertThat(cursor.getPosition()).isEqualTo(6);
+ }
+
+ @Test
+ public void cursorIdShouldBeZeroOnceAllNodesAreExhausted() {
+
+  Map<RedisClusterNode, List<ScanIteration<String>>> iterations = new ConcurrentHashMap<>();
+  iterations.put(NODE_1, Collections.singletonList(iteration(0, "a")));
+  iterations.put(NODE_2, Collections.singletonList(iteration(0, "b")));
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Arrays.asList(NODE_1, NODE_2), null,
+    (node, cursorId, options) -> nextIteration(iterations, node, cursorId)).open();
+
+  assertThat(cursor.getCursorId()).isNotZero();
+
+  cursor.next();
+  assertThat(cursor.getCursorId()).isNotZero();
+
+  cursor.next();
+  assertThat(cursor.hasNext()).isFalse();
+  assertThat(cursor.getCursorId()).isZero();
+ }
+
+ @Test
+ public void shouldPassCursorIdOfPreviousIterationPerNode() {
+
+  Map<RedisClusterNode, List<Long>> requestedCursors = new ConcurrentHashMap<>();
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Arrays.asList(NODE_1, NODE_2), null,
+    (node, cursorId, options) -> {
+
+     requestedCursors.computeIfAbsent(node, key -> Collections.synchronizedList(new ArrayList<>())).add(cursorId);
+     return cursorId == 0 ? iteration(node.getPort(), "x") : iteration(0);
+    }).open();
+
+  cursor.forEachRemaining(item -> {});
+
+  assertThat(requestedCursors.get(NODE_1)).containsExactly(0L, 7379L);
+  assertThat(requestedCursors.get(NODE_2)).containsExactly(0L, 7380L);
+ }
+
+ @Test(expected = InvalidDataAccessApiUsageException.class)
+ public void shouldRethrowScanFailure() {
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Arrays.asList(NODE_1, NODE_2), null,
+    (node, cursorId, options) -> {
+
+     if (node.equals(NODE_2)) {
+      throw new InvalidDataAccessApiUsageException("o_O");
+     }
+     return iteration(0, "a");
+    }).open();
+
+  cursor.forEachRemaining(item -> {});
+ }
+
+ @Test
+ public void closeShouldStopScanning() throws InterruptedException {
+
+  AtomicInteger scans = new AtomicInteger();
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Collections.singletonList(NODE_1), null,
+    (node, cursorId, options) -> {
+
+     scans.incrementAndGet();
+     return iteration(cursorId + 1, "a");
+    }).open();
+
+  assertThat(cursor.next()).isEqualTo("a");
+
+  cursor.close();
+  Thread.sleep(200);
+  int scansAfterClose = scans.get();
+  Thread.sleep(200);
+
+  assertThat(cursor.isClosed()).isTrue();
+  assertThat(scans.get()).isEqualTo(scansAfterClose);
+ }
+
+ @Test
+ public void shouldStopScanningWhenNotConsumedWithinMaxIdleTime() throws InterruptedException {
+
+  AtomicInteger scans = new AtomicInteger();
+
+  ClusterScanCursor<String> cursor = new ClusterScanCursor<>(Collections.singletonList(NODE_1), null,
+    (node, cursorId, options) -> {
+
+     scans.incrementAndGet();
+     return iteration(cursorId + 1, "a");
+    }, new SimpleAsyncTaskExecutor(), Duration.ofMillis(200)).open();
+
+  assertThat(cursor.next()).isEqualTo("a");
+
+  Thread.sleep(600);
+  int scansAfterIdle = scans.get();
+  Thread.sleep(300);
+
+  assertThat(scans.get()).isEqualTo(scansAfterIdle);
+  assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(cursor::hasNext);
+  assertThat(cursor.isClosed()).isTrue();
+ }
+
+ @Test(expected = InvalidDataAccessApiUsageException.class)
+ public void shouldRequireOpen() {
+  new ClusterScanCursor<String>(Collections.singletonList(NODE_1), null, (node, cursorId, options) -> iteration(0))
+    .hasNext();
+ }
+
+ private static ScanIteration<String> nextIteration(Map<RedisClusterNode, List<ScanIteration<String>>> iterations,
+   RedisClusterNode node, long cursorId) {
+
+  List<ScanIteration<String>> nodeIterations = iterations.get(node);
+  for (int i = 0; i < nodeIterations.size(); i++) {
+
+   long expectedCursorId = i == 0 ? 0 : nodeIterations.get(i - 1).getCursorId();
+   if (expectedCursorId == cursorId) {
+    return nodeIterations.get(i);
+   }
+  }
+
+  throw new IllegalStateException("Unexpected cursor " + cursorId + " for " + node);
+ }
+
+ private static ScanIteration<String> iteration(long cursorId, String... items) {
+  return new ScanIteration<>(cursorId, Arrays.asList(items));
+ }
+}
@@ -27,6 +27,7 @@ import io.lettuce.core.api.sync.RedisHLLCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -941,6 +942,22 @@ public class LettuceClusterConnectionTests implements ClusterConnectionTests {
   assertThat(keysOnNode, not(hasItems(KEY_1_BYTES)));
  }
 
+ @Test
+ public void scanShouldReturnAllKeysAcrossAllNodes() throws IOException {
+
+  nativeConnection.set(KEY_1, VALUE_1);
+  nativeConnection.set(KEY_2, VALUE_2);
+  nativeConnection.set(KEY_3, VALUE_3);
+
+  List<byte[]> keys = new ArrayList<>();
+  try (Cursor<byte[]> cursor = clusterConnection.scan(ScanOptions.scanOptions().count(1).build())) {
+   cursor.forEachRemaining(keys::add);
+  }
+
+  assertThat(keys, hasItems(KEY_1_BYTES, KEY_2_BYTES, KEY_3_BYTES));
+  assertThat(keys.size(), is(3));
+ }
+
  @Test // DATAREDIS-315
  public void lIndexShouldGetElementAtIndexCorrectly() {
 
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection.lettuce;
+
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisAsyncCommandsImpl;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link CommandFlushCoalescer} takes control over flushing of a dedicated {@link StatefulRedisConnection} by disabling
+ * its auto flush and applying the given {@link CommandFlushPolicy}. Commands are written through the
+ * {@link #async() asynchronous} or {@link #sync() synchronous} API views of this coalescer. Each thread entering the
+ * write path is counted and the last thread leaving it flushes all commands written in the meantime, so that commands
+ * issued by concurrent callers are flushed at once while a single caller does not experience any additional latency.
+ * Reaching {@link CommandFlushPolicy#getMaxBufferedCommands()} flushes immediately on the calling thread.
+ * <p />
+ * The connection is owned by the coalescer and is closed along with it. Other connections, such as the shared native
+ * connection, are not affected.
+ *
+ * @since 2.0
+ */
+class CommandFlushCoalescer {
+
+ private final StatefulRedisConnection<byte[], byte[]> connection;
+ private final int maxBufferedCommands;
+
+ private final AtomicInteger writers = new AtomicInteger();
+ private final AtomicInteger bufferedCommands = new AtomicInteger();
+
+ private final RedisAsyncCommands<byte[], byte[]> async;
+ private final RedisCommands<byte[], byte[]> sync;
+
+ /**
+  * Creates new {@link CommandFlushCoalescer} and disables auto flush on the given connection.
+  *
+  * @param connection the connection dedicated to the coalescer. Must not be {@literal null}.
+  * @param policy must not be {@literal null}.
+  * @param timeout command timeout in milliseconds applied to the {@link #sync()} API.
+  * @throws IllegalStateException if the synchronous API cannot be mapped onto the asynchronous one.
+  */
+ @SuppressWarnings("unchecked")
+ CommandFlushCoalescer(StatefulRedisConnection<byte[], byte[]> connection, CommandFlushPolicy policy, long timeout) {
+
+  Assert.notNull(connection, "Connection must not be null!");
+  Assert.notNull(policy, "CommandFlushPolicy must not be null!");
+  Assert.isTrue(!policy.isFlushEachCommand(), "CommandFlushPolicy must buffer commands!");
+
+  this.connection = connection;
+  this.maxBufferedCommands = policy.getMaxBufferedCommands();
+
+  this.async = new CoalescingAsyncCommands(connection);
+  this.sync = (RedisCommands<byte[], byte[]>) Proxy.newProxyInstance(CommandFlushCoalescer.class.getClassLoader(),
+    new Class<?>[] { RedisCommands.class }, new SyncInvocationHandler(async, timeout));
+
+  connection.setAutoFlushCommands(false);
+ }
+
+ /**
+  * @return the asynchronous API of the connection taking part in flush coalescing.
+  */
+ RedisAsyncCommands<byte[], byte[]> async() {
+  return async;
+ }
+
+ /**
+  * @return the synchronous API of the connection taking part in flush coalescing.
+  */
+ RedisCommands<byte[], byte[]> sync() {
+  return sync;
+ }
+
+ /**
+  * @return the underlying connection.
+  */
+ StatefulRedisConnection<byte[], byte[]> getConnection() {
+  return connection;
+ }
+
+ /**
+  * Flush all buffered commands.
+  */
+ void flush() {
+
+  if (bufferedCommands.getAndSet(0) > 0) {
+   connection.flushCommands();
+  }
+ }
+
+ /**
+  * Flush all buffered commands and close the underlying connection.
+  */
+ void close() {
+
+  try {
+   flush();
+  } finally {
+   connection.close();
+  }
+ }
+
+ /**
+  * Notify about a thread about to write a command to the connection.
+  */
+ void beforeWrite() {
+  writers.incrementAndGet();
+ }
+
+ /**
+  * Notify about a thread that has written a command to the connection. Commands are counted before the writer leaves,
+  * so that the last writer leaving the write path always sees the commands of the writers that left before.
+  */
+ void afterWrite() {
+
+  int buffered = bufferedCommands.incrementAndGet();
+
+  if (writers.decrementAndGet() == 0 || buffered >= maxBufferedCommands) {
+   flush();
+  }
+ }
+
+ /**
+  * {@link RedisAsyncCommands} notifying the {@link CommandFlushCoalescer} around each dispatched command.
+  */
+ private class CoalescingAsyncCommands extends RedisAsyncCommandsImpl<byte[], byte[]> {
+
+  CoalescingAsyncCommands(StatefulRedisConnection<byte[], byte[]> connection) {
+   super(connection, ByteArrayCodec.INSTANCE);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see io.lettuce.core.AbstractRedisAsyncCommands#dispatch(io.lettuce.core.protocol.RedisCommand)
+   */
+  @Override
+  public <T> AsyncCommand<byte[], byte[], T> dispatch(RedisCommand<byte[], byte[], T> cmd) {
+
+   beforeWrite();
+
+   try {
+    return super.dispatch(cmd);
+   } finally {
+    afterWrite();
+   }
+  }
+ }
+
+ /**
+  * {@link InvocationHandler} mapping synchronous API calls to their asynchronous counterpart and awaiting the command
+  * result. Replaces the synchronous API of the connection which is backed by a reflective proxy as well. Methods are
+  * resolved upfront so that the synchronous API is known to be fully supported once the coalescer is created.
+  */
+ private static class SyncInvocationHandler implements InvocationHandler {
+
+  private final RedisAsyncCommands<byte[], byte[]> delegate;
+  private final long timeout;
+  private final Map<Method, Method> asyncMethods = new HashMap<>();
+
+  SyncInvocationHandler(RedisAsyncCommands<byte[], byte[]> delegate, long timeout) {
+
+   this.delegate = delegate;
+   this.timeout = timeout;
+
+   for (Method method : RedisCommands.class.getMethods()) {
+    asyncMethods.put(method, lookupAsyncMethod(method));
+   }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+   */
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+   Method target = asyncMethods.get(method);
+
+   if (target == null) {
+
+    switch (method.getName()) {
+     case "equals":
+      return proxy == args[0];
+     case "hashCode":
+      return System.identityHashCode(proxy);
+     default:
+      return "Coalescing " + delegate;
+    }
+   }
+
+   Object result;
+
+   try {
+    result = target.invoke(delegate, args);
+   } catch (InvocationTargetException e) {
+    throw e.getTargetException();
+   }
+
+   if (result instanceof RedisFuture) {
+    return LettuceFutures.awaitOrCancel((RedisFuture<?>) result, timeout, TimeUnit.MILLISECONDS);
+   }
+
+   return result;
+  }
+
+  private Method lookupAsyncMethod(Method method) {
+
+   try {
+    return RedisAsyncCommandsImpl.class.getMethod(method.getName(), method.getParameterTypes());
+   } catch (NoSuchMethodException e) {
+    throw new IllegalStateException(String.format("No asynchronous counterpart for %s found on %s.", method,
+      RedisAsyncCommandsImpl.class.getName()), e);
+   }
+  }
+ }
+}
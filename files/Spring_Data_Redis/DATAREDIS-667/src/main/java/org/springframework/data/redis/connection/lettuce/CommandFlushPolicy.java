@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection.lettuce;
+
+import org.springframework.util.Assert;
+
+/**
+ * Policy defining when commands issued on the shared native Lettuce connection are flushed to the transport.
+ * <p>
+ * By default, each command is written and flushed individually which results in one system call per command. Under
+ * high concurrency on the shared connection {@link #coalesceConcurrentCommands(int)} coalesces commands issued by
+ * multiple threads into a single flush that is performed by the last thread leaving the write path or once the
+ * configured number of commands has been buffered, whatever happens first. A single thread issuing commands one after
+ * another therefore still flushes each command without additional latency.
+ * <p>
+ * The policy applies to the shared native connection only. Dedicated connections used for transactions and blocking
+ * operations as well as cluster connections are always flushed per command.
+ *
+ * @since 2.0
+ * @see LettuceConnectionFactory#setCommandFlushPolicy(CommandFlushPolicy)
+ */
+public final class CommandFlushPolicy {
+
+ private static final CommandFlushPolicy FLUSH_EACH_COMMAND = new CommandFlushPolicy(1);
+
+ private final int maxBufferedCommands;
+
+ private CommandFlushPolicy(int maxBufferedCommands) {
+  this.maxBufferedCommands = maxBufferedCommands;
+ }
+
+ /**
+  * Flush each command immediately. This is the default.
+  *
+  * @return the {@link CommandFlushPolicy} flushing each command.
+  */
+ public static CommandFlushPolicy flushEachCommand() {
+  return FLUSH_EACH_COMMAND;
+ }
+
+ /**
+  * Buffer commands written concurrently and flush them in one go once no other thread is writing a command or as soon
+  * as {@code maxBufferedCommands} commands have been buffered.
+  *
+  * @param maxBufferedCommands the maximum number of commands to buffer before flushing. Must be greater than
+  *          {@literal 1}.
+  * @return the coalescing {@link CommandFlushPolicy}.
+  */
+ public static CommandFlushPolicy coalesceConcurrentCommands(int maxBufferedCommands) {
+
+  Assert.isTrue(maxBufferedCommands > 1, "Max buffered commands must be greater than 1!");
+
+  return new CommandFlushPolicy(maxBufferedCommands);
+ }
+
+ /**
+  * @return {@literal true} if each command is flushed individually.
+  */
+ public boolean isFlushEachCommand() {
+  return maxBufferedCommands == 1;
+ }
+
+ /**
+  * @return the maximum number of commands buffered before a flush is enforced.
+  */
+ public int getMaxBufferedCommands() {
+  return maxBufferedCommands;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return isFlushEachCommand() ? "CommandFlushPolicy [flushEachCommand]"
+    : "CommandFlushPolicy [coalesceConcurrentCommands, maxBufferedCommands=" + maxBufferedCommands + "]";
+ }
+}
@@ -109,6 +109,7 @@ public class LettuceConnection extends AbstractRedisConnection {
  /** flag indicating whether the connection needs to be dropped or not */
  private boolean broken = false;
  private boolean convertPipelineAndTxResults = true;
+ private CommandFlushCoalescer flushCoalescer;
 
  @SuppressWarnings("rawtypes")
  class LettuceResult extends FutureResult<io.lettuce.core.protocol.RedisCommand<?, ?, ?>> {
@@ -791,6 +792,17 @@ public class LettuceConnection extends AbstractRedisConnection {
   this.convertPipelineAndTxResults = convertPipelineAndTxResults;
  }
 
+ /**
+  * Route commands that would be issued on the shared native connection through the given
+  * {@link CommandFlushCoalescer}.
+  *
+  * @param flushCoalescer the coalescer flushing commands written concurrently. Can be {@literal null}.
+  * @since 2.0
+  */
+ void setCommandFlushCoalescer(CommandFlushCoalescer flushCoalescer) {
+  this.flushCoalescer = flushCoalescer;
+ }
+
  private void checkSubscription() {
   if (isSubscribed()) {
    throw new RedisSubscribedConnectionException(
@@ -827,6 +839,9 @@ public class LettuceConnection extends AbstractRedisConnection {
   }
   if (asyncSharedConn != null) {
 
+   if (flushCoalescer != null) {
+    return flushCoalescer.async();
+   }
    if (asyncSharedConn instanceof StatefulRedisConnection) {
     return ((StatefulRedisConnection<byte[], byte[]>) asyncSharedConn).async();
    }
@@ -841,6 +856,9 @@ public class LettuceConnection extends AbstractRedisConnection {
   }
   if (asyncSharedConn != null) {
 
+   if (flushCoalescer != null) {
+    return flushCoalescer.sync();
+   }
    if (asyncSharedConn instanceof StatefulRedisConnection) {
     return ((StatefulRedisConnection<byte[], byte[]>) asyncSharedConn).sync();
    }
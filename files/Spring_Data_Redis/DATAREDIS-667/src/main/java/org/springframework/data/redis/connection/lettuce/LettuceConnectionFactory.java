@@ -85,6 +85,8 @@ public class LettuceConnectionFactory
  private boolean validateConnection = false;
  private boolean shareNativeConnection = true;
  private StatefulRedisConnection<byte[], byte[]> connection;
+ private CommandFlushPolicy commandFlushPolicy = CommandFlushPolicy.flushEachCommand();
+ private CommandFlushCoalescer flushCoalescer;
  private LettucePool pool;
  /** Synchronization monitor for the shared Connection */
  private final Object connectionMonitor = new Object();
@@ -255,8 +257,13 @@ public class LettuceConnectionFactory
    return getClusterConnection();
   }
 
-  LettuceConnection connection = new LettuceConnection(getSharedConnection(), getTimeout(), client, pool,
-    getDatabase());
+  LettuceConnection connection;
+  synchronized (this.connectionMonitor) {
+
+   connection = new LettuceConnection(getSharedConnection(), getTimeout(), client, pool, getDatabase());
+   connection.setCommandFlushCoalescer(shareNativeConnection ? flushCoalescer : null);
+  }
+
   connection.setConvertPipelineAndTxResults(convertPipelineAndTxResults);
   return connection;
  }
@@ -305,6 +312,10 @@ public class LettuceConnectionFactory
     resetConnection();
    }
    this.connection = createLettuceConnector();
+
+   if (this.connection != null && shareNativeConnection && !commandFlushPolicy.isFlushEachCommand()) {
+    this.flushCoalescer = new CommandFlushCoalescer(createLettuceConnector(), commandFlushPolicy, getTimeout());
+   }
   }
  }
 
@@ -313,10 +324,14 @@ public class LettuceConnectionFactory
   */
  public void resetConnection() {
   synchronized (this.connectionMonitor) {
+   if (this.flushCoalescer != null) {
+    this.flushCoalescer.close();
+   }
    if (this.connection != null) {
     this.connection.close();
    }
    this.connection = null;
+   this.flushCoalescer = null;
   }
  }
 
@@ -331,6 +346,9 @@ public class LettuceConnectionFactory
    if (connection.isOpen()) {
     try {
      connection.sync().ping();
+     if (flushCoalescer != null) {
+      flushCoalescer.sync().ping();
+     }
      valid = true;
     } catch (Exception e) {
      log.debug("Validation failed", e);
@@ -517,6 +535,37 @@ public class LettuceConnectionFactory
   this.shareNativeConnection = shareNativeConnection;
  }
 
+ /**
+  * Returns the {@link CommandFlushPolicy} applied to the shared native connection.
+  *
+  * @return the {@link CommandFlushPolicy}. Never {@literal null}.
+  * @since 2.0
+  */
+ public CommandFlushPolicy getCommandFlushPolicy() {
+  return commandFlushPolicy;
+ }
+
+ /**
+  * Sets the {@link CommandFlushPolicy} applied to the shared native connection. Using
+  * {@link CommandFlushPolicy#coalesceConcurrentCommands(int)} coalesces commands issued concurrently by multiple
+  * {@link LettuceConnection}s into a single flush which reduces the number of system calls. Coalesced commands are
+  * written to a dedicated native connection so that commands issued directly on the
+  * {@link LettuceConnection#getNativeConnection() shared native connection} are still flushed immediately. Has no
+  * effect if native connection sharing is disabled or when connecting to Redis Cluster. Defaults to
+  * {@link CommandFlushPolicy#flushEachCommand()}.
+  * <p>
+  * Changes are applied when the shared connection is (re)initialized.
+  *
+  * @param commandFlushPolicy must not be {@literal null}.
+  * @since 2.0
+  */
+ public void setCommandFlushPolicy(CommandFlushPolicy commandFlushPolicy) {
+
+  Assert.notNull(commandFlushPolicy, "CommandFlushPolicy must not be null!");
+
+  this.commandFlushPolicy = commandFlushPolicy;
+ }
+
  /**
   * Returns the index of the database.
   *
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection.lettuce;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link CommandFlushCoalescer}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CommandFlushCoalescerUnitTests {
+
+ static final byte[] KEY = "key".getBytes();
+ static final byte[] VALUE = "value".getBytes();
+
+ @Mock StatefulRedisConnection<byte[], byte[]> connectionMock;
+
+ CommandFlushCoalescer coalescer;
+
+ @Before
+ public void setUp() {
+  coalescer = new CommandFlushCoalescer(connectionMock, CommandFlushPolicy.coalesceConcurrentCommands(3), 1000);
+ }
+
+ @Test
+ public void shouldDisableAutoFlush() {
+  verify(connectionMock).setAutoFlushCommands(false);
+ }
+
+ @Test
+ public void shouldFlushEachCommandOfSingleWriter() {
+
+  coalescer.async().get(KEY);
+  coalescer.async().get(KEY);
+
+  verify(connectionMock, times(2)).dispatch(any());
+  verify(connectionMock, times(2)).flushCommands();
+ }
+
+ @Test
+ public void shouldFlushOnceWhenLastConcurrentWriterLeaves() {
+
+  coalescer.beforeWrite();
+
+  coalescer.async().get(KEY);
+  coalescer.async().get(KEY);
+
+  verify(connectionMock, never()).flushCommands();
+
+  coalescer.afterWrite();
+
+  verify(connectionMock, times(1)).flushCommands();
+ }
+
+ @Test
+ public void shouldFlushImmediatelyWhenMaxBufferedCommandsReached() {
+
+  coalescer.beforeWrite();
+
+  coalescer.async().get(KEY);
+  coalescer.async().get(KEY);
+  coalescer.async().get(KEY);
+
+  verify(connectionMock, times(1)).flushCommands();
+ }
+
+ @Test
+ public void flushShouldNotFlushWhenNothingBuffered() {
+
+  coalescer.async().get(KEY);
+  coalescer.flush();
+
+  verify(connectionMock, times(1)).flushCommands();
+ }
+
+ @Test
+ public void closeShouldFlushAndCloseConnection() {
+
+  coalescer.beforeWrite();
+  coalescer.async().get(KEY);
+
+  coalescer.close();
+
+  verify(connectionMock).flushCommands();
+  verify(connectionMock).close();
+ }
+
+ @Test
+ @SuppressWarnings("unchecked")
+ public void syncShouldDispatchViaAsyncAndAwaitResult() {
+
+  when(connectionMock.dispatch(any())).thenAnswer(invocation -> {
+
+   RedisCommand<byte[], byte[], byte[]> command = invocation.getArgument(0);
+   command.getOutput().set(ByteBuffer.wrap(VALUE));
+   command.complete();
+   return command;
+  });
+
+  assertThat(coalescer.sync().get(KEY)).isEqualTo(VALUE);
+
+  verify(connectionMock).flushCommands();
+ }
+
+ @Test(expected = IllegalArgumentException.class)
+ public void shouldRejectFlushEachCommandPolicy() {
+  new CommandFlushCoalescer(connectionMock, CommandFlushPolicy.flushEachCommand(), 1000);
+ }
+}
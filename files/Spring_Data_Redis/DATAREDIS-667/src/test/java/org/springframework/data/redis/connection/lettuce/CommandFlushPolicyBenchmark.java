@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.connection.lettuce;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * Microbenchmark comparing the throughput of {@link LettuceConnection} commands on a shared native connection using
+ * {@link CommandFlushPolicy#flushEachCommand()} against {@link CommandFlushPolicy#coalesceConcurrentCommands(int)}.
+ * Requires a Redis server running on {@code localhost:6379}.
+ * <p />
+ * Run via {@code main} or {@code java -cp ... org.openjdk.jmh.Main CommandFlushPolicyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(32)
+@Fork(1)
+public class CommandFlushPolicyBenchmark {
+
+ private static final byte[] VALUE = "value".getBytes();
+
+ @Param({ "0", "16", "128" }) int maxBufferedCommands;
+
+ LettuceConnectionFactory connectionFactory;
+ RedisConnection connection;
+
+ @Setup
+ public void setUp() {
+
+  connectionFactory = new LettuceConnectionFactory();
+  connectionFactory.setCommandFlushPolicy(maxBufferedCommands > 1
+    ? CommandFlushPolicy.coalesceConcurrentCommands(maxBufferedCommands) : CommandFlushPolicy.flushEachCommand());
+  connectionFactory.afterPropertiesSet();
+
+  connection = connectionFactory.getConnection();
+  for (int i = 0; i < 1024; i++) {
+   connection.set(key(i), VALUE);
+  }
+ }
+
+ @TearDown
+ public void tearDown() {
+
+  connection.flushDb();
+  connection.close();
+  connectionFactory.destroy();
+ }
+
+ @Benchmark
+ public Object get() {
+  return connection.get(key(ThreadLocalRandom.current().nextInt(1024)));
+ }
+
+ @Benchmark
+ public Object set() {
+  return connection.set(key(ThreadLocalRandom.current().nextInt(1024)), VALUE);
+ }
+
+ private static byte[] key(int i) {
+  return ("benchmark:" + i).getBytes();
+ }
+
+ public static void main(String[] args) throws Exception {
+  new Runner(new OptionsBuilder().include(CommandFlushPolicyBenchmark.class.getSimpleName()).build()).run();
+ }
+}
@@ -300,6 +300,63 @@ public class ClusterCommandExecutor implements DisposableBean {
   return collectResults(futures);
  }
 
+ /**
+  * Run {@link MultiKeySlotClusterCommandCallback} once per master node serving one or more of the given keys. Keys are
+  * grouped by node and hash slot so that the callback can issue one native multi key command per slot, ideally
+  * pipelined, instead of falling back to one command per key. Nodes are called in parallel.
+  *
+  * @param cmd must not be {@literal null}.
+  * @param keys must not be {@literal null}.
+  * @return {@link MulitNodeResult} holding one {@link NodeResult} per involved node.
+  * @throws ClusterCommandExecutionFailureException
+  * @since 2.1
+  */
+ public <S, T> MulitNodeResult<T> executeMultiKeyCommandPerNode(final MultiKeySlotClusterCommandCallback<S, T> cmd,
+   Iterable<byte[]> keys) {
+
+  Assert.notNull(cmd, "MultiKeySlotClusterCommandCallback must not be null!");
+  Assert.notNull(keys, "Keys must not be null!");
+
+  ClusterTopology topology = getClusterTopology();
+  Map<RedisClusterNode, Map<Integer, List<byte[]>>> nodeSlotKeyMap = new LinkedHashMap<>();
+
+  for (byte[] key : keys) {
+
+   nodeSlotKeyMap.computeIfAbsent(topology.getKeyServingMasterNode(key), it -> new LinkedHashMap<>())
+     .computeIfAbsent(ClusterSlotHashUtil.calculateSlot(key), it -> new ArrayList<>()).add(key);
+  }
+
+  Map<NodeExecution, Future<NodeResult<T>>> futures = new LinkedHashMap<>();
+
+  for (final Entry<RedisClusterNode, Map<Integer, List<byte[]>>> entry : nodeSlotKeyMap.entrySet()) {
+
+   List<byte[][]> keysBySlot = new ArrayList<>(entry.getValue().size());
+   entry.getValue().values().forEach(it -> keysBySlot.add(it.toArray(new byte[it.size()][])));
+
+   futures.put(new NodeExecution(entry.getKey()),
+     executor.submit(() -> executeMultiKeyCommandOnSingleNode(cmd, entry.getKey(), keysBySlot)));
+  }
+
+  return collectResults(futures);
+ }
+
+ private <S, T> NodeResult<T> executeMultiKeyCommandOnSingleNode(MultiKeySlotClusterCommandCallback<S, T> cmd,
+   RedisClusterNode node, List<byte[][]> keysBySlot) {
+
+  S client = this.resourceProvider.getResourceForSpecificNode(node);
+  Assert.notNull(client, "Could not acquire resource for node. Is your cluster info up to date?");
+
+  try {
+   return new NodeResult<>(node, cmd.doInCluster(client, keysBySlot));
+  } catch (RuntimeException ex) {
+
+   RuntimeException translatedException = convertToDataAccessExeption(ex);
+   throw translatedException != null ? translatedException : ex;
+  } finally {
+   this.resourceProvider.returnResourceForSpecificNode(node, client);
+  }
+ }
+
  private <S, T> NodeResult<T> executeMultiKeyCommandOnSingleNode(MultiKeyClusterCommandCallback<S, T> cmd,
    RedisClusterNode node, byte[] key) {
 
@@ -378,6 +435,24 @@ public class ClusterCommandExecutor implements DisposableBean {
   S doInCluster(T client, byte[] key);
  }
 
+ /**
+  * Callback interface for Redis 'low level' code using the cluster client to execute multi key commands for all keys
+  * served by a single node at once.
+  *
+  * @param <T> native driver connection
+  * @param <S>
+  * @since 2.1
+  */
+ public static interface MultiKeySlotClusterCommandCallback<T, S> {
+
+  /**
+   * @param client the native connection to the node serving the given keys.
+   * @param keysBySlot keys grouped by hash slot. Every element can be sent along with a single multi key command.
+   * @return the node result.
+   */
+  S doInCluster(T client, List<byte[][]> keysBySlot);
+ }
+
  /**
   * {@link NodeExecution} encapsulates the execution of a command on a specific node along with arguments, such as
   * keys, involved.
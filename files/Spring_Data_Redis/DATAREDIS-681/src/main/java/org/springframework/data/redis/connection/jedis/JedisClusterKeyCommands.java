@@ -15,6 +15,10 @@
  */
 package org.springframework.data.redis.connection.jedis;
 
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -26,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.ClusterCommandExecutor.MultiKeySlotClusterCommandCallback;
 import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.RedisClusterNode;
@@ -34,7 +39,6 @@ import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.connection.convert.Converters;
 import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisClusterCommandCallback;
-import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisMultiKeyClusterCommandCallback;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.util.Assert;
@@ -69,10 +73,19 @@ class JedisClusterKeyCommands implements RedisKeyCommands {
    }
   }
 
-  return (long) connection.getClusterCommandExecutor()
-    .executeMuliKeyCommand((JedisMultiKeyClusterCommandCallback<Long>) (client, key) -> client.del(key),
-      Arrays.asList(keys))
-    .resultsAsList().size();
+  return connection.getClusterCommandExecutor()
+    .executeMultiKeyCommandPerNode((MultiKeySlotClusterCommandCallback<Jedis, Long>) (client, keysBySlot) -> {
+
+     Pipeline pipeline = client.pipelined();
+
+     List<Response<Long>> responses = new ArrayList<>(keysBySlot.size());
+     keysBySlot.forEach(slotKeys -> responses.add(pipeline.del(slotKeys)));
+
+     pipeline.sync();
+
+     return responses.stream().mapToLong(Response::get).sum();
+    }, Arrays.asList(keys)) //
+    .resultsAsList().stream().mapToLong(Long::longValue).sum();
  }
 
  /*
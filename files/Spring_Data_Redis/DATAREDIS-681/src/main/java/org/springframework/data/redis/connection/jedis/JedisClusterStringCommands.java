@@ -15,17 +15,24 @@
  */
 package org.springframework.data.redis.connection.jedis;
 
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.ClusterCommandExecutor.MultiKeySlotClusterCommandCallback;
 import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisClusterCommandCallback;
-import org.springframework.data.redis.connection.jedis.JedisClusterConnection.JedisMultiKeyClusterCommandCallback;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.util.ByteUtils;
 import org.springframework.util.Assert;
@@ -84,10 +91,40 @@ class JedisClusterStringCommands implements RedisStringCommands {
    return connection.getCluster().mget(keys);
   }
 
-  return connection.getClusterCommandExecutor()
-    .executeMuliKeyCommand((JedisMultiKeyClusterCommandCallback<byte[]>) (client, key) -> client.get(key),
-      Arrays.asList(keys))
-    .resultsAsListSortBy(keys);
+  Map<ByteArrayWrapper, byte[]> values = new HashMap<>(keys.length);
+
+  connection.getClusterCommandExecutor()
+    .executeMultiKeyCommandPerNode((MultiKeySlotClusterCommandCallback<Jedis, Map<ByteArrayWrapper, byte[]>>) (
+      client, keysBySlot) -> {
+
+     Pipeline pipeline = client.pipelined();
+
+     List<Response<List<byte[]>>> responses = new ArrayList<>(keysBySlot.size());
+     keysBySlot.forEach(slotKeys -> responses.add(pipeline.mget(slotKeys)));
+
+     pipeline.sync();
+
+     Map<ByteArrayWrapper, byte[]> nodeValues = new HashMap<>();
+     for (int i = 0; i < keysBySlot.size(); i++) {
+
+      byte[][] slotKeys = keysBySlot.get(i);
+      List<byte[]> slotValues = responses.get(i).get();
+
+      for (int j = 0; j < slotKeys.length; j++) {
+       nodeValues.put(new ByteArrayWrapper(slotKeys[j]), slotValues.get(j));
+      }
+     }
+
+     return nodeValues;
+    }, Arrays.asList(keys)) //
+    .resultsAsList().forEach(values::putAll);
+
+  List<byte[]> result = new ArrayList<>(keys.length);
+  for (byte[] key : keys) {
+   result.add(values.get(new ByteArrayWrapper(key)));
+  }
+
+  return result;
  }
 
  /*
@@ -213,9 +250,28 @@ class JedisClusterStringCommands implements RedisStringCommands {
    }
   }
 
-  for (Map.Entry<byte[], byte[]> entry : tuples.entrySet()) {
-   set(entry.getKey(), entry.getValue());
-  }
+  Map<ByteArrayWrapper, byte[]> values = new HashMap<>(tuples.size());
+  tuples.forEach((key, value) -> values.put(new ByteArrayWrapper(key), value));
+
+  connection.getClusterCommandExecutor()
+    .executeMultiKeyCommandPerNode((MultiKeySlotClusterCommandCallback<Jedis, Void>) (client, keysBySlot) -> {
+
+     Pipeline pipeline = client.pipelined();
+
+     for (byte[][] slotKeys : keysBySlot) {
+
+      byte[][] keysAndValues = new byte[slotKeys.length * 2][];
+      for (int i = 0; i < slotKeys.length; i++) {
+       keysAndValues[2 * i] = slotKeys[i];
+       keysAndValues[2 * i + 1] = values.get(new ByteArrayWrapper(slotKeys[i]));
+      }
+
+      pipeline.mset(keysAndValues);
+     }
+
+     pipeline.sync();
+     return null;
+    }, tuples.keySet());
  }
 
  /*
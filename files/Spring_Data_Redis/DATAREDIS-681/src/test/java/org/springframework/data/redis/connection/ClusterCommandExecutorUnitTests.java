@@ -24,6 +24,7 @@ import static org.springframework.data.redis.test.util.MockitoUtils.*;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.After;
@@ -43,6 +44,7 @@ import org.springframework.data.redis.TooManyClusterRedirectionsException;
 import org.springframework.data.redis.connection.ClusterCommandExecutor.ClusterCommandCallback;
 import org.springframework.data.redis.connection.ClusterCommandExecutor.MulitNodeResult;
 import org.springframework.data.redis.connection.ClusterCommandExecutor.MultiKeyClusterCommandCallback;
+import org.springframework.data.redis.connection.ClusterCommandExecutor.MultiKeySlotClusterCommandCallback;
 import org.springframework.data.redis.connection.RedisClusterNode.LinkState;
 import org.springframework.data.redis.connection.RedisClusterNode.SlotRange;
 import org.springframework.data.redis.connection.RedisNode.NodeType;
@@ -95,6 +97,8 @@ public class ClusterCommandExecutorUnitTests {
 
  private static final MultiKeyConnectionCommandCallback<String> MULTIKEY_CALLBACK = Connection::bloodAndAshes;
 
+ private static final MultiKeySlotConnectionCommandCallback<String> MULTIKEY_SLOT_CALLBACK = Connection::dragonReborn;
+
  @Mock Connection con1;
  @Mock Connection con2;
  @Mock Connection con3;
@@ -273,6 +277,33 @@ public class ClusterCommandExecutorUnitTests {
   assertThat(captor.getAllValues().size(), is(2));
  }
 
+ @Test
+ @SuppressWarnings("unchecked")
+ public void executeMultiKeyCommandPerNodeShouldCallEachNodeOnceWithKeysGroupedBySlot() {
+
+  // key-1 and key-9 map both to node1 but use different slots
+  ArgumentCaptor<List<byte[][]>> captor = ArgumentCaptor.forClass(List.class);
+  when(con1.dragonReborn(captor.capture())).thenReturn("rand");
+  when(con2.dragonReborn(any(List.class))).thenReturn("mat");
+  when(con3.dragonReborn(any(List.class))).thenReturn("perrin");
+
+  MulitNodeResult<String> result = executor.executeMultiKeyCommandPerNode(MULTIKEY_SLOT_CALLBACK,
+    Arrays.asList("key-1".getBytes(), "key-2".getBytes(), "key-3".getBytes(), "key-9".getBytes(),
+      "{key-1}-other".getBytes()));
+
+  assertThat(result.resultsAsList().size(), is(3));
+  assertThat(result.resultsAsList(), hasItems("rand", "mat", "perrin"));
+
+  verify(con1, times(1)).dragonReborn(any(List.class));
+  verify(con2, times(1)).dragonReborn(any(List.class));
+  verify(con3, times(1)).dragonReborn(any(List.class));
+
+  List<byte[][]> node1Keys = captor.getValue();
+  assertThat(node1Keys.size(), is(2));
+  assertThat(node1Keys.get(0).length, is(2));
+  assertThat(node1Keys.get(1).length, is(1));
+ }
+
  @Test // DATAREDIS-315
  public void executeCommandOnSingleNodeAndFollowRedirect() {
 
@@ -355,11 +386,18 @@ public class ClusterCommandExecutorUnitTests {
 
  }
 
+ static interface MultiKeySlotConnectionCommandCallback<S>
+   extends MultiKeySlotClusterCommandCallback<Connection, S> {
+
+ }
+
  static interface Connection {
 
   String theWheelWeavesAsTheWheelWills();
 
   String bloodAndAshes(byte[] key);
+
+  String dragonReborn(List<byte[][]> keysBySlot);
  }
 
  static class MovedException extends RuntimeException {
@@ -17,15 +17,29 @@ package org.springframework.data.redis.cache;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -38,7 +52,10 @@ import org.springframework.util.Assert;
  * {@literal non-locking} aims for maximum performance it may result in overlapping, non atomic, command execution for
  * operations spanning multiple Redis interactions like {@code putIfAbsent}. The {@literal locking} counterpart prevents
  * command overlap by setting an explicit lock key and checking against presence of this key which leads to additional
- * requests and potential command wait times.
+ * requests and potential command wait times. <br />
+ * The {@link RedisCacheWriter#keyLockingRedisCacheWriter(RedisConnectionFactory) key-locking} mode avoids the cache
+ * wide lock altogether and guards individual keys with a short lived {@code SET key~lock token NX PX ttl} instead.
+ * Operations on other keys of the same cache are not affected by such a lock.
  *
  * @author Christoph Strobl
  * @author Mark Paluch
@@ -46,8 +63,27 @@ import org.springframework.util.Assert;
  */
 class DefaultRedisCacheWriter implements RedisCacheWriter {
 
+ /**
+  * Maximum number of keys sent along with a single {@code MGET}/{@code MSET} to avoid blocking the server for too long.
+  */
+ static final int MULTI_KEY_BATCH_SIZE = 10000;
+
+ private static final byte[] LOCK_KEY_SUFFIX = "~lock".getBytes(StandardCharsets.UTF_8);
+ private static final byte[] UNLOCK_KEY_SCRIPT = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+   + "return redis.call('del', KEYS[1]) else return 0 end").getBytes(StandardCharsets.UTF_8);
+ private static final byte[] SET_ALL_WITH_TTL_SCRIPT = ("for i = 1, #KEYS do "
+   + "redis.call('set', KEYS[i], ARGV[i], 'px', ARGV[#ARGV]) end return #KEYS").getBytes(StandardCharsets.UTF_8);
+
+ /**
+  * Upper bound for the interval between lock checks in {@link #awaitUnlock(String, byte[], Duration)}.
+  */
+ static final Duration MAX_UNLOCK_BACKOFF = Duration.ofMillis(200);
+
  private final RedisConnectionFactory connectionFactory;
  private final Duration sleepTime;
+ private final Duration keyLockTtl;
+
+ private volatile boolean pipelineSupported = true;
 
  /**
   * @param connectionFactory must not be {@literal null}.
@@ -62,12 +98,27 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   *          to disable locking.
   */
  DefaultRedisCacheWriter(RedisConnectionFactory connectionFactory, Duration sleepTime) {
+  this(connectionFactory, sleepTime, Duration.ZERO);
+ }
+
+ /**
+  * @param connectionFactory must not be {@literal null}.
+  * @param sleepTime sleep time between lock request attempts. Must not be {@literal null}. Use {@link Duration#ZERO}
+  *          to disable locking.
+  * @param keyLockTtl expiration time of per key locks. Must not be {@literal null}. Any positive value switches from
+  *          cache wide to per key locking using {@literal sleepTime} as the interval between lock request attempts. Use
+  *          {@link Duration#ZERO} to disable per key locking.
+  * @since 2.1
+  */
+ DefaultRedisCacheWriter(RedisConnectionFactory connectionFactory, Duration sleepTime, Duration keyLockTtl) {
 
   Assert.notNull(connectionFactory, "ConnectionFactory must not be null!");
   Assert.notNull(sleepTime, "SleepTime must not be null!");
+  Assert.notNull(keyLockTtl, "KeyLockTtl must not be null!");
 
   this.connectionFactory = connectionFactory;
   this.sleepTime = sleepTime;
+  this.keyLockTtl = keyLockTtl;
  }
 
  /* 
@@ -121,8 +172,12 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
 
   return execute(name, connection -> {
 
+   byte[] keyLockToken = null;
+
    if (isLockingCacheWriter()) {
     doLock(name, connection);
+   } else if (isKeyLockingCacheWriter()) {
+    keyLockToken = doLockKey(name, key, connection);
    }
 
    try {
@@ -139,6 +194,8 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
 
     if (isLockingCacheWriter()) {
      doUnlock(name, connection);
+    } else if (keyLockToken != null) {
+     doUnlockKey(key, keyLockToken, connection);
     }
    }
   });
@@ -157,6 +214,110 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   execute(name, connection -> connection.del(key));
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#getAll(java.lang.String, java.util.List)
+  */
+ @Override
+ @SuppressWarnings("unchecked")
+ public List<byte[]> getAll(String name, List<byte[]> keys) {
+
+  Assert.notNull(name, "Name must not be null!");
+  Assert.notNull(keys, "Keys must not be null!");
+
+  if (keys.isEmpty()) {
+   return Collections.emptyList();
+  }
+
+  return execute(name, connection -> {
+
+   byte[][] values = new byte[keys.size()][];
+
+   for (List<List<Integer>> batches : partition(keys, connection)) {
+
+    List<Object> results = executeBatches(connection, batches, batch -> connection.mGet(toKeys(keys, batch)));
+
+    for (int i = 0; i < batches.size(); i++) {
+
+     List<Integer> batch = batches.get(i);
+     List<byte[]> batchValues = (List<byte[]>) results.get(i);
+
+     for (int j = 0; j < batch.size(); j++) {
+      values[batch.get(j)] = batchValues.get(j);
+     }
+    }
+   }
+
+   return Arrays.asList(values);
+  });
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#putAll(java.lang.String, java.util.Map, java.time.Duration)
+  */
+ @Override
+ public void putAll(String name, Map<byte[], byte[]> entries, @Nullable Duration ttl) {
+
+  Assert.notNull(name, "Name must not be null!");
+  Assert.notNull(entries, "Entries must not be null!");
+
+  if (entries.isEmpty()) {
+   return;
+  }
+
+  execute(name, connection -> {
+
+   boolean expire = shouldExpireWithin(ttl);
+
+   if (expire && !(connection instanceof RedisClusterConnection)) {
+
+    Expiration expiration = Expiration.from(ttl.toMillis(), TimeUnit.MILLISECONDS);
+
+    connection.openPipeline();
+    try {
+     entries.forEach((key, value) -> connection.set(key, value, expiration, SetOption.upsert()));
+    } finally {
+     connection.closePipeline();
+    }
+
+    return "OK";
+   }
+
+   List<byte[]> keys = new ArrayList<>(entries.keySet());
+   byte[] ttlMillis = expire ? String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8) : null;
+
+   for (List<List<Integer>> batches : partition(keys, connection)) {
+
+    executeBatches(connection, batches, batch -> {
+
+     if (ttlMillis == null) {
+
+      Map<byte[], byte[]> tuple = new LinkedHashMap<>(batch.size(), 1);
+      batch.forEach(it -> tuple.put(keys.get(it), entries.get(keys.get(it))));
+
+      return connection.mSet(tuple);
+     }
+
+     // keys of a batch share a hash slot so that they can be written along with their ttl by a single script
+     byte[][] keysAndArgs = new byte[batch.size() * 2 + 1][];
+
+     for (int i = 0; i < batch.size(); i++) {
+
+      keysAndArgs[i] = keys.get(batch.get(i));
+      keysAndArgs[batch.size() + i] = entries.get(keys.get(batch.get(i)));
+     }
+
+     keysAndArgs[keysAndArgs.length - 1] = ttlMillis;
+
+     return connection.eval(SET_ALL_WITH_TTL_SCRIPT, ReturnType.INTEGER, batch.size(), keysAndArgs);
+    });
+   }
+
+   return "OK";
+  });
+ }
+
  /* 
   * (non-Javadoc)
   * @see org.springframework.data.redis.cache.RedisCacheWriter#clean(java.lang.String, byte[])
@@ -194,6 +355,81 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   });
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#tryLock(java.lang.String, byte[])
+  */
+ @Override
+ public byte[] tryLock(String name, byte[] key) {
+
+  Assert.notNull(name, "Name must not be null!");
+  Assert.notNull(key, "Key must not be null!");
+
+  if (!isKeyLockingCacheWriter()) {
+   return RedisCacheWriter.super.tryLock(name, key);
+  }
+
+  return executeLockFree(connection -> doTryLockKey(key, connection));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#unlock(java.lang.String, byte[], byte[])
+  */
+ @Override
+ public void unlock(String name, byte[] key, byte[] token) {
+
+  Assert.notNull(name, "Name must not be null!");
+  Assert.notNull(key, "Key must not be null!");
+  Assert.notNull(token, "Token must not be null!");
+
+  if (!isKeyLockingCacheWriter()) {
+   return;
+  }
+
+  executeLockFree(connection -> {
+
+   doUnlockKey(key, token, connection);
+   return null;
+  });
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#awaitUnlock(java.lang.String, byte[], java.time.Duration)
+  */
+ @Override
+ public void awaitUnlock(String name, byte[] key, Duration timeout) {
+
+  Assert.notNull(name, "Name must not be null!");
+  Assert.notNull(key, "Key must not be null!");
+  Assert.notNull(timeout, "Timeout must not be null!");
+
+  if (!isKeyLockingCacheWriter()) {
+   return;
+  }
+
+  executeLockFree(connection -> {
+
+   long deadline = System.currentTimeMillis() + timeout.toMillis();
+   long backoff = Math.max(sleepTime.toMillis(), 1);
+
+   while (connection.exists(createKeyLockKey(key))) {
+
+    long remaining = deadline - System.currentTimeMillis();
+    if (remaining <= 0) {
+     break;
+    }
+
+    // back off exponentially to keep EXISTS polling cheap while a slow load holds the lock.
+    sleep(name, Math.min(backoff, remaining));
+    backoff = Math.min(backoff * 2, MAX_UNLOCK_BACKOFF.toMillis());
+   }
+
+   return null;
+  });
+ }
+
  /**
   * Explicitly set a write lock on a cache.
   *
@@ -212,6 +448,41 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   executeLockFree(connection -> doUnlock(name, connection));
  }
 
+ /**
+  * Block until the lock for {@code key} could be acquired. Locks expire after {@literal keyLockTtl} so a crashed lock
+  * holder cannot block others forever.
+  *
+  * @return the token identifying the lock owner.
+  */
+ private byte[] doLockKey(String name, byte[] key, RedisConnection connection) {
+
+  byte[] token;
+  while ((token = doTryLockKey(key, connection)) == null) {
+   sleep(name);
+  }
+
+  return token;
+ }
+
+ @Nullable
+ private byte[] doTryLockKey(byte[] key, RedisConnection connection) {
+
+  byte[] lockKey = createKeyLockKey(key);
+  byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+
+  connection.set(lockKey, token, Expiration.from(keyLockTtl.toMillis(), TimeUnit.MILLISECONDS),
+    SetOption.ifAbsent());
+
+  return Arrays.equals(token, connection.get(lockKey)) ? token : null;
+ }
+
+ private void doUnlockKey(byte[] key, byte[] token, RedisConnection connection) {
+
+  // only release locks we own. An expired lock might have been granted to someone else in the meantime so compare
+  // and delete need to happen atomically.
+  connection.eval(UNLOCK_KEY_SCRIPT, ReturnType.INTEGER, 1, createKeyLockKey(key), token);
+ }
+
  private Boolean doLock(String name, RedisConnection connection) {
   return connection.setNX(createCacheLockKey(name), new byte[0]);
  }
@@ -228,7 +499,14 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   * @return {@literal true} if {@link RedisCacheWriter} uses locks.
   */
  private boolean isLockingCacheWriter() {
-  return !sleepTime.isZero() && !sleepTime.isNegative();
+  return !sleepTime.isZero() && !sleepTime.isNegative() && !isKeyLockingCacheWriter();
+ }
+
+ /**
+  * @return {@literal true} if {@link RedisCacheWriter} uses per key locks.
+  */
+ private boolean isKeyLockingCacheWriter() {
+  return !keyLockTtl.isZero() && !keyLockTtl.isNegative();
  }
 
  private <T> T execute(String name, Function<RedisConnection, T> callback) {
@@ -243,12 +521,12 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   }
  }
 
- private void executeLockFree(Consumer<RedisConnection> callback) {
+ private <T> T executeLockFree(Function<RedisConnection, T> callback) {
 
   RedisConnection connection = connectionFactory.getConnection();
 
   try {
-   callback.accept(connection);
+   return callback.apply(connection);
   } finally {
    connection.close();
   }
@@ -260,11 +538,19 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
    return;
   }
 
-  try {
+  while (doCheckLock(name, connection)) {
+   sleep(name);
+  }
+ }
 
-   while (doCheckLock(name, connection)) {
-    Thread.sleep(sleepTime.toMillis());
-   }
+ private void sleep(String name) {
+  sleep(name, sleepTime.toMillis());
+ }
+
+ private void sleep(String name, long millis) {
+
+  try {
+   Thread.sleep(millis);
   } catch (InterruptedException ex) {
 
    // Re-interrupt current thread, to allow other participants to react.
@@ -275,6 +561,106 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
   }
  }
 
+ /**
+  * Run the given command for each batch and return the results in batch order. Batches are pipelined unless there is
+  * only a single one or the connection does not support pipelining.
+  */
+ private List<Object> executeBatches(RedisConnection connection, List<List<Integer>> batches,
+   Function<List<Integer>, Object> command) {
+
+  if (batches.size() == 1 || !openPipeline(connection)) {
+
+   List<Object> results = new ArrayList<>(batches.size());
+   batches.forEach(it -> results.add(command.apply(it)));
+   return results;
+  }
+
+  try {
+   batches.forEach(command::apply);
+  } catch (RuntimeException e) {
+
+   connection.closePipeline();
+   throw e;
+  }
+
+  return connection.closePipeline();
+ }
+
+ private boolean openPipeline(RedisConnection connection) {
+
+  if (!pipelineSupported) {
+   return false;
+  }
+
+  try {
+   connection.openPipeline();
+   return true;
+  } catch (UnsupportedOperationException e) {
+
+   // some cluster connections do not support pipelining so remember to not try again.
+   pipelineSupported = false;
+   return false;
+  }
+ }
+
+ /**
+  * Split the given keys into batches of at most {@link #MULTI_KEY_BATCH_SIZE} key positions. In {@literal cluster}
+  * mode keys are grouped by the node serving them and by hash slot within each node, so that every batch can be sent
+  * as a single multi key command and the batches of one node can be pipelined. Each element of the returned
+  * {@link Collection} holds the batches of one node.
+  */
+ private static Collection<List<List<Integer>>> partition(List<byte[]> keys, RedisConnection connection) {
+
+  Map<Object, Map<Integer, List<Integer>>> nodes = new LinkedHashMap<>();
+
+  if (connection instanceof RedisClusterConnection) {
+
+   RedisClusterConnection clusterConnection = (RedisClusterConnection) connection;
+   Map<Integer, Object> nodeBySlot = new HashMap<>();
+
+   for (int i = 0; i < keys.size(); i++) {
+
+    int slot = ClusterSlotHashUtil.calculateSlot(keys.get(i));
+    Object node = nodeBySlot.computeIfAbsent(slot, it -> {
+
+     RedisClusterNode clusterNode = clusterConnection.clusterGetNodeForSlot(it);
+     return clusterNode != null ? clusterNode : Integer.valueOf(it);
+    });
+
+    nodes.computeIfAbsent(node, it -> new LinkedHashMap<>()).computeIfAbsent(slot, it -> new ArrayList<>()).add(i);
+   }
+  } else {
+
+   List<Integer> positions = new ArrayList<>(keys.size());
+   for (int i = 0; i < keys.size(); i++) {
+    positions.add(i);
+   }
+
+   nodes.put("standalone", Collections.singletonMap(0, positions));
+  }
+
+  List<List<List<Integer>>> partitions = new ArrayList<>(nodes.size());
+
+  for (Map<Integer, List<Integer>> slots : nodes.values()) {
+
+   List<List<Integer>> batches = new ArrayList<>();
+
+   for (List<Integer> positions : slots.values()) {
+    for (int i = 0; i < positions.size(); i += MULTI_KEY_BATCH_SIZE) {
+     batches.add(positions.subList(i, Math.min(i + MULTI_KEY_BATCH_SIZE, positions.size())));
+    }
+   }
+
+   partitions.add(batches);
+  }
+
+  return partitions;
+ }
+
+ private static byte[][] toKeys(List<byte[]> keys, List<Integer> batch) {
+  return batch.stream().map(keys::get).toArray(byte[][]::new);
+ }
+
  private static boolean shouldExpireWithin(Duration ttl) {
   return ttl != null && !ttl.isZero() && !ttl.isNegative();
  }
@@ -282,4 +668,8 @@ class DefaultRedisCacheWriter implements RedisCacheWriter {
  private static byte[] createCacheLockKey(String name) {
   return (name + "~lock").getBytes(StandardCharsets.UTF_8);
  }
+
+ private static byte[] createKeyLockKey(byte[] key) {
+  return ByteUtils.concat(key, LOCK_KEY_SUFFIX);
+ }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Bounded in-process store for binary cache entries of a single cache. Entries are evicted once either the
+ * {@link NearCacheConfiguration#getMaximumSize() size} or the {@link NearCacheConfiguration#getMaximumWeight() weight}
+ * limit is exceeded or their {@link NearCacheConfiguration#getEntryTtl() local ttl} has passed. <br />
+ * Reads do not lock. Each entry records the time of its last access and eviction removes the least recently accessed
+ * entries in batches, so the limits are approximate while an eviction is in progress. <br />
+ * Every invalidation bumps the generation counter of the stripe its key hashes to. Values read from Redis are only
+ * stored if no invalidation of their stripe happened since the read was started so that a concurrent invalidation
+ * cannot be overwritten by a stale value, while invalidations of unrelated keys rarely drop a value.
+ *
+ * @since 2.1
+ */
+class NearCache implements NearCacheStatistics {
+
+ private static final int GENERATION_STRIPES = 256;
+
+ private final NearCacheConfiguration configuration;
+ private final ConcurrentMap<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+ private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+ private final AtomicLong weight = new AtomicLong();
+ private final ReentrantLock evictionLock = new ReentrantLock();
+
+ private final LongAdder hits = new LongAdder();
+ private final LongAdder misses = new LongAdder();
+ private final LongAdder evictions = new LongAdder();
+ private final LongAdder invalidations = new LongAdder();
+
+ NearCache(NearCacheConfiguration configuration) {
+  this.configuration = configuration;
+ }
+
+ /**
+  * @param key must not be {@literal null}.
+  * @return the locally held value or {@literal null} if not present or expired.
+  */
+ @Nullable
+ byte[] get(byte[] key) {
+
+  ByteBuffer lookupKey = ByteBuffer.wrap(key);
+  Entry entry = entries.get(lookupKey);
+  long now = System.nanoTime();
+
+  if (entry != null && entry.isExpired(now)) {
+
+   if (removeEntry(lookupKey, entry)) {
+    evictions.increment();
+   }
+   entry = null;
+  }
+
+  if (entry == null) {
+   misses.increment();
+   return null;
+  }
+
+  entry.lastAccessNanos = now;
+  hits.increment();
+  return entry.value;
+ }
+
+ /**
+  * @param key must not be {@literal null}.
+  * @return the current generation of the given key to be passed on to {@link #put(byte[], byte[], long)}.
+  */
+ long generation(byte[] key) {
+  return generations.get(stripe(ByteBuffer.wrap(key)));
+ }
+
+ /**
+  * Store the given value unless the key was invalidated after {@code expectedGeneration} was obtained.
+  */
+ void put(byte[] key, byte[] value, long expectedGeneration) {
+
+  ByteBuffer storeKey = ByteBuffer.wrap(key);
+  int stripe = stripe(storeKey);
+
+  if (generations.get(stripe) != expectedGeneration) {
+   return;
+  }
+
+  long now = System.nanoTime();
+  Entry entry = new Entry(value, now + configuration.getEntryTtl().toNanos(), key.length + value.length, now);
+
+  Entry previous = entries.put(storeKey, entry);
+  weight.addAndGet(previous != null ? entry.weight - previous.weight : entry.weight);
+
+  // an invalidation that raced with the put must not leave the stale value behind
+  if (generations.get(stripe) != expectedGeneration) {
+   removeEntry(storeKey, entry);
+   return;
+  }
+
+  evictIfNecessary();
+ }
+
+ void invalidate(byte[] key) {
+
+  ByteBuffer lookupKey = ByteBuffer.wrap(key);
+  generations.incrementAndGet(stripe(lookupKey));
+
+  Entry removed = entries.remove(lookupKey);
+
+  if (removed != null) {
+   weight.addAndGet(-removed.weight);
+   invalidations.increment();
+  }
+ }
+
+ void clear() {
+
+  for (int i = 0; i < GENERATION_STRIPES; i++) {
+   generations.incrementAndGet(i);
+  }
+
+  for (ByteBuffer key : entries.keySet()) {
+
+   Entry removed = entries.remove(key);
+
+   if (removed != null) {
+    weight.addAndGet(-removed.weight);
+    invalidations.increment();
+   }
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.NearCacheStatistics#getHitCount()
+  */
+ @Override
+ public long getHitCount() {
+  return hits.sum();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.NearCacheStatistics#getMissCount()
+  */
+ @Override
+ public long getMissCount() {
+  return misses.sum();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.NearCacheStatistics#getEvictionCount()
+  */
+ @Override
+ public long getEvictionCount() {
+  return evictions.sum();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.NearCacheStatistics#getInvalidationCount()
+  */
+ @Override
+ public long getInvalidationCount() {
+  return invalidations.sum();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.NearCacheStatistics#getSize()
+  */
+ @Override
+ public long getSize() {
+  return entries.size();
+ }
+
+ /**
+  * Evict the least recently accessed entries once a limit is exceeded. Evicting down to slightly below the limits
+  * amortizes sorting the entries over subsequent puts. Only one thread evicts at a time, others continue without
+  * waiting.
+  */
+ private void evictIfNecessary() {
+
+  if (!isOverLimit(configuration.getMaximumSize(), configuration.getMaximumWeight()) || !evictionLock.tryLock()) {
+   return;
+  }
+
+  try {
+
+   int targetSize = configuration.getMaximumSize() - configuration.getMaximumSize() / 16;
+   long targetWeight = configuration.getMaximumWeight() - configuration.getMaximumWeight() / 16;
+
+   // capture access times up front as concurrent reads keep updating them while sorting
+   List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+   entries.forEach((key, entry) -> candidates.add(new EvictionCandidate(key, entry)));
+   candidates.sort(Comparator.comparingLong(it -> it.lastAccessNanos));
+
+   for (EvictionCandidate candidate : candidates) {
+
+    if (!isOverLimit(targetSize, targetWeight)) {
+     return;
+    }
+
+    if (removeEntry(candidate.key, candidate.entry)) {
+     evictions.increment();
+    }
+   }
+  } finally {
+   evictionLock.unlock();
+  }
+ }
+
+ private static int stripe(ByteBuffer key) {
+
+  int hash = key.hashCode();
+  return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+ }
+
+ private boolean isOverLimit(int maximumSize, long maximumWeight) {
+  return entries.size() > maximumSize || weight.get() > maximumWeight;
+ }
+
+ private boolean removeEntry(ByteBuffer key, Entry entry) {
+
+  if (entries.remove(key, entry)) {
+
+   weight.addAndGet(-entry.weight);
+   return true;
+  }
+
+  return false;
+ }
+
+ private static class Entry {
+
+  final byte[] value;
+  final long expiresAtNanos;
+  final long weight;
+  volatile long lastAccessNanos;
+
+  Entry(byte[] value, long expiresAtNanos, long weight, long lastAccessNanos) {
+
+   this.value = value;
+   this.expiresAtNanos = expiresAtNanos;
+   this.weight = weight;
+   this.lastAccessNanos = lastAccessNanos;
+  }
+
+  boolean isExpired(long nowNanos) {
+   return nowNanos - expiresAtNanos >= 0;
+  }
+ }
+ private static class EvictionCandidate {
+
+  final ByteBuffer key;
+  final Entry entry;
+  final long lastAccessNanos;
+
+  EvictionCandidate(ByteBuffer key, Entry entry) {
+
+   this.key = key;
+   this.entry = entry;
+   this.lastAccessNanos = entry.lastAccessNanos;
+  }
+ }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import java.time.Duration;
+
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable {@link NearCacheConfiguration} customizing the in-process tier kept in front of a {@link RedisCacheWriter}
+ * such as its capacity, the maximum local lifetime of entries and the way entries get invalidated when they are
+ * changed by other nodes. <br />
+ * Start with {@link NearCacheConfiguration#defaultNearCacheConfig()} and customize from there on.
+ *
+ * @since 2.1
+ * @see RedisCacheWriter#nearCachingRedisCacheWriter(RedisCacheWriter,
+ *      org.springframework.data.redis.listener.RedisMessageListenerContainer, NearCacheConfiguration)
+ */
+public class NearCacheConfiguration {
+
+ static final String DEFAULT_INVALIDATION_CHANNEL = "__spring-data-redis:near-cache:invalidation";
+ static final String KEYSPACE_NOTIFICATION_PATTERN = "__keyspace@%d__:%s*";
+
+ private final int maximumSize;
+ private final long maximumWeight;
+ private final Duration entryTtl;
+ private final String invalidationChannel;
+ private final @Nullable String keyspaceNotificationPattern;
+
+ private NearCacheConfiguration(int maximumSize, long maximumWeight, Duration entryTtl, String invalidationChannel,
+   @Nullable String keyspaceNotificationPattern) {
+
+  this.maximumSize = maximumSize;
+  this.maximumWeight = maximumWeight;
+  this.entryTtl = entryTtl;
+  this.invalidationChannel = invalidationChannel;
+  this.keyspaceNotificationPattern = keyspaceNotificationPattern;
+ }
+
+ /**
+  * Default {@link NearCacheConfiguration} using the following:
+  * <dl>
+  * <dt>maximum size</dt>
+  * <dd>10000 entries per cache</dd>
+  * <dt>maximum weight</dt>
+  * <dd>unbounded</dd>
+  * <dt>local entry ttl</dt>
+  * <dd>1 minute</dd>
+  * <dt>invalidation</dt>
+  * <dd>Pub/Sub via {@value #DEFAULT_INVALIDATION_CHANNEL}</dd>
+  * </dl>
+  *
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public static NearCacheConfiguration defaultNearCacheConfig() {
+  return new NearCacheConfiguration(10000, Long.MAX_VALUE, Duration.ofMinutes(1), DEFAULT_INVALIDATION_CHANNEL, null);
+ }
+
+ /**
+  * Limit the number of entries held locally per cache. Least recently used entries are evicted first.
+  *
+  * @param maximumSize must be greater than zero.
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public NearCacheConfiguration maximumSize(int maximumSize) {
+
+  Assert.isTrue(maximumSize > 0, "MaximumSize must be greater than zero!");
+
+  return new NearCacheConfiguration(maximumSize, maximumWeight, entryTtl, invalidationChannel,
+    keyspaceNotificationPattern);
+ }
+
+ /**
+  * Limit the total number of key and value bytes held locally per cache. Least recently used entries are evicted
+  * first.
+  *
+  * @param maximumWeight must be greater than zero.
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public NearCacheConfiguration maximumWeight(long maximumWeight) {
+
+  Assert.isTrue(maximumWeight > 0, "MaximumWeight must be greater than zero!");
+
+  return new NearCacheConfiguration(maximumSize, maximumWeight, entryTtl, invalidationChannel,
+    keyspaceNotificationPattern);
+ }
+
+ /**
+  * Set the maximum time an entry is served locally before it is read from Redis again. This bounds staleness for
+  * entries expiring in Redis which is not propagated via the invalidation channel.
+  *
+  * @param entryTtl must not be {@literal null}. Must be positive.
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public NearCacheConfiguration entryTtl(Duration entryTtl) {
+
+  Assert.notNull(entryTtl, "EntryTtl must not be null!");
+  Assert.isTrue(!entryTtl.isZero() && !entryTtl.isNegative(), "EntryTtl must be positive!");
+
+  return new NearCacheConfiguration(maximumSize, maximumWeight, entryTtl, invalidationChannel,
+    keyspaceNotificationPattern);
+ }
+
+ /**
+  * Publish and listen to invalidation messages on the given Pub/Sub channel.
+  *
+  * @param channel must not be {@literal null} or empty.
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public NearCacheConfiguration invalidateVia(String channel) {
+
+  Assert.hasText(channel, "Channel must not be null or empty!");
+
+  return new NearCacheConfiguration(maximumSize, maximumWeight, entryTtl, channel, null);
+ }
+
+ /**
+  * Listen to Redis keyspace notifications instead of publishing explicit invalidation messages. This also captures
+  * changes made by clients not using a near cache as well as expirations but requires
+  * {@code notify-keyspace-events} to be enabled on the server. <br />
+  * Only notifications for keys starting with {@code keyPrefix} in the given database are received. Choose a prefix
+  * shared by all cache keys, such as the one configured via {@link RedisCacheConfiguration#prefixKeysWith(String)},
+  * so that changes to unrelated keys do not reach the listener.
+  *
+  * @param database the index of the database the caches are stored in. Must not be negative.
+  * @param keyPrefix must not be {@literal null}. Use an empty {@link String} to listen to all keys in the database.
+  * @return new {@link NearCacheConfiguration}.
+  */
+ public NearCacheConfiguration invalidateViaKeyspaceNotifications(int database, String keyPrefix) {
+
+  Assert.isTrue(database >= 0, "Database must not be negative!");
+  Assert.notNull(keyPrefix, "KeyPrefix must not be null!");
+
+  return new NearCacheConfiguration(maximumSize, maximumWeight, entryTtl, invalidationChannel,
+    String.format(KEYSPACE_NOTIFICATION_PATTERN, database, escapeGlob(keyPrefix)));
+ }
+
+ /**
+  * @return the maximum number of entries per cache.
+  */
+ public int getMaximumSize() {
+  return maximumSize;
+ }
+
+ /**
+  * @return the maximum number of bytes per cache.
+  */
+ public long getMaximumWeight() {
+  return maximumWeight;
+ }
+
+ /**
+  * @return never {@literal null}.
+  */
+ public Duration getEntryTtl() {
+  return entryTtl;
+ }
+
+ /**
+  * @return {@literal true} if keyspace notifications are used for invalidation.
+  */
+ public boolean usesKeyspaceNotifications() {
+  return keyspaceNotificationPattern != null;
+ }
+
+ /**
+  * @return the channel invalidation messages are published to. Never {@literal null}.
+  */
+ public String getInvalidationChannel() {
+  return invalidationChannel;
+ }
+
+ /**
+  * @return the {@link Topic} to listen to for invalidation. Never {@literal null}.
+  */
+ Topic getInvalidationTopic() {
+  return keyspaceNotificationPattern != null ? new PatternTopic(keyspaceNotificationPattern)
+    : new ChannelTopic(invalidationChannel);
+ }
+
+ private static String escapeGlob(String value) {
+
+  StringBuilder escaped = new StringBuilder(value.length());
+
+  for (char c : value.toCharArray()) {
+
+   if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+    escaped.append('\\');
+   }
+
+   escaped.append(c);
+  }
+
+  return escaped.toString();
+ }
+}
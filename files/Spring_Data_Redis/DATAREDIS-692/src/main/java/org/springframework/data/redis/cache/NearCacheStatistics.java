@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+/**
+ * Counters of the in-process tier of a single {@link RedisCache}.
+ *
+ * @since 2.1
+ * @see RedisCache#getNearCacheStatistics()
+ */
+public interface NearCacheStatistics {
+
+ /**
+  * @return the number of lookups served locally.
+  */
+ long getHitCount();
+
+ /**
+  * @return the number of lookups that had to go to Redis.
+  */
+ long getMissCount();
+
+ /**
+  * @return the number of entries removed due to size, weight or ttl constraints.
+  */
+ long getEvictionCount();
+
+ /**
+  * @return the number of entries removed due to local or remote modification.
+  */
+ long getInvalidationCount();
+
+ /**
+  * @return the number of entries currently held locally.
+  */
+ long getSize();
+}
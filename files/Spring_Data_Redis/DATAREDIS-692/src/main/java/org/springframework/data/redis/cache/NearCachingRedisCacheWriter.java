@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RedisCacheWriter} keeping a bounded {@link NearCache in-process tier} per cache in front of a delegate
+ * {@link RedisCacheWriter}. Reads are served locally where possible, writes always go to the delegate and invalidate
+ * the local entry. <br />
+ * Other nodes are notified about changes either by explicit invalidation messages published on a dedicated channel or
+ * by Redis keyspace notifications. Both are received via the given {@link RedisMessageListenerContainer}.
+ * <p />
+ * Invalidation messages consist of the UTF-8 encoded cache name followed by a {@code 0} byte and the invalidated
+ * binary cache keys, each preceded by its length as a 4 byte big-endian integer. A message without keys clears the
+ * entire cache.
+ *
+ * @since 2.1
+ */
+class NearCachingRedisCacheWriter implements RedisCacheWriter, MessageListener {
+
+ private static final byte SEPARATOR = 0;
+ private static final byte[] KEYSPACE_CHANNEL_KEY_DELIMITER = "__:".getBytes(StandardCharsets.UTF_8);
+
+ private final RedisCacheWriter delegate;
+ private final RedisConnectionFactory connectionFactory;
+ private final NearCacheConfiguration configuration;
+ private final byte[] invalidationChannel;
+ private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+ /**
+  * @param delegate must not be {@literal null}.
+  * @param listenerContainer must not be {@literal null}.
+  * @param configuration must not be {@literal null}.
+  */
+ NearCachingRedisCacheWriter(RedisCacheWriter delegate, RedisMessageListenerContainer listenerContainer,
+   NearCacheConfiguration configuration) {
+
+  Assert.notNull(delegate, "Delegate must not be null!");
+  Assert.notNull(listenerContainer, "ListenerContainer must not be null!");
+  Assert.notNull(configuration, "NearCacheConfiguration must not be null!");
+
+  this.delegate = delegate;
+  this.connectionFactory = listenerContainer.getConnectionFactory();
+  this.configuration = configuration;
+  this.invalidationChannel = configuration.getInvalidationChannel().getBytes(StandardCharsets.UTF_8);
+
+  listenerContainer.addMessageListener(this, configuration.getInvalidationTopic());
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#put(java.lang.String, byte[], byte[], java.time.Duration)
+  */
+ @Override
+ public void put(String name, byte[] key, byte[] value, Duration ttl) {
+
+  delegate.put(name, key, value, ttl);
+  invalidate(name, key);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#get(java.lang.String, byte[])
+  */
+ @Override
+ public byte[] get(String name, byte[] key) {
+
+  NearCache nearCache = getNearCache(name);
+
+  byte[] value = nearCache.get(key);
+
+  if (value != null) {
+   return value;
+  }
+
+  long generation = nearCache.generation(key);
+  value = delegate.get(name, key);
+
+  if (value != null) {
+   nearCache.put(key, value, generation);
+  }
+
+  return value;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#getAll(java.lang.String, java.util.List)
+  */
+ @Override
+ public List<byte[]> getAll(String name, List<byte[]> keys) {
+
+  NearCache nearCache = getNearCache(name);
+
+  List<byte[]> values = new ArrayList<>(keys.size());
+  List<Integer> missing = new ArrayList<>();
+
+  for (byte[] key : keys) {
+
+   byte[] value = nearCache.get(key);
+
+   if (value == null) {
+    missing.add(values.size());
+   }
+
+   values.add(value);
+  }
+
+  if (missing.isEmpty()) {
+   return values;
+  }
+
+  List<byte[]> missingKeys = new ArrayList<>(missing.size());
+  long[] generations = new long[missing.size()];
+
+  for (int i = 0; i < missing.size(); i++) {
+
+   byte[] key = keys.get(missing.get(i));
+   missingKeys.add(key);
+   generations[i] = nearCache.generation(key);
+  }
+
+  List<byte[]> loaded = delegate.getAll(name, missingKeys);
+
+  for (int i = 0; i < missing.size(); i++) {
+
+   byte[] value = loaded.get(i);
+
+   if (value != null) {
+    values.set(missing.get(i), value);
+    nearCache.put(missingKeys.get(i), value, generations[i]);
+   }
+  }
+
+  return values;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#putAll(java.lang.String, java.util.Map, java.time.Duration)
+  */
+ @Override
+ public void putAll(String name, Map<byte[], byte[]> entries, @Nullable Duration ttl) {
+
+  delegate.putAll(name, entries, ttl);
+  invalidate(name, entries.keySet().toArray(new byte[0][]));
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#putIfAbsent(java.lang.String, byte[], byte[], java.time.Duration)
+  */
+ @Override
+ public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+
+  byte[] result = delegate.putIfAbsent(name, key, value, ttl);
+
+  if (result == null) {
+   invalidate(name, key);
+  }
+
+  return result;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#remove(java.lang.String, byte[])
+  */
+ @Override
+ public void remove(String name, byte[] key) {
+
+  delegate.remove(name, key);
+  invalidate(name, key);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#clean(java.lang.String, byte[])
+  */
+ @Override
+ public void clean(String name, byte[] pattern) {
+
+  delegate.clean(name, pattern);
+  getNearCache(name).clear();
+  publish(name);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#tryLock(java.lang.String, byte[])
+  */
+ @Override
+ public byte[] tryLock(String name, byte[] key) {
+  return delegate.tryLock(name, key);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#unlock(java.lang.String, byte[], byte[])
+  */
+ @Override
+ public void unlock(String name, byte[] key, byte[] token) {
+  delegate.unlock(name, key, token);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.cache.RedisCacheWriter#awaitUnlock(java.lang.String, byte[], java.time.Duration)
+  */
+ @Override
+ public void awaitUnlock(String name, byte[] key, Duration timeout) {
+  delegate.awaitUnlock(name, key, timeout);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.connection.MessageListener#onMessage(org.springframework.data.redis.connection.Message, byte[])
+  */
+ @Override
+ public void onMessage(Message message, @Nullable byte[] pattern) {
+
+  if (configuration.usesKeyspaceNotifications()) {
+
+   byte[] key = extractKeyFromKeyspaceChannel(message.getChannel());
+
+   if (key != null) {
+    nearCaches.values().forEach(it -> it.invalidate(key));
+   }
+
+   return;
+  }
+
+  byte[] body = message.getBody();
+  int separator = indexOf(body, SEPARATOR);
+
+  if (separator < 0) {
+   return;
+  }
+
+  NearCache nearCache = nearCaches.get(new String(body, 0, separator, StandardCharsets.UTF_8));
+
+  if (nearCache == null) {
+   return;
+  }
+
+  if (separator == body.length - 1) {
+   nearCache.clear();
+   return;
+  }
+
+  ByteBuffer keys = ByteBuffer.wrap(body, separator + 1, body.length - separator - 1);
+
+  while (keys.remaining() >= Integer.BYTES) {
+
+   int length = keys.getInt();
+
+   if (length < 0 || length > keys.remaining()) {
+    return;
+   }
+
+   byte[] key = new byte[length];
+   keys.get(key);
+   nearCache.invalidate(key);
+  }
+ }
+
+ /**
+  * @param name must not be {@literal null}.
+  * @return the {@link NearCacheStatistics} for the given cache. Never {@literal null}.
+  */
+ NearCacheStatistics getStatistics(String name) {
+  return getNearCache(name);
+ }
+
+ private NearCache getNearCache(String name) {
+  return nearCaches.computeIfAbsent(name, it -> new NearCache(configuration));
+ }
+
+ private void invalidate(String name, byte[]... keys) {
+
+  NearCache nearCache = getNearCache(name);
+
+  for (byte[] key : keys) {
+   nearCache.invalidate(key);
+  }
+
+  publish(name, keys);
+ }
+
+ /**
+  * Publish a single invalidation message carrying all given keys. No keys clear the entire cache.
+  */
+ private void publish(String name, byte[]... keys) {
+
+  if (configuration.usesKeyspaceNotifications()) {
+   return;
+  }
+
+  byte[] prefix = name.getBytes(StandardCharsets.UTF_8);
+  int length = prefix.length + 1;
+
+  for (byte[] key : keys) {
+   length += Integer.BYTES + key.length;
+  }
+
+  ByteBuffer message = ByteBuffer.allocate(length);
+  message.put(prefix).put(SEPARATOR);
+
+  for (byte[] key : keys) {
+   message.putInt(key.length).put(key);
+  }
+
+  RedisConnection connection = connectionFactory.getConnection();
+  try {
+   connection.publish(invalidationChannel, message.array());
+  } finally {
+   connection.close();
+  }
+ }
+
+ @Nullable
+ private static byte[] extractKeyFromKeyspaceChannel(byte[] channel) {
+
+  for (int i = 0; i <= channel.length - KEYSPACE_CHANNEL_KEY_DELIMITER.length; i++) {
+
+   if (channel[i] == KEYSPACE_CHANNEL_KEY_DELIMITER[0] && channel[i + 1] == KEYSPACE_CHANNEL_KEY_DELIMITER[1]
+     && channel[i + 2] == KEYSPACE_CHANNEL_KEY_DELIMITER[2]) {
+    return Arrays.copyOfRange(channel, i + KEYSPACE_CHANNEL_KEY_DELIMITER.length, channel.length);
+   }
+  }
+
+  return null;
+ }
+
+ private static int indexOf(byte[] source, byte value) {
+
+  for (int i = 0; i < source.length; i++) {
+   if (source[i] == value) {
+    return i;
+   }
+  }
+
+  return -1;
+ }
+}
@@ -17,7 +17,19 @@ package org.springframework.data.redis.cache;
 
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.cache.support.NullValue;
@@ -49,6 +61,7 @@ public class RedisCache extends AbstractValueAdaptingCache {
  private final RedisCacheWriter cacheWriter;
  private final RedisCacheConfiguration cacheConfig;
  private final ConversionService conversionService;
+ private final ConcurrentMap<String, CompletableFuture<Object>> loadsInFlight = new ConcurrentHashMap<>();
 
  /**
   * Create new {@link RedisCache}.
@@ -111,7 +124,7 @@ public class RedisCache extends AbstractValueAdaptingCache {
   */
  @Override
  @SuppressWarnings("unchecked")
- public synchronized <T> T get(Object key, Callable<T> valueLoader) {
+ public <T> T get(Object key, Callable<T> valueLoader) {
 
   ValueWrapper result = get(key);
 
@@ -119,9 +132,30 @@ public class RedisCache extends AbstractValueAdaptingCache {
    return (T) result.get();
   }
 
-  T value = valueFromLoader(key, valueLoader);
-  put(key, value);
-  return value;
+  String cacheKey = createCacheKey(key);
+  CompletableFuture<Object> load = new CompletableFuture<>();
+  CompletableFuture<Object> inFlight = loadsInFlight.putIfAbsent(cacheKey, load);
+
+  // another thread is already loading the value - just wait for it.
+  if (inFlight != null) {
+   return (T) awaitLoad(key, valueLoader, inFlight);
+  }
+
+  try {
+
+   // a concurrent load might have completed between the lookup above and registering this one.
+   ValueWrapper loaded = get(key);
+   T value = loaded != null ? (T) loaded.get() : loadAndPut(key, serializeCacheKey(cacheKey), valueLoader);
+
+   load.complete(value);
+   return value;
+  } catch (Throwable e) {
+
+   load.completeExceptionally(e);
+   throw e;
+  } finally {
+   loadsInFlight.remove(cacheKey, load);
+  }
  }
 
  /*
@@ -143,6 +177,69 @@ public class RedisCache extends AbstractValueAdaptingCache {
   cacheWriter.put(name, createAndConvertCacheKey(key), serializeCacheValue(cacheValue), cacheConfig.getTtl());
  }
 
+ /**
+  * Look up the values for the given keys using as few round trips as possible.
+  *
+  * @param keys must not be {@literal null}.
+  * @return {@link Map} of key/{@link ValueWrapper} pairs in the order of the given keys. Keys not present in the cache
+  *         are not contained. Never {@literal null}.
+  * @since 2.1
+  * @see RedisCacheWriter#getAll(String, List)
+  */
+ public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+
+  Assert.notNull(keys, "Keys must not be null!");
+
+  List<Object> cacheKeys = new ArrayList<>(keys);
+  List<byte[]> binaryKeys = new ArrayList<>(cacheKeys.size());
+  cacheKeys.forEach(it -> binaryKeys.add(createAndConvertCacheKey(it)));
+
+  List<byte[]> values = cacheWriter.getAll(name, binaryKeys);
+
+  Map<Object, ValueWrapper> result = new LinkedHashMap<>(cacheKeys.size());
+
+  for (int i = 0; i < cacheKeys.size(); i++) {
+
+   byte[] value = values.get(i);
+
+   if (value != null) {
+    result.put(cacheKeys.get(i), toValueWrapper(deserializeCacheValue(value)));
+   }
+  }
+
+  return result;
+ }
+
+ /**
+  * Associate all given key/value pairs with this cache using as few round trips as possible.
+  *
+  * @param entries must not be {@literal null}.
+  * @since 2.1
+  * @see RedisCacheWriter#putAll(String, Map, java.time.Duration)
+  */
+ public void putAll(Map<?, ?> entries) {
+
+  Assert.notNull(entries, "Entries must not be null!");
+
+  Map<byte[], byte[]> binaryEntries = new LinkedHashMap<>(entries.size());
+
+  entries.forEach((key, value) -> {
+
+   Object cacheValue = preProcessCacheValue(value);
+
+   if (!isAllowNullValues() && cacheValue == null) {
+
+    throw new IllegalArgumentException(String.format(
+      "Cache '%s' does not allow 'null' values. Avoid storing null via '@Cacheable(unless=\"#result == null\")' or configure RedisCache to allow 'null' via RedisCacheConfiguration.",
+      name));
+   }
+
+   binaryEntries.put(createAndConvertCacheKey(key), serializeCacheValue(cacheValue));
+  });
+
+  cacheWriter.putAll(name, binaryEntries, cacheConfig.getTtl());
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.cache.Cache#putIfAbsent(java.lang.Object, java.lang.Object)
@@ -195,6 +292,23 @@ public class RedisCache extends AbstractValueAdaptingCache {
   return cacheConfig;
  }
 
+ /**
+  * Get the {@link NearCacheStatistics} if the underlying {@link RedisCacheWriter} keeps an in-process tier.
+  *
+  * @return {@link Optional#empty()} if no near cache is used.
+  * @since 2.1
+  * @see RedisCacheWriter#nearCachingRedisCacheWriter(RedisCacheWriter,
+  *      org.springframework.data.redis.listener.RedisMessageListenerContainer, NearCacheConfiguration)
+  */
+ public Optional<NearCacheStatistics> getNearCacheStatistics() {
+
+  if (cacheWriter instanceof NearCachingRedisCacheWriter) {
+   return Optional.of(((NearCachingRedisCacheWriter) cacheWriter).getStatistics(name));
+  }
+
+  return Optional.empty();
+ }
+
  /**
   * Customization hook called before passing object to
   * {@link org.springframework.data.redis.serializer.RedisSerializer}.
@@ -300,6 +414,65 @@ public class RedisCache extends AbstractValueAdaptingCache {
   return cacheConfig.getKeyPrefix().orElseGet(() -> name + "::") + key;
  }
 
+ /**
+  * Load the value guarded by the {@link RedisCacheWriter#tryLock(String, byte[]) per key lock} of the
+  * {@link RedisCacheWriter}, so that concurrent misses across multiple nodes share a single load where possible.
+  */
+ @SuppressWarnings("unchecked")
+ private <T> T loadAndPut(Object key, byte[] binaryKey, Callable<T> valueLoader) {
+
+  byte[] lockToken = cacheWriter.tryLock(name, binaryKey);
+
+  if (lockToken == null) {
+
+   cacheWriter.awaitUnlock(name, binaryKey, cacheConfig.getLoadWaitTimeout());
+
+   ValueWrapper result = get(key);
+   if (result != null) {
+    return (T) result.get();
+   }
+  }
+
+  try {
+
+   T value = valueFromLoader(key, valueLoader);
+   put(key, value);
+   return value;
+  } finally {
+
+   if (lockToken != null) {
+    cacheWriter.unlock(name, binaryKey, lockToken);
+   }
+  }
+ }
+
+ private Object awaitLoad(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+
+  try {
+   return load.get(cacheConfig.getLoadWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new ValueRetrievalException(key, valueLoader, e);
+  } catch (TimeoutException e) {
+
+   // the load in flight takes too long - do not wait any longer but load the value on our own.
+   ValueWrapper result = get(key);
+   return result != null ? result.get() : loadAndPut(key, createAndConvertCacheKey(key), valueLoader);
+  } catch (ExecutionException e) {
+
+   if (e.getCause() instanceof RuntimeException) {
+    throw (RuntimeException) e.getCause();
+   }
+
+   if (e.getCause() instanceof Error) {
+    throw (Error) e.getCause();
+   }
+
+   throw new ValueRetrievalException(key, valueLoader, e.getCause());
+  }
+ }
+
  private <T> T valueFromLoader(Object key, Callable<T> valueLoader) {
 
   try {
@@ -51,10 +51,12 @@ public class RedisCacheConfiguration {
 
  private final ConversionService conversionService;
 
+ private final Duration loadWaitTimeout;
+
  @SuppressWarnings("unchecked")
  private RedisCacheConfiguration(Duration ttl, Boolean cacheNullValues, Boolean usePrefix, String keyPrefix,
    SerializationPair<String> keySerializationPair, SerializationPair<?> valueSerializationPair,
-   ConversionService conversionService) {
+   ConversionService conversionService, Duration loadWaitTimeout) {
 
   this.ttl = ttl;
   this.cacheNullValues = cacheNullValues;
@@ -63,6 +65,7 @@ public class RedisCacheConfiguration {
   this.keySerializationPair = keySerializationPair;
   this.valueSerializationPair = (SerializationPair<Object>) valueSerializationPair;
   this.conversionService = conversionService;
+  this.loadWaitTimeout = loadWaitTimeout;
  }
 
  /**
@@ -83,6 +86,8 @@ public class RedisCacheConfiguration {
   * <dt>conversion service</dt>
   * <dd>{@link DefaultFormattingConversionService} with {@link #registerDefaultConverters(ConverterRegistry) default}
   * cache key converters</dd>
+  * <dt>load wait timeout</dt>
+  * <dd>5 seconds</dd>
   * </dl>
   *
   * @return new {@link RedisCacheConfiguration}.
@@ -95,7 +100,8 @@ public class RedisCacheConfiguration {
 
   return new RedisCacheConfiguration(Duration.ZERO, true, true, null,
     SerializationPair.fromSerializer(new StringRedisSerializer()),
-    SerializationPair.fromSerializer(new JdkSerializationRedisSerializer()), conversionService);
+    SerializationPair.fromSerializer(new JdkSerializationRedisSerializer()), conversionService,
+    Duration.ofSeconds(5));
  }
 
  /**
@@ -109,7 +115,24 @@ public class RedisCacheConfiguration {
   Assert.notNull(ttl, "TTL duration must not be null!");
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, usePrefix, keyPrefix, keySerializationPair,
-    valueSerializationPair, conversionService);
+    valueSerializationPair, conversionService, loadWaitTimeout);
+ }
+
+ /**
+  * Set the maximum time to wait for a value of the same key being loaded concurrently, either by another thread or by
+  * another node holding the {@link RedisCacheWriter#tryLock(String, byte[]) per key lock}, before loading the value
+  * on our own.
+  *
+  * @param loadWaitTimeout must not be {@literal null}.
+  * @return new {@link RedisCacheConfiguration}.
+  * @since 2.1
+  */
+ public RedisCacheConfiguration loadWaitTimeout(Duration loadWaitTimeout) {
+
+  Assert.notNull(loadWaitTimeout, "LoadWaitTimeout must not be null!");
+
+  return new RedisCacheConfiguration(ttl, cacheNullValues, usePrefix, keyPrefix, keySerializationPair,
+    valueSerializationPair, conversionService, loadWaitTimeout);
  }
 
  /**
@@ -123,7 +146,7 @@ public class RedisCacheConfiguration {
   Assert.notNull(prefix, "Prefix must not be null!");
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, true, prefix, keySerializationPair, valueSerializationPair,
-    conversionService);
+    conversionService, loadWaitTimeout);
  }
 
  /**
@@ -136,7 +159,7 @@ public class RedisCacheConfiguration {
   */
  public RedisCacheConfiguration disableCachingNullValues() {
   return new RedisCacheConfiguration(ttl, false, usePrefix, keyPrefix, keySerializationPair, valueSerializationPair,
-    conversionService);
+    conversionService, loadWaitTimeout);
  }
 
  /**
@@ -149,7 +172,7 @@ public class RedisCacheConfiguration {
  public RedisCacheConfiguration disableKeyPrefix() {
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, false, keyPrefix, keySerializationPair,
-    valueSerializationPair, conversionService);
+    valueSerializationPair, conversionService, loadWaitTimeout);
  }
 
  /**
@@ -163,7 +186,7 @@ public class RedisCacheConfiguration {
   Assert.notNull(conversionService, "ConversionService must not be null!");
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, usePrefix, keyPrefix, keySerializationPair,
-    valueSerializationPair, conversionService);
+    valueSerializationPair, conversionService, loadWaitTimeout);
  }
 
  /**
@@ -177,7 +200,7 @@ public class RedisCacheConfiguration {
   Assert.notNull(keySerializationPair, "KeySerializationPair must not be null!");
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, usePrefix, keyPrefix, keySerializationPair,
-    valueSerializationPair, conversionService);
+    valueSerializationPair, conversionService, loadWaitTimeout);
  }
 
  /**
@@ -191,7 +214,7 @@ public class RedisCacheConfiguration {
   Assert.notNull(valueSerializationPair, "ValueSerializationPair must not be null!");
 
   return new RedisCacheConfiguration(ttl, cacheNullValues, usePrefix, keyPrefix, keySerializationPair,
-    valueSerializationPair, conversionService);
+    valueSerializationPair, conversionService, loadWaitTimeout);
  }
 
  /**
@@ -244,6 +267,14 @@ public class RedisCacheConfiguration {
   return conversionService;
  }
 
+ /**
+  * @return The maximum time to wait for a concurrent load of the same key. Never {@literal null}.
+  * @since 2.1
+  */
+ public Duration getLoadWaitTimeout() {
+  return loadWaitTimeout;
+ }
+
  /**
   * Registers default cache key converters. The following converters get registered:
   * <ul>
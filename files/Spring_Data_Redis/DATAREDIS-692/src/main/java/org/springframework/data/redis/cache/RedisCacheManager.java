@@ -26,6 +26,8 @@ import java.util.Set;
 
 import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -35,7 +37,8 @@ import org.springframework.util.Assert;
  * empty data structures.
  * <p />
  * Caches requiring a different {@link RedisCacheConfiguration} than the default configuration can be specified via
- * {@link RedisCacheManagerBuilder#withInitialCacheConfigurations(Map)}.
+ * {@link RedisCacheManagerBuilder#withInitialCacheConfigurations(Map)}. A bounded in-process tier in front of Redis can
+ * be enabled via {@link RedisCacheManagerBuilder#nearCache(RedisMessageListenerContainer, NearCacheConfiguration)}.
  *
  * @author Christoph Strobl
  * @author Mark Paluch
@@ -222,6 +225,8 @@ public class RedisCacheManager extends AbstractTransactionSupportingCacheManager
   private RedisCacheConfiguration defaultCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig();
   private Map<String, RedisCacheConfiguration> intialCaches = new LinkedHashMap<>();
   private boolean enableTransactions;
+  private @Nullable RedisMessageListenerContainer nearCacheListenerContainer;
+  private @Nullable NearCacheConfiguration nearCacheConfiguration;
 
   private RedisCacheManagerBuilder(RedisCacheWriter cacheWriter) {
    this.cacheWriter = cacheWriter;
@@ -280,6 +285,29 @@ public class RedisCacheManager extends AbstractTransactionSupportingCacheManager
    return this;
   }
 
+  /**
+   * Keep a bounded in-process tier in front of Redis for all caches, invalidated via the given
+   * {@link RedisMessageListenerContainer} when entries are changed by other nodes.
+   *
+   * @param listenerContainer must not be {@literal null}.
+   * @param nearCacheConfiguration must not be {@literal null}.
+   * @return new instance of {@link RedisCacheManagerBuilder}.
+   * @since 2.1
+   * @see RedisCacheWriter#nearCachingRedisCacheWriter(RedisCacheWriter, RedisMessageListenerContainer,
+   *      NearCacheConfiguration)
+   */
+  public RedisCacheManagerBuilder nearCache(RedisMessageListenerContainer listenerContainer,
+    NearCacheConfiguration nearCacheConfiguration) {
+
+   Assert.notNull(listenerContainer, "ListenerContainer must not be null!");
+   Assert.notNull(nearCacheConfiguration, "NearCacheConfiguration must not be null!");
+
+   this.nearCacheListenerContainer = listenerContainer;
+   this.nearCacheConfiguration = nearCacheConfiguration;
+
+   return this;
+  }
+
   /**
    * Append a {@link Set} of cache names to be pre initialized with current {@link RedisCacheConfiguration}.
    * <strong>NOTE:</strong> This calls depends on {@link #cacheDefaults(RedisCacheConfiguration)} using whatever
@@ -326,7 +354,11 @@ public class RedisCacheManager extends AbstractTransactionSupportingCacheManager
    */
   public RedisCacheManager build() {
 
-   RedisCacheManager cm = new RedisCacheManager(cacheWriter, defaultCacheConfiguration, intialCaches);
+   RedisCacheWriter writer = nearCacheListenerContainer != null && nearCacheConfiguration != null
+     ? RedisCacheWriter.nearCachingRedisCacheWriter(cacheWriter, nearCacheListenerContainer, nearCacheConfiguration)
+     : cacheWriter;
+
+   RedisCacheManager cm = new RedisCacheManager(writer, defaultCacheConfiguration, intialCaches);
 
    cm.setTransactionAware(enableTransactions);
 
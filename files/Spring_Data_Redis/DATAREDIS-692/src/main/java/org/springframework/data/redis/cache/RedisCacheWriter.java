@@ -16,8 +16,13 @@
 package org.springframework.data.redis.cache;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -58,6 +63,52 @@ public interface RedisCacheWriter {
   return new DefaultRedisCacheWriter(connectionFactory, Duration.ofMillis(50));
  }
 
+ /**
+  * Create new {@link RedisCacheWriter} with per key locking behavior. Instead of locking the entire cache, individual
+  * keys are guarded by a short lived lock key that expires automatically.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @return new instance of {@link DefaultRedisCacheWriter}.
+  * @since 2.1
+  */
+ static RedisCacheWriter keyLockingRedisCacheWriter(RedisConnectionFactory connectionFactory) {
+  return keyLockingRedisCacheWriter(connectionFactory, Duration.ofSeconds(5));
+ }
+
+ /**
+  * Create new {@link RedisCacheWriter} with per key locking behavior using the given lock expiration time.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @param lockTtl expiration time of a single key lock. Must not be {@literal null} and positive.
+  * @return new instance of {@link DefaultRedisCacheWriter}.
+  * @since 2.1
+  */
+ static RedisCacheWriter keyLockingRedisCacheWriter(RedisConnectionFactory connectionFactory, Duration lockTtl) {
+
+  Assert.notNull(connectionFactory, "ConnectionFactory must not be null!");
+  Assert.notNull(lockTtl, "LockTtl must not be null!");
+  Assert.isTrue(!lockTtl.isZero() && !lockTtl.isNegative(), "LockTtl must be positive!");
+
+  return new DefaultRedisCacheWriter(connectionFactory, Duration.ofMillis(10), lockTtl);
+ }
+
+ /**
+  * Create new {@link RedisCacheWriter} keeping a bounded in-process tier per cache in front of the given
+  * {@link RedisCacheWriter}. Local entries are invalidated via messages received by the given
+  * {@link RedisMessageListenerContainer}.
+  *
+  * @param cacheWriter the actual {@link RedisCacheWriter}. Must not be {@literal null}.
+  * @param listenerContainer must not be {@literal null}.
+  * @param configuration must not be {@literal null}.
+  * @return new near caching {@link RedisCacheWriter}.
+  * @since 2.1
+  * @see RedisCache#getNearCacheStatistics()
+  */
+ static RedisCacheWriter nearCachingRedisCacheWriter(RedisCacheWriter cacheWriter,
+   RedisMessageListenerContainer listenerContainer, NearCacheConfiguration configuration) {
+  return new NearCachingRedisCacheWriter(cacheWriter, listenerContainer, configuration);
+ }
+
  /**
   * Write the given key/value pair to Redis an set the expiration time if defined.
   *
@@ -78,6 +129,35 @@ public interface RedisCacheWriter {
 
  byte[] get(String name, byte[] key);
 
+ /**
+  * Get the binary value representations from Redis stored for the given keys. Implementations should retrieve the
+  * values using as few round trips as possible.
+  *
+  * @param name must not be {@literal null}.
+  * @param keys must not be {@literal null}.
+  * @return values in the order of the given {@literal keys}. Contains {@literal null} for keys that do not exist.
+  * @since 2.1
+  */
+ default List<byte[]> getAll(String name, List<byte[]> keys) {
+
+  List<byte[]> values = new ArrayList<>(keys.size());
+  keys.forEach(key -> values.add(get(name, key)));
+  return values;
+ }
+
+ /**
+  * Write the given key/value pairs to Redis and set the expiration time if defined. Implementations should write the
+  * entries using as few round trips as possible.
+  *
+  * @param name The cache name must not be {@literal null}.
+  * @param entries The key/value pairs to write. Must not be {@literal null}.
+  * @param ttl Optional expiration time. Can be {@literal null}.
+  * @since 2.1
+  */
+ default void putAll(String name, Map<byte[], byte[]> entries, @Nullable Duration ttl) {
+  entries.forEach((key, value) -> put(name, key, value, ttl));
+ }
+
  /**
   * Write the given value to Redis if the key does not already exist.
   *
@@ -104,4 +184,39 @@ public interface RedisCacheWriter {
   * @param pattern The pattern for the keys to remove. Must not be {@literal null}.
   */
  void clean(String name, byte[] pattern);
+
+ /**
+  * Try to acquire the lock guarding the load of the value for the given key. Implementations not supporting per key
+  * locks grant the lock right away.
+  *
+  * @param name The cache name must not be {@literal null}.
+  * @param key The key for the cache entry. Must not be {@literal null}.
+  * @return the token identifying the lock owner to be passed on to {@link #unlock(String, byte[], byte[])} or
+  *         {@literal null} if the lock is held by someone else.
+  * @since 2.1
+  */
+ @Nullable
+ default byte[] tryLock(String name, byte[] key) {
+  return new byte[0];
+ }
+
+ /**
+  * Release the lock for the given key if it is still owned by {@code token}.
+  *
+  * @param name The cache name must not be {@literal null}.
+  * @param key The key for the cache entry. Must not be {@literal null}.
+  * @param token The token obtained via {@link #tryLock(String, byte[])}. Must not be {@literal null}.
+  * @since 2.1
+  */
+ default void unlock(String name, byte[] key, byte[] token) {}
+
+ /**
+  * Wait until the lock for the given key is released or has expired, but no longer than the given {@code timeout}.
+  *
+  * @param name The cache name must not be {@literal null}.
+  * @param key The key for the cache entry. Must not be {@literal null}.
+  * @param timeout The maximum time to wait. Must not be {@literal null}.
+  * @since 2.1
+  */
+ default void awaitUnlock(String name, byte[] key, Duration timeout) {}
 }
\ No newline at end of file
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.types.Expiration;
+
+/**
+ * Unit tests for {@link DefaultRedisCacheWriter} and the single flight loading of {@link RedisCache}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DefaultRedisCacheWriterUnitTests {
+
+ static final String CACHE_NAME = "cache";
+ static final byte[] KEY = "key".getBytes(StandardCharsets.UTF_8);
+ static final byte[] LOCK_KEY = "key~lock".getBytes(StandardCharsets.UTF_8);
+ static final byte[] CACHE_LOCK_KEY = "cache~lock".getBytes(StandardCharsets.UTF_8);
+ static final byte[] VALUE = "value".getBytes(StandardCharsets.UTF_8);
+
+ @Mock RedisConnectionFactory connectionFactory;
+ @Mock RedisConnection connection;
+
+ @Before
+ public void setUp() {
+  when(connectionFactory.getConnection()).thenReturn(connection);
+ }
+
+ @Test
+ public void keyLockingWriterShouldNotCheckCacheWideLock() {
+
+  RedisCacheWriter writer = RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory);
+
+  writer.get(CACHE_NAME, KEY);
+  writer.put(CACHE_NAME, KEY, VALUE, Duration.ZERO);
+
+  verify(connection, never()).exists(CACHE_LOCK_KEY);
+ }
+
+ @Test
+ public void tryLockShouldIssueSetNxPxAndReturnTokenWhenAcquired() {
+
+  AtomicReference<byte[]> stored = new AtomicReference<>();
+  doAnswer(invocation -> {
+   stored.set(invocation.getArgument(1));
+   return null;
+  }).when(connection).set(eq(LOCK_KEY), any(), any(), any());
+  when(connection.get(LOCK_KEY)).thenAnswer(invocation -> stored.get());
+
+  RedisCacheWriter writer = RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory, Duration.ofSeconds(2));
+
+  byte[] result = writer.tryLock(CACHE_NAME, KEY);
+
+  ArgumentCaptor<Expiration> expiration = ArgumentCaptor.forClass(Expiration.class);
+  verify(connection).set(eq(LOCK_KEY), any(), expiration.capture(), eq(SetOption.ifAbsent()));
+
+  assertThat(result).isNotNull().isEqualTo(stored.get());
+  assertThat(expiration.getValue().getExpirationTimeInMilliseconds()).isEqualTo(2000L);
+ }
+
+ @Test
+ public void tryLockShouldReturnNullWhenLockHeldByOthers() {
+
+  when(connection.get(LOCK_KEY)).thenReturn("other".getBytes(StandardCharsets.UTF_8));
+
+  RedisCacheWriter writer = RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory);
+
+  assertThat(writer.tryLock(CACHE_NAME, KEY)).isNull();
+ }
+
+ @Test
+ public void unlockShouldCompareAndDeleteAtomically() {
+
+  byte[] token = "mine".getBytes(StandardCharsets.UTF_8);
+
+  RedisCacheWriter writer = RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory);
+  writer.unlock(CACHE_NAME, KEY, token);
+
+  ArgumentCaptor<byte[]> script = ArgumentCaptor.forClass(byte[].class);
+  verify(connection).eval(script.capture(), eq(ReturnType.INTEGER), eq(1), eq(LOCK_KEY), eq(token));
+  assertThat(new String(script.getValue(), StandardCharsets.UTF_8)).contains("get").contains("del");
+  verify(connection, never()).get(any());
+  verify(connection, never()).del(any());
+ }
+
+ @Test
+ public void awaitUnlockShouldReturnOnceLockIsReleased() {
+
+  when(connection.exists(LOCK_KEY)).thenReturn(true, true, false);
+
+  RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory).awaitUnlock(CACHE_NAME, KEY, Duration.ofSeconds(5));
+
+  verify(connection, times(3)).exists(LOCK_KEY);
+ }
+
+ @Test
+ public void awaitUnlockShouldBackOffAndGiveUpAfterTimeout() {
+
+  when(connection.exists(LOCK_KEY)).thenReturn(true);
+
+  long start = System.currentTimeMillis();
+  RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory).awaitUnlock(CACHE_NAME, KEY,
+    Duration.ofMillis(100));
+
+  assertThat(System.currentTimeMillis() - start).isBetween(100L, 1000L);
+
+  // 10, 20, 40 and the remaining 30 ms instead of ten fixed 10 ms intervals.
+  verify(connection, atMost(5)).exists(LOCK_KEY);
+ }
+
+ @Test
+ public void cacheShouldAwaitUnlockUsingConfiguredLoadWaitTimeout() {
+
+  RedisCacheWriter writer = mock(RedisCacheWriter.class);
+
+  RedisCache cache = new RedisCache(CACHE_NAME, writer,
+    RedisCacheConfiguration.defaultCacheConfig().loadWaitTimeout(Duration.ofMillis(250)));
+
+  assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+
+  verify(writer).awaitUnlock(eq(CACHE_NAME), any(), eq(Duration.ofMillis(250)));
+ }
+
+ @Test
+ public void nonLockingWriterGrantsLocksWithoutRedisInteraction() {
+
+  RedisCacheWriter writer = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+
+  assertThat(writer.tryLock(CACHE_NAME, KEY)).isNotNull();
+  verifyZeroInteractions(connection);
+ }
+
+ @Test
+ public void getAllShouldUseSingleMGet() {
+
+  byte[] otherKey = "other".getBytes(StandardCharsets.UTF_8);
+  when(connection.mGet(KEY, otherKey)).thenReturn(Arrays.asList(VALUE, null));
+
+  List<byte[]> values = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).getAll(CACHE_NAME,
+    Arrays.asList(KEY, otherKey));
+
+  assertThat(values).containsExactly(VALUE, null);
+  verify(connection, never()).get(any());
+ }
+
+ @Test
+ public void getAllShouldGroupKeysBySlotInClusterMode() {
+
+  RedisClusterConnection clusterConnection = mock(RedisClusterConnection.class);
+  when(connectionFactory.getConnection()).thenReturn(clusterConnection);
+
+  byte[] key1 = "{a}1".getBytes(StandardCharsets.UTF_8);
+  byte[] key2 = "{b}1".getBytes(StandardCharsets.UTF_8);
+  byte[] key3 = "{a}2".getBytes(StandardCharsets.UTF_8);
+
+  assertThat(ClusterSlotHashUtil.calculateSlot(key1)).isNotEqualTo(ClusterSlotHashUtil.calculateSlot(key2));
+
+  when(clusterConnection.clusterGetNodeForSlot(ClusterSlotHashUtil.calculateSlot(key1)))
+    .thenReturn(new RedisClusterNode("127.0.0.1", 7379));
+  when(clusterConnection.clusterGetNodeForSlot(ClusterSlotHashUtil.calculateSlot(key2)))
+    .thenReturn(new RedisClusterNode("127.0.0.1", 7380));
+  when(clusterConnection.mGet(key1, key3)).thenReturn(Arrays.asList("v1".getBytes(), "v3".getBytes()));
+  when(clusterConnection.mGet(key2)).thenReturn(Arrays.asList("v2".getBytes()));
+
+  List<byte[]> values = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).getAll(CACHE_NAME,
+    Arrays.asList(key1, key2, key3));
+
+  assertThat(values).containsExactly("v1".getBytes(), "v2".getBytes(), "v3".getBytes());
+ }
+
+ @Test
+ public void putAllWithTtlShouldUsePipeline() {
+
+  Map<byte[], byte[]> entries = new LinkedHashMap<>();
+  entries.put(KEY, VALUE);
+  entries.put("other".getBytes(), VALUE);
+
+  RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).putAll(CACHE_NAME, entries, Duration.ofSeconds(1));
+
+  verify(connection).openPipeline();
+  verify(connection, times(2)).set(any(), eq(VALUE), any(Expiration.class), eq(SetOption.upsert()));
+  verify(connection).closePipeline();
+ }
+
+ @Test
+ public void putAllWithTtlShouldPipelineSlotBatchesPerNodeInClusterMode() {
+
+  RedisClusterConnection clusterConnection = mock(RedisClusterConnection.class);
+  when(connectionFactory.getConnection()).thenReturn(clusterConnection);
+  when(clusterConnection.clusterGetNodeForSlot(anyInt())).thenReturn(new RedisClusterNode("127.0.0.1", 7379));
+
+  byte[] key1 = "{a}1".getBytes(StandardCharsets.UTF_8);
+  byte[] key2 = "{b}1".getBytes(StandardCharsets.UTF_8);
+  byte[] key3 = "{a}2".getBytes(StandardCharsets.UTF_8);
+
+  Map<byte[], byte[]> entries = new LinkedHashMap<>();
+  entries.put(key1, VALUE);
+  entries.put(key2, VALUE);
+  entries.put(key3, VALUE);
+
+  RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).putAll(CACHE_NAME, entries, Duration.ofSeconds(1));
+
+  byte[] ttl = "1000".getBytes(StandardCharsets.UTF_8);
+
+  verify(clusterConnection).openPipeline();
+  verify(clusterConnection).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(2), eq(key1), eq(key3), eq(VALUE),
+    eq(VALUE), eq(ttl));
+  verify(clusterConnection).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(1), eq(key2), eq(VALUE), eq(ttl));
+  verify(clusterConnection).closePipeline();
+  verify(clusterConnection, never()).set(any(), any(), any(Expiration.class), any());
+ }
+
+ @Test
+ public void putAllShouldNotRequireTtl() {
+
+  Map<byte[], byte[]> entries = new LinkedHashMap<>();
+  entries.put(KEY, VALUE);
+
+  RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).putAll(CACHE_NAME, entries, null);
+
+  verify(connection).mSet(entries);
+ }
+
+ @Test
+ public void putAllWithoutTtlShouldUseMSet() {
+
+  Map<byte[], byte[]> entries = new LinkedHashMap<>();
+  entries.put(KEY, VALUE);
+
+  RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory).putAll(CACHE_NAME, entries, Duration.ZERO);
+
+  verify(connection).mSet(entries);
+  verify(connection, never()).openPipeline();
+ }
+
+ @Test
+ public void concurrentCacheMissesShouldShareSingleLoad() throws Exception {
+
+  RedisCacheWriter writer = mock(RedisCacheWriter.class);
+  when(writer.tryLock(anyString(), any())).thenReturn(new byte[0]);
+
+  RedisCache cache = new RedisCache(CACHE_NAME, writer, RedisCacheConfiguration.defaultCacheConfig());
+
+  int threads = 8;
+  CountDownLatch loaderEntered = new CountDownLatch(1);
+  CountDownLatch release = new CountDownLatch(1);
+  AtomicInteger loads = new AtomicInteger();
+
+  ExecutorService executor = Executors.newFixedThreadPool(threads);
+  try {
+
+   Future<?>[] results = new Future<?>[threads];
+   for (int i = 0; i < threads; i++) {
+    results[i] = executor.submit(() -> cache.get("key", () -> {
+
+     loads.incrementAndGet();
+     loaderEntered.countDown();
+     release.await();
+     return "value";
+    }));
+   }
+
+   loaderEntered.await(1, TimeUnit.SECONDS);
+   Thread.sleep(50);
+   release.countDown();
+
+   for (Future<?> result : results) {
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("value");
+   }
+  } finally {
+   executor.shutdownNow();
+  }
+
+  assertThat(loads).hasValue(1);
+ }
+
+ @Test
+ public void waitersShouldNotBlockWhenLoaderThrowsError() throws Exception {
+
+  RedisCacheWriter writer = mock(RedisCacheWriter.class);
+  when(writer.tryLock(anyString(), any())).thenReturn(new byte[0]);
+
+  RedisCache cache = new RedisCache(CACHE_NAME, writer, RedisCacheConfiguration.defaultCacheConfig());
+
+  CountDownLatch loaderEntered = new CountDownLatch(1);
+  CountDownLatch release = new CountDownLatch(1);
+
+  ExecutorService executor = Executors.newFixedThreadPool(2);
+  try {
+
+   Future<?> loader = executor.submit(() -> cache.get("key", () -> {
+
+    loaderEntered.countDown();
+    release.await();
+    throw new StackOverflowError();
+   }));
+
+   assertThat(loaderEntered.await(1, TimeUnit.SECONDS)).isTrue();
+
+   Future<?> waiter = executor.submit(() -> cache.get("key", () -> "value"));
+
+   Thread.sleep(50);
+   release.countDown();
+
+   assertThatThrownBy(() -> loader.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+   assertThatThrownBy(() -> waiter.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+  } finally {
+   executor.shutdownNow();
+  }
+ }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Unit tests for {@link NearCachingRedisCacheWriter}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NearCachingRedisCacheWriterUnitTests {
+
+ static final String CACHE_NAME = "cache";
+ static final byte[] KEY = "key".getBytes(StandardCharsets.UTF_8);
+ static final byte[] VALUE = "value".getBytes(StandardCharsets.UTF_8);
+ static final byte[] CHANNEL = NearCacheConfiguration.DEFAULT_INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+ @Mock RedisCacheWriter delegate;
+ @Mock RedisMessageListenerContainer listenerContainer;
+ @Mock RedisConnectionFactory connectionFactory;
+ @Mock RedisConnection connection;
+
+ NearCachingRedisCacheWriter writer;
+
+ @Before
+ public void setUp() {
+
+  when(listenerContainer.getConnectionFactory()).thenReturn(connectionFactory);
+  when(connectionFactory.getConnection()).thenReturn(connection);
+
+  writer = new NearCachingRedisCacheWriter(delegate, listenerContainer,
+    NearCacheConfiguration.defaultNearCacheConfig().maximumSize(2));
+ }
+
+ @Test
+ public void shouldRegisterForInvalidationMessages() {
+  verify(listenerContainer).addMessageListener(eq(writer), any(ChannelTopic.class));
+ }
+
+ @Test
+ public void shouldServeRepeatedReadsLocally() {
+
+  when(delegate.get(CACHE_NAME, KEY)).thenReturn(VALUE);
+
+  assertThat(writer.get(CACHE_NAME, KEY)).isEqualTo(VALUE);
+  assertThat(writer.get(CACHE_NAME, KEY)).isEqualTo(VALUE);
+
+  verify(delegate, times(1)).get(CACHE_NAME, KEY);
+
+  NearCacheStatistics statistics = writer.getStatistics(CACHE_NAME);
+  assertThat(statistics.getHitCount()).isEqualTo(1);
+  assertThat(statistics.getMissCount()).isEqualTo(1);
+ }
+
+ @Test
+ public void putShouldInvalidateLocallyAndPublish() {
+
+  when(delegate.get(CACHE_NAME, KEY)).thenReturn(VALUE);
+  writer.get(CACHE_NAME, KEY);
+
+  writer.put(CACHE_NAME, KEY, VALUE, Duration.ZERO);
+  writer.get(CACHE_NAME, KEY);
+
+  verify(delegate, times(2)).get(CACHE_NAME, KEY);
+  verify(connection).publish(CHANNEL, invalidationMessage(KEY));
+ }
+
+ @Test
+ public void invalidationMessageShouldEvictLocalEntry() {
+
+  when(delegate.get(CACHE_NAME, KEY)).thenReturn(VALUE);
+  writer.get(CACHE_NAME, KEY);
+
+  writer.onMessage(new DefaultMessage(CHANNEL, invalidationMessage(KEY)), null);
+
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isZero();
+  assertThat(writer.getStatistics(CACHE_NAME).getInvalidationCount()).isEqualTo(1);
+ }
+
+ @Test
+ public void shouldStoreValueReadWhileUnrelatedKeyIsInvalidated() {
+
+  byte[] otherKey = "other".getBytes(StandardCharsets.UTF_8);
+  when(delegate.get(CACHE_NAME, KEY)).thenAnswer(invocation -> {
+
+   writer.onMessage(new DefaultMessage(CHANNEL, invalidationMessage(otherKey)), null);
+   return VALUE;
+  });
+
+  writer.get(CACHE_NAME, KEY);
+  writer.get(CACHE_NAME, KEY);
+
+  verify(delegate, times(1)).get(CACHE_NAME, KEY);
+ }
+
+ @Test
+ public void shouldNotStoreValueReadWhileSameKeyIsInvalidated() {
+
+  when(delegate.get(CACHE_NAME, KEY)).thenAnswer(invocation -> {
+
+   writer.onMessage(new DefaultMessage(CHANNEL, invalidationMessage(KEY)), null);
+   return VALUE;
+  });
+
+  writer.get(CACHE_NAME, KEY);
+
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isZero();
+ }
+
+ @Test
+ public void shouldEvictLeastRecentlyUsedEntries() {
+
+  when(delegate.get(eq(CACHE_NAME), any())).thenReturn(VALUE);
+
+  writer.get(CACHE_NAME, "k1".getBytes());
+  writer.get(CACHE_NAME, "k2".getBytes());
+  writer.get(CACHE_NAME, "k3".getBytes());
+
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isEqualTo(2);
+  assertThat(writer.getStatistics(CACHE_NAME).getEvictionCount()).isEqualTo(1);
+ }
+
+ @Test
+ public void keyspaceNotificationsShouldBeScopedToDatabaseAndKeyPrefix() {
+
+  NearCachingRedisCacheWriter writer = new NearCachingRedisCacheWriter(delegate, listenerContainer,
+    NearCacheConfiguration.defaultNearCacheConfig().invalidateViaKeyspaceNotifications(3, "app*cache::"));
+
+  ArgumentCaptor<PatternTopic> topic = ArgumentCaptor.forClass(PatternTopic.class);
+  verify(listenerContainer).addMessageListener(eq(writer), topic.capture());
+
+  assertThat(topic.getValue().getTopic()).isEqualTo("__keyspace@3__:app\\*cache::*");
+ }
+
+ @Test
+ public void keyspaceNotificationShouldEvictLocalEntry() {
+
+  NearCachingRedisCacheWriter writer = new NearCachingRedisCacheWriter(delegate, listenerContainer,
+    NearCacheConfiguration.defaultNearCacheConfig().invalidateViaKeyspaceNotifications(0, ""));
+
+  when(delegate.get(CACHE_NAME, KEY)).thenReturn(VALUE);
+  writer.get(CACHE_NAME, KEY);
+
+  writer.onMessage(new DefaultMessage("__keyspace@0__:key".getBytes(), "set".getBytes()), null);
+
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isZero();
+  verify(connection, never()).publish(any(), any());
+ }
+
+ @Test
+ public void shouldEvictLeastRecentlyAccessedEntry() throws InterruptedException {
+
+  when(delegate.get(eq(CACHE_NAME), any())).thenReturn(VALUE);
+
+  writer.get(CACHE_NAME, "k1".getBytes());
+  writer.get(CACHE_NAME, "k2".getBytes());
+  Thread.sleep(1);
+  writer.get(CACHE_NAME, "k1".getBytes());
+  Thread.sleep(1);
+  writer.get(CACHE_NAME, "k3".getBytes());
+
+  writer.get(CACHE_NAME, "k1".getBytes());
+
+  verify(delegate, times(1)).get(CACHE_NAME, "k1".getBytes());
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isEqualTo(2);
+ }
+
+ @Test
+ public void putAllShouldPublishSingleMessageForAllKeys() {
+
+  byte[] otherKey = "other".getBytes(StandardCharsets.UTF_8);
+  Map<byte[], byte[]> entries = new LinkedHashMap<>();
+  entries.put(KEY, VALUE);
+  entries.put(otherKey, VALUE);
+
+  writer.putAll(CACHE_NAME, entries, Duration.ZERO);
+
+  verify(connection).publish(CHANNEL, invalidationMessage(KEY, otherKey));
+  verify(connection, times(1)).publish(any(), any());
+ }
+
+ @Test
+ public void multiKeyInvalidationMessageShouldEvictAllLocalEntries() {
+
+  byte[] otherKey = "other".getBytes(StandardCharsets.UTF_8);
+  when(delegate.get(eq(CACHE_NAME), any())).thenReturn(VALUE);
+  writer.get(CACHE_NAME, KEY);
+  writer.get(CACHE_NAME, otherKey);
+
+  writer.onMessage(new DefaultMessage(CHANNEL, invalidationMessage(KEY, otherKey)), null);
+
+  assertThat(writer.getStatistics(CACHE_NAME).getSize()).isZero();
+  assertThat(writer.getStatistics(CACHE_NAME).getInvalidationCount()).isEqualTo(2);
+ }
+
+ @Test
+ public void cleanShouldPublishMessageWithoutKeys() {
+
+  writer.clean(CACHE_NAME, "*".getBytes());
+
+  verify(connection).publish(CHANNEL, invalidationMessage());
+ }
+
+ private static byte[] invalidationMessage(byte[]... keys) {
+
+  byte[] name = CACHE_NAME.getBytes(StandardCharsets.UTF_8);
+  ByteBuffer buffer = ByteBuffer.allocate(name.length + 1 + Arrays.stream(keys).mapToInt(it -> 4 + it.length).sum());
+  buffer.put(name).put((byte) 0);
+
+  for (byte[] key : keys) {
+   buffer.putInt(key.length).put(key);
+  }
+
+  return buffer.array();
+ }
+}
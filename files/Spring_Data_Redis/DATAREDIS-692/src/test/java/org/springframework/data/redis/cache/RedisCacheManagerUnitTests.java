@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Unit tests for {@link RedisCacheManager}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RedisCacheManagerUnitTests {
+
+ @Mock RedisCacheWriter cacheWriter;
+ @Mock RedisMessageListenerContainer listenerContainer;
+ @Mock RedisConnectionFactory connectionFactory;
+
+ @Test
+ public void builderShouldConfigureNearCache() {
+
+  when(listenerContainer.getConnectionFactory()).thenReturn(connectionFactory);
+
+  RedisCacheManager cacheManager = RedisCacheManager.builder(cacheWriter)
+    .nearCache(listenerContainer, NearCacheConfiguration.defaultNearCacheConfig()).build();
+
+  RedisCache cache = (RedisCache) cacheManager.getCache("cache");
+
+  assertThat(cache.getNearCacheStatistics()).isPresent();
+  verify(listenerContainer).addMessageListener(any(NearCachingRedisCacheWriter.class), any(ChannelTopic.class));
+ }
+
+ @Test
+ public void builderShouldNotConfigureNearCacheByDefault() {
+
+  RedisCacheManager cacheManager = RedisCacheManager.builder(cacheWriter).build();
+
+  RedisCache cache = (RedisCache) cacheManager.getCache("cache");
+
+  assertThat(cache.getNearCacheStatistics()).isEmpty();
+ }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Microbenchmark comparing {@link RedisCache#get(Object, java.util.concurrent.Callable)} backed by the
+ * {@literal non-locking}, {@literal locking} and {@literal key-locking} {@link RedisCacheWriter}. Requires a Redis
+ * server running on {@code localhost:6379}.
+ * <p />
+ * Run via {@code main} or {@code java -cp ... org.openjdk.jmh.Main RedisCacheWriterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(16)
+@Fork(1)
+public class RedisCacheWriterBenchmark {
+
+ @Param({ "nonLocking", "locking", "keyLocking" }) String writer;
+ @Param({ "16", "1024" }) int keySpace;
+
+ LettuceConnectionFactory connectionFactory;
+ RedisCache cache;
+
+ @Setup
+ public void setUp() {
+
+  connectionFactory = new LettuceConnectionFactory();
+  connectionFactory.afterPropertiesSet();
+
+  RedisCacheWriter cacheWriter;
+  switch (writer) {
+   case "locking":
+    cacheWriter = RedisCacheWriter.lockingRedisCacheWriter(connectionFactory);
+    break;
+   case "keyLocking":
+    cacheWriter = RedisCacheWriter.keyLockingRedisCacheWriter(connectionFactory);
+    break;
+   default:
+    cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+  }
+
+  cache = new RedisCache("benchmark", cacheWriter, RedisCacheConfiguration.defaultCacheConfig());
+ }
+
+ @Setup(Level.Iteration)
+ public void clearCache() {
+  cache.clear();
+ }
+
+ @TearDown
+ public void tearDown() {
+
+  cache.clear();
+  connectionFactory.destroy();
+ }
+
+ @Benchmark
+ public Object getWithValueLoader() {
+
+  int key = ThreadLocalRandom.current().nextInt(keySpace);
+  return cache.get(key, () -> "value-" + key);
+ }
+
+ @Benchmark
+ public Object putIfAbsent() {
+
+  int key = ThreadLocalRandom.current().nextInt(keySpace);
+  return cache.putIfAbsent(key, "value-" + key);
+ }
+
+ public static void main(String[] args) throws Exception {
+  new Runner(new OptionsBuilder().include(RedisCacheWriterBenchmark.class.getSimpleName()).build()).run();
+ }
+}
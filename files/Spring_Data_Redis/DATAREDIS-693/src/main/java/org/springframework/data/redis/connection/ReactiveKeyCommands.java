@@ -30,6 +30,7 @@ import org.springframework.data.redis.connection.ReactiveRedisConnection.Command
 import org.springframework.data.redis.connection.ReactiveRedisConnection.KeyCommand;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.MultiValueResponse;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.NumericResponse;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -133,6 +134,32 @@ public interface ReactiveKeyCommands {
   */
  Flux<MultiValueResponse<ByteBuffer, ByteBuffer>> keys(Publisher<ByteBuffer> patterns);
 
+ /**
+  * Use a {@link Flux} to iterate over keys. The resulting {@link Flux} acts as a cursor and issues {@code SCAN}
+  * commands itself as long as the subscriber signals demand. The next batch is requested while the items of the
+  * current one are emitted.
+  *
+  * @return the {@link Flux} emitting {@link ByteBuffer keys} one by one.
+  * @see <a href="http://redis.io/commands/scan">Redis Documentation: SCAN</a>
+  * @since 2.1
+  */
+ default Flux<ByteBuffer> scan() {
+  return scan(ScanOptions.NONE);
+ }
+
+ /**
+  * Use a {@link Flux} to iterate over keys. The resulting {@link Flux} acts as a cursor and issues {@code SCAN}
+  * commands itself as long as the subscriber signals demand. The next batch is requested while the items of the
+  * current one are emitted.
+  *
+  * @param options must not be {@literal null}.
+  * @return the {@link Flux} emitting {@link ByteBuffer keys} one by one.
+  * @throws IllegalArgumentException when options is {@literal null}.
+  * @see <a href="http://redis.io/commands/scan">Redis Documentation: SCAN</a>
+  * @since 2.1
+  */
+ Flux<ByteBuffer> scan(ScanOptions options);
+
  /**
   * Return a random key from the keyspace.
   *
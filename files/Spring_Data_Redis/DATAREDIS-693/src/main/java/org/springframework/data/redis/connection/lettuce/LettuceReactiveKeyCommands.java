@@ -15,6 +15,8 @@
  */
 package org.springframework.data.redis.connection.lettuce;
 
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.ScanArgs;
 import io.lettuce.core.api.reactive.RedisKeyReactiveCommands;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -32,6 +34,7 @@ import org.springframework.data.redis.connection.ReactiveRedisConnection.Command
 import org.springframework.data.redis.connection.ReactiveRedisConnection.KeyCommand;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.MultiValueResponse;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.NumericResponse;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.util.Assert;
 
 /**
@@ -118,6 +121,22 @@ class LettuceReactiveKeyCommands implements ReactiveKeyCommands {
   }));
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.connection.ReactiveKeyCommands#scan(org.springframework.data.redis.core.ScanOptions)
+  */
+ @Override
+ public Flux<ByteBuffer> scan(ScanOptions options) {
+
+  Assert.notNull(options, "ScanOptions must not be null!");
+
+  ScanArgs scanArgs = toScanArgs(options);
+
+  return connection.execute(cmd -> cmd.scan(scanArgs) //
+    .expand(cursor -> cursor.isFinished() ? Mono.empty() : cmd.scan(cursor, scanArgs)) //
+    .concatMapIterable(KeyScanCursor::getKeys));
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.redis.connection.ReactiveRedisConnection.ReactiveKeyCommands#randomKey()
@@ -311,4 +330,19 @@ class LettuceReactiveKeyCommands implements ReactiveKeyCommands {
    return cmd.move(command.getKey(), command.getDatabase()).map(value -> new BooleanResponse<>(command, value));
   }));
  }
-}
\ No newline at end of file
+
+ private static ScanArgs toScanArgs(ScanOptions options) {
+
+  ScanArgs scanArgs = new ScanArgs();
+
+  if (options.getPattern() != null) {
+   scanArgs.match(options.getPattern());
+  }
+
+  if (options.getCount() != null) {
+   scanArgs.limit(options.getCount());
+  }
+
+  return scanArgs;
+ }
+}
@@ -34,6 +34,7 @@ import org.springframework.data.redis.RedisSystemException;
 import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.KeyCommand;
 import org.springframework.data.redis.connection.ReactiveRedisConnection.NumericResponse;
+import org.springframework.data.redis.core.ScanOptions;
 
 /**
  * Integration tests for {@link LettuceReactiveKeyCommands}.
@@ -83,6 +84,24 @@ public class LettuceReactiveKeyCommandsTests extends LettuceReactiveCommandsTest
   assertThat(connection.keyCommands().keys(ByteBuffer.wrap("key*".getBytes())).block(), hasSize(3));
  }
 
+ @Test
+ public void scanShouldEmitAllKeys() {
+
+  for (int i = 0; i < 100; i++) {
+   nativeCommands.set("scan-" + i, VALUE_1);
+  }
+  nativeCommands.set(KEY_1, VALUE_1);
+
+  StepVerifier.create(connection.keyCommands().scan(ScanOptions.scanOptions().match("scan-*").count(10).build())) //
+    .expectNextCount(100) //
+    .verifyComplete();
+ }
+
+ @Test
+ public void scanShouldCompleteWhenNoKeysExist() {
+  StepVerifier.create(connection.keyCommands().scan()).verifyComplete();
+ }
+
  @Test // DATAREDIS-525
  public void randomKeyShouldReturnAnyKey() {
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.time.Duration;
+
+/**
+ * Point in time metrics of a single dispatch lane of a {@link RedisMessageListenerContainer}.
+ *
+ * @since 2.1
+ * @see RedisMessageListenerContainer#getDispatchLaneMetrics()
+ */
+public interface DispatchLaneMetrics {
+
+ /**
+  * @return the index of the lane.
+  */
+ int getLane();
+
+ /**
+  * @return the number of messages currently waiting to be dispatched.
+  */
+ int getQueueDepth();
+
+ /**
+  * @return the maximum number of messages the lane can hold.
+  */
+ int getCapacity();
+
+ /**
+  * @return the time the oldest queued message has been waiting for dispatch. {@link Duration#ZERO} if the lane is
+  *         empty.
+  */
+ Duration getLag();
+
+ /**
+  * @return the total number of messages handed to the listeners.
+  */
+ long getDispatchedMessages();
+
+ /**
+  * @return the total number of messages discarded due to the {@link DispatchOverflowPolicy}.
+  */
+ long getDroppedMessages();
+}
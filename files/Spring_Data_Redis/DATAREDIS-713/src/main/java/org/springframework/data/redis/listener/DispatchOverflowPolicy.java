@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+/**
+ * Strategy applied by {@link RedisMessageListenerContainer} when a dispatch lane has no capacity left to queue a
+ * received message.
+ *
+ * @since 2.1
+ * @see RedisMessageListenerContainer#setDispatchLanes(int)
+ */
+public enum DispatchOverflowPolicy {
+
+ /**
+  * Block the thread receiving messages from Redis until the lane has capacity again. No message is lost but a single
+  * slow listener delays the delivery of all other messages.
+  */
+ BLOCK,
+
+ /**
+  * Discard the oldest queued message of the lane to make room for the received one.
+  */
+ DROP_OLDEST,
+
+ /**
+  * Discard the received message and retain the already queued ones.
+  */
+ DROP_NEWEST
+}
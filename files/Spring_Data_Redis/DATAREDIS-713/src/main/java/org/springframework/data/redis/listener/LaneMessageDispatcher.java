@@ -0,0 +1,293 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.scheduling.SchedulingAwareRunnable;
+import org.springframework.util.Assert;
+
+/**
+ * Dispatcher distributing tasks across a fixed number of lanes, each of them backed by a bounded queue that is
+ * processed by one single long running task. Tasks are assigned to lanes by the hash of a key (the channel or pattern
+ * a message was received for), so that all tasks sharing a key are run in the order they were dispatched. <br />
+ * Lanes exceeding their capacity apply the configured {@link DispatchOverflowPolicy}.
+ *
+ * @since 2.1
+ */
+class LaneMessageDispatcher {
+
+ private static final Log LOGGER = LogFactory.getLog(LaneMessageDispatcher.class);
+ private static final long POLL_TIMEOUT_MILLIS = 100;
+
+ private final List<Lane> lanes;
+ private final DispatchOverflowPolicy overflowPolicy;
+
+ private volatile boolean running;
+
+ /**
+  * Creates new {@link LaneMessageDispatcher}.
+  *
+  * @param lanes number of lanes. Must be greater than zero.
+  * @param capacity capacity of each lane. Must be greater than zero.
+  * @param overflowPolicy must not be {@literal null}.
+  */
+ LaneMessageDispatcher(int lanes, int capacity, DispatchOverflowPolicy overflowPolicy) {
+
+  Assert.isTrue(lanes > 0, "Number of lanes must be greater than zero!");
+  Assert.isTrue(capacity > 0, "Lane capacity must be greater than zero!");
+  Assert.notNull(overflowPolicy, "DispatchOverflowPolicy must not be null!");
+
+  List<Lane> laneList = new ArrayList<>(lanes);
+  for (int i = 0; i < lanes; i++) {
+   laneList.add(new Lane(i, capacity));
+  }
+
+  this.lanes = Collections.unmodifiableList(laneList);
+  this.overflowPolicy = overflowPolicy;
+ }
+
+ /**
+  * Start one long running task per lane on the given {@link Executor}. The {@link Executor} needs to provide at least
+  * as many threads as there are lanes.
+  *
+  * @param executor must not be {@literal null}.
+  */
+ void start(Executor executor) {
+
+  Assert.notNull(executor, "Executor must not be null!");
+
+  if (running) {
+   return;
+  }
+
+  running = true;
+  for (Lane lane : lanes) {
+   executor.execute(lane);
+  }
+ }
+
+ /**
+  * Stop processing. Tasks still queued are discarded.
+  */
+ void stop() {
+
+  running = false;
+
+  for (Lane lane : lanes) {
+   lane.discardQueued();
+  }
+ }
+
+ boolean isRunning() {
+  return running;
+ }
+
+ /**
+  * Queue the given task on the lane assigned to the key.
+  *
+  * @param key must not be {@literal null}.
+  * @param task must not be {@literal null}.
+  * @return {@literal false} if the task or a previously queued one was discarded.
+  */
+ boolean dispatch(byte[] key, Runnable task) {
+  return lanes.get(laneFor(key)).offer(new QueuedTask(task), overflowPolicy);
+ }
+
+ /**
+  * @param key must not be {@literal null}.
+  * @return the index of the lane responsible for the given key.
+  */
+ int laneFor(byte[] key) {
+
+  int hash = Arrays.hashCode(key);
+  return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+ }
+
+ /**
+  * @return metrics of all lanes ordered by lane index.
+  */
+ List<DispatchLaneMetrics> getMetrics() {
+  return Collections.unmodifiableList(lanes);
+ }
+
+ /**
+  * A single lane processing its queue one task at a time.
+  */
+ private class Lane implements SchedulingAwareRunnable, DispatchLaneMetrics {
+
+  private final int index;
+  private final int capacity;
+  private final BlockingQueue<QueuedTask> queue;
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  Lane(int index, int capacity) {
+
+   this.index = index;
+   this.capacity = capacity;
+   this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  boolean offer(QueuedTask task, DispatchOverflowPolicy overflowPolicy) {
+
+   if (queue.offer(task)) {
+    return true;
+   }
+
+   switch (overflowPolicy) {
+
+    case DROP_NEWEST:
+     dropped.increment();
+     return false;
+
+    case DROP_OLDEST:
+     do {
+      if (queue.poll() != null) {
+       dropped.increment();
+      }
+     } while (!queue.offer(task));
+     return false;
+
+    default:
+     return put(task);
+   }
+  }
+
+  private boolean put(QueuedTask task) {
+
+   try {
+    while (running) {
+     if (queue.offer(task, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+      return true;
+     }
+    }
+   } catch (InterruptedException e) {
+    Thread.currentThread().interrupt();
+   }
+
+   dropped.increment();
+   return false;
+  }
+
+  void discardQueued() {
+
+   int discarded = queue.size();
+   queue.clear();
+   dropped.add(discarded);
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Runnable#run()
+   */
+  @Override
+  public void run() {
+
+   try {
+    while (running) {
+
+     QueuedTask task = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+     if (task == null) {
+      continue;
+     }
+
+     try {
+      task.task.run();
+     } catch (RuntimeException e) {
+      LOGGER.warn("Dispatching message on lane " + index + " failed.", e);
+     } finally {
+      dispatched.increment();
+     }
+    }
+   } catch (InterruptedException e) {
+    Thread.currentThread().interrupt();
+   }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.scheduling.SchedulingAwareRunnable#isLongLived()
+   */
+  @Override
+  public boolean isLongLived() {
+   return true;
+  }
+
+  @Override
+  public int getLane() {
+   return index;
+  }
+
+  @Override
+  public int getQueueDepth() {
+   return queue.size();
+  }
+
+  @Override
+  public int getCapacity() {
+   return capacity;
+  }
+
+  @Override
+  public Duration getLag() {
+
+   QueuedTask head = queue.peek();
+   return head != null ? Duration.ofNanos(Math.max(0, System.nanoTime() - head.queuedAt)) : Duration.ZERO;
+  }
+
+  @Override
+  public long getDispatchedMessages() {
+   return dispatched.sum();
+  }
+
+  @Override
+  public long getDroppedMessages() {
+   return dropped.sum();
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+   return "Lane [index=" + index + ", depth=" + getQueueDepth() + ", capacity=" + capacity + ", dropped="
+     + getDroppedMessages() + "]";
+  }
+ }
+
+ private static class QueuedTask {
+
+  private final Runnable task;
+  private final long queuedAt = System.nanoTime();
+
+  QueuedTask(Runnable task) {
+   this.task = task;
+  }
+ }
+}
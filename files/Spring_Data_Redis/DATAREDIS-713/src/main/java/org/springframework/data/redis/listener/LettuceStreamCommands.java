@@ -0,0 +1,310 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link StreamCommands} issued via {@link RedisClusterAsyncCommands#dispatch dispatch} on the native Lettuce
+ * connection.
+ *
+ * @since 2.1
+ */
+class LettuceStreamCommands implements StreamCommands {
+
+ private static final ByteArrayCodec CODEC = ByteArrayCodec.INSTANCE;
+
+ private final RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+ /**
+  * Creates new {@link LettuceStreamCommands}.
+  *
+  * @param commands must not be {@literal null}.
+  */
+ LettuceStreamCommands(RedisClusterAsyncCommands<byte[], byte[]> commands) {
+
+  Assert.notNull(commands, "Commands must not be null!");
+  this.commands = commands;
+ }
+
+ /**
+  * Create {@link StreamCommands} for the given {@link RedisConnection}.
+  *
+  * @param connection must not be {@literal null}.
+  * @return never {@literal null}.
+  * @throws InvalidDataAccessApiUsageException if the connection is not backed by Lettuce.
+  */
+ @SuppressWarnings("unchecked")
+ static StreamCommands from(RedisConnection connection) {
+
+  Object nativeConnection = connection.getNativeConnection();
+
+  if (!(nativeConnection instanceof RedisClusterAsyncCommands)) {
+   throw new InvalidDataAccessApiUsageException(
+     "Redis Streams require a Lettuce connection but was " + connection.getClass().getName());
+  }
+
+  return new LettuceStreamCommands((RedisClusterAsyncCommands<byte[], byte[]>) nativeConnection);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.listener.StreamCommands#createGroup(byte[], java.lang.String)
+  */
+ @Override
+ public CompletionStage<Void> createGroup(byte[] stream, String group) {
+
+  CommandArgs<byte[], byte[]> args = new CommandArgs<>(CODEC).add("CREATE").addKey(stream).add(group).add("$")
+    .add("MKSTREAM");
+
+  CompletableFuture<Void> result = new CompletableFuture<>();
+
+  commands.dispatch(StreamCommand.XGROUP, new StatusOutput<>(CODEC), args).whenComplete((status, error) -> {
+
+   if (error == null || isBusyGroup(error)) {
+    result.complete(null);
+   } else {
+    result.completeExceptionally(error);
+   }
+  });
+
+  return result;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.listener.StreamCommands#readGroup(java.lang.String, java.lang.String, int, java.time.Duration, java.util.Map)
+  */
+ @Override
+ public CompletionStage<List<StreamRecord>> readGroup(String group, String consumer, int count,
+   @Nullable Duration block, Map<byte[], String> offsets) {
+
+  CommandArgs<byte[], byte[]> args = new CommandArgs<>(CODEC).add("GROUP").add(group).add(consumer).add("COUNT")
+    .add(count);
+
+  if (block != null) {
+   args.add("BLOCK").add(block.toMillis());
+  }
+
+  args.add("STREAMS");
+  for (byte[] stream : offsets.keySet()) {
+   args.addKey(stream);
+  }
+  for (String offset : offsets.values()) {
+   args.add(offset);
+  }
+
+  return commands.dispatch(StreamCommand.XREADGROUP, new NestedMultiOutput<>(CODEC), args)
+    .thenApply(LettuceStreamCommands::toStreamRecords);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.listener.StreamCommands#acknowledge(byte[], java.lang.String, java.util.List)
+  */
+ @Override
+ public CompletionStage<Long> acknowledge(byte[] stream, String group, List<String> ids) {
+
+  CommandArgs<byte[], byte[]> args = new CommandArgs<>(CODEC).addKey(stream).add(group);
+  for (String id : ids) {
+   args.add(id);
+  }
+
+  return commands.dispatch(StreamCommand.XACK, new IntegerOutput<>(CODEC), args);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.listener.StreamCommands#pending(byte[], java.lang.String, java.lang.String, int)
+  */
+ @Override
+ public CompletionStage<List<PendingEntry>> pending(byte[] stream, String group, String start, int count) {
+
+  CommandArgs<byte[], byte[]> args = new CommandArgs<>(CODEC).addKey(stream).add(group).add(start).add("+")
+    .add(count);
+
+  return commands.dispatch(StreamCommand.XPENDING, new NestedMultiOutput<>(CODEC), args)
+    .thenApply(LettuceStreamCommands::toPendingEntries);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.listener.StreamCommands#claim(byte[], java.lang.String, java.lang.String, java.time.Duration, java.util.List)
+  */
+ @Override
+ public CompletionStage<List<StreamRecord>> claim(byte[] stream, String group, String consumer,
+   Duration minIdleTime, List<String> ids) {
+
+  CommandArgs<byte[], byte[]> args = new CommandArgs<>(CODEC).addKey(stream).add(group).add(consumer)
+    .add(minIdleTime.toMillis());
+  for (String id : ids) {
+   args.add(id);
+  }
+
+  return commands.dispatch(StreamCommand.XCLAIM, new NestedMultiOutput<>(CODEC), args)
+    .thenApply(entries -> toEntries(stream, entries));
+ }
+
+ /**
+  * Convert the {@literal XREADGROUP} reply {@code [[stream, [[id, [field, value, ...]], ...]], ...]}.
+  *
+  * @param reply can be {@literal null}.
+  * @return never {@literal null}.
+  */
+ @SuppressWarnings("unchecked")
+ static List<StreamRecord> toStreamRecords(@Nullable List<Object> reply) {
+
+  if (reply == null || reply.isEmpty()) {
+   return Collections.emptyList();
+  }
+
+  List<StreamRecord> records = new ArrayList<>();
+  for (Object element : reply) {
+
+   List<Object> streamReply = (List<Object>) element;
+   records.addAll(toEntries((byte[]) streamReply.get(0), (List<Object>) streamReply.get(1)));
+  }
+
+  return records;
+ }
+
+ /**
+  * Convert a list of stream entries {@code [[id, [field, value, ...]], ...]}. Entries deleted from the stream while
+  * pending are reported without fields and converted to {@link StreamRecord#isDeleted() deleted} records, so that
+  * callers can page past and acknowledge them.
+  *
+  * @param stream the stream key.
+  * @param entries can be {@literal null}.
+  * @return never {@literal null}.
+  */
+ @SuppressWarnings("unchecked")
+ static List<StreamRecord> toEntries(byte[] stream, @Nullable List<Object> entries) {
+
+  if (entries == null || entries.isEmpty()) {
+   return Collections.emptyList();
+  }
+
+  List<StreamRecord> records = new ArrayList<>(entries.size());
+  for (Object element : entries) {
+
+   if (element == null) {
+    continue;
+   }
+
+   List<Object> entry = (List<Object>) element;
+   List<Object> fields = entry.size() > 1 ? (List<Object>) entry.get(1) : null;
+
+   if (fields == null) {
+
+    records.add(new StreamRecord(stream, toString(entry.get(0)), null));
+    continue;
+   }
+
+   Map<byte[], byte[]> body = new LinkedHashMap<>(fields.size() / 2);
+   for (int i = 0; i + 1 < fields.size(); i += 2) {
+    body.put((byte[]) fields.get(i), (byte[]) fields.get(i + 1));
+   }
+
+   records.add(new StreamRecord(stream, toString(entry.get(0)), body));
+  }
+
+  return records;
+ }
+
+ /**
+  * Convert the extended {@literal XPENDING} reply {@code [[id, consumer, idle, deliveries], ...]}.
+  *
+  * @param reply can be {@literal null}.
+  * @return never {@literal null}.
+  */
+ @SuppressWarnings("unchecked")
+ static List<PendingEntry> toPendingEntries(@Nullable List<Object> reply) {
+
+  if (reply == null || reply.isEmpty()) {
+   return Collections.emptyList();
+  }
+
+  List<PendingEntry> pending = new ArrayList<>(reply.size());
+  for (Object element : reply) {
+
+   List<Object> entry = (List<Object>) element;
+   pending.add(new PendingEntry(toString(entry.get(0)), toString(entry.get(1)),
+     Duration.ofMillis((Long) entry.get(2)), (Long) entry.get(3)));
+  }
+
+  return pending;
+ }
+
+ private static String toString(Object value) {
+  return new String((byte[]) value, StandardCharsets.UTF_8);
+ }
+
+ private static boolean isBusyGroup(Throwable error) {
+
+  Throwable cause = error;
+  while (cause != null) {
+
+   if (cause instanceof RedisCommandExecutionException && cause.getMessage() != null
+     && cause.getMessage().startsWith("BUSYGROUP")) {
+    return true;
+   }
+   cause = cause.getCause();
+  }
+
+  return false;
+ }
+
+ /**
+  * Stream commands not known to the Lettuce version in use.
+  */
+ enum StreamCommand implements ProtocolKeyword {
+
+  XGROUP, XREADGROUP, XACK, XPENDING, XCLAIM;
+
+  private final byte[] bytes = name().getBytes(StandardCharsets.US_ASCII);
+
+  /*
+   * (non-Javadoc)
+   * @see io.lettuce.core.protocol.ProtocolKeyword#getBytes()
+   */
+  @Override
+  public byte[] getBytes() {
+   return bytes;
+  }
+ }
+}
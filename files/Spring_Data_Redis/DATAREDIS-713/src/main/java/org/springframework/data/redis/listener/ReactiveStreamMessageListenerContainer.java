@@ -0,0 +1,341 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.StreamCommands.StreamRecord;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Reactive counterpart of {@link StreamMessageListenerContainer} exposing the entries a consumer group member receives
+ * from a Redis Stream as {@link Flux}. Each subscription to {@link #receive(String)} obtains its own connection that
+ * is released on termination or cancellation. Entries still pending for the consumer are emitted first, followed by
+ * new entries read via {@literal XREADGROUP COUNT n BLOCK t}. Batches are requested one at a time so that a slow
+ * subscriber applies backpressure to the reads.
+ * <p>
+ * As with the imperative container, the {@link RedisConnectionFactory} must be a Lettuce one that does not share its
+ * native connection, which is verified on {@link #receive(String) receive}. Connections are obtained from the blocking
+ * {@link RedisConnectionFactory}, so the subscription is moved onto the {@link Schedulers#elastic() elastic scheduler}
+ * to not block the subscribing thread, for example an event loop. Entries left pending by other consumers are not
+ * claimed.
+ *
+ * @param <K> type of the entry field names.
+ * @param <V> type of the entry values.
+ * @since 2.1
+ */
+public class ReactiveStreamMessageListenerContainer<K, V> {
+
+ /**
+  * The default time acknowledgements are collected before they are sent: 50 milliseconds.
+  */
+ public static final Duration DEFAULT_ACKNOWLEDGE_WINDOW = Duration.ofMillis(50);
+
+ private final RedisConnectionFactory connectionFactory;
+ private final String group;
+ private final String consumer;
+ private final RedisSerializer<K> fieldSerializer;
+ private final RedisSerializer<V> valueSerializer;
+ private final Function<RedisConnection, StreamCommands> commandsFactory;
+
+ private RedisSerializer<String> streamSerializer = new StringRedisSerializer();
+ private int batchSize = StreamMessageListenerContainer.DEFAULT_BATCH_SIZE;
+ private Duration pollTimeout = StreamMessageListenerContainer.DEFAULT_POLL_TIMEOUT;
+ private Duration acknowledgeWindow = DEFAULT_ACKNOWLEDGE_WINDOW;
+
+ private final Object acknowledgeMonitor = new Object();
+ private List<PendingAcknowledgement> acknowledgements = new ArrayList<>();
+
+ /**
+  * Creates new {@link ReactiveStreamMessageListenerContainer}.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @param group name of the consumer group. Must not be {@literal null} or empty.
+  * @param consumer name of the consumer within the group. Must not be {@literal null} or empty.
+  * @param fieldSerializer {@link RedisSerializer} for the entry field names. Must not be {@literal null}.
+  * @param valueSerializer {@link RedisSerializer} for the entry values. Must not be {@literal null}.
+  */
+ public ReactiveStreamMessageListenerContainer(RedisConnectionFactory connectionFactory, String group, String consumer,
+   RedisSerializer<K> fieldSerializer, RedisSerializer<V> valueSerializer) {
+  this(connectionFactory, group, consumer, fieldSerializer, valueSerializer, LettuceStreamCommands::from);
+ }
+
+ ReactiveStreamMessageListenerContainer(RedisConnectionFactory connectionFactory, String group, String consumer,
+   RedisSerializer<K> fieldSerializer, RedisSerializer<V> valueSerializer,
+   Function<RedisConnection, StreamCommands> commandsFactory) {
+
+  Assert.notNull(connectionFactory, "RedisConnectionFactory must not be null!");
+  Assert.hasText(group, "Group must not be null or empty!");
+  Assert.hasText(consumer, "Consumer must not be null or empty!");
+  Assert.notNull(fieldSerializer, "Field serializer must not be null!");
+  Assert.notNull(valueSerializer, "Value serializer must not be null!");
+
+  this.connectionFactory = connectionFactory;
+  this.group = group;
+  this.consumer = consumer;
+  this.fieldSerializer = fieldSerializer;
+  this.valueSerializer = valueSerializer;
+  this.commandsFactory = commandsFactory;
+ }
+
+ /**
+  * Create a new {@link ReactiveStreamMessageListenerContainer} reading field names and values as {@link String}.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @param group name of the consumer group. Must not be {@literal null} or empty.
+  * @param consumer name of the consumer within the group. Must not be {@literal null} or empty.
+  * @return new instance of {@link ReactiveStreamMessageListenerContainer}.
+  */
+ public static ReactiveStreamMessageListenerContainer<String, String> create(RedisConnectionFactory connectionFactory,
+   String group, String consumer) {
+  return new ReactiveStreamMessageListenerContainer<>(connectionFactory, group, consumer, new StringRedisSerializer(),
+    new StringRedisSerializer());
+ }
+
+ /**
+  * Sets the serializer for converting the stream names. By default, {@link StringRedisSerializer} is used.
+  *
+  * @param streamSerializer must not be {@literal null}.
+  */
+ public void setStreamSerializer(RedisSerializer<String> streamSerializer) {
+
+  Assert.notNull(streamSerializer, "Stream serializer must not be null!");
+  this.streamSerializer = streamSerializer;
+ }
+
+ /**
+  * Sets the maximum number of entries read with one {@literal XREADGROUP}.
+  *
+  * @param batchSize must be greater than zero.
+  */
+ public void setBatchSize(int batchSize) {
+
+  Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+  this.batchSize = batchSize;
+ }
+
+ /**
+  * Sets the time {@literal XREADGROUP} blocks waiting for new entries.
+  *
+  * @param pollTimeout must not be {@literal null} or negative.
+  */
+ public void setPollTimeout(Duration pollTimeout) {
+
+  Assert.notNull(pollTimeout, "Poll timeout must not be null!");
+  Assert.isTrue(!pollTimeout.isNegative(), "Poll timeout must not be negative!");
+  this.pollTimeout = pollTimeout;
+ }
+
+ /**
+  * Sets the time {@link #acknowledge(StreamMessage) acknowledgements} are collected before they are sent with one
+  * {@literal XACK} per stream. Acknowledgements are sent right away once {@link #setBatchSize(int) batch size} of them
+  * are collected. Defaults to {@link #DEFAULT_ACKNOWLEDGE_WINDOW}.
+  *
+  * @param acknowledgeWindow must not be {@literal null} or negative.
+  */
+ public void setAcknowledgeWindow(Duration acknowledgeWindow) {
+
+  Assert.notNull(acknowledgeWindow, "Acknowledge window must not be null!");
+  Assert.isTrue(!acknowledgeWindow.isNegative(), "Acknowledge window must not be negative!");
+  this.acknowledgeWindow = acknowledgeWindow;
+ }
+
+ /**
+  * Receive the entries of the given stream. Entries are not acknowledged and need to be confirmed via
+  * {@link #acknowledge(StreamMessage)} once processed.
+  *
+  * @param stream the stream key. Must not be {@literal null} or empty.
+  * @return infinite {@link Flux} of {@link StreamMessage}s.
+  */
+ public Flux<StreamMessage<K, V>> receive(String stream) {
+  return doReceive(stream, false);
+ }
+
+ /**
+  * Receive the entries of the given stream acknowledging each batch after all its entries have been emitted and the
+  * next batch is requested. Entries still in flight when the subscription is cancelled remain pending.
+  *
+  * @param stream the stream key. Must not be {@literal null} or empty.
+  * @return infinite {@link Flux} of {@link StreamMessage}s.
+  */
+ public Flux<StreamMessage<K, V>> receiveAutoAck(String stream) {
+  return doReceive(stream, true);
+ }
+
+ /**
+  * Acknowledge the given {@link StreamMessage}. Acknowledgements are collected for the
+  * {@link #setAcknowledgeWindow(Duration) acknowledge window} or until {@link #setBatchSize(int) batch size} of them
+  * are pending and then sent with one {@literal XACK} per stream, pipelined on a single connection.
+  *
+  * @param message must not be {@literal null}.
+  * @return {@link Mono} completing once the {@literal XACK} containing the message was confirmed.
+  */
+ public Mono<Void> acknowledge(StreamMessage<K, V> message) {
+
+  Assert.notNull(message, "StreamMessage must not be null!");
+
+  return Mono.defer(() -> {
+
+   PendingAcknowledgement acknowledgement = new PendingAcknowledgement(message.getStream(), message.getId());
+   int pending;
+
+   synchronized (acknowledgeMonitor) {
+
+    acknowledgements.add(acknowledgement);
+    pending = acknowledgements.size();
+   }
+
+   if (pending >= batchSize) {
+    flushAcknowledgements();
+   } else if (pending == 1) {
+    Mono.delay(acknowledgeWindow).subscribe(it -> flushAcknowledgements());
+   }
+
+   return acknowledgement.result;
+  });
+ }
+
+ private void flushAcknowledgements() {
+
+  List<PendingAcknowledgement> toSend;
+
+  synchronized (acknowledgeMonitor) {
+
+   if (acknowledgements.isEmpty()) {
+    return;
+   }
+
+   toSend = acknowledgements;
+   acknowledgements = new ArrayList<>();
+  }
+
+  Map<String, List<String>> idsByStream = new LinkedHashMap<>();
+  for (PendingAcknowledgement acknowledgement : toSend) {
+   idsByStream.computeIfAbsent(acknowledgement.stream, key -> new ArrayList<>()).add(acknowledgement.id);
+  }
+
+  StreamMessageDeserializer<K, V> deserializer = deserializer();
+
+  Mono.using(connectionFactory::getConnection, connection -> {
+
+   StreamCommands commands = commandsFactory.apply(connection);
+
+   // issue all commands before awaiting the replies so that they are pipelined
+   List<Mono<Long>> replies = new ArrayList<>(idsByStream.size());
+   for (Map.Entry<String, List<String>> entry : idsByStream.entrySet()) {
+    replies.add(Mono.fromCompletionStage(
+      commands.acknowledge(deserializer.serializeStream(entry.getKey()), group, entry.getValue())));
+   }
+
+   return Mono.when(replies);
+  }, RedisConnection::close).subscribeOn(Schedulers.elastic()).subscribe(null,
+    error -> toSend.forEach(acknowledgement -> acknowledgement.result.onError(error)),
+    () -> toSend.forEach(acknowledgement -> acknowledgement.result.onComplete()));
+ }
+
+ private Flux<StreamMessage<K, V>> doReceive(String stream, boolean autoAck) {
+
+  Assert.hasText(stream, "Stream must not be null or empty!");
+  StreamMessageListenerContainer.assertDedicatedConnections(connectionFactory);
+
+  StreamMessageDeserializer<K, V> deserializer = deserializer();
+  byte[] rawStream = deserializer.serializeStream(stream);
+
+  return Flux.using(connectionFactory::getConnection, connection -> {
+
+   StreamCommands commands = commandsFactory.apply(connection);
+
+   // page by the last entry of the raw batch, including deleted ones, until a read returns no entries at all
+   Flux<List<StreamRecord>> pending = read(commands, rawStream, "0", null).expand(batch -> batch.isEmpty() //
+     ? Mono.<List<StreamRecord>> empty() //
+     : read(commands, rawStream, lastId(batch), null));
+
+   Flux<List<StreamRecord>> incoming = Mono.defer(() -> read(commands, rawStream, ">", pollTimeout)).repeat();
+
+   return Mono.defer(() -> Mono.fromCompletionStage(commands.createGroup(rawStream, group)))
+     .thenMany(pending.concatWith(incoming))
+     .concatMap(batch -> emit(commands, rawStream, batch, deserializer, autoAck), 1);
+  }, RedisConnection::close).subscribeOn(Schedulers.elastic());
+ }
+
+ private Mono<List<StreamRecord>> read(StreamCommands commands, byte[] stream, String offset,
+   @Nullable Duration block) {
+  return Mono.defer(() -> Mono.fromCompletionStage(
+    commands.readGroup(group, consumer, batchSize, block, Collections.singletonMap(stream, offset))));
+ }
+
+ private Flux<StreamMessage<K, V>> emit(StreamCommands commands, byte[] stream, List<StreamRecord> batch,
+   StreamMessageDeserializer<K, V> deserializer, boolean autoAck) {
+
+  Flux<StreamMessage<K, V>> messages = Flux.fromIterable(batch).filter(record -> !record.isDeleted())
+    .map(deserializer::deserialize);
+
+  // deleted entries cannot be acknowledged by the subscriber as they are never emitted
+  List<String> ids = new ArrayList<>(batch.size());
+  for (StreamRecord record : batch) {
+   if (autoAck || record.isDeleted()) {
+    ids.add(record.getId());
+   }
+  }
+
+  if (ids.isEmpty()) {
+   return messages;
+  }
+
+  return messages.concatWith(Mono.defer(() -> Mono.fromCompletionStage(commands.acknowledge(stream, group, ids)))
+    .then(Mono.<StreamMessage<K, V>> empty()));
+ }
+
+ private StreamMessageDeserializer<K, V> deserializer() {
+  return new StreamMessageDeserializer<>(streamSerializer, fieldSerializer, valueSerializer);
+ }
+
+ private static String lastId(List<StreamRecord> batch) {
+  return batch.get(batch.size() - 1).getId();
+ }
+
+ /**
+  * Acknowledgement waiting to be sent.
+  */
+ private static class PendingAcknowledgement {
+
+  private final String stream;
+  private final String id;
+  private final MonoProcessor<Void> result = MonoProcessor.create();
+
+  PendingAcknowledgement(String stream, String id) {
+
+   this.stream = stream;
+   this.id = id;
+  }
+ }
+}
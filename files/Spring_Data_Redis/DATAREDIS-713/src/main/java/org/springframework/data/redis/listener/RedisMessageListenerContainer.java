@@ -63,6 +63,11 @@ import org.springframework.util.ErrorHandler;
  * <p>
  * Adding and removing listeners at the same time has undefined results. It is strongly recommended to synchronize/order
  * these methods accordingly.
+ * <p>
+ * By default each message is handed to the task executor on its own, without ordering guarantees and without a bound
+ * on queued work. Configuring {@link #setDispatchLanes(int) dispatch lanes} hashes the channel (or pattern) of a
+ * message to one of a fixed number of lanes instead. Each lane is processed by a single long running task and holds a
+ * bounded queue, preserving the order of messages per channel and applying a {@link DispatchOverflowPolicy} once full.
  *
  * @author Costin Leau
  * @author Jennifer Hickey
@@ -91,6 +96,13 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
   */
  public static final long DEFAULT_SUBSCRIPTION_REGISTRATION_WAIT_TIME = 2000L;
 
+ /**
+  * The default number of messages a single dispatch lane can hold: 1024.
+  *
+  * @since 2.1
+  */
+ public static final int DEFAULT_DISPATCH_LANE_CAPACITY = 1024;
+
  private long initWait = TimeUnit.SECONDS.toMillis(5);
 
  private @Nullable Executor subscriptionExecutor;
@@ -133,6 +145,14 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
 
  private long maxSubscriptionRegistrationWaitingTime = DEFAULT_SUBSCRIPTION_REGISTRATION_WAIT_TIME;
 
+ private int dispatchLanes = 0;
+
+ private int dispatchLaneCapacity = DEFAULT_DISPATCH_LANE_CAPACITY;
+
+ private DispatchOverflowPolicy dispatchOverflowPolicy = DispatchOverflowPolicy.BLOCK;
+
+ private @Nullable LaneMessageDispatcher laneDispatcher;
+
  public void afterPropertiesSet() {
   if (taskExecutor == null) {
    manageExecutor = true;
@@ -143,6 +163,12 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
    subscriptionExecutor = taskExecutor;
   }
 
+  if (dispatchLanes > 0 && laneDispatcher == null) {
+
+   laneDispatcher = new LaneMessageDispatcher(dispatchLanes, dispatchLaneCapacity, dispatchOverflowPolicy);
+   laneDispatcher.start(taskExecutor);
+  }
+
   initialized = true;
  }
 
@@ -164,6 +190,11 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
 
   stop();
 
+  if (laneDispatcher != null) {
+   laneDispatcher.stop();
+   laneDispatcher = null;
+  }
+
   if (manageExecutor) {
    if (taskExecutor instanceof DisposableBean) {
     ((DisposableBean) taskExecutor).destroy();
@@ -359,6 +390,66 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
   this.errorHandler = errorHandler;
  }
 
+ /**
+  * Sets the number of lanes used for dispatching received messages. Messages are assigned to a lane by the hash of
+  * their channel, or the pattern for pattern subscriptions, and each lane delivers its messages one after another on a
+  * single long running task of the {@link #setTaskExecutor(Executor) task executor}. This preserves the order of
+  * messages per channel and bounds the number of queued messages by {@link #setDispatchLaneCapacity(int)}. The task
+  * executor needs to provide at least as many threads as there are lanes. <br />
+  * A value of {@literal 0} (default) dispatches each message as a separate task without ordering guarantees. Changes
+  * take effect on {@link #afterPropertiesSet()}.
+  *
+  * @param dispatchLanes number of lanes. Must not be negative.
+  * @since 2.1
+  */
+ public void setDispatchLanes(int dispatchLanes) {
+
+  Assert.isTrue(dispatchLanes >= 0, "Number of dispatch lanes must not be negative!");
+  this.dispatchLanes = dispatchLanes;
+ }
+
+ /**
+  * Sets the number of messages a single dispatch lane can queue before applying the
+  * {@link #setDispatchOverflowPolicy(DispatchOverflowPolicy) overflow policy}. Defaults to
+  * {@link #DEFAULT_DISPATCH_LANE_CAPACITY}.
+  *
+  * @param dispatchLaneCapacity must be greater than zero.
+  * @since 2.1
+  * @see #setDispatchLanes(int)
+  */
+ public void setDispatchLaneCapacity(int dispatchLaneCapacity) {
+
+  Assert.isTrue(dispatchLaneCapacity > 0, "Dispatch lane capacity must be greater than zero!");
+  this.dispatchLaneCapacity = dispatchLaneCapacity;
+ }
+
+ /**
+  * Sets the {@link DispatchOverflowPolicy} applied when a dispatch lane is full. Defaults to
+  * {@link DispatchOverflowPolicy#BLOCK} which blocks the thread receiving messages. For asynchronous drivers this is
+  * the I/O thread of the subscription connection.
+  *
+  * @param dispatchOverflowPolicy must not be {@literal null}.
+  * @since 2.1
+  * @see #setDispatchLanes(int)
+  */
+ public void setDispatchOverflowPolicy(DispatchOverflowPolicy dispatchOverflowPolicy) {
+
+  Assert.notNull(dispatchOverflowPolicy, "DispatchOverflowPolicy must not be null!");
+  this.dispatchOverflowPolicy = dispatchOverflowPolicy;
+ }
+
+ /**
+  * Obtain the current {@link DispatchLaneMetrics} of all dispatch lanes.
+  *
+  * @return never {@literal null}. Empty if no {@link #setDispatchLanes(int) dispatch lanes} are used.
+  * @since 2.1
+  */
+ public List<DispatchLaneMetrics> getDispatchLaneMetrics() {
+
+  LaneMessageDispatcher dispatcher = this.laneDispatcher;
+  return dispatcher != null ? dispatcher.getMetrics() : Collections.emptyList();
+ }
+
  /**
   * Attaches the given listeners (and their topics) to the container.
   * <p>
@@ -966,6 +1057,21 @@ public class RedisMessageListenerContainer implements InitializingBean, Disposab
  private void dispatchMessage(Collection<MessageListener> listeners, final Message message, final byte[] pattern) {
   final byte[] source = (pattern != null ? pattern.clone() : message.getChannel());
 
+  LaneMessageDispatcher dispatcher = this.laneDispatcher;
+  if (dispatcher != null) {
+
+   boolean queued = dispatcher.dispatch(source, () -> {
+    for (MessageListener messageListener : listeners) {
+     processMessage(messageListener, message, source);
+    }
+   });
+
+   if (!queued && logger.isTraceEnabled()) {
+    logger.trace("Dispatch lane overflow. Discarded a message due to " + dispatchOverflowPolicy + ".");
+   }
+   return;
+  }
+
   for (final MessageListener messageListener : listeners) {
    taskExecutor.execute(() -> processMessage(messageListener, message, source));
   }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Consumer group related Redis Stream commands used by the stream listener containers. All commands are issued
+ * without waiting for previous ones to complete, so that multiple invocations are pipelined on the underlying
+ * connection.
+ *
+ * @since 2.1
+ */
+interface StreamCommands {
+
+ /**
+  * {@literal XGROUP CREATE stream group $ MKSTREAM}. Completes normally if the group already exists.
+  *
+  * @param stream the stream key.
+  * @param group the consumer group.
+  * @return never {@literal null}.
+  */
+ CompletionStage<Void> createGroup(byte[] stream, String group);
+
+ /**
+  * {@literal XREADGROUP GROUP group consumer COUNT count [BLOCK millis] STREAMS key... id...}.
+  *
+  * @param group the consumer group.
+  * @param consumer the consumer name.
+  * @param count max number of entries per stream.
+  * @param block max time to block for new entries. {@literal null} to not block.
+  * @param offsets stream keys mapped to the id to read from. Use {@literal >} for entries never delivered to any
+  *          consumer of the group.
+  * @return never {@literal null}.
+  */
+ CompletionStage<List<StreamRecord>> readGroup(String group, String consumer, int count, @Nullable Duration block,
+   Map<byte[], String> offsets);
+
+ /**
+  * {@literal XACK stream group id...}.
+  *
+  * @return the number of acknowledged entries.
+  */
+ CompletionStage<Long> acknowledge(byte[] stream, String group, List<String> ids);
+
+ /**
+  * {@literal XPENDING stream group start + count}.
+  *
+  * @param stream the stream key.
+  * @param group the consumer group.
+  * @param start the smallest id to report, inclusive. Use {@literal -} to start with the oldest pending entry.
+  * @param count max number of entries to report.
+  * @return never {@literal null}.
+  */
+ CompletionStage<List<PendingEntry>> pending(byte[] stream, String group, String start, int count);
+
+ /**
+  * {@literal XCLAIM stream group consumer min-idle-time id...}.
+  *
+  * @return the claimed entries. Never {@literal null}.
+  */
+ CompletionStage<List<StreamRecord>> claim(byte[] stream, String group, String consumer, Duration minIdleTime,
+   List<String> ids);
+
+ /**
+  * Raw stream entry.
+  */
+ class StreamRecord {
+
+  private final byte[] stream;
+  private final String id;
+  private final @Nullable Map<byte[], byte[]> body;
+
+  StreamRecord(byte[] stream, String id, @Nullable Map<byte[], byte[]> body) {
+
+   this.stream = stream;
+   this.id = id;
+   this.body = body;
+  }
+
+  byte[] getStream() {
+   return stream;
+  }
+
+  String getId() {
+   return id;
+  }
+
+  @Nullable
+  Map<byte[], byte[]> getBody() {
+   return body;
+  }
+
+  /**
+   * @return {@literal true} if the entry was deleted from the stream while pending and therefore has no body.
+   */
+  boolean isDeleted() {
+   return body == null;
+  }
+ }
+
+ /**
+  * Entry of the pending entries list of a consumer group.
+  */
+ class PendingEntry {
+
+  private final String id;
+  private final String consumer;
+  private final Duration idleTime;
+  private final long deliveryCount;
+
+  PendingEntry(String id, String consumer, Duration idleTime, long deliveryCount) {
+
+   this.id = id;
+   this.consumer = consumer;
+   this.idleTime = idleTime;
+   this.deliveryCount = deliveryCount;
+  }
+
+  String getId() {
+   return id;
+  }
+
+  String getConsumer() {
+   return consumer;
+  }
+
+  Duration getIdleTime() {
+   return idleTime;
+  }
+
+  long getDeliveryCount() {
+   return deliveryCount;
+  }
+ }
+}
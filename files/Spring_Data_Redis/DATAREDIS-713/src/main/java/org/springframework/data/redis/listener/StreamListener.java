@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+/**
+ * Listener interface to receive {@link StreamMessage messages} delivered by a
+ * {@link StreamMessageListenerContainer}.
+ *
+ * @param <K> type of the entry field names.
+ * @param <V> type of the entry values.
+ * @since 2.1
+ */
+@FunctionalInterface
+public interface StreamListener<K, V> {
+
+ /**
+  * Callback for processing a received {@link StreamMessage}. The message is acknowledged once the method returns
+  * normally. Throwing an exception leaves the message pending for the consumer group.
+  *
+  * @param message never {@literal null}.
+  */
+ void onMessage(StreamMessage<K, V> message);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Single entry of a Redis Stream read by a {@link StreamMessageListenerContainer} or
+ * {@link ReactiveStreamMessageListenerContainer}.
+ *
+ * @param <K> type of the entry field names.
+ * @param <V> type of the entry values.
+ * @since 2.1
+ */
+public final class StreamMessage<K, V> {
+
+ private final String stream;
+ private final String id;
+ private final Map<K, V> body;
+
+ /**
+  * Creates new {@link StreamMessage}.
+  *
+  * @param stream the stream the message was read from. Must not be {@literal null}.
+  * @param id the message id, eg. {@literal 1526919030474-55}. Must not be {@literal null}.
+  * @param body the field/value pairs of the message. Must not be {@literal null}.
+  */
+ public StreamMessage(String stream, String id, Map<K, V> body) {
+
+  Assert.notNull(stream, "Stream must not be null!");
+  Assert.hasText(id, "Id must not be null or empty!");
+  Assert.notNull(body, "Body must not be null!");
+
+  this.stream = stream;
+  this.id = id;
+  this.body = Collections.unmodifiableMap(new LinkedHashMap<>(body));
+ }
+
+ /**
+  * @return the name of the stream the message was read from.
+  */
+ public String getStream() {
+  return stream;
+ }
+
+ /**
+  * @return the id of the message.
+  */
+ public String getId() {
+  return id;
+ }
+
+ /**
+  * @return the field/value pairs of the message in the order they were written. Never {@literal null}.
+  */
+ public Map<K, V> getBody() {
+  return body;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#equals(java.lang.Object)
+  */
+ @Override
+ public boolean equals(Object obj) {
+
+  if (this == obj) {
+   return true;
+  }
+
+  if (!(obj instanceof StreamMessage)) {
+   return false;
+  }
+
+  StreamMessage<?, ?> that = (StreamMessage<?, ?>) obj;
+  return ObjectUtils.nullSafeEquals(stream, that.stream) && ObjectUtils.nullSafeEquals(id, that.id)
+    && ObjectUtils.nullSafeEquals(body, that.body);
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#hashCode()
+  */
+ @Override
+ public int hashCode() {
+
+  int result = ObjectUtils.nullSafeHashCode(stream);
+  result = 31 * result + ObjectUtils.nullSafeHashCode(id);
+  result = 31 * result + ObjectUtils.nullSafeHashCode(body);
+  return result;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see java.lang.Object#toString()
+  */
+ @Override
+ public String toString() {
+  return "StreamMessage [stream=" + stream + ", id=" + id + ", body=" + body + "]";
+ }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.redis.listener.StreamCommands.StreamRecord;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * Converts {@link StreamRecord raw stream entries} into {@link StreamMessage} using {@link RedisSerializer}s for the
+ * stream key, the field names and the values.
+ *
+ * @since 2.1
+ */
+class StreamMessageDeserializer<K, V> {
+
+ private final RedisSerializer<String> streamSerializer;
+ private final RedisSerializer<K> fieldSerializer;
+ private final RedisSerializer<V> valueSerializer;
+
+ StreamMessageDeserializer(RedisSerializer<String> streamSerializer, RedisSerializer<K> fieldSerializer,
+   RedisSerializer<V> valueSerializer) {
+
+  Assert.notNull(streamSerializer, "Stream serializer must not be null!");
+  Assert.notNull(fieldSerializer, "Field serializer must not be null!");
+  Assert.notNull(valueSerializer, "Value serializer must not be null!");
+
+  this.streamSerializer = streamSerializer;
+  this.fieldSerializer = fieldSerializer;
+  this.valueSerializer = valueSerializer;
+ }
+
+ byte[] serializeStream(String stream) {
+
+  byte[] raw = streamSerializer.serialize(stream);
+  Assert.notNull(raw, "Serialized stream key must not be null!");
+  return raw;
+ }
+
+ StreamMessage<K, V> deserialize(StreamRecord record) {
+
+  Map<K, V> body = new LinkedHashMap<>(record.getBody().size());
+  for (Map.Entry<byte[], byte[]> entry : record.getBody().entrySet()) {
+   body.put(fieldSerializer.deserialize(entry.getKey()), valueSerializer.deserialize(entry.getValue()));
+  }
+
+  return new StreamMessage<>(streamSerializer.deserialize(record.getStream()), record.getId(), body);
+ }
+}
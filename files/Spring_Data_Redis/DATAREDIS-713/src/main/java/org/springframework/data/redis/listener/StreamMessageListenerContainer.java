@@ -0,0 +1,710 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
+import org.springframework.data.redis.listener.StreamCommands.PendingEntry;
+import org.springframework.data.redis.listener.StreamCommands.StreamRecord;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.SchedulingAwareRunnable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Container consuming Redis Streams as member of a consumer group and dispatching received entries to registered
+ * {@link StreamListener}s. As opposed to the Pub/Sub based {@link RedisMessageListenerContainer} entries are retained
+ * by Redis until acknowledged, so that slow or restarting consumers do not lose messages and multiple instances using
+ * the same group share the load of one stream.
+ * <p>
+ * The container uses one long running task holding one connection that repeatedly issues
+ * {@literal XREADGROUP GROUP group consumer COUNT n BLOCK t STREAMS ... >} for all registered streams. Entries are
+ * handed to the listeners one after another on that task and acknowledged via {@literal XACK} once the listener
+ * returned. Acknowledgements of a batch are pipelined. On start, entries still pending for the consumer are delivered
+ * again. Entries left pending for longer than the {@link #setClaimMinIdleTime(Duration) claim min idle time} are
+ * claimed via {@literal XCLAIM} and delivered as well. These are the entries of other consumers of the group that are
+ * gone as well as the ones this consumer failed to process, which are thereby retried.
+ * <p>
+ * Stream commands are issued on the native Lettuce connection. As {@literal XREADGROUP BLOCK} occupies the connection,
+ * the {@link RedisConnectionFactory} must not share its native connection. A {@link LettuceConnectionFactory} with
+ * {@link LettuceConnectionFactory#getShareNativeConnection() shareNativeConnection} enabled, which is the default, is
+ * rejected on start. Listeners need to be registered before the container is started.
+ *
+ * @param <K> type of the entry field names.
+ * @param <V> type of the entry values.
+ * @since 2.1
+ */
+public class StreamMessageListenerContainer<K, V>
+  implements InitializingBean, DisposableBean, BeanNameAware, SmartLifecycle {
+
+ /**
+  * The default maximum number of entries read per stream and poll: 100.
+  */
+ public static final int DEFAULT_BATCH_SIZE = 100;
+
+ /**
+  * The default time to block waiting for new entries: 2 seconds.
+  */
+ public static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(2);
+
+ /**
+  * The default time an entry needs to be pending before it gets claimed: 1 minute.
+  */
+ public static final Duration DEFAULT_CLAIM_MIN_IDLE_TIME = Duration.ofMinutes(1);
+
+ /**
+  * The default recovery interval: 5000 ms = 5 seconds.
+  */
+ public static final long DEFAULT_RECOVERY_INTERVAL = 5000;
+
+ /**
+  * Default thread name prefix: "StreamMessageListenerContainer-".
+  */
+ public static final String DEFAULT_THREAD_NAME_PREFIX = ClassUtils
+   .getShortName(StreamMessageListenerContainer.class) + "-";
+
+ private static final long COMMAND_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+ /** Logger available to subclasses */
+ protected final Log logger = LogFactory.getLog(getClass());
+
+ private final RedisConnectionFactory connectionFactory;
+ private final String group;
+ private final String consumer;
+ private final RedisSerializer<K> fieldSerializer;
+ private final RedisSerializer<V> valueSerializer;
+ private final Function<RedisConnection, StreamCommands> commandsFactory;
+ private final Map<String, StreamListener<K, V>> listeners = new LinkedHashMap<>();
+ private final Object monitor = new Object();
+
+ private RedisSerializer<String> streamSerializer = new StringRedisSerializer();
+ private int batchSize = DEFAULT_BATCH_SIZE;
+ private Duration pollTimeout = DEFAULT_POLL_TIMEOUT;
+ private Duration claimMinIdleTime = DEFAULT_CLAIM_MIN_IDLE_TIME;
+ private long recoveryInterval = DEFAULT_RECOVERY_INTERVAL;
+
+ private @Nullable Executor taskExecutor;
+ private @Nullable ErrorHandler errorHandler;
+ private @Nullable String beanName;
+ private boolean manageExecutor = false;
+
+ private volatile boolean running = false;
+
+ /**
+  * Creates new {@link StreamMessageListenerContainer}.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @param group name of the consumer group. Must not be {@literal null} or empty.
+  * @param consumer name of the consumer within the group. Must be unique per container and must not be
+  *          {@literal null} or empty.
+  * @param fieldSerializer {@link RedisSerializer} for the entry field names. Must not be {@literal null}.
+  * @param valueSerializer {@link RedisSerializer} for the entry values. Must not be {@literal null}.
+  */
+ public StreamMessageListenerContainer(RedisConnectionFactory connectionFactory, String group, String consumer,
+   RedisSerializer<K> fieldSerializer, RedisSerializer<V> valueSerializer) {
+  this(connectionFactory, group, consumer, fieldSerializer, valueSerializer, LettuceStreamCommands::from);
+ }
+
+ StreamMessageListenerContainer(RedisConnectionFactory connectionFactory, String group, String consumer,
+   RedisSerializer<K> fieldSerializer, RedisSerializer<V> valueSerializer,
+   Function<RedisConnection, StreamCommands> commandsFactory) {
+
+  Assert.notNull(connectionFactory, "RedisConnectionFactory must not be null!");
+  Assert.hasText(group, "Group must not be null or empty!");
+  Assert.hasText(consumer, "Consumer must not be null or empty!");
+  Assert.notNull(fieldSerializer, "Field serializer must not be null!");
+  Assert.notNull(valueSerializer, "Value serializer must not be null!");
+
+  this.connectionFactory = connectionFactory;
+  this.group = group;
+  this.consumer = consumer;
+  this.fieldSerializer = fieldSerializer;
+  this.valueSerializer = valueSerializer;
+  this.commandsFactory = commandsFactory;
+ }
+
+ /**
+  * Create a new {@link StreamMessageListenerContainer} reading field names and values as {@link String}.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @param group name of the consumer group. Must not be {@literal null} or empty.
+  * @param consumer name of the consumer within the group. Must not be {@literal null} or empty.
+  * @return new instance of {@link StreamMessageListenerContainer}.
+  */
+ public static StreamMessageListenerContainer<String, String> create(RedisConnectionFactory connectionFactory,
+   String group, String consumer) {
+  return new StreamMessageListenerContainer<>(connectionFactory, group, consumer, new StringRedisSerializer(),
+    new StringRedisSerializer());
+ }
+
+ /**
+  * Register a {@link StreamListener} for the given stream. The stream and the consumer group are created on start if
+  * they do not exist. Only one listener can be registered per stream.
+  *
+  * @param stream the stream key. Must not be {@literal null} or empty.
+  * @param listener must not be {@literal null}.
+  */
+ public void addListener(String stream, StreamListener<K, V> listener) {
+
+  Assert.hasText(stream, "Stream must not be null or empty!");
+  Assert.notNull(listener, "StreamListener must not be null!");
+
+  synchronized (monitor) {
+
+   Assert.state(!running, "Listeners must be registered before the container is started!");
+   Assert.isTrue(!listeners.containsKey(stream), String.format("Stream %s already has a listener!", stream));
+
+   listeners.put(stream, listener);
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
+  */
+ @Override
+ public void afterPropertiesSet() {
+
+  assertDedicatedConnections(connectionFactory);
+
+  if (taskExecutor == null) {
+   manageExecutor = true;
+   taskExecutor = new SimpleAsyncTaskExecutor(beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX);
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.context.Lifecycle#start()
+  */
+ @Override
+ public void start() {
+
+  synchronized (monitor) {
+
+   if (running || listeners.isEmpty()) {
+    return;
+   }
+
+   if (taskExecutor == null) {
+    afterPropertiesSet();
+   } else {
+    assertDedicatedConnections(connectionFactory);
+   }
+
+   running = true;
+   taskExecutor.execute(new PollingTask(new LinkedHashMap<>(listeners)));
+  }
+
+  if (logger.isDebugEnabled()) {
+   logger.debug("Started StreamMessageListenerContainer");
+  }
+ }
+
+ /**
+  * Stop polling. A read currently blocking returns within the {@link #setPollTimeout(Duration) poll timeout}.
+  *
+  * @see org.springframework.context.Lifecycle#stop()
+  */
+ @Override
+ public void stop() {
+
+  synchronized (monitor) {
+   running = false;
+  }
+
+  if (logger.isDebugEnabled()) {
+   logger.debug("Stopped StreamMessageListenerContainer");
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.context.SmartLifecycle#stop(java.lang.Runnable)
+  */
+ @Override
+ public void stop(Runnable callback) {
+
+  stop();
+  callback.run();
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.context.Lifecycle#isRunning()
+  */
+ @Override
+ public boolean isRunning() {
+  return running;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.context.SmartLifecycle#isAutoStartup()
+  */
+ @Override
+ public boolean isAutoStartup() {
+  return true;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.context.Phased#getPhase()
+  */
+ @Override
+ public int getPhase() {
+  // start the latest
+  return Integer.MAX_VALUE;
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.beans.factory.DisposableBean#destroy()
+  */
+ @Override
+ public void destroy() throws Exception {
+
+  stop();
+
+  if (manageExecutor && taskExecutor instanceof DisposableBean) {
+   ((DisposableBean) taskExecutor).destroy();
+  }
+ }
+
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.beans.factory.BeanNameAware#setBeanName(java.lang.String)
+  */
+ @Override
+ public void setBeanName(String name) {
+  this.beanName = name;
+ }
+
+ /**
+  * Sets the {@link Executor} running the long running polling task. If no executor is set, a
+  * {@link SimpleAsyncTaskExecutor} is used.
+  *
+  * @param taskExecutor must not be {@literal null}.
+  */
+ public void setTaskExecutor(Executor taskExecutor) {
+
+  Assert.notNull(taskExecutor, "Executor must not be null!");
+  this.taskExecutor = taskExecutor;
+ }
+
+ /**
+  * Sets the serializer for converting the stream names. By default, {@link StringRedisSerializer} is used.
+  *
+  * @param streamSerializer must not be {@literal null}.
+  */
+ public void setStreamSerializer(RedisSerializer<String> streamSerializer) {
+
+  Assert.notNull(streamSerializer, "Stream serializer must not be null!");
+  this.streamSerializer = streamSerializer;
+ }
+
+ /**
+  * Sets the maximum number of entries read per stream with one {@literal XREADGROUP}. Defaults to
+  * {@link #DEFAULT_BATCH_SIZE}.
+  *
+  * @param batchSize must be greater than zero.
+  */
+ public void setBatchSize(int batchSize) {
+
+  Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+  this.batchSize = batchSize;
+ }
+
+ /**
+  * Sets the time {@literal XREADGROUP} blocks waiting for new entries. Defaults to {@link #DEFAULT_POLL_TIMEOUT}.
+  *
+  * @param pollTimeout must not be {@literal null} or negative.
+  */
+ public void setPollTimeout(Duration pollTimeout) {
+
+  Assert.notNull(pollTimeout, "Poll timeout must not be null!");
+  Assert.isTrue(!pollTimeout.isNegative(), "Poll timeout must not be negative!");
+  this.pollTimeout = pollTimeout;
+ }
+
+ /**
+  * Sets the time an entry needs to be pending before this container claims it. This applies to entries of other
+  * consumers of the group as well as to entries this container failed to process, which are retried. The pending
+  * entries are inspected in the same interval. Use {@link Duration#ZERO} to disable claiming. Defaults to
+  * {@link #DEFAULT_CLAIM_MIN_IDLE_TIME}.
+  *
+  * @param claimMinIdleTime must not be {@literal null} or negative.
+  */
+ public void setClaimMinIdleTime(Duration claimMinIdleTime) {
+
+  Assert.notNull(claimMinIdleTime, "Claim min idle time must not be null!");
+  Assert.isTrue(!claimMinIdleTime.isNegative(), "Claim min idle time must not be negative!");
+  this.claimMinIdleTime = claimMinIdleTime;
+ }
+
+ /**
+  * Specify the interval between recovery attempts after a failure, in <b>milliseconds</b>. The default is 5000 ms,
+  * that is, 5 seconds.
+  *
+  * @param recoveryInterval
+  */
+ public void setRecoveryInterval(long recoveryInterval) {
+  this.recoveryInterval = recoveryInterval;
+ }
+
+ /**
+  * Set an {@link ErrorHandler} to be invoked in case of any uncaught exceptions thrown while processing a
+  * {@link StreamMessage}. By default there will be <b>no</b> ErrorHandler so that error-level logging is the only
+  * result.
+  *
+  * @param errorHandler can be {@literal null}.
+  */
+ public void setErrorHandler(@Nullable ErrorHandler errorHandler) {
+  this.errorHandler = errorHandler;
+ }
+
+ /**
+  * Handle the given exception that arose during listener execution. Invokes the {@link ErrorHandler} if available,
+  * logs at warn level otherwise.
+  *
+  * @param ex the exception to handle
+  */
+ protected void handleListenerException(Throwable ex) {
+
+  if (errorHandler != null) {
+   errorHandler.handleError(ex);
+  } else if (logger.isWarnEnabled()) {
+   logger.warn("Execution of stream listener failed, and no ErrorHandler has been set.", ex);
+  }
+ }
+
+ /**
+  * Sleep according to the specified recovery interval. Called between recovery attempts.
+  */
+ protected void sleepBeforeRecoveryAttempt() {
+
+  if (recoveryInterval > 0) {
+   try {
+    Thread.sleep(recoveryInterval);
+   } catch (InterruptedException e) {
+    logger.debug("Thread interrupted while sleeping the recovery interval");
+    Thread.currentThread().interrupt();
+   }
+  }
+ }
+
+ /**
+  * Long running task polling all registered streams on one connection.
+  */
+ private class PollingTask implements SchedulingAwareRunnable {
+
+  private final Map<ByteArrayWrapper, StreamListener<K, V>> subscriptions = new LinkedHashMap<>();
+  private final StreamMessageDeserializer<K, V> deserializer;
+
+  PollingTask(Map<String, StreamListener<K, V>> listeners) {
+
+   this.deserializer = new StreamMessageDeserializer<>(streamSerializer, fieldSerializer, valueSerializer);
+
+   for (Map.Entry<String, StreamListener<K, V>> entry : listeners.entrySet()) {
+    subscriptions.put(new ByteArrayWrapper(deserializer.serializeStream(entry.getKey())), entry.getValue());
+   }
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see org.springframework.scheduling.SchedulingAwareRunnable#isLongLived()
+   */
+  @Override
+  public boolean isLongLived() {
+   return true;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Runnable#run()
+   */
+  @Override
+  public void run() {
+
+   while (running && !Thread.currentThread().isInterrupted()) {
+
+    RedisConnection connection = null;
+    try {
+
+     connection = connectionFactory.getConnection();
+     poll(commandsFactory.apply(connection));
+    } catch (RuntimeException e) {
+
+     if (running) {
+      logger.error("Polling Redis Streams failed. Restarting after " + recoveryInterval + " ms", e);
+      sleepBeforeRecoveryAttempt();
+     }
+    } finally {
+     closeQuietly(connection);
+    }
+   }
+  }
+
+  private void poll(StreamCommands commands) {
+
+   List<CompletableFuture<Void>> groups = new ArrayList<>(subscriptions.size());
+   for (ByteArrayWrapper stream : subscriptions.keySet()) {
+    groups.add(commands.createGroup(stream.getArray(), group).toCompletableFuture());
+   }
+   await(CompletableFuture.allOf(groups.toArray(new CompletableFuture[0])), COMMAND_TIMEOUT_MILLIS);
+
+   deliverOwnPending(commands);
+
+   boolean claim = !claimMinIdleTime.isZero();
+   long nextClaim = System.nanoTime();
+
+   Map<byte[], String> offsets = offsets(">");
+   long readTimeout = pollTimeout.toMillis() + COMMAND_TIMEOUT_MILLIS;
+
+   while (running) {
+
+    if (claim && System.nanoTime() - nextClaim >= 0) {
+
+     claimAbandoned(commands);
+     nextClaim = System.nanoTime() + claimMinIdleTime.toNanos();
+    }
+
+    dispatch(commands, await(commands.readGroup(group, consumer, batchSize, pollTimeout, offsets), readTimeout));
+   }
+  }
+
+  /**
+   * Deliver entries that were read but not acknowledged by this consumer before, eg. prior to a restart.
+   */
+  private void deliverOwnPending(StreamCommands commands) {
+
+   Map<byte[], String> offsets = offsets("0");
+
+   while (running && !offsets.isEmpty()) {
+
+    List<StreamRecord> records = await(commands.readGroup(group, consumer, batchSize, null, offsets),
+      COMMAND_TIMEOUT_MILLIS);
+
+    // continue after the last entry per stream, including deleted ones, streams without records are exhausted
+    Map<ByteArrayWrapper, String> next = new LinkedHashMap<>();
+    for (StreamRecord record : records) {
+     next.put(new ByteArrayWrapper(record.getStream()), record.getId());
+    }
+
+    Map<byte[], String> remaining = new LinkedHashMap<>();
+    for (Map.Entry<ByteArrayWrapper, String> entry : next.entrySet()) {
+     remaining.put(entry.getKey().getArray(), entry.getValue());
+    }
+
+    dispatch(commands, records);
+    offsets = remaining;
+   }
+  }
+
+  /**
+   * Claim entries pending longer than the claim min idle time. These are entries of consumers that are gone as well as
+   * entries of this consumer whose listener failed, so that the latter are retried. The pending entries list is paged
+   * through in chunks of the batch size, so that old entries cannot hide the ones behind them.
+   */
+  private void claimAbandoned(StreamCommands commands) {
+
+   for (ByteArrayWrapper stream : subscriptions.keySet()) {
+
+    String start = "-";
+
+    while (running) {
+
+     List<PendingEntry> pending = await(commands.pending(stream.getArray(), group, start, batchSize),
+       COMMAND_TIMEOUT_MILLIS);
+
+     List<String> ids = new ArrayList<>();
+     for (PendingEntry entry : pending) {
+
+      if (entry.getIdleTime().compareTo(claimMinIdleTime) >= 0) {
+       ids.add(entry.getId());
+      }
+     }
+
+     if (!ids.isEmpty()) {
+      claim(commands, stream, ids);
+     }
+
+     if (pending.size() < batchSize) {
+      break;
+     }
+
+     start = nextId(pending.get(pending.size() - 1).getId());
+    }
+   }
+  }
+
+  private void claim(StreamCommands commands, ByteArrayWrapper stream, List<String> ids) {
+
+   List<StreamRecord> claimed = await(commands.claim(stream.getArray(), group, consumer, claimMinIdleTime, ids),
+     COMMAND_TIMEOUT_MILLIS);
+
+   if (logger.isDebugEnabled() && !claimed.isEmpty()) {
+    logger.debug("Claimed " + claimed.size() + " pending entries of stream "
+      + streamSerializer.deserialize(stream.getArray()) + ".");
+   }
+
+   dispatch(commands, claimed);
+  }
+
+  /**
+   * Hand the records to their listeners and acknowledge the successfully processed ones in one pipeline.
+   */
+  private void dispatch(StreamCommands commands, List<StreamRecord> records) {
+
+   if (records.isEmpty()) {
+    return;
+   }
+
+   Map<ByteArrayWrapper, List<String>> processed = new LinkedHashMap<>();
+
+   for (StreamRecord record : records) {
+
+    ByteArrayWrapper stream = new ByteArrayWrapper(record.getStream());
+    StreamListener<K, V> listener = subscriptions.get(stream);
+
+    if (listener == null) {
+     continue;
+    }
+
+    // nothing left to deliver, acknowledge so the entry leaves the pending entries list
+    if (record.isDeleted()) {
+
+     processed.computeIfAbsent(stream, key -> new ArrayList<>()).add(record.getId());
+     continue;
+    }
+
+    try {
+
+     listener.onMessage(deserializer.deserialize(record));
+     processed.computeIfAbsent(stream, key -> new ArrayList<>()).add(record.getId());
+    } catch (Throwable ex) {
+     handleListenerException(ex);
+    }
+   }
+
+   List<CompletableFuture<Long>> acknowledgements = new ArrayList<>(processed.size());
+   for (Map.Entry<ByteArrayWrapper, List<String>> entry : processed.entrySet()) {
+    acknowledgements.add(commands.acknowledge(entry.getKey().getArray(), group, entry.getValue())
+      .toCompletableFuture());
+   }
+
+   await(CompletableFuture.allOf(acknowledgements.toArray(new CompletableFuture[0])), COMMAND_TIMEOUT_MILLIS);
+  }
+
+  private Map<byte[], String> offsets(String offset) {
+
+   Map<byte[], String> offsets = new LinkedHashMap<>();
+   for (ByteArrayWrapper stream : subscriptions.keySet()) {
+    offsets.put(stream.getArray(), offset);
+   }
+   return offsets;
+  }
+
+  private void closeQuietly(@Nullable RedisConnection connection) {
+
+   if (connection == null) {
+    return;
+   }
+
+   try {
+    connection.close();
+   } catch (Exception e) {
+    logger.warn("Error closing stream connection", e);
+   }
+  }
+ }
+
+ /**
+  * Make sure the given {@link RedisConnectionFactory} hands out connections of their own, as a blocking
+  * {@literal XREADGROUP} would otherwise stall every other command sent through the shared native connection for up to
+  * the poll timeout.
+  *
+  * @param connectionFactory must not be {@literal null}.
+  * @throws IllegalStateException if the factory shares its native connection.
+  */
+ static void assertDedicatedConnections(RedisConnectionFactory connectionFactory) {
+
+  Assert.state(
+    !(connectionFactory instanceof LettuceConnectionFactory)
+      || !((LettuceConnectionFactory) connectionFactory).getShareNativeConnection(),
+    "Reading Redis Streams blocks the connection. "
+      + "Please disable shareNativeConnection on the LettuceConnectionFactory!");
+ }
+
+ /**
+  * Compute the smallest id following the given one, as {@literal XPENDING} treats the start id as inclusive.
+  *
+  * @param id stream entry id in the form {@code <millis>-<sequence>}.
+  * @return the id of the next possible entry.
+  */
+ static String nextId(String id) {
+
+  int separator = id.indexOf('-');
+
+  return id.substring(0, separator + 1) + (Long.parseLong(id.substring(separator + 1)) + 1);
+ }
+
+ private static <T> T await(CompletionStage<T> stage, long timeoutMillis) {
+
+  try {
+   return stage.toCompletableFuture().get(timeoutMillis, TimeUnit.MILLISECONDS);
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   throw new RedisSystemException("Interrupted while waiting for stream command.", e);
+  } catch (ExecutionException e) {
+
+   if (e.getCause() instanceof DataAccessException) {
+    throw (DataAccessException) e.getCause();
+   }
+   throw new RedisSystemException("Stream command failed: " + e.getCause().getMessage(), e.getCause());
+  } catch (TimeoutException e) {
+   throw new RedisSystemException("Stream command timed out.", e);
+  }
+ }
+}
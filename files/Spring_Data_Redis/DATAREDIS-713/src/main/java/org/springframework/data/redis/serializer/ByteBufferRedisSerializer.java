@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.serializer;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link RedisSerializer} that is also capable of reading and writing {@link ByteBuffer ByteBuffers} directly.
+ * <p>
+ * {@link RedisSerializationContext.SerializationPair#fromSerializer(RedisSerializer)} uses a
+ * {@link ByteBufferRedisSerializer} as {@link RedisElementReader} and {@link RedisElementWriter} without adapting it
+ * via {@code byte[]}, which allows implementations to read straight from the buffers handed over by the driver instead
+ * of copying their content into an intermediate array first.
+ *
+ * @since 2.1
+ */
+public interface ByteBufferRedisSerializer<T> extends RedisSerializer<T>, RedisElementReader<T>, RedisElementWriter<T> {
+
+ /**
+  * Deserialize the remaining content of the given {@link ByteBuffer}. The buffer is consumed, ie. its position is
+  * advanced to its limit. <br />
+  * The default implementation copies the content into a {@code byte[]} and delegates to
+  * {@link #deserialize(byte[])}. Implementations are encouraged to override this method.
+  *
+  * @param buffer must not be {@literal null}.
+  * @return the deserialized value. Can be {@literal null}.
+  */
+ @Nullable
+ @Override
+ default T read(ByteBuffer buffer) {
+
+  byte[] bytes = new byte[buffer.remaining()];
+  buffer.get(bytes);
+
+  return deserialize(bytes);
+ }
+
+ /**
+  * Serialize the given {@code element} into a {@link ByteBuffer}. <br />
+  * The default implementation wraps the result of {@link #serialize(Object)} without copying it.
+  *
+  * @param element can be {@literal null}.
+  * @return the {@link ByteBuffer} representing {@code element} in its binary form.
+  */
+ @Override
+ default ByteBuffer write(@Nullable T element) {
+
+  byte[] bytes = serialize(element);
+  return bytes != null ? ByteBuffer.wrap(bytes) : ByteBuffer.wrap(SerializationUtils.EMPTY_ARRAY);
+ }
+}
@@ -152,7 +152,8 @@ public interface RedisSerializationContext<K, V> {
  interface SerializationPair<T> {
 
   /**
-   * Creates a {@link SerializationPair} adapter given {@link RedisSerializer}.
+   * Creates a {@link SerializationPair} adapter given {@link RedisSerializer}. A {@link ByteBufferRedisSerializer} is
+   * used as {@link RedisElementReader} and {@link RedisElementWriter} directly without adapting it via {@code byte[]}.
    *
    * @param serializer must not be {@literal null}.
    * @return a {@link SerializationPair} adapter for {@link RedisSerializer}.
@@ -161,6 +162,12 @@ public interface RedisSerializationContext<K, V> {
 
    Assert.notNull(serializer, "RedisSerializer must not be null!");
 
+   if (serializer instanceof ByteBufferRedisSerializer) {
+
+    ByteBufferRedisSerializer<T> bufferSerializer = (ByteBufferRedisSerializer<T>) serializer;
+    return just(bufferSerializer, bufferSerializer);
+   }
+
    return new RedisSerializerToSerializationPairAdapter<>(serializer);
   }
 
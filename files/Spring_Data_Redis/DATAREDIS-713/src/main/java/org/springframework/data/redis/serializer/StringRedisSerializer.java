@@ -15,6 +15,7 @@
  */
 package org.springframework.data.redis.serializer;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -32,7 +33,7 @@ import org.springframework.util.Assert;
  * @author Costin Leau
  * @author Christoph Strobl
  */
-public class StringRedisSerializer implements RedisSerializer<String> {
+public class StringRedisSerializer implements ByteBufferRedisSerializer<String> {
 
  private final Charset charset;
 
@@ -63,6 +64,22 @@ public class StringRedisSerializer implements RedisSerializer<String> {
   return (bytes == null ? null : new String(bytes, charset));
  }
 
+ /*
+  * (non-Javadoc)
+  * @see org.springframework.data.redis.serializer.ByteBufferRedisSerializer#read(java.nio.ByteBuffer)
+  */
+ @Override
+ public String read(ByteBuffer buffer) {
+
+  if (!buffer.hasArray()) {
+   return charset.decode(buffer).toString();
+  }
+
+  String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), charset);
+  buffer.position(buffer.limit());
+  return value;
+ }
+
  /*
   * (non-Javadoc)
   * @see org.springframework.data.redis.serializer.RedisSerializer#serialize(java.lang.Object)
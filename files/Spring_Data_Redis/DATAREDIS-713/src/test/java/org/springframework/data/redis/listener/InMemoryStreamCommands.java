@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link StreamCommands} stub serving prepared records for a single stream and recording acknowledgements.
+ */
+class InMemoryStreamCommands implements StreamCommands {
+
+ static final byte[] STREAM = "orders".getBytes();
+
+ final BlockingQueue<List<StreamRecord>> incoming = new LinkedBlockingQueue<>();
+ final List<StreamRecord> ownPending = new CopyOnWriteArrayList<>();
+ final List<PendingEntry> groupPending = new CopyOnWriteArrayList<>();
+ final Map<String, StreamRecord> claimable = Collections.synchronizedMap(new LinkedHashMap<>());
+ final List<String> acknowledged = new CopyOnWriteArrayList<>();
+ final List<List<String>> acknowledgeCalls = new CopyOnWriteArrayList<>();
+ final List<List<String>> claimed = new CopyOnWriteArrayList<>();
+ final List<String> pendingStarts = new CopyOnWriteArrayList<>();
+ final List<String> groups = new CopyOnWriteArrayList<>();
+
+ static StreamRecord record(String id, String field, String value) {
+  return new StreamRecord(STREAM, id, Collections.singletonMap(field.getBytes(), value.getBytes()));
+ }
+
+ static StreamRecord deleted(String id) {
+  return new StreamRecord(STREAM, id, null);
+ }
+
+ @Override
+ public CompletionStage<Void> createGroup(byte[] stream, String group) {
+
+  groups.add(group);
+  return CompletableFuture.completedFuture(null);
+ }
+
+ @Override
+ public CompletionStage<List<StreamRecord>> readGroup(String group, String consumer, int count,
+   @Nullable Duration block, Map<byte[], String> offsets) {
+
+  String offset = offsets.values().iterator().next();
+
+  if (!">".equals(offset)) {
+
+   List<StreamRecord> records = new ArrayList<>();
+   boolean after = "0".equals(offset);
+   for (StreamRecord record : ownPending) {
+
+    if (after && records.size() < count) {
+     records.add(record);
+    }
+    after |= record.getId().equals(offset);
+   }
+   return CompletableFuture.completedFuture(records);
+  }
+
+  try {
+
+   List<StreamRecord> batch = incoming.poll(10, TimeUnit.MILLISECONDS);
+   return CompletableFuture.completedFuture(batch != null ? batch : Collections.emptyList());
+  } catch (InterruptedException e) {
+
+   Thread.currentThread().interrupt();
+   return CompletableFuture.completedFuture(Collections.emptyList());
+  }
+ }
+
+ @Override
+ public CompletionStage<Long> acknowledge(byte[] stream, String group, List<String> ids) {
+
+  acknowledged.addAll(ids);
+  acknowledgeCalls.add(new ArrayList<>(ids));
+  return CompletableFuture.completedFuture((long) ids.size());
+ }
+
+ @Override
+ public CompletionStage<List<PendingEntry>> pending(byte[] stream, String group, String start, int count) {
+
+  pendingStarts.add(start);
+
+  List<PendingEntry> entries = new ArrayList<>();
+  for (PendingEntry entry : groupPending) {
+   if (entries.size() < count && ("-".equals(start) || compare(entry.getId(), start) >= 0)) {
+    entries.add(entry);
+   }
+  }
+
+  return CompletableFuture.completedFuture(entries);
+ }
+
+ private static int compare(String id1, String id2) {
+
+  String[] parts1 = id1.split("-");
+  String[] parts2 = id2.split("-");
+
+  int result = Long.compare(Long.parseLong(parts1[0]), Long.parseLong(parts2[0]));
+  return result != 0 ? result : Long.compare(Long.parseLong(parts1[1]), Long.parseLong(parts2[1]));
+ }
+
+ @Override
+ public CompletionStage<List<StreamRecord>> claim(byte[] stream, String group, String consumer, Duration minIdleTime,
+   List<String> ids) {
+
+  claimed.add(ids);
+
+  List<StreamRecord> records = new ArrayList<>();
+  for (String id : ids) {
+
+   StreamRecord record = claimable.remove(id);
+   if (record != null) {
+    records.add(record);
+   }
+  }
+  groupPending.removeIf(entry -> ids.contains(entry.getId()));
+
+  return CompletableFuture.completedFuture(records);
+ }
+}
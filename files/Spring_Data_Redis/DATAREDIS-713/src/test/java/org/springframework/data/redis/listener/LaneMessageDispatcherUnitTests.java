@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Unit tests for {@link LaneMessageDispatcher}.
+ */
+public class LaneMessageDispatcherUnitTests {
+
+ static final byte[] CHANNEL = "channel".getBytes();
+
+ LaneMessageDispatcher dispatcher;
+
+ @After
+ public void tearDown() {
+
+  if (dispatcher != null) {
+   dispatcher.stop();
+  }
+ }
+
+ @Test
+ public void shouldAssignSameKeyToSameLane() {
+
+  dispatcher = new LaneMessageDispatcher(8, 16, DispatchOverflowPolicy.BLOCK);
+
+  assertThat(dispatcher.laneFor("channel".getBytes())).isEqualTo(dispatcher.laneFor(CHANNEL));
+  assertThat(dispatcher.laneFor(CHANNEL)).isBetween(0, 7);
+ }
+
+ @Test
+ public void shouldRunTasksOfSameKeyInOrder() throws InterruptedException {
+
+  dispatcher = new LaneMessageDispatcher(4, 128, DispatchOverflowPolicy.BLOCK);
+  dispatcher.start(new SimpleAsyncTaskExecutor());
+
+  List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+  CountDownLatch latch = new CountDownLatch(100);
+
+  for (int i = 0; i < 100; i++) {
+
+   int value = i;
+   dispatcher.dispatch(CHANNEL, () -> {
+    received.add(value);
+    latch.countDown();
+   });
+  }
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  for (int i = 0; i < 100; i++) {
+   assertThat(received.get(i)).isEqualTo(i);
+  }
+  assertThat(dispatcher.getMetrics().get(dispatcher.laneFor(CHANNEL)).getDispatchedMessages()).isEqualTo(100);
+ }
+
+ @Test
+ public void dropNewestShouldRetainQueuedTasks() {
+
+  dispatcher = new LaneMessageDispatcher(1, 2, DispatchOverflowPolicy.DROP_NEWEST);
+
+  assertThat(dispatcher.dispatch(CHANNEL, () -> {})).isTrue();
+  assertThat(dispatcher.dispatch(CHANNEL, () -> {})).isTrue();
+  assertThat(dispatcher.dispatch(CHANNEL, () -> {})).isFalse();
+
+  DispatchLaneMetrics metrics = dispatcher.getMetrics().get(0);
+  assertThat(metrics.getQueueDepth()).isEqualTo(2);
+  assertThat(metrics.getCapacity()).isEqualTo(2);
+  assertThat(metrics.getDroppedMessages()).isEqualTo(1);
+ }
+
+ @Test
+ public void dropOldestShouldMakeRoomForNewTask() throws InterruptedException {
+
+  dispatcher = new LaneMessageDispatcher(1, 2, DispatchOverflowPolicy.DROP_OLDEST);
+
+  List<String> received = Collections.synchronizedList(new ArrayList<>());
+  CountDownLatch latch = new CountDownLatch(2);
+
+  dispatcher.dispatch(CHANNEL, () -> received.add("first"));
+  dispatcher.dispatch(CHANNEL, () -> {
+   received.add("second");
+   latch.countDown();
+  });
+  assertThat(dispatcher.dispatch(CHANNEL, () -> {
+   received.add("third");
+   latch.countDown();
+  })).isFalse();
+
+  assertThat(dispatcher.getMetrics().get(0).getDroppedMessages()).isEqualTo(1);
+
+  dispatcher.start(new SimpleAsyncTaskExecutor());
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(received).containsExactly("second", "third");
+ }
+
+ @Test
+ public void lagShouldReflectAgeOfOldestQueuedTask() throws InterruptedException {
+
+  dispatcher = new LaneMessageDispatcher(1, 2, DispatchOverflowPolicy.BLOCK);
+
+  assertThat(dispatcher.getMetrics().get(0).getLag()).isEqualTo(Duration.ZERO);
+
+  dispatcher.dispatch(CHANNEL, () -> {});
+  Thread.sleep(20);
+
+  assertThat(dispatcher.getMetrics().get(0).getLag()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+ }
+
+ @Test
+ public void stopShouldDiscardQueuedTasks() {
+
+  dispatcher = new LaneMessageDispatcher(1, 4, DispatchOverflowPolicy.BLOCK);
+  dispatcher.dispatch(CHANNEL, () -> {});
+  dispatcher.dispatch(CHANNEL, () -> {});
+
+  dispatcher.stop();
+
+  assertThat(dispatcher.getMetrics().get(0).getQueueDepth()).isZero();
+  assertThat(dispatcher.getMetrics().get(0).getDroppedMessages()).isEqualTo(2);
+ }
+
+ @Test(expected = IllegalArgumentException.class)
+ public void shouldRejectZeroLanes() {
+  new LaneMessageDispatcher(0, 16, DispatchOverflowPolicy.BLOCK);
+ }
+}
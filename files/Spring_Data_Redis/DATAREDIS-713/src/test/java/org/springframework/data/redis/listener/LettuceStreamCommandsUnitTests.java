@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.redis.listener.StreamCommands.PendingEntry;
+import org.springframework.data.redis.listener.StreamCommands.StreamRecord;
+
+/**
+ * Unit tests for the reply conversion of {@link LettuceStreamCommands}.
+ */
+public class LettuceStreamCommandsUnitTests {
+
+ @Test
+ public void toStreamRecordsShouldConvertReadGroupReply() {
+
+  List<Object> reply = Arrays.asList(
+    Arrays.asList(bytes("orders"),
+      Arrays.asList(Arrays.asList(bytes("1-0"), Arrays.asList(bytes("sku"), bytes("42"))),
+        Arrays.asList(bytes("1-1"), Arrays.asList(bytes("sku"), bytes("43"), bytes("qty"), bytes("2"))))),
+    Arrays.asList(bytes("invoices"), Arrays.asList(Arrays.asList(bytes("2-0"), Arrays.asList()))));
+
+  List<StreamRecord> records = LettuceStreamCommands.toStreamRecords(reply);
+
+  assertThat(records).hasSize(3);
+  assertThat(records.get(0).getStream()).isEqualTo(bytes("orders"));
+  assertThat(records.get(0).getId()).isEqualTo("1-0");
+  assertThat(records.get(1).getBody()).hasSize(2);
+  assertThat(records.get(2).getStream()).isEqualTo(bytes("invoices"));
+  assertThat(records.get(2).getBody()).isEmpty();
+ }
+
+ @Test
+ public void toStreamRecordsShouldReturnEmptyListForTimeout() {
+
+  assertThat(LettuceStreamCommands.toStreamRecords(null)).isEmpty();
+  assertThat(LettuceStreamCommands.toStreamRecords(Arrays.asList())).isEmpty();
+ }
+
+ @Test
+ public void toEntriesShouldConvertDeletedEntries() {
+
+  List<Object> entries = Arrays.asList(Arrays.asList(bytes("1-0"), null), null,
+    Arrays.asList(bytes("1-1"), Arrays.asList(bytes("sku"), bytes("42"))));
+
+  List<StreamRecord> records = LettuceStreamCommands.toEntries(bytes("orders"), entries);
+
+  assertThat(records).hasSize(2);
+  assertThat(records.get(0).getId()).isEqualTo("1-0");
+  assertThat(records.get(0).isDeleted()).isTrue();
+  assertThat(records.get(1).getId()).isEqualTo("1-1");
+  assertThat(records.get(1).isDeleted()).isFalse();
+ }
+
+ @Test
+ public void toPendingEntriesShouldConvertExtendedPendingReply() {
+
+  List<Object> reply = Arrays.asList(Arrays.asList(bytes("1-0"), bytes("consumer-1"), 61000L, 3L));
+
+  List<PendingEntry> pending = LettuceStreamCommands.toPendingEntries(reply);
+
+  assertThat(pending).hasSize(1);
+  assertThat(pending.get(0).getId()).isEqualTo("1-0");
+  assertThat(pending.get(0).getConsumer()).isEqualTo("consumer-1");
+  assertThat(pending.get(0).getIdleTime()).isEqualTo(Duration.ofSeconds(61));
+  assertThat(pending.get(0).getDeliveryCount()).isEqualTo(3L);
+ }
+
+ private static byte[] bytes(String value) {
+  return value.getBytes();
+ }
+}
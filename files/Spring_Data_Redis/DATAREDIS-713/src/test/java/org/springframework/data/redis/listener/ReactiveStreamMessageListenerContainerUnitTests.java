@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Unit tests for {@link ReactiveStreamMessageListenerContainer}.
+ */
+public class ReactiveStreamMessageListenerContainerUnitTests {
+
+ InMemoryStreamCommands commands;
+ RedisConnection connection;
+ RedisConnectionFactory connectionFactory;
+ ReactiveStreamMessageListenerContainer<String, String> container;
+
+ @Before
+ public void setUp() {
+
+  commands = new InMemoryStreamCommands();
+  connection = mock(RedisConnection.class);
+
+  connectionFactory = mock(RedisConnectionFactory.class);
+  when(connectionFactory.getConnection()).thenReturn(connection);
+
+  container = new ReactiveStreamMessageListenerContainer<>(connectionFactory, "group", "consumer-1",
+    new StringRedisSerializer(), new StringRedisSerializer(), it -> commands);
+ }
+
+ @Test
+ public void receiveShouldEmitOwnPendingBeforeNewEntries() {
+
+  commands.ownPending.add(InMemoryStreamCommands.record("0-1", "sku", "1"));
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("1-0", "sku", "42")));
+
+  StepVerifier.create(container.receive("orders").map(StreamMessage::getId)) //
+    .expectNext("0-1", "1-0") //
+    .thenCancel() //
+    .verify();
+
+  assertThat(commands.acknowledged).isEmpty();
+  verify(connection).close();
+ }
+
+ @Test
+ public void receiveShouldPageOwnPendingPastDeletedEntries() {
+
+  container.setBatchSize(1);
+
+  commands.ownPending.add(InMemoryStreamCommands.deleted("0-1"));
+  commands.ownPending.add(InMemoryStreamCommands.record("0-2", "sku", "2"));
+
+  StepVerifier.create(container.receive("orders").map(StreamMessage::getId)) //
+    .expectNext("0-2") //
+    .thenCancel() //
+    .verify();
+
+  assertThat(commands.acknowledged).containsExactly("0-1");
+ }
+
+ @Test
+ public void receiveAutoAckShouldAcknowledgeConsumedBatch() {
+
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("1-0", "sku", "42"),
+    InMemoryStreamCommands.record("1-1", "sku", "43")));
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("2-0", "sku", "44")));
+
+  StepVerifier.create(container.receiveAutoAck("orders").map(StreamMessage::getId)) //
+    .expectNext("1-0", "1-1", "2-0") //
+    .thenCancel() //
+    .verify();
+
+  assertThat(commands.acknowledged).startsWith("1-0", "1-1");
+ }
+
+ @Test(expected = IllegalStateException.class)
+ public void receiveShouldRejectConnectionFactorySharingNativeConnection() {
+
+  LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory();
+  connectionFactory.setShareNativeConnection(true);
+
+  ReactiveStreamMessageListenerContainer.create(connectionFactory, "group", "consumer-1").receive("orders");
+ }
+
+ @Test
+ public void acknowledgeShouldAcknowledgeSingleEntryAfterWindow() {
+
+  container.setAcknowledgeWindow(Duration.ofMillis(10));
+
+  StepVerifier.create(container.acknowledge(new StreamMessage<>("orders", "1-0", Collections.emptyMap())))
+    .verifyComplete();
+
+  assertThat(commands.acknowledgeCalls).containsExactly(Collections.singletonList("1-0"));
+  verify(connection).close();
+ }
+
+ @Test
+ public void acknowledgeShouldSendCollectedEntriesWithOneCommand() {
+
+  container.setBatchSize(2);
+  container.setAcknowledgeWindow(Duration.ofMinutes(1));
+
+  StepVerifier.create(Mono.when(container.acknowledge(new StreamMessage<>("orders", "1-0", Collections.emptyMap())),
+    container.acknowledge(new StreamMessage<>("orders", "1-1", Collections.emptyMap())))) //
+    .verifyComplete();
+
+  assertThat(commands.acknowledgeCalls).containsExactly(Arrays.asList("1-0", "1-1"));
+  verify(connectionFactory).getConnection();
+ }
+}
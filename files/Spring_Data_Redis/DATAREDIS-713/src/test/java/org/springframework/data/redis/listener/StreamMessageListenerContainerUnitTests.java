@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.listener;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.StreamCommands.PendingEntry;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Unit tests for {@link StreamMessageListenerContainer}.
+ */
+public class StreamMessageListenerContainerUnitTests {
+
+ InMemoryStreamCommands commands;
+ RedisConnection connection;
+ StreamMessageListenerContainer<String, String> container;
+
+ @Before
+ public void setUp() {
+
+  commands = new InMemoryStreamCommands();
+  connection = mock(RedisConnection.class);
+
+  RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+  when(connectionFactory.getConnection()).thenReturn(connection);
+
+  container = new StreamMessageListenerContainer<>(connectionFactory, "group", "consumer-1",
+    new StringRedisSerializer(), new StringRedisSerializer(), it -> commands);
+  container.setPollTimeout(Duration.ofMillis(10));
+  container.setRecoveryInterval(10);
+ }
+
+ @After
+ public void tearDown() throws Exception {
+  container.destroy();
+ }
+
+ @Test
+ public void shouldDeliverAndAcknowledgeNewEntries() throws InterruptedException {
+
+  CountDownLatch latch = new CountDownLatch(2);
+  List<StreamMessage<String, String>> received = new CopyOnWriteArrayList<>();
+
+  container.addListener("orders", message -> {
+
+   received.add(message);
+   latch.countDown();
+  });
+  container.start();
+
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("1-0", "sku", "42"),
+    InMemoryStreamCommands.record("1-1", "sku", "43")));
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(received.get(0).getStream()).isEqualTo("orders");
+  assertThat(received.get(0).getBody()).containsEntry("sku", "42");
+  assertThat(commands.groups).contains("group");
+
+  awaitAcknowledged(2);
+  assertThat(commands.acknowledged).containsExactly("1-0", "1-1");
+ }
+
+ @Test
+ public void shouldNotAcknowledgeEntriesFailingInListener() throws InterruptedException {
+
+  CountDownLatch errors = new CountDownLatch(1);
+
+  container.setErrorHandler(error -> errors.countDown());
+  container.addListener("orders", message -> {
+   if (message.getId().equals("1-0")) {
+    throw new IllegalStateException("o_O");
+   }
+  });
+  container.start();
+
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("1-0", "sku", "42"),
+    InMemoryStreamCommands.record("1-1", "sku", "43")));
+
+  assertThat(errors.await(2, TimeUnit.SECONDS)).isTrue();
+
+  awaitAcknowledged(1);
+  assertThat(commands.acknowledged).containsExactly("1-1");
+ }
+
+ @Test
+ public void shouldRedeliverOwnPendingEntriesBeforeNewOnes() throws InterruptedException {
+
+  commands.ownPending.add(InMemoryStreamCommands.record("0-1", "sku", "1"));
+  commands.ownPending.add(InMemoryStreamCommands.record("0-2", "sku", "2"));
+  commands.ownPending.add(InMemoryStreamCommands.record("0-3", "sku", "3"));
+  commands.incoming.add(Arrays.asList(InMemoryStreamCommands.record("1-0", "sku", "42")));
+
+  CountDownLatch latch = new CountDownLatch(4);
+  List<String> ids = new CopyOnWriteArrayList<>();
+
+  container.setBatchSize(2);
+  container.addListener("orders", message -> {
+
+   ids.add(message.getId());
+   latch.countDown();
+  });
+  container.start();
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(ids).containsExactly("0-1", "0-2", "0-3", "1-0");
+ }
+
+ @Test
+ public void shouldPageOwnPendingEntriesPastDeletedEntries() throws InterruptedException {
+
+  commands.ownPending.add(InMemoryStreamCommands.deleted("0-1"));
+  commands.ownPending.add(InMemoryStreamCommands.deleted("0-2"));
+  commands.ownPending.add(InMemoryStreamCommands.record("0-3", "sku", "3"));
+
+  CountDownLatch latch = new CountDownLatch(1);
+  List<String> ids = new CopyOnWriteArrayList<>();
+
+  container.setBatchSize(2);
+  container.addListener("orders", message -> {
+
+   ids.add(message.getId());
+   latch.countDown();
+  });
+  container.start();
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(ids).containsExactly("0-3");
+
+  awaitAcknowledged(3);
+  assertThat(commands.acknowledged).containsExactly("0-1", "0-2", "0-3");
+ }
+
+ @Test
+ public void shouldClaimEntriesAbandonedByOtherConsumers() throws InterruptedException {
+
+  commands.groupPending.add(new PendingEntry("0-1", "consumer-2", Duration.ofMinutes(5), 1));
+  commands.groupPending.add(new PendingEntry("0-2", "consumer-2", Duration.ofSeconds(1), 1));
+  commands.claimable.put("0-1", InMemoryStreamCommands.record("0-1", "sku", "1"));
+
+  CountDownLatch latch = new CountDownLatch(1);
+  List<String> ids = new CopyOnWriteArrayList<>();
+
+  container.setClaimMinIdleTime(Duration.ofMinutes(1));
+  container.addListener("orders", message -> {
+
+   ids.add(message.getId());
+   latch.countDown();
+  });
+  container.start();
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(commands.claimed).containsExactly(Arrays.asList("0-1"));
+  assertThat(ids).containsExactly("0-1");
+
+  awaitAcknowledged(1);
+  assertThat(commands.acknowledged).containsExactly("0-1");
+ }
+
+ @Test
+ public void shouldRetryOwnEntriesFailedBefore() throws InterruptedException {
+
+  commands.groupPending.add(new PendingEntry("0-1", "consumer-1", Duration.ofMinutes(5), 1));
+  commands.claimable.put("0-1", InMemoryStreamCommands.record("0-1", "sku", "1"));
+
+  CountDownLatch latch = new CountDownLatch(1);
+
+  container.setClaimMinIdleTime(Duration.ofMinutes(1));
+  container.addListener("orders", message -> latch.countDown());
+  container.start();
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(commands.claimed).containsExactly(Arrays.asList("0-1"));
+
+  awaitAcknowledged(1);
+  assertThat(commands.acknowledged).containsExactly("0-1");
+ }
+
+ @Test
+ public void shouldPageThroughPendingEntries() throws InterruptedException {
+
+  commands.groupPending.add(new PendingEntry("0-1", "consumer-2", Duration.ofSeconds(1), 1));
+  commands.groupPending.add(new PendingEntry("0-2", "consumer-2", Duration.ofSeconds(1), 1));
+  commands.groupPending.add(new PendingEntry("0-3", "consumer-3", Duration.ofMinutes(5), 1));
+  commands.claimable.put("0-3", InMemoryStreamCommands.record("0-3", "sku", "3"));
+
+  CountDownLatch latch = new CountDownLatch(1);
+
+  container.setBatchSize(2);
+  container.setClaimMinIdleTime(Duration.ofMinutes(1));
+  container.addListener("orders", message -> latch.countDown());
+  container.start();
+
+  assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+  assertThat(commands.pendingStarts).startsWith("-", "0-3");
+  assertThat(commands.claimed).containsExactly(Arrays.asList("0-3"));
+ }
+
+ @Test
+ public void nextIdShouldIncrementSequence() {
+
+  assertThat(StreamMessageListenerContainer.nextId("1526985054069-0")).isEqualTo("1526985054069-1");
+  assertThat(StreamMessageListenerContainer.nextId("1-41")).isEqualTo("1-42");
+ }
+
+ @Test
+ public void shouldNotClaimWhenDisabled() throws InterruptedException {
+
+  commands.groupPending.add(new PendingEntry("0-1", "consumer-2", Duration.ofMinutes(5), 1));
+
+  container.setClaimMinIdleTime(Duration.ZERO);
+  container.addListener("orders", message -> {});
+  container.start();
+
+  Thread.sleep(100);
+
+  assertThat(commands.claimed).isEmpty();
+ }
+
+ @Test
+ public void shouldReleaseConnectionOnStop() throws InterruptedException {
+
+  container.addListener("orders", message -> {});
+  container.start();
+
+  Thread.sleep(50);
+  container.stop();
+
+  verify(connection, timeout(1000)).close();
+ }
+
+ @Test(expected = IllegalStateException.class)
+ public void shouldRejectListenerRegistrationWhileRunning() {
+
+  container.addListener("orders", message -> {});
+  container.start();
+
+  container.addListener("invoices", message -> {});
+ }
+
+ @Test(expected = IllegalStateException.class)
+ public void shouldRejectConnectionFactorySharingNativeConnection() {
+
+  LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory();
+  connectionFactory.setShareNativeConnection(true);
+
+  StreamMessageListenerContainer.create(connectionFactory, "group", "consumer-1").afterPropertiesSet();
+ }
+
+ private void awaitAcknowledged(int count) throws InterruptedException {
+
+  for (int i = 0; i < 100 && commands.acknowledged.size() < count; i++) {
+   Thread.sleep(20);
+  }
+ }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.redis.serializer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+/**
+ * Unit tests for {@link ByteBufferRedisSerializer} implementations.
+ */
+public class ByteBufferRedisSerializerUnitTests {
+
+ @Test
+ public void fromSerializerShouldUseByteBufferRedisSerializerDirectly() {
+
+  StringRedisSerializer serializer = new StringRedisSerializer();
+  SerializationPair<String> pair = SerializationPair.fromSerializer(serializer);
+
+  assertThat(pair.getReader()).isSameAs(serializer);
+  assertThat(pair.getWriter()).isSameAs(serializer);
+ }
+
+ @Test
+ public void stringSerializerShouldReadSliceOfHeapBuffer() {
+
+  ByteBuffer source = ByteBuffer.wrap("xxhello-world".getBytes(StandardCharsets.UTF_8));
+  source.position(2);
+  ByteBuffer slice = source.slice();
+
+  assertThat(new StringRedisSerializer().read(slice)).isEqualTo("hello-world");
+  assertThat(slice.hasRemaining()).isFalse();
+ }
+
+ @Test
+ public void stringSerializerShouldReadDirectBuffer() {
+
+  assertThat(new StringRedisSerializer().read(direct("hello-world".getBytes(StandardCharsets.UTF_8))))
+    .isEqualTo("hello-world");
+ }
+
+ @Test
+ public void defaultReadShouldDelegateToDeserialize() {
+
+  ByteBufferRedisSerializer<String> serializer = new ByteBufferRedisSerializer<String>() {
+
+   @Override
+   public byte[] serialize(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+   }
+
+   @Override
+   public String deserialize(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+   }
+  };
+
+  assertThat(serializer.read(serializer.write("hello"))).isEqualTo("hello");
+ }
+
+ private static ByteBuffer direct(byte[] bytes) {
+
+  ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+  buffer.put(bytes).flip();
+  return buffer;
+ }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.xd.analytics.metrics.redis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+
+/**
+ * JMH benchmark comparing the throughput of the Redis counter repositories, including the write-behind mode of
+ * {@link RedisAggregateCounterRepository}. Requires a Redis server on localhost:6379 and is run via {@link #main}.
+ * <p>
+ * Lives in the {@code jmh} source set, which is not compiled with the tests, so JMH only needs to be on the classpath
+ * when benchmarking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RedisCounterRepositoryBenchmark {
+
+ private JedisConnectionFactory connectionFactory;
+
+ private RedisCounterRepository counterRepository;
+
+ private RedisFieldValueCounterRepository fieldValueCounterRepository;
+
+ private RedisAggregateCounterRepository aggregateCounterRepository;
+
+ private RedisAggregateCounterRepository writeBehindAggregateCounterRepository;
+
+ @Setup(Level.Trial)
+ public void setUp() {
+  connectionFactory = new JedisConnectionFactory();
+  connectionFactory.setHostName("localhost");
+  connectionFactory.setPort(6379);
+  connectionFactory.afterPropertiesSet();
+
+  counterRepository = new RedisCounterRepository("benchmark.counters.", connectionFactory);
+  fieldValueCounterRepository = new RedisFieldValueCounterRepository(connectionFactory, "benchmark.fvc.");
+  aggregateCounterRepository = new RedisAggregateCounterRepository(connectionFactory);
+  writeBehindAggregateCounterRepository = new RedisAggregateCounterRepository(connectionFactory);
+  writeBehindAggregateCounterRepository.setFlushInterval(100);
+ }
+
+ @TearDown(Level.Trial)
+ public void tearDown() {
+  writeBehindAggregateCounterRepository.destroy();
+  counterRepository.delete("benchmark");
+  fieldValueCounterRepository.delete("benchmark");
+  aggregateCounterRepository.delete("benchmark");
+  writeBehindAggregateCounterRepository.delete("benchmark-write-behind");
+  connectionFactory.destroy();
+ }
+
+ @Benchmark
+ public long counterIncrement() {
+  return counterRepository.increment("benchmark");
+ }
+
+ @Benchmark
+ public void fieldValueCounterIncrement() {
+  fieldValueCounterRepository.increment("benchmark", "field");
+ }
+
+ @Benchmark
+ public long aggregateCounterIncrement() {
+  return aggregateCounterRepository.increment("benchmark", 1, new DateTime());
+ }
+
+ @Benchmark
+ public long aggregateCounterIncrementWriteBehind() {
+  return writeBehindAggregateCounterRepository.increment("benchmark-write-behind", 1, new DateTime());
+ }
+
+ public static void main(String[] args) throws RunnerException {
+  new Runner(new OptionsBuilder().include(RedisCounterRepositoryBenchmark.class.getSimpleName()).build()).run();
+ }
+}
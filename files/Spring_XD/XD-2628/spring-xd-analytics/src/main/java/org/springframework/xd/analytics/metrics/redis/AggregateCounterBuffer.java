@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.xd.analytics.metrics.redis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.joda.time.DateTime;
+
+import org.springframework.util.Assert;
+
+/**
+ * Buffer accumulating aggregate counter increments in memory until they are written to Redis. Increments are summed
+ * up per counter and minute, which is the finest resolution of an aggregate counter, so that any number of increments
+ * falling into the same minute occupy a single primitive slot. <br/>
+ * The buffer is split into stripes selected by the id of the calling thread, each guarded by its own lock, to keep
+ * contention low when many threads increment the same counter.
+ */
+/* default */class AggregateCounterBuffer {
+
+ private final Stripe[] stripes;
+
+ private final int mask;
+
+ private final AtomicLong pendingEvents = new AtomicLong();
+
+ /**
+  * @param concurrency the expected number of concurrently incrementing threads, rounded up to the next power of two.
+  */
+ public AggregateCounterBuffer(int concurrency) {
+  Assert.isTrue(concurrency > 0, "concurrency must be greater than zero");
+  int size = Integer.highestOneBit(concurrency);
+  if (size < concurrency) {
+   size <<= 1;
+  }
+  this.stripes = new Stripe[size];
+  for (int i = 0; i < size; i++) {
+   stripes[i] = new Stripe();
+  }
+  this.mask = size - 1;
+ }
+
+ /**
+  * Buffer an increment of the given counter.
+  *
+  * @return the number of increments buffered since the last {@link #drain()}
+  */
+ public long add(String name, DateTime dateTime, long amount) {
+  Key key = new Key(name, dateTime.minuteOfHour().roundFloorCopy());
+  stripes[(int) Thread.currentThread().getId() & mask].add(key, amount);
+  return pendingEvents.incrementAndGet();
+ }
+
+ /**
+  * Remove and return all buffered increments, summed up per counter and minute.
+  */
+ public Map<Key, Long> drain() {
+  pendingEvents.set(0);
+  Map<Key, Long> result = new HashMap<Key, Long>();
+  for (Stripe stripe : stripes) {
+   for (Map.Entry<Key, long[]> entry : stripe.drain().entrySet()) {
+    Long current = result.get(entry.getKey());
+    long amount = entry.getValue()[0];
+    result.put(entry.getKey(), current == null ? amount : current + amount);
+   }
+  }
+  return result;
+ }
+
+ /**
+  * Put back increments that could not be written, eg. because Redis was not reachable.
+  */
+ public void restore(Map<Key, Long> increments) {
+  Stripe stripe = stripes[(int) Thread.currentThread().getId() & mask];
+  for (Map.Entry<Key, Long> entry : increments.entrySet()) {
+   stripe.add(entry.getKey(), entry.getValue());
+  }
+  pendingEvents.addAndGet(increments.size());
+ }
+
+ /**
+  * @return the number of increments buffered since the last {@link #drain()}
+  */
+ public long getPendingEvents() {
+  return pendingEvents.get();
+ }
+
+ private static class Stripe {
+
+  private Map<Key, long[]> counts = new HashMap<Key, long[]>();
+
+  synchronized void add(Key key, long amount) {
+   long[] count = counts.get(key);
+   if (count == null) {
+    counts.put(key, new long[] { amount });
+   }
+   else {
+    count[0] += amount;
+   }
+  }
+
+  synchronized Map<Key, long[]> drain() {
+   Map<Key, long[]> result = counts;
+   counts = new HashMap<Key, long[]>();
+   return result;
+  }
+ }
+
+ /**
+  * Identifies the counter and minute an increment applies to.
+  */
+ public static class Key {
+
+  private final String name;
+
+  private final DateTime minute;
+
+  Key(String name, DateTime minute) {
+   this.name = name;
+   this.minute = minute;
+  }
+
+  public String getName() {
+   return name;
+  }
+
+  public DateTime getMinute() {
+   return minute;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+   if (this == obj) {
+    return true;
+   }
+   if (!(obj instanceof Key)) {
+    return false;
+   }
+   Key other = (Key) obj;
+   return name.equals(other.name) && minute.equals(other.minute);
+  }
+
+  @Override
+  public int hashCode() {
+   return 31 * name.hashCode() + minute.hashCode();
+  }
+
+  @Override
+  public String toString() {
+   return name + "@" + minute;
+  }
+ }
+}
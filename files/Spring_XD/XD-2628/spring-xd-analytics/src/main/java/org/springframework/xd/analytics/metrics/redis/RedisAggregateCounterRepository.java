@@ -17,9 +17,21 @@
 package org.springframework.xd.analytics.metrics.redis;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
@@ -31,33 +43,67 @@ import org.joda.time.MutableDateTime;
 import org.joda.time.ReadableDateTime;
 import org.joda.time.Years;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.xd.analytics.metrics.core.AggregateCount;
 import org.springframework.xd.analytics.metrics.core.AggregateCountResolution;
 import org.springframework.xd.analytics.metrics.core.AggregateCounterRepository;
+import org.springframework.xd.analytics.metrics.core.Counter;
 import org.springframework.xd.analytics.metrics.core.MetricUtils;
 
 /**
  * Redis implementation of {@link AggregateCounterRepository}. Subclasses and intercepts calls to
  * {@link RedisCounterRepository} to also track counts in various redis hashes.
+ * <p>
+ * By default every increment is written to Redis right away, costing one round trip per time bucket. When a
+ * {@link #setFlushInterval(long) flush interval} is set, the repository operates in write-behind mode instead:
+ * increments are accumulated in memory and written in a single pipeline every {@code flushInterval} milliseconds or
+ * as soon as {@link #setFlushThreshold(int) flushThreshold} increments have been buffered, whichever comes first.
+ * This trades durability for throughput: increments buffered when the process dies are lost, so the interval and
+ * threshold bound the number of counts at risk. Increments that fail to be written are kept and retried with the next
+ * flush, so that a partially applied pipeline may be counted twice. Unless {@link #setFlushBeforeRead(boolean)
+ * disabled}, buffered increments are flushed before counts or counters are read.
  *
  * @author Eric Bottard
  * @author Luke Taylor
  */
 @Qualifier("aggregate")
-public class RedisAggregateCounterRepository extends RedisCounterRepository implements AggregateCounterRepository {
+public class RedisAggregateCounterRepository extends RedisCounterRepository implements AggregateCounterRepository,
+  DisposableBean {
+
+ public static final int DEFAULT_FLUSH_THRESHOLD = 1000;
+
+ private static final Log logger = LogFactory.getLog(RedisAggregateCounterRepository.class);
 
  protected HashOperations<String, String, Long> hashOperations;
 
  protected SetOperations<String, String> setOperations;
 
+ private final ReentrantLock flushLock = new ReentrantLock();
+
+ private final ConcurrentMap<String, Long> flushedTotals = new ConcurrentHashMap<String, Long>();
+
+ private long flushInterval = 0;
+
+ private int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+
+ private boolean flushBeforeRead = true;
+
+ private volatile AggregateCounterBuffer buffer;
+
+ private ScheduledExecutorService flushScheduler;
+
  /**
   * @param redisConnectionFactory
   */
@@ -84,8 +130,47 @@ public class RedisAggregateCounterRepository extends RedisCounterRepository impl
   return increment(name, amount, new DateTime());
  }
 
+ /**
+  * Enable write-behind mode by setting the maximum time in milliseconds increments are buffered before being written
+  * to Redis. Defaults to {@literal 0}, writing every increment right away. Must be set before the first increment.
+  */
+ public void setFlushInterval(long flushInterval) {
+  Assert.isTrue(flushInterval >= 0, "flushInterval must not be negative");
+  this.flushInterval = flushInterval;
+ }
+
+ /**
+  * Set the number of buffered increments that triggers a flush in write-behind mode, regardless of the flush
+  * interval. The flush is done by the incrementing thread. Defaults to {@value #DEFAULT_FLUSH_THRESHOLD}.
+  */
+ public void setFlushThreshold(int flushThreshold) {
+  Assert.isTrue(flushThreshold > 0, "flushThreshold must be greater than zero");
+  this.flushThreshold = flushThreshold;
+ }
+
+ /**
+  * Whether to flush buffered increments before counts are read or deleted in write-behind mode, so that a reader
+  * sees its own writes. Defaults to {@literal true}.
+  */
+ public void setFlushBeforeRead(boolean flushBeforeRead) {
+  this.flushBeforeRead = flushBeforeRead;
+ }
+
+ /**
+  * Increments the counter. In write-behind mode the increment is buffered and the returned value is the total known
+  * after the last flush, not including increments still buffered.
+  */
  @Override
  public long increment(String name, long amount, DateTime dateTime) {
+  if (flushInterval > 0) {
+   if (writeBehindBuffer().add(name, dateTime, amount) >= flushThreshold) {
+    // the increment is buffered at this point, failing the caller would have it retry and count twice
+    flushAndLogFailure(false);
+   }
+   Long total = flushedTotals.get(name);
+   return total != null ? total : 0L;
+  }
+
   final AggregateKeyGenerator akg = new AggregateKeyGenerator(getPrefix(), name, dateTime);
 
   String bookkeepingKey = bookkeepingKeyFor(name);
@@ -99,6 +184,172 @@ public class RedisAggregateCounterRepository extends RedisCounterRepository impl
   return super.increment(name, amount);
  }
 
+ /**
+  * Write all buffered increments to Redis. Does nothing unless in write-behind mode.
+  */
+ public void flush() {
+  flush(true);
+ }
+
+ private AggregateCounterBuffer writeBehindBuffer() {
+  AggregateCounterBuffer current = buffer;
+  if (current == null) {
+   synchronized (this) {
+    current = buffer;
+    if (current == null) {
+     current = new AggregateCounterBuffer(Runtime.getRuntime().availableProcessors() * 2);
+     CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("aggregate-counter-flush-");
+     threadFactory.setDaemon(true);
+     flushScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+     flushScheduler.scheduleWithFixedDelay(new Runnable() {
+
+      @Override
+      public void run() {
+       flushAndLogFailure(true);
+      }
+     }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+     buffer = current;
+    }
+   }
+  }
+  return current;
+ }
+
+ /**
+  * Flush, logging instead of propagating failures. The increments that failed to be written are kept for the next
+  * flush.
+  */
+ private void flushAndLogFailure(boolean wait) {
+  try {
+   flush(wait);
+  }
+  catch (RuntimeException e) {
+   logger.warn("Failed to flush aggregate counter increments, will retry", e);
+  }
+ }
+
+ /**
+  * @param wait whether to wait for a flush in progress, or to leave the buffered increments to it.
+  */
+ private void flush(boolean wait) {
+  AggregateCounterBuffer current = buffer;
+  if (current == null) {
+   return;
+  }
+  if (wait) {
+   flushLock.lock();
+  }
+  else if (!flushLock.tryLock()) {
+   return;
+  }
+  try {
+   Map<AggregateCounterBuffer.Key, Long> increments = current.drain();
+   if (increments.isEmpty()) {
+    return;
+   }
+   try {
+    writeIncrements(increments);
+   }
+   catch (RuntimeException e) {
+    current.restore(increments);
+    throw e;
+   }
+  }
+  finally {
+   flushLock.unlock();
+  }
+ }
+
+ /**
+  * Write the given increments in one pipeline. The totals are incremented first so that their new values are the
+  * leading pipeline results.
+  */
+ private void writeIncrements(Map<AggregateCounterBuffer.Key, Long> increments) {
+  final Map<String, Long> totals = new LinkedHashMap<String, Long>();
+  final Map<String, Map<String, Long>> hashes = new LinkedHashMap<String, Map<String, Long>>();
+  final Map<String, Set<String>> bookkeeping = new HashMap<String, Set<String>>();
+
+  for (Map.Entry<AggregateCounterBuffer.Key, Long> entry : increments.entrySet()) {
+   String name = entry.getKey().getName();
+   long amount = entry.getValue();
+   AggregateKeyGenerator akg = new AggregateKeyGenerator(getPrefix(), name, entry.getKey().getMinute());
+
+   Long total = totals.get(name);
+   totals.put(name, total == null ? amount : total + amount);
+
+   Set<String> keys = bookkeeping.get(name);
+   if (keys == null) {
+    keys = new LinkedHashSet<String>();
+    bookkeeping.put(name, keys);
+   }
+   addToHash(hashes, keys, akg.getYearsKey(), akg.getYear(), amount);
+   addToHash(hashes, keys, akg.getYearKey(), akg.getMonth(), amount);
+   addToHash(hashes, keys, akg.getMonthKey(), akg.getDay(), amount);
+   addToHash(hashes, keys, akg.getDayKey(), akg.getHour(), amount);
+   addToHash(hashes, keys, akg.getHourKey(), akg.getMinute(), amount);
+  }
+
+  List<Object> results = hashOperations.getOperations().executePipelined(new SessionCallback<Object>() {
+
+   @Override
+   public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+    for (Map.Entry<String, Long> total : totals.entrySet()) {
+     longOperations.increment(redisKeyFromId(total.getKey()), total.getValue());
+    }
+    for (String name : totals.keySet()) {
+     trackMembership(redisKeyFromId(name));
+    }
+    for (Map.Entry<String, Map<String, Long>> hash : hashes.entrySet()) {
+     for (Map.Entry<String, Long> field : hash.getValue().entrySet()) {
+      hashOperations.increment(hash.getKey(), field.getKey(), field.getValue());
+     }
+    }
+    for (Map.Entry<String, Set<String>> keys : bookkeeping.entrySet()) {
+     Set<String> hashKeys = keys.getValue();
+     setOperations.add(bookkeepingKeyFor(keys.getKey()), hashKeys.toArray(new String[hashKeys.size()]));
+    }
+    return null;
+   }
+  });
+
+  int i = 0;
+  for (String name : totals.keySet()) {
+   Object total = results.get(i++);
+   if (total instanceof Long) {
+    flushedTotals.put(name, (Long) total);
+   }
+  }
+ }
+
+ private static void addToHash(Map<String, Map<String, Long>> hashes, Set<String> keys, String key, String field,
+   long amount) {
+  Map<String, Long> fields = hashes.get(key);
+  if (fields == null) {
+   fields = new HashMap<String, Long>();
+   hashes.put(key, fields);
+  }
+  Long current = fields.get(field);
+  fields.put(field, current == null ? amount : current + amount);
+  keys.add(key);
+ }
+
+ /**
+  * Stops the write-behind flushing, writing all buffered increments.
+  */
+ @Override
+ public void destroy() {
+  if (flushScheduler != null) {
+   flushScheduler.shutdown();
+  }
+  flush(true);
+ }
+
+ private void flushBeforeRead() {
+  if (flushBeforeRead) {
+   flush(true);
+  }
+ }
+
  /**
   * Return the key under which are stored the names of the other keys used for the given counter.
   */
@@ -120,6 +371,40 @@ public class RedisAggregateCounterRepository extends RedisCounterRepository impl
   }
  }
 
+ @Override
+ public Counter findOne(String name) {
+  flushBeforeRead();
+  return super.findOne(name);
+ }
+
+ @Override
+ public boolean exists(String name) {
+  flushBeforeRead();
+  return super.exists(name);
+ }
+
+ @Override
+ public List<Counter> findAll() {
+  flushBeforeRead();
+  List<Counter> counters = new ArrayList<Counter>();
+  for (Counter counter : super.findAll()) {
+   counters.add(counter);
+  }
+  return counters;
+ }
+
+ @Override
+ public Iterable<Counter> findAll(Iterable<String> names) {
+  flushBeforeRead();
+  return super.findAll(names);
+ }
+
+ @Override
+ public long count() {
+  flushBeforeRead();
+  return super.count();
+ }
+
  @Override
  public AggregateCount getCounts(String name, int nCounts, AggregateCountResolution resolution) {
   return getCounts(name, nCounts, new DateTime(), resolution);
@@ -144,6 +429,7 @@ public class RedisAggregateCounterRepository extends RedisCounterRepository impl
   */
  @Override
  public AggregateCount getCounts(String name, Interval interval, AggregateCountResolution resolution) {
+  flushBeforeRead();
 
   DateTime end = interval.getEnd();
   Chronology c = interval.getChronology();
@@ -278,6 +564,8 @@ public class RedisAggregateCounterRepository extends RedisCounterRepository impl
 
  @Override
  public void delete(String id) {
+  flushBeforeRead();
+  flushedTotals.remove(id);
   String metricMetaKey = bookkeepingKeyFor(id);
   super.delete(id);
   Set<String> otherKeys = setOperations.members(metricMetaKey);
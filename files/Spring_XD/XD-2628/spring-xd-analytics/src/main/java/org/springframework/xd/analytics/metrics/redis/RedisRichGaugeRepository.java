@@ -17,25 +17,28 @@
 package org.springframework.xd.analytics.metrics.redis;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.core.RedisOperations;
-import org.springframework.data.redis.core.SessionCallback;
-import org.springframework.retry.RetryCallback;
-import org.springframework.retry.RetryContext;
-import org.springframework.retry.backoff.ExponentialBackOffPolicy;
-import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
-import org.springframework.xd.analytics.metrics.core.MetricUtils;
 import org.springframework.xd.analytics.metrics.core.RichGauge;
 import org.springframework.xd.analytics.metrics.core.RichGaugeRepository;
 
 /**
- * Repository for rich-gauges backed by Redis.
+ * Repository for rich-gauges backed by Redis. Values are recorded atomically by a Lua script computing the new
+ * average, min and max on the server, which is invoked via {@literal EVALSHA} so that only its digest is sent.
  *
  * @author Luke Taylor
  * @author Eric Bottard
@@ -45,20 +48,20 @@ public class RedisRichGaugeRepository extends
 
  private static final String ZERO = serialize(new RichGauge("ZERO"));
 
- private RetryTemplate retryTemplate;
+ private static final RedisScript<Long> RECORD_VALUE_SCRIPT = recordValueScript();
+
+ private final RedisSerializer<String> serializer = new StringRedisSerializer();
 
  public RedisRichGaugeRepository(RedisConnectionFactory connectionFactory) {
   super(connectionFactory, "richgauges.", String.class);
+ }
 
-  // In case of concurrent access on same key, retry a bit before giving up eventually
-  retryTemplate = new RetryTemplate();
-  retryTemplate.setRetryPolicy(new SimpleRetryPolicy(3, Collections.<Class<? extends Throwable>, Boolean> singletonMap(OptimisticLockingFailureException.class, true)));
-  ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
-  backOffPolicy.setInitialInterval(50L);
-  backOffPolicy.setMaxInterval(1000L);
-  backOffPolicy.setMultiplier(2);
-  retryTemplate.setBackOffPolicy(backOffPolicy);
-
+ private static RedisScript<Long> recordValueScript() {
+  DefaultRedisScript<Long> script = new DefaultRedisScript<Long>();
+  script.setScriptSource(new ResourceScriptSource(new ClassPathResource("rich-gauge-record-value.lua",
+    RedisRichGaugeRepository.class)));
+  script.setResultType(Long.class);
+  return script;
  }
 
  private static String serialize(RichGauge g) {
@@ -92,40 +95,47 @@ public class RedisRichGaugeRepository extends
  }
 
  @Override
- public void recordValue(final String name, final double value, final double alpha) {
-  final String key = getMetricKey(name);
+ public void recordValue(String name, double value, double alpha) {
+  getRedisOperations().execute(RECORD_VALUE_SCRIPT, Collections.singletonList(getMetricKey(name)),
+    Double.toString(value), Double.toString(alpha));
+ }
 
-  retryTemplate.execute(new RetryCallback<Void, RuntimeException>() {
+ /**
+  * Record one value for each of the given gauges, sending all updates in a single pipeline. Each update is atomic,
+  * the batch as a whole is not.
+  *
+  * @param values the value to record, keyed by gauge name
+  * @param alpha the alpha to use for all gauges, see {@link #recordValue(String, double, double)}
+  */
+ public void recordValues(final Map<String, Double> values, final double alpha) {
+  Assert.notNull(values, "values must not be null");
+  if (values.isEmpty()) {
+   return;
+  }
+  final byte[] rawAlpha = serializer.serialize(Double.toString(alpha));
+  getRedisOperations().executePipelined(new RedisCallback<Object>() {
 
    @Override
-   public Void doWithRetry(RetryContext context) {
-    return getRedisOperations().execute(new SessionCallback<Void>() {
-     @Override
-     @SuppressWarnings("unchecked")
-     public <K, V> Void execute(RedisOperations<K, V> operations) throws DataAccessException {
-      operations.watch((K) key);
-      RichGauge g = findOne(name);
-      if (g == null) {
-       g = new RichGauge(name);
-      }
-
-      operations.multi();
-      MetricUtils.setRichGaugeValue(g, value, alpha);
-      operations.opsForValue().set((K) key, (V) serialize(g));
-
-      List<Object> result = operations.exec();
-      if (result == null) {
-       throw new OptimisticLockingFailureException(String.format("Failed to set value of rich-gauge '%s' to %f", name, value));
-      }
-      return null;
-     }
-    });
+   public Object doInRedis(RedisConnection connection) throws DataAccessException {
+    // loading the script as part of the pipeline guarantees it is cached for the EVALSHAs that follow
+    connection.scriptLoad(serializer.serialize(RECORD_VALUE_SCRIPT.getScriptAsString()));
+    for (Map.Entry<String, Double> entry : values.entrySet()) {
+     connection.evalSha(RECORD_VALUE_SCRIPT.getSha1(), ReturnType.INTEGER, 1,
+       serializer.serialize(getMetricKey(entry.getKey())),
+       serializer.serialize(Double.toString(entry.getValue())), rawAlpha);
+    }
+    return null;
    }
   });
  }
 
+ /**
+  * Values are recorded atomically on the server and no longer retried.
+  *
+  * @deprecated kept for configuration compatibility, the given template is not used
+  */
+ @Deprecated
  public void setRetryTemplate(RetryTemplate retryTemplate) {
-  this.retryTemplate = retryTemplate;
  }
 
  @Override
@@ -0,0 +1,37 @@
+-- Records a value on the rich gauge stored at KEYS[1], see MetricUtils.setRichGaugeValue.
+-- ARGV[1]: the value, ARGV[2]: the alpha to use for the moving average (-1 for a simple mean).
+-- The gauge is stored as "value alpha average max min count". Returns the new count.
+local value = tonumber(ARGV[1])
+local alpha = tonumber(ARGV[2])
+local average, max, min, count = 0, 0, 0, 0
+
+local current = redis.call('GET', KEYS[1])
+if current then
+  local parts = {}
+  for part in string.gmatch(current, '%S+') do
+    parts[#parts + 1] = part
+  end
+  average = tonumber(parts[3])
+  max = tonumber(parts[4])
+  min = tonumber(parts[5])
+  count = tonumber(parts[6])
+end
+
+if count == 0 then
+  max = value
+  min = value
+elseif value > max then
+  max = value
+elseif value < min then
+  min = value
+end
+
+if alpha > 0 and count > 0 then
+  average = alpha * value + (1 - alpha) * average
+else
+  average = (average * count + value) / (count + 1)
+end
+
+count = count + 1
+redis.call('SET', KEYS[1], string.format('%.17g %.17g %.17g %.17g %.17g %d', value, alpha, average, max, min, count))
+return count
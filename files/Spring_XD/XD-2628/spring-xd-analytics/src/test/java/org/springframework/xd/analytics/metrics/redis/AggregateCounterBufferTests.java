@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.xd.analytics.metrics.redis;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import java.util.Map;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AggregateCounterBuffer}.
+ */
+public class AggregateCounterBufferTests {
+
+ private final DateTime now = new DateTime(2015, 3, 14, 15, 9, 26);
+
+ @Test
+ public void testIncrementsOfSameMinuteAreSummedUp() {
+  AggregateCounterBuffer buffer = new AggregateCounterBuffer(4);
+  buffer.add("foo", now, 1);
+  buffer.add("foo", now.plusSeconds(20), 2);
+  buffer.add("foo", now.plusMinutes(1), 5);
+  buffer.add("bar", now, 7);
+
+  Map<AggregateCounterBuffer.Key, Long> drained = buffer.drain();
+
+  assertThat(drained.size(), equalTo(3));
+  assertThat(drained.get(new AggregateCounterBuffer.Key("foo", new DateTime(2015, 3, 14, 15, 9))), equalTo(3L));
+  assertThat(drained.get(new AggregateCounterBuffer.Key("foo", new DateTime(2015, 3, 14, 15, 10))), equalTo(5L));
+  assertThat(drained.get(new AggregateCounterBuffer.Key("bar", new DateTime(2015, 3, 14, 15, 9))), equalTo(7L));
+ }
+
+ @Test
+ public void testDrainResetsBuffer() {
+  AggregateCounterBuffer buffer = new AggregateCounterBuffer(1);
+  buffer.add("foo", now, 1);
+  assertThat(buffer.getPendingEvents(), equalTo(1L));
+
+  buffer.drain();
+
+  assertThat(buffer.getPendingEvents(), equalTo(0L));
+  assertThat(buffer.drain().isEmpty(), equalTo(true));
+ }
+
+ @Test
+ public void testRestoreMergesWithNewIncrements() {
+  AggregateCounterBuffer buffer = new AggregateCounterBuffer(2);
+  buffer.add("foo", now, 1);
+  Map<AggregateCounterBuffer.Key, Long> failed = buffer.drain();
+  buffer.add("foo", now, 2);
+  buffer.restore(failed);
+
+  Map<AggregateCounterBuffer.Key, Long> drained = buffer.drain();
+
+  assertThat(drained.size(), equalTo(1));
+  assertThat(drained.values().iterator().next(), equalTo(3L));
+ }
+
+ @Test
+ public void testConcurrentIncrementsAreNotLost() throws Exception {
+  final AggregateCounterBuffer buffer = new AggregateCounterBuffer(4);
+  Thread[] threads = new Thread[8];
+  for (int i = 0; i < threads.length; i++) {
+   threads[i] = new Thread() {
+
+    @Override
+    public void run() {
+     for (int j = 0; j < 10000; j++) {
+      buffer.add("foo", now, 1);
+     }
+    }
+   };
+   threads[i].start();
+  }
+  for (Thread thread : threads) {
+   thread.join();
+  }
+
+  assertThat(buffer.drain().values().iterator().next(), equalTo(80000L));
+ }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.xd.analytics.metrics.redis;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.xd.analytics.metrics.common.RedisRepositoriesConfig;
+import org.springframework.xd.analytics.metrics.core.AggregateCount;
+import org.springframework.xd.analytics.metrics.core.AggregateCountResolution;
+import org.springframework.xd.test.redis.RedisTestSupport;
+
+/**
+ * Tests for the write-behind mode of {@link RedisAggregateCounterRepository}.
+ */
+@ContextConfiguration(classes = RedisRepositoriesConfig.class, loader = AnnotationConfigContextLoader.class)
+@RunWith(SpringJUnit4ClassRunner.class)
+public class RedisAggregateCounterRepositoryWriteBehindTests {
+
+ @Rule
+ public RedisTestSupport redisAvailableRule = new RedisTestSupport();
+
+ @Autowired
+ private RedisConnectionFactory connectionFactory;
+
+ @Autowired
+ private StringRedisTemplate redisTemplate;
+
+ private RedisAggregateCounterRepository repo;
+
+ private final DateTime now = new DateTime(2015, 3, 14, 15, 9, 26);
+
+ @Before
+ public void setUp() {
+  repo = new RedisAggregateCounterRepository(connectionFactory);
+  repo.setFlushInterval(60000);
+  repo.delete("foo");
+ }
+
+ @After
+ public void tearDown() {
+  repo.destroy();
+  repo.delete("foo");
+ }
+
+ @Test
+ public void testIncrementsAreBufferedUntilFlush() {
+  AggregateKeyGenerator akg = new AggregateKeyGenerator("aggregatecounters", "foo", now);
+  repo.increment("foo", 3, now);
+  repo.increment("foo", 4, now.plusSeconds(10));
+
+  assertThat(redisTemplate.opsForHash().get(akg.getHourKey(), akg.getMinute()), nullValue());
+
+  repo.flush();
+
+  assertThat(redisTemplate.opsForHash().get(akg.getHourKey(), akg.getMinute()), equalTo((Object) "7"));
+  assertThat(redisTemplate.opsForHash().get(akg.getYearsKey(), akg.getYear()), equalTo((Object) "7"));
+  assertThat(repo.increment("foo", 1, now), equalTo(7L));
+ }
+
+ @Test
+ public void testThresholdTriggersFlush() {
+  AggregateKeyGenerator akg = new AggregateKeyGenerator("aggregatecounters", "foo", now);
+  repo.setFlushThreshold(3);
+  repo.increment("foo", 1, now);
+  repo.increment("foo", 1, now);
+  repo.increment("foo", 1, now);
+
+  assertThat(redisTemplate.opsForHash().get(akg.getHourKey(), akg.getMinute()), equalTo((Object) "3"));
+ }
+
+ @Test
+ public void testReadsSeeBufferedIncrements() {
+  repo.increment("foo", 2, now);
+  repo.increment("foo", 5, now.plusMinutes(1));
+
+  AggregateCount counts = repo.getCounts("foo", 2, now.plusMinutes(1), AggregateCountResolution.minute);
+
+  assertThat(counts.getCounts()[0], equalTo(2L));
+  assertThat(counts.getCounts()[1], equalTo(5L));
+ }
+
+ @Test
+ public void testFindOneSeesBufferedIncrements() {
+  repo.increment("foo", 2, now);
+  repo.increment("foo", 5, now.plusMinutes(1));
+
+  assertThat(repo.findOne("foo").getValue(), equalTo(7L));
+ }
+
+ @Test
+ public void testFindOneDoesNotFlushWhenFlushBeforeReadIsDisabled() {
+  repo.setFlushBeforeRead(false);
+  repo.increment("foo", 2, now);
+
+  assertThat(repo.findOne("foo"), nullValue());
+ }
+
+ @Test
+ public void testDeleteRemovesBookkeptKeys() {
+  AggregateKeyGenerator akg = new AggregateKeyGenerator("aggregatecounters", "foo", now);
+  repo.increment("foo", 2, now);
+
+  repo.delete("foo");
+
+  assertThat(redisTemplate.hasKey(akg.getHourKey()), equalTo(false));
+  assertThat(redisTemplate.hasKey(akg.getYearsKey()), equalTo(false));
+ }
+}
@@ -19,6 +19,9 @@ package org.springframework.xd.analytics.metrics.redis;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,6 +35,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.xd.analytics.metrics.AbstractRichGaugeRepositoryTests;
 import org.springframework.xd.analytics.metrics.common.RedisRepositoriesConfig;
+import org.springframework.xd.analytics.metrics.core.MetricUtils;
 import org.springframework.xd.analytics.metrics.core.RichGauge;
 import org.springframework.xd.analytics.metrics.core.RichGaugeRepository;
 import org.springframework.xd.test.redis.RedisTestSupport;
@@ -107,6 +111,36 @@ public class RedisRichGaugeRepositoryTests extends AbstractRichGaugeRepositoryTe
  }
 
 
+ @Test
+ public void testScriptMatchesClientSideComputation() {
+  RichGauge expected = new RichGauge("bar");
+  double[] values = { 3.0D, 7.5D, -2.25D, 10.0D };
+  for (double value : values) {
+   repo.recordValue("bar", value, 0.3D);
+   MetricUtils.setRichGaugeValue(expected, value, 0.3D);
+  }
+
+  RichGauge result = repo.findOne("bar");
+  assertThat(result.getValue(), equalTo(expected.getValue()));
+  assertThat(result.getAverage(), equalTo(expected.getAverage()));
+  assertThat(result.getMax(), equalTo(expected.getMax()));
+  assertThat(result.getMin(), equalTo(expected.getMin()));
+  assertThat(result.getCount(), equalTo(expected.getCount()));
+ }
+
+ @Test
+ public void testRecordValues() {
+  repo.recordValue("foo", 2.0D, -1.0D);
+
+  Map<String, Double> values = new LinkedHashMap<String, Double>();
+  values.put("foo", 4.0D);
+  values.put("bar", 5.0D);
+  repo.recordValues(values, -1.0D);
+
+  assertThat(repo.findOne("foo").getAverage(), equalTo(3.0D));
+  assertThat(repo.findOne("foo").getCount(), equalTo(2L));
+  assertThat(repo.findOne("bar").getMax(), equalTo(5.0D));
+ }
 
  @Override
  protected RichGaugeRepository createService() {